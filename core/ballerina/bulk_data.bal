@@ -0,0 +1,158 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Reads a bulk data value from the file it was parsed from.
+#
+# + reference - The bulk data reference
+# + return - The bytes of the value, or an `Error` if the value cannot be read
+public isolated function readBulkData(BulkDataReference reference) returns byte[]|Error {
+    string? path = reference.path;
+    if path == () {
+        return error Error("Bulk data reference does not have a source file path");
+    }
+    handle|error reader = javaOpenBulkDataReader(path);
+    if reader is error {
+        return error Error(string `Failed to open bulk data source: ${path}`, reader);
+    }
+    byte[]|error value = javaBulkDataReaderRead(reader, reference.offset, reference.length);
+    error? closeResult = javaBulkDataReaderClose(reader);
+    if value is error {
+        return error Error(string `Failed to read bulk data from source: ${path}`, value);
+    }
+    if closeResult is error {
+        return error Error(string `Failed to close bulk data source: ${path}`, closeResult);
+    }
+    return value;
+}
+
+# Encodes a bulk data value using the Base64 alphabet, reading it from the file it was parsed from.
+# The value is encoded in chunks as it is read, so that the raw value is never held in memory as a whole.
+#
+# + reference - The bulk data reference
+# + return - The Base64 encoded value, with padding, or an `Error` if the value cannot be read
+public isolated function encodeBulkDataBase64(BulkDataReference reference) returns string|Error {
+    string? path = reference.path;
+    if path == () {
+        return error Error("Bulk data reference does not have a source file path");
+    }
+    handle|error reader = javaOpenBulkDataReader(path);
+    if reader is error {
+        return error Error(string `Failed to open bulk data source: ${path}`, reader);
+    }
+    string|error encoded = javaBulkDataReaderEncodeBase64(reader, reference.offset, reference.length);
+    error? closeResult = javaBulkDataReaderClose(reader);
+    if encoded is error {
+        return error Error(string `Failed to encode bulk data from source: ${path}`, encoded);
+    }
+    if closeResult is error {
+        return error Error(string `Failed to close bulk data source: ${path}`, closeResult);
+    }
+    return encoded;
+}
+
+# Streams a bulk data value from the file it was parsed from.
+# The value is read in chunks as the stream is consumed, so that the value is never held in memory as a whole.
+#
+# + reference - The bulk data reference
+# + chunkSize - The maximum size of each chunk of the stream, in bytes
+# + return - A stream of the value chunks, or an `Error` if the source file cannot be opened
+public isolated function streamBulkData(BulkDataReference reference,
+        int chunkSize = DEFAULT_BULK_DATA_CHUNK_SIZE) returns stream<byte[], Error?>|Error {
+    string? path = reference.path;
+    if path == () {
+        return error Error("Bulk data reference does not have a source file path");
+    }
+    if chunkSize <= 0 {
+        return error Error(string `Invalid bulk data chunk size: ${chunkSize}`);
+    }
+    handle|error reader = javaOpenBulkDataReader(path);
+    if reader is error {
+        return error Error(string `Failed to open bulk data source: ${path}`, reader);
+    }
+    // Validate the range up front, so that a stale reference fails before any bytes are streamed
+    int|error size = javaBulkDataReaderSize(reader);
+    if size is error || reference.offset < 0 || reference.length < 0
+            || reference.offset + reference.length > size {
+        error? closeResult = javaBulkDataReaderClose(reader);
+        if closeResult is error {
+            // Ignore, the range error is reported instead
+        }
+        return error Error(string `Bulk data range is out of bounds of source: ${path}`, size is error ? size : ());
+    }
+    BulkDataStream bulkDataStream = new (reader, path, reference.offset, reference.length, chunkSize);
+    return new stream<byte[], Error?>(bulkDataStream);
+}
+
+# Stream implementor that reads a byte range of a file in chunks.
+isolated class BulkDataStream {
+    private final handle reader;
+    private final string path;
+    private final int end;
+    private final int chunkSize;
+    private int position;
+    private boolean closed = false;
+
+    # Initializes the stream implementor.
+    #
+    # + reader - The bulk data reader of the source file
+    # + path - The source file path
+    # + offset - The offset of the first byte of the range
+    # + length - The length of the range in bytes
+    # + chunkSize - The maximum size of each chunk
+    isolated function init(handle reader, string path, int offset, int length, int chunkSize) {
+        self.reader = reader;
+        self.path = path;
+        self.position = offset;
+        self.end = offset + length;
+        self.chunkSize = chunkSize;
+    }
+
+    # Reads the next chunk of the range.
+    #
+    # + return - The next chunk, `()` if the end of the range is reached, or an `Error` if reading fails
+    public isolated function next() returns record {|byte[] value;|}|Error? {
+        lock {
+            if self.closed || self.position >= self.end {
+                check self.close();
+                return;
+            }
+            int length = int:min(self.chunkSize, self.end - self.position);
+            byte[]|error chunk = javaBulkDataReaderRead(self.reader, self.position, length);
+            if chunk is error {
+                check self.close();
+                return error Error(string `Failed to read bulk data from source: ${self.path}`, chunk);
+            }
+            self.position += length;
+            return {value: chunk.clone()};
+        }
+    }
+
+    # Closes the source file. Closing an already closed stream has no effect.
+    #
+    # + return - An `Error` if the source file cannot be closed
+    public isolated function close() returns Error? {
+        lock {
+            if self.closed {
+                return;
+            }
+            self.closed = true;
+            error? result = javaBulkDataReaderClose(self.reader);
+            if result is error {
+                return error Error(string `Failed to close bulk data source: ${self.path}`, result);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Represents an equality matching criterion on a columnar store column.
+#
+# + tag - Tag of the column
+# + value - Value to be matched
+public type ColumnMatchCriterion record {|
+    Tag tag;
+    string|int|float|Tag value;
+|};
+
+# A compact, column oriented store for collections of datasets, such as the datasets of a study or a series.
+#
+# Each tag is stored as a native column, instead of a data element record per dataset. Integer and float values are
+# held in primitive arrays, string values are dictionary encoded, and value presence is tracked using sparse bitmaps.
+# Stored datasets are read back as `Dataset` views, optionally limited to a set of tags, and can be matched
+# directly on the columns without reading the datasets back.
+#
+# Views do not include the value length (VL) of data elements, except for empty values, which have a VL of 0.
+# Values other than strings, integers, floats and tags, such as sequences, are stored as immutable values.
+public isolated class ColumnarStore {
+    private final handle store;
+
+    # Initializes the columnar store.
+    public isolated function init() {
+        self.store = javaNewColumnarStore();
+    }
+
+    # Adds a dataset to the store.
+    #
+    # + dataset - The dataset to be added
+    # + return - The index of the dataset within the store, or an `Error` if the dataset cannot be added
+    public isolated function add(Dataset dataset) returns int|Error {
+        int|error row = trap javaColumnarStoreAddRow(self.store);
+        if row is error {
+            return error Error("Failed to add a row to the columnar store", row);
+        }
+        foreach DataElement dataElement in dataset {
+            int tag = tagToColumn(dataElement.tag);
+            string vr = dataElement.vr ?: "";
+            DataElementValue value = dataElement.value;
+            error? result;
+            if value == () {
+                result = trap javaColumnarStorePutEmpty(self.store, row, tag, vr);
+            } else if value is int {
+                result = trap javaColumnarStorePutInt(self.store, row, tag, vr, value);
+            } else if value is float {
+                result = trap javaColumnarStorePutFloat(self.store, row, tag, vr, value);
+            } else if value is string {
+                result = trap javaColumnarStorePutString(self.store, row, tag, vr, value);
+            } else if value is Tag && vr == AT {
+                result = trap javaColumnarStorePutInt(self.store, row, tag, vr, tagToColumn(value));
+            } else {
+                result = trap javaColumnarStorePutObject(self.store, row, tag, vr, value.cloneReadOnly());
+            }
+            if result is error {
+                string message = string `Failed to store data element: ${tagToStr(dataElement.tag)}`;
+                return error Error(message, result);
+            }
+        }
+        return row;
+    }
+
+    # Retrieves the number of datasets in the store.
+    #
+    # + return - The number of datasets
+    public isolated function length() returns int => javaColumnarStoreGetRowCount(self.store);
+
+    # Reads a dataset back from the store.
+    #
+    # + index - The index of the dataset within the store
+    # + tags - The tags to be included in the dataset view. If not provided, all tags are included.
+    # + return - The `Dataset` view, or an `Error` if the dataset cannot be read
+    public isolated function getDataset(int index, Tag[]? tags = ()) returns Dataset|Error {
+        if index < 0 || index >= self.length() {
+            return error Error(string `Invalid columnar store dataset index: ${index}`);
+        }
+        do {
+            int[] columnTags = tags is Tag[] ? (from Tag tag in tags select tagToColumn(tag))
+                : check trap javaColumnarStoreGetRowTags(self.store, index);
+            Dataset dataset = table [];
+            foreach int columnTag in columnTags {
+                DataElement? dataElement = check self.getDataElement(index, columnTag);
+                if dataElement is DataElement {
+                    dataset.put(dataElement);
+                }
+            }
+            return dataset;
+        } on fail error e {
+            return error Error(string `Failed to read dataset from the columnar store: ${index}`, e);
+        }
+    }
+
+    # Reads datasets back from the store.
+    #
+    # + indices - The indices of the datasets within the store. If not provided, all datasets are read.
+    # + tags - The tags to be included in the dataset views. If not provided, all tags are included.
+    # + return - The `Dataset` views, or an `Error` if the datasets cannot be read
+    public isolated function getDatasets(int[]? indices = (), Tag[]? tags = ()) returns Dataset[]|Error {
+        int[] datasetIndices = indices ?: from int index in 0 ..< self.length() select index;
+        Dataset[] datasets = [];
+        foreach int index in datasetIndices {
+            datasets.push(check self.getDataset(index, tags));
+        }
+        return datasets;
+    }
+
+    # Finds the datasets matching all the given criteria.
+    # Matching is performed on the store columns, without reading the datasets back.
+    #
+    # + criteria - The matching criteria
+    # + return - The indices of the matching datasets in ascending order, or an `Error` if matching fails
+    public isolated function findMatching(ColumnMatchCriterion[] criteria) returns int[]|Error {
+        int[]? matchingRows = ();
+        foreach ColumnMatchCriterion criterion in criteria {
+            int tag = tagToColumn(criterion.tag);
+            string|int|float|Tag value = criterion.value;
+            int[]|error rows;
+            if value is string {
+                rows = trap javaColumnarStoreFindString(self.store, tag, value);
+            } else if value is int {
+                rows = trap javaColumnarStoreFindInt(self.store, tag, value);
+            } else if value is float {
+                rows = trap javaColumnarStoreFindFloat(self.store, tag, value);
+            } else {
+                rows = trap javaColumnarStoreFindInt(self.store, tag, tagToColumn(value));
+            }
+            if rows is error {
+                return error Error(string `Failed to match column: ${tagToStr(criterion.tag)}`, rows);
+            }
+            matchingRows = matchingRows is int[] ? intersectSortedIndices(matchingRows, rows) : rows;
+            if matchingRows.length() == 0 {
+                break;
+            }
+        }
+        return matchingRows ?: from int index in 0 ..< self.length() select index;
+    }
+
+    # Reads a data element back from the store.
+    #
+    # + row - The row index
+    # + columnTag - The tag of the column
+    # + return - The `DataElement` if present, `()` if not present, or an `Error` if reading fails
+    private isolated function getDataElement(int row, int columnTag) returns DataElement|Error? {
+        do {
+            int kind = check trap javaColumnarStoreGetKind(self.store, row, columnTag);
+            if kind == COLUMN_VALUE_KIND_ABSENT {
+                return;
+            }
+            Tag tag = columnToTag(columnTag);
+            string vrStr = check trap javaColumnarStoreGetVr(self.store, row, columnTag);
+            DataElement dataElement = {tag, value: ()};
+            if vrStr != "" {
+                dataElement.vr = check strToVr(vrStr);
+            }
+            match kind {
+                COLUMN_VALUE_KIND_EMPTY => {
+                    dataElement.vl = 0;
+                }
+                COLUMN_VALUE_KIND_INT => {
+                    int value = check trap javaColumnarStoreGetInt(self.store, row, columnTag);
+                    dataElement.value = vrStr == AT ? columnToTag(value) : value;
+                }
+                COLUMN_VALUE_KIND_FLOAT => {
+                    dataElement.value = check trap javaColumnarStoreGetFloat(self.store, row, columnTag);
+                }
+                COLUMN_VALUE_KIND_STRING => {
+                    dataElement.value = check trap javaColumnarStoreGetString(self.store, row, columnTag);
+                }
+                _ => {
+                    dataElement.value = check (check trap javaColumnarStoreGetObject(self.store, row, columnTag))
+                        .ensureType(DataElementValue);
+                }
+            }
+            return dataElement;
+        } on fail error e {
+            return error Error(string `Failed to read data element from the columnar store: ${columnTag}`, e);
+        }
+    }
+}
+
+# Converts a tag to its columnar store column tag.
+#
+# + tag - The tag to be converted
+# + return - The column tag
+isolated function tagToColumn(Tag tag) returns int => (tag.group << 16) | tag.element;
+
+# Converts a columnar store column tag to its tag.
+#
+# + columnTag - The column tag to be converted
+# + return - The tag
+isolated function columnToTag(int columnTag) returns Tag
+    => {group: <int:Unsigned16>((columnTag >> 16) & 0xFFFF), element: <int:Unsigned16>(columnTag & 0xFFFF)};
+
+# Intersects two arrays of indices sorted in ascending order.
+#
+# + indices1 - The first array of indices
+# + indices2 - The second array of indices
+# + return - The indices present in both arrays, in ascending order
+isolated function intersectSortedIndices(int[] indices1, int[] indices2) returns int[] {
+    int[] intersection = [];
+    int i = 0;
+    int j = 0;
+    while i < indices1.length() && j < indices2.length() {
+        if indices1[i] == indices2[j] {
+            intersection.push(indices1[i]);
+            i += 1;
+            j += 1;
+        } else if indices1[i] < indices2[j] {
+            i += 1;
+        } else {
+            j += 1;
+        }
+    }
+    return intersection;
+}
@@ -116,6 +116,17 @@ public final string[] & readonly EXPLICIT_LENGTH_32_VRs = [
     UV
 ];
 
+# Binary VRs, whose values can be referenced as bulk data instead of being loaded into memory.
+public final string[] & readonly BULK_DATA_VRs = [
+    OB,
+    OD,
+    OF,
+    OL,
+    OV,
+    OW,
+    UN
+];
+
 # Explicit length 16-bit VRs.
 public final string[] & readonly EXPLICIT_LENGTH_16_VRs = [
     AE,
@@ -163,6 +174,9 @@ public final string[] & readonly FLOAT_VRs = [FD, FL];
 # Integer VRs.
 public final string[] & readonly INT_VRs = [AT, SL, SS, SV, UL, US, UV];
 
+# Integer VRs of signed values.
+public final string[] & readonly SIGNED_INT_VRs = [SL, SS, SV];
+
 # List VRs.
 public final string[] & readonly LIST_VRs = [SQ];
 
@@ -277,3 +291,92 @@ final map<string> & readonly VALUE_VALID_FORMATS = {
     AS: "nnnD, nnnW, nnnM, nnnY",
     DA: "YYYYMMDD"
 };
+
+// Kinds of values stored in a native columnar store column
+// These must be kept in sync with the value kinds of the native columnar store
+const int COLUMN_VALUE_KIND_ABSENT = 0;
+const int COLUMN_VALUE_KIND_EMPTY = 1;
+const int COLUMN_VALUE_KIND_INT = 2;
+const int COLUMN_VALUE_KIND_FLOAT = 3;
+const int COLUMN_VALUE_KIND_STRING = 4;
+
+# Default size of the chunks in which bulk data values are streamed.
+public const int DEFAULT_BULK_DATA_CHUNK_SIZE = 65536;
+
+# Represents the media types of rendered images.
+public enum RenderedMediaType {
+    RENDERED_JPEG = "image/jpeg",
+    RENDERED_PNG = "image/png"
+}
+
+# Default quality of lossy rendered images.
+public const int DEFAULT_RENDERING_QUALITY = 90;
+
+# Default maximum total size of the rendered images cached in memory, in bytes.
+public const int DEFAULT_RENDERED_CACHE_MEMORY_SIZE = 67108864;
+
+# Default maximum total size of the rendered images cached on disk, in bytes.
+public const int DEFAULT_RENDERED_CACHE_DISK_SIZE = 1073741824;
+
+# Photometric interpretation of grayscale images with a minimum value intended to be displayed as black.
+public const PHOTOMETRIC_MONOCHROME2 = "MONOCHROME2";
+
+# Photometric interpretation of grayscale images with a minimum value intended to be displayed as white.
+public const PHOTOMETRIC_MONOCHROME1 = "MONOCHROME1";
+
+# Photometric interpretation of color images with red, green and blue samples.
+public const PHOTOMETRIC_RGB = "RGB";
+
+// Names of the metrics recorded by the DICOM packages
+// Durations are recorded in nanoseconds
+
+# Name of the counter of the bytes read by the parser.
+public const METRIC_PARSER_BYTES = "dicom_parser_bytes_total";
+# Name of the histogram of the time taken to parse a dataset or a file.
+public const METRIC_PARSER_DURATION = "dicom_parser_duration_ns";
+# Name of the histogram of the number of top level data elements in parsed datasets.
+public const METRIC_PARSER_ELEMENTS = "dicom_parser_elements_per_dataset";
+# Name of the counter of the bytes produced by the encoder.
+public const METRIC_ENCODER_BYTES = "dicom_encoder_bytes_total";
+# Name of the histogram of the time taken to encode a dataset.
+public const METRIC_ENCODER_DURATION = "dicom_encoder_duration_ns";
+# Name of the counter of the bytes read by the transcoder.
+public const METRIC_TRANSCODER_BYTES = "dicom_transcoder_bytes_total";
+# Name of the histogram of the time taken to transcode a dataset or a file.
+public const METRIC_TRANSCODER_DURATION = "dicom_transcoder_duration_ns";
+# Name of the counter of the bytes read by the de-identifier.
+public const METRIC_DEIDENTIFIER_BYTES = "dicom_deidentifier_bytes_total";
+# Name of the histogram of the time taken to de-identify a dataset or a file.
+public const METRIC_DEIDENTIFIER_DURATION = "dicom_deidentifier_duration_ns";
+# Name of the histogram of the time taken to render a frame.
+public const METRIC_RENDERING_DURATION = "dicom_rendering_duration_ns";
+# Name of the histogram of the time taken to decode or encode the frames of pixel data.
+public const METRIC_CODEC_DURATION = "dicom_codec_duration_ns";
+# Name of the counter of the tag information lookups in the DICOM dictionaries.
+public const METRIC_DICTIONARY_LOOKUPS = "dicom_dictionary_lookups_total";
+# Name of the counter of the tag information lookups that did not match a dictionary entry.
+public const METRIC_DICTIONARY_MISSES = "dicom_dictionary_misses_total";
+# Name of the histogram of the time taken to preprocess a DICOMweb request.
+public const METRIC_PREPROCESS_DURATION = "dicomweb_preprocess_duration_ns";
+# Name of the histogram of the time taken to execute a DICOM service resource.
+public const METRIC_EXECUTE_DURATION = "dicomweb_execute_duration_ns";
+# Name of the histogram of the time taken to build a DICOMweb response.
+public const METRIC_BUILD_RESPONSE_DURATION = "dicomweb_build_response_duration_ns";
+# Name of the histogram of the time taken to post-process a DICOMweb response.
+public const METRIC_POST_PROCESS_DURATION = "dicomweb_post_process_duration_ns";
+# Name of the histogram of the number of objects in DICOMweb responses.
+public const METRIC_RESPONSE_OBJECTS = "dicomweb_response_objects";
+# Name of the histogram of the bytes of bulk data values in DICOMweb responses.
+public const METRIC_RESPONSE_BULK_DATA_BYTES = "dicomweb_response_bulk_data_bytes";
+# Name of the counter of the search requests served from the response cache.
+public const METRIC_RESPONSE_CACHE_HITS = "dicomweb_response_cache_hits_total";
+# Name of the counter of the search requests not served from the response cache.
+public const METRIC_RESPONSE_CACHE_MISSES = "dicomweb_response_cache_misses_total";
+# Name of the counter of the search requests served with the result of a concurrent identical request.
+public const METRIC_COALESCED_REQUESTS = "dicomweb_coalesced_requests_total";
+# Name of the counter of the requests rejected by admission control.
+public const METRIC_ADMISSION_REJECTIONS = "dicomweb_admission_rejections_total";
+# Name of the counter of the rendered images served from the rendered image cache.
+public const METRIC_RENDERED_CACHE_HITS = "dicomweb_rendered_cache_hits_total";
+# Name of the counter of the rendered images not found in the rendered image cache.
+public const METRIC_RENDERED_CACHE_MISSES = "dicomweb_rendered_cache_misses_total";
@@ -183,6 +183,12 @@ isolated function encodeVl(Tag tag, Vr vr, int vl, ByteOrder byteOrder) returns
 # + return - The encoded value, or an `EncodingError` if the encoding fails
 isolated function encodeValue(Vr vr, DataElementValue value, ByteOrder byteOrder) returns byte[]|EncodingError {
     do {
+        // Packed values hold whole values of the fixed length of the VR, therefore, they are not resized
+        if value is float[] {
+            return check floatArrayToBytes(value, vr, byteOrder);
+        } else if isPackedValue(value) && value is int[] {
+            return check intArrayToBytes(value, vr, byteOrder);
+        }
         // Encode value
         byte[] valueBytes = check valueToBytes(value, byteOrder);
         // Resize to achieve an even length if not an empty value
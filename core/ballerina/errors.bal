@@ -26,5 +26,17 @@ public type EncodingError distinct Error;
 # Represents a DICOM parsing related error.
 public type ParsingError distinct Error;
 
+# Represents a DICOM transcoding related error.
+public type TranscodingError distinct Error;
+
+# Represents a DICOM de-identification related error.
+public type DeidentificationError distinct Error;
+
+# Represents a DICOM image rendering related error.
+public type RenderingError distinct Error;
+
+# Represents a DICOM pixel data codec related error.
+public type CodecError distinct Error;
+
 # Represents a DICOM type related error.
 public type TypeError distinct Error;
@@ -55,3 +55,757 @@ isolated function javaFloatToBytes(float n, ByteOrder byteOrder) returns byte[]
     name: "floatToBytes",
     'class: "io.ballerinax.health.dicom.ByteUtils"
 } external;
+
+# Decodes packed integer values.
+#
+# + bytes - The packed values
+# + byteOrder - The byte order of the values
+# + width - The number of bytes of each value
+# + signed - Whether the values are signed
+# + return - The decoded values
+isolated function javaBytesToIntArray(byte[] bytes, ByteOrder byteOrder, int width, boolean signed) returns int[] =
+    @java:Method {
+    name: "bytesToIntArray",
+    'class: "io.ballerinax.health.dicom.ByteUtils"
+} external;
+
+# Decodes packed float values.
+#
+# + bytes - The packed values
+# + byteOrder - The byte order of the values
+# + width - The number of bytes of each value
+# + return - The decoded values
+isolated function javaBytesToFloatArray(byte[] bytes, ByteOrder byteOrder, int width) returns float[] = @java:Method {
+    name: "bytesToFloatArray",
+    'class: "io.ballerinax.health.dicom.ByteUtils"
+} external;
+
+# Encodes integer values into packed bytes.
+#
+# + values - The values to be encoded
+# + byteOrder - The byte order to be used for the encoding
+# + width - The number of bytes of each value
+# + return - The packed values
+isolated function javaIntArrayToBytes(int[] values, ByteOrder byteOrder, int width) returns byte[] = @java:Method {
+    name: "intArrayToBytes",
+    'class: "io.ballerinax.health.dicom.ByteUtils"
+} external;
+
+# Encodes float values into packed bytes.
+#
+# + values - The values to be encoded
+# + byteOrder - The byte order to be used for the encoding
+# + width - The number of bytes of each value
+# + return - The packed values
+isolated function javaFloatArrayToBytes(float[] values, ByteOrder byteOrder, int width) returns byte[] =
+    @java:Method {
+    name: "floatArrayToBytes",
+    'class: "io.ballerinax.health.dicom.ByteUtils"
+} external;
+
+# Creates a new native columnar store.
+#
+# + return - The handle of the created columnar store
+isolated function javaNewColumnarStore() returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.ColumnarStore"
+} external;
+
+# Adds a new empty row to a columnar store.
+#
+# + store - The columnar store
+# + return - The index of the new row
+isolated function javaColumnarStoreAddRow(handle store) returns int = @java:Method {
+    name: "addRow",
+    'class: "io.ballerinax.health.dicom.ColumnarStore"
+} external;
+
+# Retrieves the number of rows in a columnar store.
+#
+# + store - The columnar store
+# + return - The number of rows
+isolated function javaColumnarStoreGetRowCount(handle store) returns int = @java:Method {
+    name: "getRowCount",
+    'class: "io.ballerinax.health.dicom.ColumnarStore"
+} external;
+
+# Stores an empty value in a columnar store.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + vr - The VR of the value
+isolated function javaColumnarStorePutEmpty(handle store, int row, int tag, string vr) = @java:Method {
+    name: "putEmpty",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Stores an integer value in a columnar store.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + vr - The VR of the value
+# + value - The value
+isolated function javaColumnarStorePutInt(handle store, int row, int tag, string vr, int value) = @java:Method {
+    name: "putInt",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Stores a float value in a columnar store.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + vr - The VR of the value
+# + value - The value
+isolated function javaColumnarStorePutFloat(handle store, int row, int tag, string vr,
+        float value) = @java:Method {
+    name: "putFloat",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Stores a string value in a columnar store.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + vr - The VR of the value
+# + value - The value
+isolated function javaColumnarStorePutString(handle store, int row, int tag, string vr,
+        string value) = @java:Method {
+    name: "putString",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Stores an immutable value of any other type in a columnar store.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + vr - The VR of the value
+# + value - The value
+isolated function javaColumnarStorePutObject(handle store, int row, int tag, string vr,
+        anydata & readonly value) = @java:Method {
+    name: "putObject",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves the tags of the values present in a columnar store row, in ascending order.
+#
+# + store - The columnar store
+# + row - The row index
+# + return - The tags present in the row
+isolated function javaColumnarStoreGetRowTags(handle store, int row) returns int[] = @java:Method {
+    name: "getRowTags",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves the kind of a value stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The kind of the value
+isolated function javaColumnarStoreGetKind(handle store, int row, int tag) returns int = @java:Method {
+    name: "getKind",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves the VR of a value stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The VR of the value
+isolated function javaColumnarStoreGetVr(handle store, int row, int tag) returns string = @java:Method {
+    name: "getVr",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves an integer value stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The value
+isolated function javaColumnarStoreGetInt(handle store, int row, int tag) returns int = @java:Method {
+    name: "getInt",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves a float value stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The value
+isolated function javaColumnarStoreGetFloat(handle store, int row, int tag) returns float = @java:Method {
+    name: "getFloat",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves a string value stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The value
+isolated function javaColumnarStoreGetString(handle store, int row, int tag) returns string = @java:Method {
+    name: "getString",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Retrieves a value of any other type stored in a columnar store row.
+#
+# + store - The columnar store
+# + row - The row index
+# + tag - The tag of the column
+# + return - The value
+isolated function javaColumnarStoreGetObject(handle store, int row,
+        int tag) returns anydata & readonly = @java:Method {
+    name: "getObject",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Finds the columnar store rows holding an integer value.
+#
+# + store - The columnar store
+# + tag - The tag of the column
+# + value - The value to match
+# + return - The matching row indices, in ascending order
+isolated function javaColumnarStoreFindInt(handle store, int tag, int value) returns int[] = @java:Method {
+    name: "findInt",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Finds the columnar store rows holding a float value.
+#
+# + store - The columnar store
+# + tag - The tag of the column
+# + value - The value to match
+# + return - The matching row indices, in ascending order
+isolated function javaColumnarStoreFindFloat(handle store, int tag, float value) returns int[] = @java:Method {
+    name: "findFloat",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Finds the columnar store rows holding a string value.
+#
+# + store - The columnar store
+# + tag - The tag of the column
+# + value - The value to match
+# + return - The matching row indices, in ascending order
+isolated function javaColumnarStoreFindString(handle store, int tag, string value) returns int[] = @java:Method {
+    name: "findString",
+    'class: "io.ballerinax.health.dicom.ColumnarStoreUtils"
+} external;
+
+# Opens a native metadata index.
+#
+# + directory - The index directory
+# + return - The metadata index handle, or an error if the index cannot be opened
+isolated function javaOpenMetadataIndex(string directory) returns handle|error = @java:Method {
+    name: "open",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Checks whether the indexed attributes of a file are up to date.
+#
+# + index - The metadata index
+# + filePath - The file path
+# + return - `true` if the file is indexed and unchanged, `false` otherwise, or an error if the check fails
+isolated function javaMetadataIndexIsUpToDate(handle index, string filePath) returns boolean|error = @java:Method {
+    name: "isUpToDate",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Indexes the attributes of a file.
+#
+# + index - The metadata index
+# + filePath - The file path
+# + tags - The attribute tags
+# + vrs - The attribute VRs
+# + values - The attribute values
+# + return - An error if the attributes cannot be indexed
+isolated function javaMetadataIndexPut(handle index, string filePath, int[] tags, string[] vrs,
+        (string|int|float)?[] values) returns error? = @java:Method {
+    name: "put",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Removes the indexed attributes of a file.
+#
+# + index - The metadata index
+# + filePath - The file path
+# + return - An error if the attributes cannot be removed
+isolated function javaMetadataIndexRemove(handle index, string filePath) returns error? = @java:Method {
+    name: "remove",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Retrieves the paths of the indexed files.
+#
+# + index - The metadata index
+# + return - The indexed file paths, in ascending order
+isolated function javaMetadataIndexGetFilePaths(handle index) returns string[] = @java:Method {
+    name: "getFilePaths",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Retrieves the indexed attributes of a file.
+#
+# + index - The metadata index
+# + filePath - The file path
+# + return - The attributes as flat tag, VR and value triples, `()` if the file is not indexed,
+# or an error if the attributes cannot be read
+isolated function javaMetadataIndexGet(handle index, string filePath) returns anydata[]|error? = @java:Method {
+    name: "get",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Finds the indexed files holding an attribute value.
+#
+# + index - The metadata index
+# + tag - The attribute tag
+# + value - The value to match
+# + return - The matching file paths, in ascending order
+isolated function javaMetadataIndexFind(handle index, int tag, string|int|float value) returns string[] = @java:Method {
+    name: "find",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Flushes a metadata index.
+#
+# + index - The metadata index
+# + return - An error if the index cannot be flushed
+isolated function javaMetadataIndexFlush(handle index) returns error? = @java:Method {
+    name: "flush",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Compacts a metadata index.
+#
+# + index - The metadata index
+# + return - An error if the index cannot be compacted
+isolated function javaMetadataIndexCompact(handle index) returns error? = @java:Method {
+    name: "compact",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Closes a metadata index.
+#
+# + index - The metadata index
+# + return - An error if the index cannot be closed
+isolated function javaMetadataIndexClose(handle index) returns error? = @java:Method {
+    name: "close",
+    'class: "io.ballerinax.health.dicom.MetadataIndexUtils"
+} external;
+
+# Opens a file for reading bulk data byte ranges.
+#
+# + filePath - The file path
+# + return - The bulk data reader handle, or an error if the file cannot be opened
+isolated function javaOpenBulkDataReader(string filePath) returns handle|error = @java:Method {
+    name: "open",
+    'class: "io.ballerinax.health.dicom.BulkDataReader"
+} external;
+
+# Reads a byte range of a file.
+#
+# + reader - The bulk data reader
+# + offset - The offset of the first byte of the range
+# + length - The length of the range in bytes
+# + return - The bytes of the range, or an error if the range cannot be read
+isolated function javaBulkDataReaderRead(handle reader, int offset, int length) returns byte[]|error = @java:Method {
+    name: "read",
+    'class: "io.ballerinax.health.dicom.BulkDataReader"
+} external;
+
+# Reads a byte range of a file and encodes it using the Base64 alphabet.
+#
+# + reader - The bulk data reader
+# + offset - The offset of the first byte of the range
+# + length - The length of the range in bytes
+# + return - The Base64 encoded range, or an error if the range cannot be read
+isolated function javaBulkDataReaderEncodeBase64(handle reader, int offset,
+        int length) returns string|error = @java:Method {
+    name: "encodeBase64",
+    'class: "io.ballerinax.health.dicom.BulkDataReader"
+} external;
+
+# Retrieves the size of the file of a bulk data reader.
+#
+# + reader - The bulk data reader
+# + return - The file size in bytes, or an error if the size cannot be read
+isolated function javaBulkDataReaderSize(handle reader) returns int|error = @java:Method {
+    name: "size",
+    'class: "io.ballerinax.health.dicom.BulkDataReader"
+} external;
+
+# Closes a bulk data reader.
+#
+# + reader - The bulk data reader
+# + return - An error if the reader cannot be closed
+isolated function javaBulkDataReaderClose(handle reader) returns error? = @java:Method {
+    name: "close",
+    'class: "io.ballerinax.health.dicom.BulkDataReader"
+} external;
+
+# Enables or disables metrics recording.
+#
+# + enabled - Whether metrics recording is enabled
+isolated function javaSetMetricsEnabled(boolean enabled) = @java:Method {
+    name: "setEnabled",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Checks whether metrics recording is enabled.
+#
+# + return - `true` if metrics recording is enabled, `false` otherwise
+isolated function javaIsMetricsEnabled() returns boolean = @java:Method {
+    name: "isEnabled",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Starts timing a duration.
+#
+# + return - The start time in nanoseconds
+isolated function javaStartTimer() returns int = @java:Method {
+    name: "startTimer",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Records the time elapsed since a start time in a histogram.
+#
+# + name - The histogram name
+# + startTime - The start time
+# + return - The recorded duration in nanoseconds, or `-1` if the duration is not recorded
+isolated function javaRecordDuration(string name, int startTime) returns int = @java:Method {
+    name: "recordDuration",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Records a value in a histogram.
+#
+# + name - The histogram name
+# + value - The value
+isolated function javaRecordValue(string name, int value) = @java:Method {
+    name: "recordValue",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Increments a counter.
+#
+# + name - The counter name
+# + amount - The amount to increment the counter by
+isolated function javaIncrementCounter(string name, int amount) = @java:Method {
+    name: "incrementCounter",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Retrieves the names of the recorded counters.
+#
+# + return - The counter names
+isolated function javaGetCounterNames() returns string[] = @java:Method {
+    name: "getCounterNames",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Retrieves the value of a counter.
+#
+# + name - The counter name
+# + return - The counter value
+isolated function javaGetCounterValue(string name) returns int = @java:Method {
+    name: "getCounterValue",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Retrieves the names of the recorded histograms.
+#
+# + return - The histogram names
+isolated function javaGetHistogramNames() returns string[] = @java:Method {
+    name: "getHistogramNames",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Retrieves a snapshot of a histogram.
+#
+# + name - The histogram name
+# + return - The count, sum, minimum, maximum, and the 50th, 90th and 99th percentiles of the histogram
+isolated function javaGetHistogramSnapshot(string name) returns int[] = @java:Method {
+    name: "getHistogramSnapshot",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Removes all recorded metrics.
+isolated function javaResetMetrics() = @java:Method {
+    name: "reset",
+    'class: "io.ballerinax.health.dicom.Metrics"
+} external;
+
+# Creates a new native UID remapper.
+#
+# + return - The handle of the created UID remapper
+isolated function javaNewUidRemapper() returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.UidRemapper"
+} external;
+
+# Retrieves the replacement of a UID, creating it if the UID has not been remapped before.
+#
+# + remapper - The UID remapper
+# + uid - The UID to be replaced
+# + return - The replacement UID
+isolated function javaUidRemapperRemap(handle remapper, string uid) returns string = @java:Method {
+    name: "remap",
+    'class: "io.ballerinax.health.dicom.UidRemapper"
+} external;
+
+# Retrieves the number of remapped UIDs.
+#
+# + remapper - The UID remapper
+# + return - The number of remapped UIDs
+isolated function javaUidRemapperSize(handle remapper) returns int = @java:Method {
+    name: "size",
+    'class: "io.ballerinax.health.dicom.UidRemapper"
+} external;
+
+# Renders a frame of native pixel data.
+#
+# + path - The path of the file holding the pixel data
+# + offset - The offset of the pixel data value within the file
+# + length - The length of the pixel data value in bytes
+# + frameNumber - The number of the frame to be rendered, starting from 1
+# + parameters - The image pixel attributes
+# + options - The rendering options
+# + return - The encoded image, or an error if the frame cannot be read or encoded
+isolated function javaRenderFrame(string path, int offset, int length, int frameNumber,
+        RenderingParameters parameters, RenderingOptions options) returns byte[]|error = @java:Method {
+    name: "render",
+    'class: "io.ballerinax.health.dicom.FrameRenderer"
+} external;
+
+# Creates a new rendered image cache.
+#
+# + maxMemorySize - The maximum total size of the images held in memory, in bytes
+# + directory - The directory images are spilled to, or an empty string to cache images only in memory
+# + maxDiskSize - The maximum total size of the images held in the directory, in bytes
+# + return - The rendered image cache handle, or an error if the directory cannot be created or read
+isolated function javaNewRenderedImageCache(int maxMemorySize, string directory,
+        int maxDiskSize) returns handle|error = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Retrieves a cached image.
+#
+# + cache - The rendered image cache
+# + key - The cache key
+# + return - The image, `()` if the image is not cached, or an error if the image cannot be read
+isolated function javaRenderedImageCacheGet(handle cache, string key) returns byte[]|error? = @java:Method {
+    name: "get",
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Caches an image.
+#
+# + cache - The rendered image cache
+# + key - The cache key
+# + image - The image
+# + return - An error if images spilled to the directory cannot be written
+isolated function javaRenderedImageCachePut(handle cache, string key, byte[] image) returns error? = @java:Method {
+    name: "put",
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Removes all cached images.
+#
+# + cache - The rendered image cache
+# + return - An error if the files of the directory cannot be deleted
+isolated function javaRenderedImageCacheClear(handle cache) returns error? = @java:Method {
+    name: "clear",
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Retrieves the total size of the images held in memory.
+#
+# + cache - The rendered image cache
+# + return - The size in bytes
+isolated function javaRenderedImageCacheGetMemorySize(handle cache) returns int = @java:Method {
+    name: "getMemorySize",
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Retrieves the total size of the images held in the directory.
+#
+# + cache - The rendered image cache
+# + return - The size in bytes
+isolated function javaRenderedImageCacheGetDiskSize(handle cache) returns int = @java:Method {
+    name: "getDiskSize",
+    'class: "io.ballerinax.health.dicom.RenderedImageCache"
+} external;
+
+# Creates a new native indexed dataset.
+#
+# + return - The handle of the created indexed dataset
+isolated function javaNewIndexedDataset() returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.IndexedDataset"
+} external;
+
+# Retrieves the data element of a tag from an indexed dataset.
+#
+# + dataset - The indexed dataset
+# + tag - The tag as an integer
+# + return - The data element, or `()` if the tag is not present
+isolated function javaIndexedDatasetGet(handle dataset, int tag) returns (DataElement & readonly)? = @java:Method {
+    name: "get",
+    'class: "io.ballerinax.health.dicom.IndexedDatasetUtils"
+} external;
+
+# Checks whether a tag is present in an indexed dataset.
+#
+# + dataset - The indexed dataset
+# + tag - The tag as an integer
+# + return - `true` if the tag is present, `false` otherwise
+isolated function javaIndexedDatasetContains(handle dataset, int tag) returns boolean = @java:Method {
+    name: "contains",
+    'class: "io.ballerinax.health.dicom.IndexedDatasetUtils"
+} external;
+
+# Adds a data element to an indexed dataset, replacing the data element of the same tag if present.
+#
+# + dataset - The indexed dataset
+# + tag - The tag as an integer
+# + dataElement - The data element
+isolated function javaIndexedDatasetPut(handle dataset, int tag, DataElement & readonly dataElement) = @java:Method {
+    name: "put",
+    'class: "io.ballerinax.health.dicom.IndexedDatasetUtils"
+} external;
+
+# Removes the data element of a tag from an indexed dataset.
+#
+# + dataset - The indexed dataset
+# + tag - The tag as an integer
+# + return - The removed data element, or `()` if the tag was not present
+isolated function javaIndexedDatasetRemove(handle dataset, int tag) returns (DataElement & readonly)? = @java:Method {
+    name: "remove",
+    'class: "io.ballerinax.health.dicom.IndexedDatasetUtils"
+} external;
+
+# Retrieves the number of data elements in an indexed dataset.
+#
+# + dataset - The indexed dataset
+# + return - The number of data elements
+isolated function javaIndexedDatasetSize(handle dataset) returns int = @java:Method {
+    name: "size",
+    'class: "io.ballerinax.health.dicom.IndexedDataset"
+} external;
+
+# Retrieves the tags present in an indexed dataset, in ascending order.
+#
+# + dataset - The indexed dataset
+# + return - The tags as integers
+isolated function javaIndexedDatasetGetSortedTags(handle dataset) returns int[] = @java:Method {
+    name: "getSortedTags",
+    'class: "io.ballerinax.health.dicom.IndexedDatasetUtils"
+} external;
+
+# Decodes RLE Lossless frames held in memory.
+#
+# + frames - The encoded frames
+# + layout - The pixel layout of the image
+# + return - The native pixel data of all frames, or an error if a frame cannot be decoded
+isolated function javaDecodeRleFrames(byte[][] frames, PixelLayout layout) returns byte[]|error = @java:Method {
+    name: "decodeFrames",
+    'class: "io.ballerinax.health.dicom.RleCodec"
+} external;
+
+# Decodes RLE Lossless frames from the encapsulated pixel data fragments of a file.
+#
+# + path - The path of the file
+# + fragmentOffsets - The offsets of the fragments within the file, in frame order
+# + fragmentLengths - The lengths of the fragments
+# + frameFragmentCounts - The number of fragments of each frame
+# + layout - The pixel layout of the image
+# + return - The native pixel data of all frames, or an error if a frame cannot be read or decoded
+isolated function javaDecodeRleFile(string path, int[] fragmentOffsets, int[] fragmentLengths,
+        int[] frameFragmentCounts, PixelLayout layout) returns byte[]|error = @java:Method {
+    name: "decodeFile",
+    'class: "io.ballerinax.health.dicom.RleCodec"
+} external;
+
+# Encodes native pixel data into RLE Lossless frames.
+#
+# + pixelData - The native pixel data of all frames
+# + layout - The pixel layout of the image
+# + return - The fragment of each frame, or an error if the pixel data does not hold all frames
+isolated function javaEncodeRleFrames(byte[] pixelData, PixelLayout layout) returns byte[][]|error = @java:Method {
+    name: "encodeFrames",
+    'class: "io.ballerinax.health.dicom.RleCodec"
+} external;
+
+# Creates a new fuzzy token index.
+#
+# + return - The handle of the fuzzy token index
+isolated function javaNewFuzzyTokenIndex() returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndex"
+} external;
+
+# Indexes the attribute values of a key in a fuzzy token index, replacing the values indexed for the key if present.
+#
+# + index - The fuzzy token index
+# + key - The key
+# + tags - The tags of the attributes, as integers
+# + values - The attribute values, at the indices of their tags
+isolated function javaFuzzyTokenIndexPut(handle index, string key, int[] tags, string[] values) = @java:Method {
+    name: "put",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndexUtils"
+} external;
+
+# Removes the attribute values indexed for a key from a fuzzy token index.
+#
+# + index - The fuzzy token index
+# + key - The key
+# + return - `true` if the key was indexed, `false` otherwise
+isolated function javaFuzzyTokenIndexRemove(handle index, string key) returns boolean = @java:Method {
+    name: "remove",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndexUtils"
+} external;
+
+# Checks whether a key is indexed in a fuzzy token index.
+#
+# + index - The fuzzy token index
+# + key - The key
+# + return - `true` if the key is indexed, `false` otherwise
+isolated function javaFuzzyTokenIndexContains(handle index, string key) returns boolean = @java:Method {
+    name: "contains",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndexUtils"
+} external;
+
+# Retrieves the number of keys indexed in a fuzzy token index.
+#
+# + index - The fuzzy token index
+# + return - The number of keys
+isolated function javaFuzzyTokenIndexSize(handle index) returns int = @java:Method {
+    name: "size",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndex"
+} external;
+
+# Finds the keys whose value of an attribute matches a query in a fuzzy token index.
+#
+# + index - The fuzzy token index
+# + tag - The tag of the attribute, as an integer
+# + query - The query
+# + return - The matching keys, in ascending order
+isolated function javaFuzzyTokenIndexFind(handle index, int tag, string query) returns string[] = @java:Method {
+    name: "find",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndexUtils"
+} external;
+
+# Checks whether a value matches a fuzzy matching query.
+#
+# + value - The value
+# + query - The query
+# + return - `true` if the value matches the query, `false` otherwise
+isolated function javaIsFuzzyMatching(string value, string query) returns boolean = @java:Method {
+    name: "matches",
+    'class: "io.ballerinax.health.dicom.FuzzyTokenIndexUtils"
+} external;
@@ -0,0 +1,83 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# A token index for fuzzy matching of person names and other short string values, such as patient names looked up
+# by a partial or misspelled name.
+#
+# The PN and LO values of each indexed dataset are folded to lower case without diacritical marks, and split into
+# words at name component, component group and other delimiters. The words of each attribute are held in a native
+# prefix trie, along with their Soundex codes. A query matches a value if each word of the query is a prefix of a word
+# of the value, or sounds like a word of the value. Wildcard characters in queries are therefore not needed, and are
+# ignored.
+#
+# Datasets are indexed under a key, such as the path of their file, so that the keys of the matching datasets are
+# found without splitting the values of each dataset per query.
+public isolated class FuzzyTokenIndex {
+    private final handle index = javaNewFuzzyTokenIndex();
+
+    # Indexes the PN and LO values of a dataset, replacing the values indexed for the key if present.
+    #
+    # + key - The key of the dataset
+    # + dataset - The dataset
+    public isolated function put(string key, Dataset|IndexedDataset dataset) {
+        int[] tags = [];
+        string[] values = [];
+        foreach DataElement dataElement in dataset is IndexedDataset ? dataset.elements() : dataset.toArray() {
+            Vr? vr = dataElement.vr ?: getTagInfo(dataElement.tag)?.vr;
+            DataElementValue value = dataElement.value;
+            if (vr == PN || vr == LO) && value is string {
+                tags.push(tagToColumn(dataElement.tag));
+                values.push(value);
+            }
+        }
+        javaFuzzyTokenIndexPut(self.index, key, tags, values);
+    }
+
+    # Removes the values indexed for a key.
+    #
+    # + key - The key of the dataset
+    # + return - `true` if the key was indexed, `false` otherwise
+    public isolated function remove(string key) returns boolean => javaFuzzyTokenIndexRemove(self.index, key);
+
+    # Checks whether a key is indexed.
+    #
+    # + key - The key of the dataset
+    # + return - `true` if the key is indexed, `false` otherwise
+    public isolated function hasKey(string key) returns boolean => javaFuzzyTokenIndexContains(self.index, key);
+
+    # Retrieves the number of indexed datasets.
+    #
+    # + return - The number of indexed datasets
+    public isolated function length() returns int => javaFuzzyTokenIndexSize(self.index);
+
+    # Finds the datasets whose value of an attribute fuzzily matches a query. A query without words, such as an
+    # empty query, matches all indexed datasets.
+    #
+    # + tag - The tag of the PN or LO attribute
+    # + query - The query, such as a person name or a part of it
+    # + return - The keys of the matching datasets, in ascending order
+    public isolated function find(Tag tag, string query) returns string[] =>
+        javaFuzzyTokenIndexFind(self.index, tagToColumn(tag), query);
+}
+
+# Checks whether a value fuzzily matches a query, in the same way as a `FuzzyTokenIndex` matches indexed values.
+#
+# + value - The PN or LO value
+# + query - The query, such as a person name or a part of it
+# + return - `true` if the value matches the query, `false` otherwise
+public isolated function isFuzzyMatching(string value, string query) returns boolean =>
+    javaIsFuzzyMatching(value, query);
@@ -0,0 +1,104 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# A DICOM dataset keyed by tag integers, such as `TAG_PATIENT_NAME`.
+#
+# Data elements are held in a native hash table keyed by the tag integer, so that looking up a tag neither builds
+# nor compares `Tag` records. Tags are iterated in ascending order, as required for encoding.
+#
+# Data elements are stored as immutable values. Converting an immutable `Dataset`, such as a pooled or cached one,
+# therefore shares its data elements instead of copying them. The dataset accessors, such as `getString()`,
+# `getInt()` and `getSequence()`, accept an `IndexedDataset` in place of a `Dataset`.
+public isolated class IndexedDataset {
+    private final handle dataset;
+
+    # Initializes the indexed dataset.
+    #
+    # + dataset - The dataset whose data elements are added, if any
+    public isolated function init(Dataset? dataset = ()) {
+        self.dataset = javaNewIndexedDataset();
+        if dataset is Dataset {
+            foreach DataElement dataElement in dataset {
+                javaIndexedDatasetPut(self.dataset, tagToColumn(dataElement.tag), dataElement.cloneReadOnly());
+            }
+        }
+    }
+
+    # Retrieves the data element of a tag.
+    #
+    # + tagInt - The tag as an integer
+    # + return - The data element if found, or `()`
+    public isolated function get(int tagInt) returns (DataElement & readonly)? =>
+        javaIndexedDatasetGet(self.dataset, tagInt);
+
+    # Checks whether the dataset contains a tag.
+    #
+    # + tagInt - The tag as an integer
+    # + return - `true` if the tag is present, `false` otherwise
+    public isolated function hasTag(int tagInt) returns boolean => javaIndexedDatasetContains(self.dataset, tagInt);
+
+    # Adds a data element, replacing the data element of the same tag if present.
+    #
+    # + dataElement - The data element to be added
+    public isolated function put(DataElement dataElement) {
+        javaIndexedDatasetPut(self.dataset, tagToColumn(dataElement.tag), dataElement.cloneReadOnly());
+    }
+
+    # Removes the data element of a tag.
+    #
+    # + tagInt - The tag as an integer
+    # + return - The removed data element, or `()` if the tag was not present
+    public isolated function remove(int tagInt) returns (DataElement & readonly)? =>
+        javaIndexedDatasetRemove(self.dataset, tagInt);
+
+    # Retrieves the number of data elements.
+    #
+    # + return - The number of data elements
+    public isolated function length() returns int => javaIndexedDatasetSize(self.dataset);
+
+    # Retrieves the tags present in the dataset.
+    #
+    # + return - The tags as integers, in ascending order
+    public isolated function tags() returns int[] => javaIndexedDatasetGetSortedTags(self.dataset);
+
+    # Retrieves the data elements of the dataset.
+    #
+    # + return - The data elements, in ascending tag order
+    public isolated function elements() returns (DataElement & readonly)[] {
+        (DataElement & readonly)[] dataElements = [];
+        foreach int tagInt in self.tags() {
+            // Data elements removed concurrently are skipped
+            (DataElement & readonly)? dataElement = self.get(tagInt);
+            if dataElement is DataElement & readonly {
+                dataElements.push(dataElement);
+            }
+        }
+        return dataElements;
+    }
+
+    # Converts the indexed dataset to a `Dataset`. The data elements are shared, and are added in ascending tag
+    # order, so that the dataset can be encoded without sorting.
+    #
+    # + return - The `Dataset`
+    public isolated function toDataset() returns Dataset {
+        Dataset dataset = table [];
+        foreach DataElement & readonly dataElement in self.elements() {
+            dataset.put(dataElement);
+        }
+        return dataset;
+    }
+}
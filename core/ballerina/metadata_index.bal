@@ -0,0 +1,203 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# A persistent, on-disk index of the metadata of DICOM files, such as the files of an archive.
+#
+# The index is stored in a directory, as an append-only record log, a sorted key block per indexed attribute and a
+# snapshot of the indexed files. The modification time and size of each indexed file are recorded along with its
+# attributes, so that only the files that have changed since they were indexed need to be parsed again. Files can be
+# matched on their indexed attributes without parsing them. Reopening the index only replays the changes made after
+# the last flush.
+#
+# Only string, integer, float and tag (AT) values are indexed. Other values, such as sequences, are skipped.
+# Indexed datasets do not include the value length (VL) of data elements, except for empty values, which have a VL of 0.
+# An index directory must not be opened by more than one index at a time.
+public isolated class MetadataIndex {
+    private final handle index;
+
+    # Opens the metadata index in a directory, creating it if it does not exist.
+    #
+    # + directory - The index directory
+    # + return - An `Error` if the index cannot be opened
+    public isolated function init(string directory) returns Error? {
+        handle|error index = javaOpenMetadataIndex(directory);
+        if index is error {
+            return error Error(string `Failed to open metadata index: ${directory}`, index);
+        }
+        self.index = index;
+    }
+
+    # Checks whether the indexed metadata of a file is up to date.
+    #
+    # + filePath - The file path
+    # + return - `true` if the file is indexed and has not changed since, `false` otherwise,
+    # or an `Error` if the check fails
+    public isolated function isUpToDate(string filePath) returns boolean|Error {
+        boolean|error upToDate = javaMetadataIndexIsUpToDate(self.index, filePath);
+        if upToDate is error {
+            return error Error(string `Failed to check metadata index entry: ${filePath}`, upToDate);
+        }
+        return upToDate;
+    }
+
+    # Indexes the metadata of a file, replacing any previously indexed metadata of the file.
+    #
+    # + filePath - The file path
+    # + dataset - The dataset of the file
+    # + tags - The tags to be indexed. If not provided, all supported tags are indexed.
+    # + return - An `Error` if the metadata cannot be indexed
+    public isolated function put(string filePath, Dataset dataset, Tag[]? tags = ()) returns Error? {
+        int[] columnTags = [];
+        string[] vrs = [];
+        (string|int|float)?[] values = [];
+        foreach DataElement dataElement in dataset {
+            if tags is Tag[] && tags.indexOf(dataElement.tag) == () {
+                continue;
+            }
+            DataElementValue value = dataElement.value;
+            string vr = dataElement.vr ?: "";
+            if value is Tag && vr == AT {
+                values.push(tagToColumn(value));
+            } else if value is string|int|float|() {
+                values.push(value);
+            } else {
+                continue;
+            }
+            columnTags.push(tagToColumn(dataElement.tag));
+            vrs.push(vr);
+        }
+        error? result = javaMetadataIndexPut(self.index, filePath, columnTags, vrs, values);
+        if result is error {
+            return error Error(string `Failed to index metadata of file: ${filePath}`, result);
+        }
+    }
+
+    # Removes the indexed metadata of a file.
+    #
+    # + filePath - The file path
+    # + return - An `Error` if the metadata cannot be removed
+    public isolated function remove(string filePath) returns Error? {
+        error? result = javaMetadataIndexRemove(self.index, filePath);
+        if result is error {
+            return error Error(string `Failed to remove metadata index entry: ${filePath}`, result);
+        }
+    }
+
+    # Retrieves the paths of the indexed files.
+    #
+    # + return - The absolute, normalized paths of the indexed files, in ascending order
+    public isolated function getFilePaths() returns string[] => javaMetadataIndexGetFilePaths(self.index);
+
+    # Reads the indexed metadata of a file back from the index.
+    #
+    # + filePath - The file path
+    # + return - The indexed `Dataset`, `()` if the file is not indexed, or an `Error` if the metadata cannot be read
+    public isolated function getDataset(string filePath) returns Dataset|Error? {
+        do {
+            anydata[]? attributes = check javaMetadataIndexGet(self.index, filePath);
+            if attributes == () {
+                return;
+            }
+            Dataset dataset = table [];
+            int i = 0;
+            while i + 2 < attributes.length() {
+                Tag tag = columnToTag(check attributes[i].ensureType(int));
+                string vrStr = check attributes[i + 1].ensureType(string);
+                anydata value = attributes[i + 2];
+                DataElement dataElement = {tag, value: ()};
+                if vrStr != "" {
+                    dataElement.vr = check strToVr(vrStr);
+                }
+                if value == () {
+                    dataElement.vl = 0;
+                } else if value is int && vrStr == AT {
+                    dataElement.value = columnToTag(value);
+                } else {
+                    dataElement.value = check value.ensureType(DataElementValue);
+                }
+                dataset.put(dataElement);
+                i += 3;
+            }
+            return dataset;
+        } on fail error e {
+            return error Error(string `Failed to read metadata index entry: ${filePath}`, e);
+        }
+    }
+
+    # Finds the indexed files matching all the given criteria.
+    # Matching is performed using the sorted key blocks of the index, without parsing the files.
+    #
+    # + criteria - The matching criteria
+    # + return - The paths of the matching files in ascending order, or an `Error` if matching fails
+    public isolated function findMatching(ColumnMatchCriterion[] criteria) returns string[]|Error {
+        string[]? matchingPaths = ();
+        foreach ColumnMatchCriterion criterion in criteria {
+            string|int|float|Tag value = criterion.value;
+            string[]|error paths = trap javaMetadataIndexFind(self.index, tagToColumn(criterion.tag),
+                    value is Tag ? tagToColumn(value) : value);
+            if paths is error {
+                return error Error(string `Failed to match indexed attribute: ${tagToStr(criterion.tag)}`, paths);
+            }
+            matchingPaths = matchingPaths is string[] ? intersectPaths(matchingPaths, paths) : paths;
+            if matchingPaths.length() == 0 {
+                break;
+            }
+        }
+        return matchingPaths ?: self.getFilePaths();
+    }
+
+    # Forces all changes to the storage device, and merges them into the sorted key blocks and the snapshot of the
+    # index. The index is compacted instead if most of its record log holds superseded metadata.
+    #
+    # + return - An `Error` if the index cannot be flushed
+    public isolated function flush() returns Error? {
+        error? result = javaMetadataIndexFlush(self.index);
+        if result is error {
+            return error Error("Failed to flush metadata index", result);
+        }
+    }
+
+    # Rewrites the record log of the index without the superseded metadata of changed and removed files, and rebuilds
+    # the sorted key blocks.
+    #
+    # + return - An `Error` if the index cannot be compacted
+    public isolated function compact() returns Error? {
+        error? result = javaMetadataIndexCompact(self.index);
+        if result is error {
+            return error Error("Failed to compact metadata index", result);
+        }
+    }
+
+    # Flushes and closes the index. The index must not be used after it is closed.
+    #
+    # + return - An `Error` if the index cannot be closed
+    public isolated function close() returns Error? {
+        error? result = javaMetadataIndexClose(self.index);
+        if result is error {
+            return error Error("Failed to close metadata index", result);
+        }
+    }
+}
+
+# Intersects two arrays of file paths, preserving the order of the first array.
+#
+# + paths1 - The first array of paths
+# + paths2 - The second array of paths
+# + return - The paths present in both arrays
+isolated function intersectPaths(string[] paths1, string[] paths2) returns string[] {
+    map<boolean> paths2Set = map from string path in paths2 select [path, true];
+    return from string path in paths1 where paths2Set.hasKey(path) select path;
+}
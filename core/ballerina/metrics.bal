@@ -0,0 +1,141 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/observe;
+
+# Enables or disables metrics recording. Recording is enabled by default.
+# Metrics recorded before disabling are retained.
+#
+# + enabled - Whether metrics recording is enabled
+public isolated function setMetricsEnabled(boolean enabled) {
+    javaSetMetricsEnabled(enabled);
+}
+
+# Checks whether metrics recording is enabled.
+#
+# + return - `true` if metrics recording is enabled, `false` otherwise
+public isolated function isMetricsEnabled() returns boolean => javaIsMetricsEnabled();
+
+# Starts timing a duration, to be recorded using `recordDuration()`.
+#
+# + return - The start time
+public isolated function startTimer() returns int => javaStartTimer();
+
+# Records the time elapsed since a start time in a histogram, in nanoseconds.
+# When tracing is enabled, the duration is also added as a tag of the active span.
+#
+# + name - The histogram name
+# + startTime - The start time returned by `startTimer()`
+public isolated function recordDuration(string name, int startTime) {
+    int duration = javaRecordDuration(name, startTime);
+    if duration >= 0 && observe:isTracingEnabled() {
+        error? result = observe:addTagToSpan(name, duration.toString());
+        if result is error {
+            // Ignore, there is no active span to tag
+        }
+    }
+}
+
+# Records a value in a histogram.
+#
+# + name - The histogram name
+# + value - The value
+public isolated function recordValue(string name, int value) {
+    javaRecordValue(name, value);
+}
+
+# Increments a counter.
+#
+# + name - The counter name
+# + amount - The amount to increment the counter by
+public isolated function incrementCounter(string name, int amount = 1) {
+    javaIncrementCounter(name, amount);
+}
+
+# Retrieves a snapshot of the recorded metrics.
+#
+# + return - The snapshot of the counters and histograms recorded so far
+public isolated function getMetrics() returns MetricsSnapshot {
+    map<int> counters = {};
+    foreach string name in javaGetCounterNames() {
+        counters[name] = javaGetCounterValue(name);
+    }
+    map<HistogramSnapshot> histograms = {};
+    foreach string name in javaGetHistogramNames() {
+        int[] values = javaGetHistogramSnapshot(name);
+        histograms[name] = {
+            count: values[0],
+            sum: values[1],
+            min: values[2],
+            max: values[3],
+            p50: values[4],
+            p90: values[5],
+            p99: values[6]
+        };
+    }
+    return {counters, histograms};
+}
+
+# Removes all recorded metrics.
+public isolated function resetMetrics() {
+    javaResetMetrics();
+}
+
+# Publishes a snapshot of the recorded metrics to Ballerina observability, as gauges.
+# Each counter is published under its name. Each histogram is published as its count, sum, maximum and percentiles,
+# under its name suffixed with `_count`, `_sum`, `_max`, `_p50`, `_p90` and `_p99`.
+# The parser throughput is published as `dicom_parser_bytes_per_second`.
+# This should be called at the rate metrics are collected, as the recording path does not publish metrics.
+#
+# + return - An `Error` if the metrics cannot be published
+public isolated function publishMetrics() returns Error? {
+    if !observe:isMetricsEnabled() {
+        return;
+    }
+    MetricsSnapshot snapshot = getMetrics();
+    do {
+        foreach [string, int] [name, value] in snapshot.counters.entries() {
+            check publishGauge(name, value);
+        }
+        foreach [string, HistogramSnapshot] [name, histogram] in snapshot.histograms.entries() {
+            check publishGauge(string `${name}_count`, histogram.count);
+            check publishGauge(string `${name}_sum`, histogram.sum);
+            check publishGauge(string `${name}_max`, histogram.max);
+            check publishGauge(string `${name}_p50`, histogram.p50);
+            check publishGauge(string `${name}_p90`, histogram.p90);
+            check publishGauge(string `${name}_p99`, histogram.p99);
+        }
+        HistogramSnapshot? parserDuration = snapshot.histograms[METRIC_PARSER_DURATION];
+        int? parserBytes = snapshot.counters[METRIC_PARSER_BYTES];
+        if parserDuration is HistogramSnapshot && parserDuration.sum > 0 && parserBytes is int {
+            check publishGauge("dicom_parser_bytes_per_second", <float>parserBytes * 1e9 / <float>parserDuration.sum);
+        }
+    } on fail error e {
+        return error Error("Failed to publish metrics", e);
+    }
+}
+
+# Publishes a value as a gauge. Registering an already registered gauge retrieves the registered gauge.
+#
+# + name - The gauge name
+# + value - The value
+# + return - An error if the gauge cannot be registered
+isolated function publishGauge(string name, int|float value) returns error? {
+    // Statistics are not configured, as the published values are already aggregated
+    observe:Gauge gauge = new (name, (), (), []);
+    check gauge.register();
+    gauge.setValue(value is int ? <float>value : value);
+}
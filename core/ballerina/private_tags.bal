@@ -0,0 +1,175 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# Tag information of a private data element, keyed by its group and its element within the private block.
+#
+# + group - The group, or the high byte of the group for repeating groups
+# + element - The element offset within the private block, or the whole element for exact entries
+# + tagInfo - The tag information
+type PrivateElementInfo record {|
+    readonly int group;
+    readonly int element;
+    TagInfo & readonly tagInfo;
+|};
+
+# Tag information of the private data elements of a private creator, compiled from the private dictionary.
+# Entries of the private dictionary are keyed as `ggggxxee` for the elements of the block of a group, `ggxxxxee` for
+# the elements of the block of repeating groups, and `ggggeeee` for exact elements.
+#
+# + exactElements - Tag information of exact elements
+# + blockElements - Tag information of the elements of the block of a group, keyed by the element offset
+# + repeatingGroupElements - Tag information of the elements of the block of repeating groups, keyed by the high
+# byte of the group and the element offset
+type PrivateDictionary record {|
+    table<PrivateElementInfo> key(group, element) exactElements;
+    table<PrivateElementInfo> key(group, element) blockElements;
+    table<PrivateElementInfo> key(group, element) repeatingGroupElements;
+|};
+
+# A private block of a dataset, reserved by a private creator data element.
+#
+# + group - The group of the block
+# + block - The block number, which is the element number of the private creator data element
+# + creator - The private creator identifier
+type PrivateBlock record {|
+    readonly int group;
+    readonly int block;
+    string creator;
+|};
+
+// Private dictionaries compiled on first use, keyed by private creator identifier
+isolated map<PrivateDictionary & readonly> privateDictionaries = {};
+
+# Resolves the private creators of the private data elements of a dataset.
+#
+# A private creator data element (gggg,00xx) reserves the block of data elements (gggg,xx00-xxFF) for its private
+# creator, and a group may hold several blocks of different private creators. Private creator data elements must be
+# registered as they are read, and a new resolver must be used for each dataset, including sequence items, as blocks
+# are reserved within a dataset.
+public class PrivateCreatorResolver {
+    private final table<PrivateBlock> key(group, block) blocks = table [];
+
+    # Registers the private creator of a block.
+    #
+    # + tag - The tag of the private creator data element
+    # + creator - The private creator identifier, which is the value of the private creator data element
+    public isolated function register(Tag tag, string creator) {
+        self.blocks.put({group: tag.group, block: getPrivateBlock(tag), creator: creator.trim()});
+    }
+
+    # Retrieves the private creator of the block of a private data element.
+    #
+    # + tag - The tag of the private data element, or of a private creator data element
+    # + return - The private creator identifier, or `()` if the block is not reserved
+    public isolated function getCreator(Tag tag) returns string? =>
+        self.blocks[tag.group, getPrivateBlock(tag)]?.creator;
+
+    # Retrieves the tag information of a private data element from the dictionary of the private creator of its block.
+    #
+    # + tag - The tag of the private data element
+    # + return - The `TagInfo` if tag information is found, otherwise `()`
+    public isolated function getTagInfo(Tag tag) returns TagInfo? {
+        string? creator = self.getCreator(tag);
+        if creator == () {
+            recordDictionaryLookup(false);
+            return;
+        }
+        return getPrivateTagInfo(tag, creator);
+    }
+}
+
+# Retrieves the block number of a private data element.
+#
+# + tag - The tag of the private data element, or of a private creator data element
+# + return - The block number
+isolated function getPrivateBlock(Tag tag) returns int {
+    // Private creator (gggg,00xx) reserves the block of data elements (gggg,xx00-xxFF)
+    // Based off of Section 7.8.1 in Part 5
+    return isPrivateCreatorTag(tag) ? tag.element : tag.element >> 8;
+}
+
+# Looks up the tag information of a private data element in a compiled private dictionary.
+# Exact entries take precedence over the entries of the block of the group, which take precedence over the entries of
+# the block of repeating groups.
+#
+# + dictionary - The compiled private dictionary
+# + tag - The tag of the private data element
+# + return - The `TagInfo` if found, otherwise `()`
+isolated function lookupPrivateTagInfo(PrivateDictionary & readonly dictionary, Tag tag) returns (TagInfo & readonly)? {
+    int offset = tag.element & 0xFF;
+    return dictionary.exactElements[tag.group, tag.element]?.tagInfo
+        ?: dictionary.blockElements[tag.group, offset]?.tagInfo
+        ?: dictionary.repeatingGroupElements[tag.group >> 8, offset]?.tagInfo;
+}
+
+# Retrieves the compiled private dictionary of a private creator, compiling it on first use.
+#
+# + creator - The private creator identifier
+# + return - The compiled private dictionary, or `()` if the private creator is not in the private dictionary
+isolated function getPrivateDictionary(string creator) returns (PrivateDictionary & readonly)? {
+    lock {
+        (PrivateDictionary & readonly)? dictionary = privateDictionaries[creator];
+        if dictionary !is () {
+            return dictionary;
+        }
+    }
+    json entries = privateTagsMap[creator];
+    if entries !is map<json> {
+        return;
+    }
+    // Concurrent first uses may compile the same dictionary, which is harmless as the results are identical
+    PrivateDictionary & readonly dictionary = compilePrivateDictionary(entries);
+    lock {
+        privateDictionaries[creator] = dictionary;
+    }
+    return dictionary;
+}
+
+# Compiles the private dictionary entries of a private creator into tables keyed by group and element.
+#
+# + entries - The private dictionary entries of the private creator
+# + return - The compiled private dictionary
+isolated function compilePrivateDictionary(map<json> entries) returns PrivateDictionary & readonly {
+    PrivateDictionary dictionary = {exactElements: table [], blockElements: table [], repeatingGroupElements: table []};
+    foreach [string, json] [key, entry] in entries.entries() {
+        TagInfo|error tagInfo = entry.cloneWithType();
+        if tagInfo is error || key.length() != 8 {
+            continue;
+        }
+        // Entries with other wildcards, such as `ggggeexx`, are not matched
+        int|error group;
+        int|error element;
+        table<PrivateElementInfo> key(group, element) elements;
+        if key.substring(4, 6) == "xx" {
+            group = int:fromHexString(key.substring(0, 4));
+            element = int:fromHexString(key.substring(6));
+            elements = dictionary.blockElements;
+        } else if key.substring(2, 6) == "xxxx" {
+            group = int:fromHexString(key.substring(0, 2));
+            element = int:fromHexString(key.substring(6));
+            elements = dictionary.repeatingGroupElements;
+        } else {
+            group = int:fromHexString(key.substring(0, 4));
+            element = int:fromHexString(key.substring(4));
+            elements = dictionary.exactElements;
+        }
+        if group is int && element is int {
+            elements.put({group, element, tagInfo: tagInfo.cloneReadOnly()});
+        }
+    }
+    return dictionary.cloneReadOnly();
+}
@@ -0,0 +1,89 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# A size bounded cache of rendered images, which evicts the least recently used images when full.
+#
+# Images are cached in memory, and the least recently used images are spilled to a directory, if one is given, when
+# the memory limit is reached. Images spilled to the directory are retained across restarts, up to the disk limit.
+# Images must be cached under keys that identify their source and all the options they were rendered with.
+public isolated class RenderedImageCache {
+    private final handle cache;
+
+    # Initializes a new instance of the `RenderedImageCache`.
+    #
+    # + maxMemorySize - The maximum total size of the images cached in memory, in bytes
+    # + directory - The directory images are spilled to. Images are cached only in memory if absent.
+    # + maxDiskSize - The maximum total size of the images cached in the directory, in bytes
+    # + return - An `Error` if a size limit is negative, or if the directory cannot be created or read
+    public isolated function init(int maxMemorySize = DEFAULT_RENDERED_CACHE_MEMORY_SIZE, string? directory = (),
+            int maxDiskSize = DEFAULT_RENDERED_CACHE_DISK_SIZE) returns Error? {
+        if maxMemorySize < 0 || maxDiskSize < 0 {
+            return error Error(string `Invalid rendered image cache size: ${maxMemorySize < 0 ? maxMemorySize
+                : maxDiskSize}`);
+        }
+        handle|error cache = javaNewRenderedImageCache(maxMemorySize, directory ?: "", maxDiskSize);
+        if cache is error {
+            return error Error(string `Failed to open rendered image cache directory: ${directory ?: ""}`, cache);
+        }
+        self.cache = cache;
+    }
+
+    # Retrieves a cached image, marking it as the most recently used image.
+    #
+    # + key - The cache key of the image
+    # + return - The image if found, `()` if not, or an `Error` if the image cannot be read from the directory
+    public isolated function get(string key) returns byte[]|Error? {
+        byte[]|error? image = javaRenderedImageCacheGet(self.cache, key);
+        if image is error {
+            return error Error(string `Failed to read cached rendered image: ${key}`, image);
+        }
+        return image;
+    }
+
+    # Caches an image as the most recently used image, evicting the least recently used images if the cache is full.
+    # Images larger than the memory limit are cached only in the directory.
+    #
+    # + key - The cache key of the image
+    # + image - The image
+    # + return - An `Error` if evicted images cannot be spilled to the directory
+    public isolated function put(string key, byte[] image) returns Error? {
+        error? result = javaRenderedImageCachePut(self.cache, key, image);
+        if result is error {
+            return error Error(string `Failed to cache rendered image: ${key}`, result);
+        }
+    }
+
+    # Removes all cached images, including the images spilled to the directory.
+    #
+    # + return - An `Error` if the files of the directory cannot be deleted
+    public isolated function clear() returns Error? {
+        error? result = javaRenderedImageCacheClear(self.cache);
+        if result is error {
+            return error Error("Failed to clear rendered image cache", result);
+        }
+    }
+
+    # Retrieves the total size of the images cached in memory.
+    #
+    # + return - The size in bytes
+    public isolated function getMemorySize() returns int => javaRenderedImageCacheGetMemorySize(self.cache);
+
+    # Retrieves the total size of the images cached in the directory.
+    #
+    # + return - The size in bytes
+    public isolated function getDiskSize() returns int => javaRenderedImageCacheGetDiskSize(self.cache);
+}
@@ -0,0 +1,201 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# Retrieves the rendering parameters of an image from its dataset.
+# The dataset must hold native pixel data as a bulk data reference, such as a dataset parsed with a
+# `bulkDataThreshold` of `0`, so that frames are read from the source file when they are rendered.
+#
+# + dataset - The dataset of the image
+# + return - The rendering parameters, or a `RenderingError` if the image cannot be rendered
+public isolated function getRenderingParameters(Dataset dataset) returns RenderingParameters|RenderingError {
+    DataElement? pixelDataElement = getDataElement(dataset, TAG_PIXEL_DATA);
+    if pixelDataElement is () {
+        return error RenderingError("Dataset does not contain pixel data");
+    }
+    DataElementValue pixelData = pixelDataElement.value;
+    if pixelData is EncapsulatedPixelData {
+        return error RenderingError("Rendering encapsulated pixel data is not supported");
+    }
+    if pixelData !is BulkDataReference || pixelData.path == () {
+        return error RenderingError("Pixel data is not a bulk data reference to a source file");
+    }
+
+    RenderingParameters|Error parameters = readPixelAttributes(dataset, pixelData);
+    if parameters is Error {
+        return error RenderingError("Failed to read the pixel attributes of the image", parameters);
+    }
+
+    // Multi-valued windows are alternatives, of which the first is used
+    float[]|Error windowCenters = getFloatArray(dataset, TAG_WINDOW_CENTER);
+    float[]|Error windowWidths = getFloatArray(dataset, TAG_WINDOW_WIDTH);
+    if windowCenters is float[] && windowWidths is float[] && windowCenters.length() > 0
+            && windowWidths.length() > 0 && windowWidths[0] >= 1.0 {
+        parameters.windowCenter = windowCenters[0];
+        parameters.windowWidth = windowWidths[0];
+    }
+
+    string? unsupported = getUnsupportedRenderingParameter(parameters);
+    if unsupported is string {
+        return error RenderingError(string `Rendering is not supported for the image: ${unsupported}`);
+    }
+    return parameters;
+}
+
+# Renders a frame of an image into a consumer format.
+# Grayscale frames are rendered by applying the Modality LUT and the VOI LUT of the image, or of the options. A frame
+# without a window is windowed to the range of its own values.
+#
+# + parameters - The rendering parameters of the image
+# + frameNumber - The number of the frame to be rendered, starting from 1
+# + options - The rendering options
+# + return - The encoded image, or a `RenderingError` if the frame cannot be rendered
+public isolated function renderFrame(RenderingParameters parameters, int frameNumber = 1,
+        RenderingOptions options = {}) returns byte[]|RenderingError {
+    string? unsupported = getUnsupportedRenderingParameter(parameters);
+    if unsupported is string {
+        return error RenderingError(string `Rendering is not supported for the image: ${unsupported}`);
+    }
+    if frameNumber < 1 || frameNumber > parameters.numberOfFrames {
+        return error RenderingError(string `Invalid frame number: ${frameNumber}`);
+    }
+    string? invalidOption = getInvalidRenderingOption(options);
+    if invalidOption is string {
+        return error RenderingError(string `Invalid rendering option: ${invalidOption}`);
+    }
+    BulkDataReference pixelData = parameters.pixelData;
+    string? path = pixelData.path;
+    if path == () {
+        return error RenderingError("Pixel data is not a bulk data reference to a source file");
+    }
+
+    int startTime = startTimer();
+    byte[]|error image = javaRenderFrame(path, pixelData.offset, pixelData.length, frameNumber, parameters,
+            options);
+    if image is error {
+        return error RenderingError(string `Failed to render frame ${frameNumber} of: ${path}`, image);
+    }
+    recordDuration(METRIC_RENDERING_DURATION, startTime);
+    return image;
+}
+
+# Reads the pixel attributes of an image from its dataset.
+#
+# + dataset - The dataset of the image
+# + pixelData - The reference to the pixel data of the image
+# + return - The rendering parameters, without a window, or an `Error` if an attribute cannot be read
+isolated function readPixelAttributes(Dataset dataset, BulkDataReference pixelData) returns RenderingParameters|Error {
+    return {
+        pixelData,
+        rows: check getInt(dataset, TAG_ROWS),
+        columns: check getInt(dataset, TAG_COLUMNS),
+        samplesPerPixel: check getOptionalInt(dataset, TAG_SAMPLES_PER_PIXEL, 1),
+        photometricInterpretation: (check getString(dataset, TAG_PHOTOMETRIC_INTERPRETATION)).trim(),
+        bitsAllocated: check getInt(dataset, TAG_BITS_ALLOCATED),
+        bitsStored: check getInt(dataset, TAG_BITS_STORED),
+        pixelRepresentation: check getOptionalInt(dataset, TAG_PIXEL_REPRESENTATION, 0),
+        planarConfiguration: check getOptionalInt(dataset, TAG_PLANAR_CONFIGURATION, 0),
+        numberOfFrames: check getOptionalInt(dataset, TAG_NUMBER_OF_FRAMES, 1),
+        rescaleSlope: check getOptionalFloat(dataset, TAG_RESCALE_SLOPE, 1.0),
+        rescaleIntercept: check getOptionalFloat(dataset, TAG_RESCALE_INTERCEPT, 0.0)
+    };
+}
+
+# Retrieves the first pixel attribute of an image that is not supported for rendering.
+# Grayscale images of 8 or 16 bits allocated, and RGB images of 8 bits allocated are supported.
+#
+# + parameters - The rendering parameters of the image
+# + return - The name of the unsupported attribute, or `()` if the image is supported
+isolated function getUnsupportedRenderingParameter(RenderingParameters parameters) returns string? {
+    if parameters.rows <= 0 || parameters.columns <= 0 {
+        return "rows and columns";
+    }
+    string photometricInterpretation = parameters.photometricInterpretation;
+    boolean isGrayscale = photometricInterpretation == PHOTOMETRIC_MONOCHROME1
+        || photometricInterpretation == PHOTOMETRIC_MONOCHROME2;
+    if !isGrayscale && photometricInterpretation != PHOTOMETRIC_RGB {
+        return "photometricInterpretation";
+    }
+    if parameters.samplesPerPixel != (isGrayscale ? 1 : 3) {
+        return "samplesPerPixel";
+    }
+    if parameters.bitsAllocated != 8 && (!isGrayscale || parameters.bitsAllocated != 16) {
+        return "bitsAllocated";
+    }
+    if parameters.bitsStored <= 0 || parameters.bitsStored > parameters.bitsAllocated {
+        return "bitsStored";
+    }
+    if parameters.pixelRepresentation != 0 && parameters.pixelRepresentation != 1 {
+        return "pixelRepresentation";
+    }
+    if parameters.planarConfiguration != 0 && parameters.planarConfiguration != 1 {
+        return "planarConfiguration";
+    }
+    if parameters.numberOfFrames <= 0 {
+        return "numberOfFrames";
+    }
+    int frameLength = parameters.rows * parameters.columns * parameters.samplesPerPixel
+        * (parameters.bitsAllocated / 8);
+    if parameters.pixelData.length < frameLength * parameters.numberOfFrames {
+        return "pixelData";
+    }
+    return;
+}
+
+# Validates rendering options.
+#
+# + options - The rendering options
+# + return - The name of the first invalid option, or `()` if the options are valid
+isolated function getInvalidRenderingOption(RenderingOptions options) returns string? {
+    if options.quality < 1 || options.quality > 100 {
+        return "quality";
+    }
+    int? viewportWidth = options.viewportWidth;
+    if viewportWidth is int && viewportWidth <= 0 {
+        return "viewportWidth";
+    }
+    int? viewportHeight = options.viewportHeight;
+    if viewportHeight is int && viewportHeight <= 0 {
+        return "viewportHeight";
+    }
+    float? windowWidth = options.windowWidth;
+    if windowWidth is float && windowWidth < 1.0 {
+        return "windowWidth";
+    }
+    return;
+}
+
+# Retrieves an integer value from the dataset, falling back to a default value if the tag is absent.
+#
+# + dataset - The DICOM dataset
+# + tagInt - The tag as an integer
+# + defaultValue - The value used if the tag is absent or empty
+# + return - The integer value, or an `Error` if the value cannot be converted to int
+isolated function getOptionalInt(Dataset dataset, int tagInt, int defaultValue) returns int|Error {
+    DataElement? dataElement = getDataElement(dataset, tagInt);
+    return dataElement is () || dataElement.value is () ? defaultValue : getInt(dataset, tagInt);
+}
+
+# Retrieves a float value from the dataset, falling back to a default value if the tag is absent.
+#
+# + dataset - The DICOM dataset
+# + tagInt - The tag as an integer
+# + defaultValue - The value used if the tag is absent or empty
+# + return - The float value, or an `Error` if the value cannot be converted to float
+isolated function getOptionalFloat(Dataset dataset, int tagInt, float defaultValue) returns float|Error {
+    DataElement? dataElement = getDataElement(dataset, tagInt);
+    return dataElement is () || dataElement.value is () ? defaultValue : getFloat(dataset, tagInt);
+}
@@ -0,0 +1,95 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# Retrieves the pixel layout of an image from its dataset.
+#
+# + dataset - The dataset of the image
+# + return - The pixel layout, or an `Error` if a pixel attribute cannot be read
+public isolated function getPixelLayout(Dataset dataset) returns PixelLayout|Error {
+    return {
+        rows: check getInt(dataset, TAG_ROWS),
+        columns: check getInt(dataset, TAG_COLUMNS),
+        samplesPerPixel: check getOptionalInt(dataset, TAG_SAMPLES_PER_PIXEL, 1),
+        bitsAllocated: check getInt(dataset, TAG_BITS_ALLOCATED),
+        planarConfiguration: check getOptionalInt(dataset, TAG_PLANAR_CONFIGURATION, 0),
+        numberOfFrames: check getOptionalInt(dataset, TAG_NUMBER_OF_FRAMES, 1)
+    };
+}
+
+# Decodes RLE Lossless frames into native pixel data. Frames are decoded in parallel.
+# Based off of Annex G in Part 5.
+#
+# + frames - The encoded frames, each holding the fragment of a single frame
+# + layout - The pixel layout of the image
+# + return - The native little endian pixel data of all frames, or a `CodecError` if a frame cannot be decoded
+public isolated function decodeRleFrames(byte[][] frames, PixelLayout layout) returns byte[]|CodecError {
+    int startTime = startTimer();
+    byte[]|error pixelData = javaDecodeRleFrames(frames, layout);
+    if pixelData is error {
+        return error CodecError("Failed to decode RLE frames", pixelData);
+    }
+    recordDuration(METRIC_CODEC_DURATION, startTime);
+    return pixelData;
+}
+
+# Decodes RLE Lossless encapsulated pixel data into native pixel data, reading the fragments of each frame from the
+# file the pixel data was parsed from. Frames are read and decoded in parallel.
+#
+# + path - The path of the file the pixel data was parsed from
+# + pixelData - The encapsulated pixel data
+# + layout - The pixel layout of the image
+# + return - The native little endian pixel data of all frames, or a `CodecError` if a frame cannot be decoded
+public isolated function decodeRlePixelData(string path, EncapsulatedPixelData pixelData,
+        PixelLayout layout) returns byte[]|CodecError {
+    PixelDataFragment[][]|Error frames = getFrameFragments(pixelData, layout.numberOfFrames);
+    if frames is Error {
+        return error CodecError("Failed to determine the frames of the RLE pixel data", frames);
+    }
+    int[] fragmentOffsets = [];
+    int[] fragmentLengths = [];
+    foreach PixelDataFragment[] frame in frames {
+        foreach PixelDataFragment fragment in frame {
+            fragmentOffsets.push(fragment.offset);
+            fragmentLengths.push(fragment.length);
+        }
+    }
+    int[] frameFragmentCounts = from PixelDataFragment[] frame in frames select frame.length();
+
+    int startTime = startTimer();
+    byte[]|error decoded = javaDecodeRleFile(path, fragmentOffsets, fragmentLengths, frameFragmentCounts, layout);
+    if decoded is error {
+        return error CodecError(string `Failed to decode RLE pixel data of: ${path}`, decoded);
+    }
+    recordDuration(METRIC_CODEC_DURATION, startTime);
+    return decoded;
+}
+
+# Encodes native pixel data into RLE Lossless frames. Frames are encoded in parallel, and each row is encoded
+# separately, as required by Section G.3.1 in Part 5.
+#
+# + pixelData - The native little endian pixel data of all frames
+# + layout - The pixel layout of the image
+# + return - The fragment of each frame, or a `CodecError` if the pixel data cannot be encoded
+public isolated function encodeRleFrames(byte[] pixelData, PixelLayout layout) returns byte[][]|CodecError {
+    int startTime = startTimer();
+    byte[][]|error frames = javaEncodeRleFrames(pixelData, layout);
+    if frames is error {
+        return error CodecError("Failed to encode RLE frames", frames);
+    }
+    recordDuration(METRIC_CODEC_DURATION, startTime);
+    return frames;
+}
@@ -0,0 +1,46 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {groups: ["bulk_data"]}
+function bulkDataTest() returns error? {
+    string directory = check file:createTempDir();
+    string filePath = check file:joinPath(directory, "bulk.dcm");
+    check io:fileWriteBytes(filePath, [0, 1, 2, 3, 4, 5, 6, 7, 8, 9]);
+
+    BulkDataReference reference = {path: filePath, offset: 2, length: 7};
+    test:assertEquals(readBulkData(reference), <byte[]>[2, 3, 4, 5, 6, 7, 8]);
+
+    // Chunks are bounded by the chunk size and the end of the range
+    stream<byte[], Error?> bulkDataStream = check streamBulkData(reference, 3);
+    byte[][] chunks = check from byte[] chunk in bulkDataStream select chunk;
+    test:assertEquals(chunks, [[2, 3, 4], [5, 6, 7], [8]]);
+
+    // Out of bounds and in-memory references cannot be read
+    test:assertTrue(streamBulkData({path: filePath, offset: 8, length: 4}) is Error);
+    test:assertTrue(readBulkData({path: filePath, offset: 8, length: 4}) is Error);
+    test:assertTrue(readBulkData({offset: 0, length: 4}) is Error);
+
+    // Base64 encoding matches the encoding of the value read into memory, including padding
+    test:assertEquals(encodeBulkDataBase64(reference), (<byte[]>[2, 3, 4, 5, 6, 7, 8]).toBase64());
+    test:assertEquals(encodeBulkDataBase64({path: filePath, offset: 0, length: 0}), "");
+    test:assertTrue(encodeBulkDataBase64({path: filePath, offset: 8, length: 4}) is Error);
+
+    check file:remove(directory, file:RECURSIVE);
+}
@@ -0,0 +1,70 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {groups: ["columnar_store"]}
+function columnarStoreReadBackTest() {
+    Dataset dataset1 = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"},
+        {tag: {group: 0x0010, element: 0x0010}, vr: PN, vl: 0, value: ()},
+        {tag: {group: 0x0018, element: 0x0050}, vr: FD, value: 1.5},
+        {tag: {group: 0x0020, element: 0x5000}, vr: AT, value: {group: 0x0010, element: 0x0020}},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512}
+    ];
+    Dataset dataset2 = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "CT"},
+        {tag: {group: 0x7FE0, element: 0x0010}, vr: OB, value: [1, 2, 3, 4]}
+    ];
+
+    ColumnarStore store = new;
+    test:assertEquals(store.add(dataset1), 0);
+    test:assertEquals(store.add(dataset2), 1);
+    test:assertEquals(store.length(), 2);
+
+    test:assertEquals(store.getDataset(0), dataset1);
+    test:assertEquals(store.getDataset(1), dataset2);
+
+    // Views limited to a set of tags
+    Dataset expectedView = table [
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512}
+    ];
+    test:assertEquals(store.getDataset(0, [{group: 0x0028, element: 0x0010}, {group: 0x0008, element: 0x0070}]),
+            expectedView);
+
+    test:assertTrue(store.getDataset(2) is Error);
+}
+
+@test:Config {groups: ["columnar_store"]}
+function columnarStoreFindMatchingTest() {
+    ColumnarStore store = new;
+    foreach int i in 0 ..< 10 {
+        Dataset dataset = table [
+            {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: i % 2 == 0 ? "MR" : "CT"},
+            {tag: {group: 0x0020, element: 0x0013}, vr: IS, value: i.toString()},
+            {tag: {group: 0x0028, element: 0x0010}, vr: US, value: i % 3 == 0 ? 512 : 256}
+        ];
+        _ = checkpanic store.add(dataset);
+    }
+
+    test:assertEquals(store.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "MR"}]), [0, 2, 4, 6, 8]);
+    test:assertEquals(store.findMatching([
+                {tag: {group: 0x0008, element: 0x0060}, value: "MR"},
+                {tag: {group: 0x0028, element: 0x0010}, value: 512}
+            ]), [0, 6]);
+    test:assertEquals(store.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "US"}]), []);
+    test:assertEquals(store.findMatching([]), [0, 1, 2, 3, 4, 5, 6, 7, 8, 9]);
+}
@@ -0,0 +1,84 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+final Tag PATIENT_NAME = {group: 0x0010, element: 0x0010};
+final Tag INSTITUTION_NAME = {group: 0x0008, element: 0x0080};
+
+@test:Config {groups: ["fuzzy_token_index"]}
+function fuzzyTokenIndexFindTest() {
+    FuzzyTokenIndex index = new;
+    index.put("a", createFuzzyMatchingDataset("Smith^John^^Dr.", "General Hospital"));
+    index.put("b", createFuzzyMatchingDataset("Smyth^Jonathan=スミス^ジョナサン", "City Clinic"));
+    index.put("c", new IndexedDataset(createFuzzyMatchingDataset("Müller^Zoë", "General Clinic")));
+    test:assertEquals(index.length(), 3);
+    test:assertTrue(index.hasKey("c"));
+
+    // Case, accent and component delimiters are ignored
+    test:assertEquals(index.find(PATIENT_NAME, "SMITH"), ["a", "b"]);
+    test:assertEquals(index.find(PATIENT_NAME, "muller zoe"), ["c"]);
+    // Query words match the words they are a prefix of, or that sound alike
+    test:assertEquals(index.find(PATIENT_NAME, "smi*"), ["a"]);
+    test:assertEquals(index.find(PATIENT_NAME, "smith^jon"), ["a", "b"]);
+    // Ideographic component groups are indexed
+    test:assertEquals(index.find(PATIENT_NAME, "スミス"), ["b"]);
+    test:assertEquals(index.find(INSTITUTION_NAME, "clinic"), ["b", "c"]);
+    test:assertEquals(index.find(INSTITUTION_NAME, "smith"), []);
+    test:assertEquals(index.find(PATIENT_NAME, ""), ["a", "b", "c"]);
+
+    // Indexing a key again replaces its values
+    index.put("b", createFuzzyMatchingDataset("Brown^Bob", "City Clinic"));
+    test:assertEquals(index.find(PATIENT_NAME, "smith"), ["a"]);
+    test:assertTrue(index.remove("a"));
+    test:assertFalse(index.remove("a"));
+    test:assertEquals(index.find(PATIENT_NAME, "smith"), []);
+    test:assertEquals(index.length(), 2);
+}
+
+@test:Config {groups: ["fuzzy_token_index"]}
+function fuzzyTokenIndexRepeatedSoundexTest() {
+    FuzzyTokenIndex index = new;
+    // The words of each name share a Soundex code
+    index.put("a", createFuzzyMatchingDataset("Lee^Li", "General Hospital"));
+    index.put("b", createFuzzyMatchingDataset("Ann^Anne", "City Clinic"));
+    test:assertEquals(index.find(PATIENT_NAME, "Lie"), ["a"]);
+
+    // Indexing a key again and removing it drop each shared code once
+    index.put("a", createFuzzyMatchingDataset("Lee^Lea", "General Hospital"));
+    test:assertEquals(index.find(PATIENT_NAME, "Lie"), ["a"]);
+    test:assertTrue(index.remove("a"));
+    test:assertTrue(index.remove("b"));
+    test:assertEquals(index.find(PATIENT_NAME, "Lie"), []);
+    test:assertEquals(index.find(PATIENT_NAME, "Anna"), []);
+    test:assertEquals(index.length(), 0);
+}
+
+@test:Config {groups: ["fuzzy_token_index"]}
+function isFuzzyMatchingTest() {
+    test:assertTrue(isFuzzyMatching("Schmidt^Hans", "smith"));
+    test:assertTrue(isFuzzyMatching("Doe^Jane", "JANE DOE"));
+    test:assertTrue(isFuzzyMatching("Doe^Jane", ""));
+    test:assertFalse(isFuzzyMatching("Doe^Jane", "smith"));
+    test:assertFalse(isFuzzyMatching("Doe^Jane", "doe^mary"));
+}
+
+isolated function createFuzzyMatchingDataset(string patientName, string institutionName) returns Dataset => table [
+    {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "CT"},
+    {tag: {group: 0x0008, element: 0x0080}, vr: LO, value: institutionName},
+    {tag: {group: 0x0010, element: 0x0010}, vr: PN, value: patientName}
+];
@@ -0,0 +1,66 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+@test:Config {groups: ["indexed_dataset"]}
+function indexedDatasetAccessTest() {
+    Dataset dataset = table [
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512},
+        {tag: {group: 0x0010, element: 0x0010}, vr: PN, value: "JOHN DOE"},
+        {tag: {group: 0x7FE0, element: 0x0010}, vr: OB, value: [1, 2, 3, 4]},
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"}
+    ];
+    IndexedDataset indexedDataset = new (dataset);
+    test:assertEquals(indexedDataset.length(), 4);
+    test:assertEquals(indexedDataset.get(TAG_PATIENT_NAME), dataset.get({group: 0x0010, element: 0x0010}));
+    test:assertTrue(indexedDataset.hasTag(TAG_MODALITY));
+    test:assertFalse(indexedDataset.hasTag(TAG_PATIENT_ID));
+    test:assertEquals(indexedDataset.get(TAG_PATIENT_ID), ());
+
+    // Dataset accessors accept indexed datasets
+    test:assertEquals(getString(indexedDataset, TAG_PATIENT_NAME), "JOHN DOE");
+    test:assertEquals(getInt(indexedDataset, TAG_ROWS), 512);
+    test:assertTrue(getInt(indexedDataset, TAG_COLUMNS) is Error);
+
+    indexedDataset.put({tag: {group: 0x0028, element: 0x0010}, vr: US, value: 256});
+    test:assertEquals(getInt(indexedDataset, TAG_ROWS), 256);
+    test:assertEquals(indexedDataset.length(), 4);
+    test:assertEquals(indexedDataset.remove(TAG_MODALITY),
+            {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"});
+    test:assertEquals(indexedDataset.remove(TAG_MODALITY), ());
+    test:assertEquals(indexedDataset.length(), 3);
+}
+
+@test:Config {groups: ["indexed_dataset"]}
+function indexedDatasetSortedOrderTest() {
+    IndexedDataset indexedDataset = new;
+    indexedDataset.put({tag: {group: 0xFFFE, element: 0xE000}, value: ()});
+    indexedDataset.put({tag: {group: 0x7FE0, element: 0x0010}, vr: OB, value: [1, 2]});
+    indexedDataset.put({tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"});
+    indexedDataset.put({tag: {group: 0x0008, element: 0x0020}, vr: DA, value: "19900220"});
+
+    // Tags are ordered as unsigned integers
+    test:assertEquals(indexedDataset.tags(), [0x00080020, 0x00080060, 0x7FE00010, 0xFFFEE000]);
+    Dataset expectedDataset = table [
+        {tag: {group: 0x0008, element: 0x0020}, vr: DA, value: "19900220"},
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"},
+        {tag: {group: 0x7FE0, element: 0x0010}, vr: OB, value: [1, 2]},
+        {tag: {group: 0xFFFE, element: 0xE000}, value: ()}
+    ];
+    test:assertEquals(indexedDataset.toDataset(), expectedDataset);
+}
@@ -0,0 +1,90 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {groups: ["metadata_index"]}
+function metadataIndexTest() returns error? {
+    string directory = check file:createTempDir();
+    string indexDirectory = check file:joinPath(directory, "index");
+    string filePath1 = check file:joinPath(directory, "1.dcm");
+    string filePath2 = check file:joinPath(directory, "2.dcm");
+    check io:fileWriteBytes(filePath1, [1, 2, 3]);
+    check io:fileWriteBytes(filePath2, [4, 5, 6]);
+
+    Dataset dataset1 = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"},
+        {tag: {group: 0x0010, element: 0x0010}, vr: PN, vl: 0, value: ()},
+        {tag: {group: 0x0020, element: 0x5000}, vr: AT, value: {group: 0x0010, element: 0x0020}},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512},
+        {tag: {group: 0x7FE0, element: 0x0010}, vr: OB, value: [1, 2, 3, 4]}
+    ];
+    Dataset dataset2 = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "CT"},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512}
+    ];
+
+    MetadataIndex index = check new (indexDirectory);
+    test:assertFalse(check index.isUpToDate(filePath1));
+    check index.put(filePath1, dataset1);
+    check index.put(filePath2, dataset2);
+    test:assertTrue(check index.isUpToDate(filePath1));
+
+    // Unsupported values are not indexed
+    Dataset expectedDataset1 = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "MR"},
+        {tag: {group: 0x0010, element: 0x0010}, vr: PN, vl: 0, value: ()},
+        {tag: {group: 0x0020, element: 0x5000}, vr: AT, value: {group: 0x0010, element: 0x0020}},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 512}
+    ];
+    test:assertEquals(index.getDataset(filePath1), expectedDataset1);
+    check index.close();
+
+    // Matching after reopening the index, both from the key blocks and from records added afterwards
+    index = check new (indexDirectory);
+    string[] paths = index.getFilePaths();
+    test:assertEquals(paths.length(), 2);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0028, element: 0x0010}, value: 512}]), paths);
+    test:assertEquals(index.findMatching([
+                {tag: {group: 0x0008, element: 0x0060}, value: "CT"},
+                {tag: {group: 0x0028, element: 0x0010}, value: 512}
+            ]), [paths[1]]);
+
+    check io:fileWriteBytes(filePath1, [1, 2, 3, 4]);
+    test:assertFalse(check index.isUpToDate(filePath1));
+    check index.put(filePath1, table [{tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "CT"}]);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "CT"}]), paths);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "MR"}]), []);
+
+    check index.remove(filePath2);
+    test:assertEquals(index.getFilePaths(), [paths[0]]);
+    test:assertEquals(index.getDataset(filePath2), ());
+    check index.close();
+
+    // Matching after reopening without replaying the log, and after compacting the superseded metadata
+    index = check new (indexDirectory);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "CT"}]), [paths[0]]);
+    check index.compact();
+    test:assertEquals(index.getFilePaths(), [paths[0]]);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0008, element: 0x0060}, value: "CT"}]), [paths[0]]);
+    test:assertEquals(index.findMatching([{tag: {group: 0x0028, element: 0x0010}, value: 512}]), []);
+    Dataset expectedDataset2 = table [{tag: {group: 0x0008, element: 0x0060}, vr: CS, value: "CT"}];
+    test:assertEquals(index.getDataset(filePath1), expectedDataset2);
+    check index.close();
+    check file:remove(directory, file:RECURSIVE);
+}
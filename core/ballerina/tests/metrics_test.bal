@@ -0,0 +1,68 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {groups: ["metrics"]}
+function metricsTest() {
+    incrementCounter("test_counter_total");
+    incrementCounter("test_counter_total", 4);
+    test:assertEquals(getMetrics().counters["test_counter_total"], 5);
+
+    foreach int value in 1 ... 100 {
+        recordValue("test_histogram", value);
+    }
+    HistogramSnapshot? histogram = getMetrics().histograms["test_histogram"];
+    if histogram !is HistogramSnapshot {
+        test:assertFail("Histogram not recorded");
+    }
+    test:assertEquals(histogram.count, 100);
+    test:assertEquals(histogram.sum, 5050);
+    test:assertEquals(histogram.min, 1);
+    test:assertEquals(histogram.max, 100);
+    // Percentiles are bucket upper bounds, within 12.5% of the exact values
+    test:assertTrue(histogram.p50 >= 50 && histogram.p50 <= 57);
+    test:assertTrue(histogram.p99 >= 99 && histogram.p99 <= 100);
+
+    int startTime = startTimer();
+    recordDuration("test_duration_ns", startTime);
+    test:assertEquals(getMetrics().histograms["test_duration_ns"]?.count, 1);
+
+    // Nothing is recorded while recording is disabled
+    setMetricsEnabled(false);
+    incrementCounter("test_counter_total");
+    recordDuration("test_duration_ns", startTimer());
+    setMetricsEnabled(true);
+    test:assertEquals(getMetrics().counters["test_counter_total"], 5);
+    test:assertEquals(getMetrics().histograms["test_duration_ns"]?.count, 1);
+
+    // Durations started while recording is disabled are not recorded
+    setMetricsEnabled(false);
+    startTime = startTimer();
+    setMetricsEnabled(true);
+    recordDuration("test_duration_ns", startTime);
+    test:assertEquals(getMetrics().histograms["test_duration_ns"]?.count, 1);
+}
+
+@test:Config {groups: ["metrics"]}
+function dictionaryLookupMetricsTest() {
+    int lookups = getMetrics().counters[METRIC_DICTIONARY_LOOKUPS] ?: 0;
+    int misses = getMetrics().counters[METRIC_DICTIONARY_MISSES] ?: 0;
+    _ = getTagInfo({group: 0x0008, element: 0x0020}); // StudyDate
+    _ = getTagInfo({group: 0x0009, element: 0x0010}); // Not in the standard dictionaries
+    test:assertEquals(getMetrics().counters[METRIC_DICTIONARY_LOOKUPS], lookups + 2);
+    test:assertEquals(getMetrics().counters[METRIC_DICTIONARY_MISSES], misses + 1);
+}
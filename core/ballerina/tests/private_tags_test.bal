@@ -0,0 +1,63 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+@test:Config {groups: ["private_tags"]}
+function privateCreatorResolverTest() {
+    PrivateCreatorResolver privateCreators = new;
+    // A group holding blocks of different private creators
+    privateCreators.register({group: 0x0019, element: 0x0010}, "CARDIO-D.R. 1.0");
+    privateCreators.register({group: 0x0019, element: 0x0011}, "CEMAX-ICON ");
+    test:assertEquals(privateCreators.getCreator({group: 0x0019, element: 0x0011}), "CEMAX-ICON");
+    test:assertEquals(privateCreators.getCreator({group: 0x0019, element: 0x1030}), "CARDIO-D.R. 1.0");
+    test:assertEquals(privateCreators.getCreator({group: 0x0019, element: 0x1130}), "CEMAX-ICON");
+    test:assertEquals(privateCreators.getCreator({group: 0x0019, element: 0x1230}), ());
+    test:assertEquals(privateCreators.getCreator({group: 0x0029, element: 0x1030}), ());
+
+    test:assertEquals(privateCreators.getTagInfo({group: 0x0019, element: 0x1030})?.keyword, "MaximumFrameSize");
+    test:assertEquals(privateCreators.getTagInfo({group: 0x0019, element: 0x1130})?.keyword, "CREDRMode");
+    test:assertEquals(privateCreators.getTagInfo({group: 0x0019, element: 0x1230}), ());
+
+    // A block reserved again is reassigned to the new private creator
+    privateCreators.register({group: 0x0019, element: 0x0011}, "AGFA_ADC_Compact");
+    test:assertEquals(privateCreators.getTagInfo({group: 0x0019, element: 0x1130})?.keyword,
+            "Setofdestinationtypes");
+}
+
+@test:Config {groups: ["private_tags"]}
+function privateTagInfoWildcardTest() {
+    // Entries of the block of repeating groups
+    test:assertEquals(getPrivateTagInfo({group: 0x7001, element: 0x1004}, "DLX_ANNOT_01")?.keyword,
+            "Text_annotation");
+    test:assertEquals(getPrivateTagInfo({group: 0x7003, element: 0x2005}, "DLX_ANNOT_01")?.keyword, "Box");
+    // Exact entries
+    test:assertEquals(getPrivateTagInfo({group: 0x0009, element: 0x0001}, "DicomUtils 20100512")?.keyword,
+            "DICOMUTILS_PROCESSING_METHODS");
+    test:assertEquals(getPrivateTagInfo({group: 0x0019, element: 0x1031}, "CARDIO-D.R. 1.0"), ());
+    test:assertEquals(getPrivateTagInfo({group: 0x0019, element: 0x1030}, "UNKNOWN CREATOR"), ());
+}
+
+@test:Config {groups: ["private_tags"]}
+function privateTagInfoCopyTest() {
+    // Returned tag information can be modified without affecting later lookups
+    TagInfo? tagInfo = getPrivateTagInfo({group: 0x0019, element: 0x1030}, "CARDIO-D.R. 1.0");
+    if tagInfo is TagInfo {
+        tagInfo.vr = OB;
+    }
+    test:assertEquals(getPrivateTagInfo({group: 0x0019, element: 0x1030}, "CARDIO-D.R. 1.0")?.vr, UL);
+}
@@ -0,0 +1,58 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/test;
+
+@test:Config {groups: ["rendering"]}
+function renderedImageCacheTest() returns error? {
+    RenderedImageCache cache = check new (8);
+    check cache.put("a", [1, 2, 3, 4]);
+    check cache.put("b", [5, 6, 7, 8]);
+    test:assertEquals(cache.get("a"), <byte[]>[1, 2, 3, 4]);
+    // The least recently used image is evicted when full
+    check cache.put("c", [9]);
+    test:assertEquals(cache.get("b"), ());
+    test:assertEquals(cache.get("a"), <byte[]>[1, 2, 3, 4]);
+    test:assertEquals(cache.getMemorySize(), 5);
+    check cache.clear();
+    test:assertEquals(cache.get("a"), ());
+    test:assertEquals(cache.getMemorySize(), 0);
+
+    test:assertTrue(new RenderedImageCache(-1) is Error);
+}
+
+@test:Config {groups: ["rendering"]}
+function renderedImageCacheDirectoryTest() returns error? {
+    string directory = check file:createTempDir();
+    RenderedImageCache cache = check new (4, directory, 6);
+    check cache.put("a", [1, 2, 3, 4]);
+    check cache.put("b", [5, 6, 7, 8]);
+    // Images evicted from memory are spilled to the directory, and are promoted back to memory when read
+    test:assertEquals(cache.getDiskSize(), 4);
+    test:assertEquals(cache.get("a"), <byte[]>[1, 2, 3, 4]);
+    test:assertEquals(cache.get("b"), <byte[]>[5, 6, 7, 8]);
+
+    // Spilled images are retained across instances
+    RenderedImageCache reopened = check new (4, directory, 6);
+    test:assertEquals(reopened.getDiskSize(), cache.getDiskSize());
+    test:assertEquals(reopened.get("a"), <byte[]>[1, 2, 3, 4]);
+
+    check cache.clear();
+    test:assertEquals(cache.getDiskSize(), 0);
+    check file:remove(directory, file:RECURSIVE);
+}
@@ -0,0 +1,110 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {groups: ["rendering"]}
+function renderingParametersTest() returns error? {
+    Dataset dataset = table [
+        {tag: {group: 0x0028, element: 0x0002}, vr: US, value: 1},
+        {tag: {group: 0x0028, element: 0x0004}, vr: CS, value: "MONOCHROME2 "},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: 4},
+        {tag: {group: 0x0028, element: 0x0011}, vr: US, value: 4},
+        {tag: {group: 0x0028, element: 0x0100}, vr: US, value: 16},
+        {tag: {group: 0x0028, element: 0x0101}, vr: US, value: 12},
+        {tag: {group: 0x0028, element: 0x1050}, vr: DS, value: "40\\400"},
+        {tag: {group: 0x0028, element: 0x1051}, vr: DS, value: "80\\2000"},
+        {tag: {group: 0x0028, element: 0x1053}, vr: DS, value: "2"},
+        {tag: {group: 0x7FE0, element: 0x0010}, vr: OW, value: {path: "image.dcm", offset: 100, length: 32}}
+    ];
+    RenderingParameters parameters = check getRenderingParameters(dataset);
+    test:assertEquals(parameters, {
+        pixelData: {path: "image.dcm", offset: 100, length: 32},
+        rows: 4,
+        columns: 4,
+        samplesPerPixel: 1,
+        photometricInterpretation: PHOTOMETRIC_MONOCHROME2,
+        bitsAllocated: 16,
+        bitsStored: 12,
+        pixelRepresentation: 0,
+        planarConfiguration: 0,
+        numberOfFrames: 1,
+        rescaleSlope: 2.0,
+        rescaleIntercept: 0.0,
+        // The first of multiple windows is used
+        windowCenter: 40.0,
+        windowWidth: 80.0
+    });
+
+    // Pixel data that is too short for the frames, or held in memory, cannot be rendered
+    dataset.put({tag: {group: 0x7FE0, element: 0x0010}, vr: OW, value: {path: "image.dcm", offset: 100, length: 30}});
+    test:assertTrue(getRenderingParameters(dataset) is RenderingError);
+    dataset.put({tag: {group: 0x7FE0, element: 0x0010}, vr: OW, value: <byte[]>[0, 0]});
+    test:assertTrue(getRenderingParameters(dataset) is RenderingError);
+    _ = dataset.remove({group: 0x7FE0, element: 0x0010});
+    test:assertTrue(getRenderingParameters(dataset) is RenderingError);
+}
+
+@test:Config {groups: ["rendering"]}
+function renderFrameTest() returns error? {
+    string directory = check file:createTempDir();
+    string filePath = check file:joinPath(directory, "pixels.raw");
+    // Two 4x4 8-bit frames, after a 4 byte prefix
+    byte[] pixels = [0, 0, 0, 0];
+    foreach int i in 0 ..< 32 {
+        pixels.push(<byte>(i * 8));
+    }
+    check io:fileWriteBytes(filePath, pixels);
+    RenderingParameters parameters = {
+        pixelData: {path: filePath, offset: 4, length: 32},
+        rows: 4,
+        columns: 4,
+        bitsAllocated: 8,
+        bitsStored: 8,
+        numberOfFrames: 2
+    };
+
+    byte[] jpeg = check renderFrame(parameters, 2);
+    test:assertEquals(jpeg.slice(0, 2), <byte[]>[0xFF, 0xD8]);
+
+    byte[] png = check renderFrame(parameters, 1, {mediaType: RENDERED_PNG, windowCenter: 64.0, windowWidth: 128.0});
+    test:assertEquals(png.slice(0, 8), <byte[]>[137, 80, 78, 71, 13, 10, 26, 10]);
+    test:assertEquals(getPngSize(png), [4, 4]);
+
+    // Images are downscaled to fit the viewport, preserving the aspect ratio, but are never upscaled
+    png = check renderFrame(parameters, 1, {mediaType: RENDERED_PNG, viewportWidth: 2, viewportHeight: 3});
+    test:assertEquals(getPngSize(png), [2, 2]);
+    png = check renderFrame(parameters, 1, {mediaType: RENDERED_PNG, viewportWidth: 8, viewportHeight: 8});
+    test:assertEquals(getPngSize(png), [4, 4]);
+
+    test:assertTrue(renderFrame(parameters, 3) is RenderingError);
+    test:assertTrue(renderFrame(parameters, 1, {quality: 0}) is RenderingError);
+    test:assertTrue(renderFrame(parameters, 1, {viewportWidth: 0}) is RenderingError);
+    test:assertTrue(renderFrame({...parameters, photometricInterpretation: "YBR_FULL"}) is RenderingError);
+    test:assertTrue(renderFrame({...parameters, pixelData: {path: "missing.raw", offset: 4, length: 32}})
+        is RenderingError);
+
+    check file:remove(directory, file:RECURSIVE);
+}
+
+function getPngSize(byte[] png) returns int[] {
+    int width = (png[16] << 24) | (png[17] << 16) | (png[18] << 8) | png[19];
+    int height = (png[20] << 24) | (png[21] << 16) | (png[22] << 8) | png[23];
+    return [width, height];
+}
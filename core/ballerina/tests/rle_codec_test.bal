@@ -0,0 +1,88 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+// A 1x4 frame of 16-bit samples 0x0201, 0x0201, 0x0201 and 0x0403
+final byte[] & readonly RLE_NATIVE_FRAME = [1, 2, 1, 2, 1, 2, 3, 4];
+// Two segments, of the most and the least significant bytes, each a replicate run of 3 bytes and a literal byte
+final byte[] & readonly RLE_ENCODED_FRAME = [
+    2, 0, 0, 0, 64, 0, 0, 0, 68, 0, 0, 0, ...createZeroBytes(52),
+    0xFE, 2, 0, 4,
+    0xFE, 1, 0, 3
+];
+final PixelLayout & readonly RLE_LAYOUT = {rows: 1, columns: 4, bitsAllocated: 16};
+
+@test:Config {groups: ["rle_codec"]}
+function decodeRleFramesTest() {
+    test:assertEquals(decodeRleFrames([RLE_ENCODED_FRAME], RLE_LAYOUT), RLE_NATIVE_FRAME);
+    // Frames are decoded into consecutive positions of the pixel data
+    PixelLayout twoFrameLayout = {rows: 1, columns: 4, bitsAllocated: 16, numberOfFrames: 2};
+    test:assertEquals(decodeRleFrames([RLE_ENCODED_FRAME, RLE_ENCODED_FRAME], twoFrameLayout),
+            [...RLE_NATIVE_FRAME, ...RLE_NATIVE_FRAME]);
+    // The number of segments must match the layout
+    test:assertTrue(decodeRleFrames([RLE_ENCODED_FRAME], {rows: 1, columns: 4, bitsAllocated: 8}) is CodecError);
+    test:assertTrue(decodeRleFrames([RLE_ENCODED_FRAME.slice(0, 70)], RLE_LAYOUT) is CodecError);
+}
+
+@test:Config {groups: ["rle_codec"]}
+function encodeRleFramesTest() {
+    test:assertEquals(encodeRleFrames(RLE_NATIVE_FRAME, RLE_LAYOUT), [RLE_ENCODED_FRAME]);
+    // The pixel data must hold all frames of the layout
+    PixelLayout twoFrameLayout = {rows: 1, columns: 4, bitsAllocated: 16, numberOfFrames: 2};
+    test:assertTrue(encodeRleFrames(RLE_NATIVE_FRAME, twoFrameLayout) is CodecError);
+}
+
+@test:Config {groups: ["rle_codec"]}
+function rleRoundTripTest() returns error? {
+    // Two frames of 3x130 RGB pixels, with rows longer than the maximum run length
+    foreach int planarConfiguration in [0, 1] {
+        PixelLayout layout = {rows: 3, columns: 130, samplesPerPixel: 3, bitsAllocated: 8, planarConfiguration,
+            numberOfFrames: 2};
+        byte[] pixelData = from int i in 0 ..< 2 * 3 * 130 * 3 select <byte>(i % 7 < 4 ? 0 : i % 251);
+        byte[][] frames = check encodeRleFrames(pixelData, layout);
+        test:assertEquals(frames.length(), 2);
+        foreach byte[] frame in frames {
+            test:assertEquals(frame.length() % 2, 0);
+        }
+        test:assertEquals(decodeRleFrames(frames, layout), pixelData);
+    }
+}
+
+@test:Config {groups: ["rle_codec"]}
+function decodeRlePixelDataTest() returns error? {
+    string directory = check file:createTempDir();
+    string filePath = check file:joinPath(directory, "rle.dcm");
+    check io:fileWriteBytes(filePath, [...createZeroBytes(16), ...RLE_ENCODED_FRAME, ...createZeroBytes(8),
+        ...RLE_ENCODED_FRAME]);
+
+    // One fragment per frame, as the pixel data has no Basic Offset Table
+    EncapsulatedPixelData pixelData = {basicOffsetTable: [], fragments: [{offset: 16, length: 72},
+        {offset: 96, length: 72}]};
+    PixelLayout twoFrameLayout = {rows: 1, columns: 4, bitsAllocated: 16, numberOfFrames: 2};
+    test:assertEquals(decodeRlePixelData(filePath, pixelData, twoFrameLayout),
+            [...RLE_NATIVE_FRAME, ...RLE_NATIVE_FRAME]);
+    // Frame boundaries cannot be determined for more frames than fragments without a Basic Offset Table
+    PixelLayout threeFrameLayout = {rows: 1, columns: 4, bitsAllocated: 16, numberOfFrames: 3};
+    test:assertTrue(decodeRlePixelData(filePath, pixelData, threeFrameLayout) is CodecError);
+
+    check file:remove(directory, file:RECURSIVE);
+}
+
+isolated function createZeroBytes(int length) returns byte[] => from int _ in 0 ..< length select 0;
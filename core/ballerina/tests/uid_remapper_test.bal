@@ -0,0 +1,49 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {groups: ["uid_remapper"]}
+function uidRemapperTest() {
+    UidRemapper remapper = new;
+    string studyUid = remapper.remap("1.2.3.4");
+    test:assertTrue(studyUid.startsWith("2.25."));
+    test:assertTrue(studyUid.length() <= 64);
+    test:assertNotEquals(studyUid, "1.2.3.4");
+    // UIDs are remapped consistently
+    test:assertEquals(remapper.remap("1.2.3.4"), studyUid);
+    test:assertNotEquals(remapper.remap("1.2.3.5"), studyUid);
+    test:assertEquals(remapper.size(), 2);
+}
+
+@test:Config {groups: ["uid_remapper"]}
+function concurrentUidRemapperTest() {
+    UidRemapper remapper = new;
+    future<string>[] remappings = [];
+    foreach int i in 0 ..< 10 {
+        future<string> remapping = start remapper.remap("1.2.3.4");
+        remappings.push(remapping);
+    }
+    string? firstUid = ();
+    foreach future<string> remapping in remappings {
+        string uid = checkpanic wait remapping;
+        if firstUid == () {
+            firstUid = uid;
+        }
+        test:assertEquals(uid, firstUid);
+    }
+    test:assertEquals(remapper.size(), 1);
+}
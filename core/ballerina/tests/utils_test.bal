@@ -567,3 +567,42 @@ function floatToBytesBigEndianTest() {
     byte[]|Error actualBytes = floatToBytes('float, BIG_ENDIAN);
     test:assertEquals(actualBytes, expectedBigEndianBytes);
 }
+
+@test:Config {groups: ["utils"]}
+function bytesToIntArrayTest() {
+    // Two US values, 512 and 256
+    test:assertEquals(bytesToIntArray([0, 2, 0, 1], US, LITTLE_ENDIAN), [512, 256]);
+    // Two SS values, -1 and 2, which are sign extended
+    test:assertEquals(bytesToIntArray([0xFF, 0xFF, 0, 2], SS, BIG_ENDIAN), [-1, 2]);
+    // Two AT values, (0028,0010) and (7FE0,0010), which are decoded as tag integers
+    test:assertEquals(bytesToIntArray([0x28, 0, 0x10, 0, 0xE0, 0x7F, 0x10, 0], AT, LITTLE_ENDIAN),
+            [0x00280010, 0x7FE00010]);
+    // The value length must be a multiple of the fixed length of the VR
+    test:assertTrue(bytesToIntArray([0, 2, 0], US, LITTLE_ENDIAN) is Error);
+}
+
+@test:Config {groups: ["utils"]}
+function bytesToFloatArrayTest() {
+    byte[] bytes = [0, 0, 0, 0, 0, 0, 0xF0, 0x3F, 0, 0, 0, 0, 0, 0, 0, 0xC0];
+    test:assertEquals(bytesToFloatArray(bytes, FD, LITTLE_ENDIAN), [1.0, -2.0]);
+}
+
+@test:Config {groups: ["utils"]}
+function packedArrayToBytesTest() {
+    test:assertEquals(intArrayToBytes([-1, 2], SS, BIG_ENDIAN), [0xFF, 0xFF, 0, 2]);
+    test:assertEquals(intArrayToBytes([0x00280010], AT, LITTLE_ENDIAN), [0x28, 0, 0x10, 0]);
+    test:assertEquals(floatArrayToBytes([1.0, -2.0], FD, LITTLE_ENDIAN),
+            [0, 0, 0, 0, 0, 0, 0xF0, 0x3F, 0, 0, 0, 0, 0, 0, 0, 0xC0]);
+}
+
+@test:Config {groups: ["utils"]}
+function getPackedArrayTest() {
+    Dataset dataset = table [
+        {tag: {group: 0x0028, element: 0x0030}, vr: FD, value: [0.5, 0.25]},
+        {tag: {group: 0x0028, element: 0x0010}, vr: US, value: [512, 256]}
+    ];
+    test:assertEquals(getFloatArray(dataset, TAG_PIXEL_SPACING), [0.5, 0.25]);
+    test:assertEquals(getIntArray(dataset, TAG_ROWS), [512, 256]);
+    test:assertEquals(getFloatArray(dataset, TAG_ROWS), [512.0, 256.0]);
+    test:assertEquals(getString(dataset, TAG_ROWS), "512\\256");
+}
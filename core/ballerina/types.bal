@@ -94,8 +94,44 @@ public type SequenceItem record {|
 # Represents a DICOM sequence value.
 public type SequenceValue table<SequenceItem> key(tag);
 
+# Represents a fragment of an encapsulated pixel data element.
+#
+# + offset - Byte offset of the fragment value within the source it was parsed from
+# + length - Length of the fragment value in bytes
+public type PixelDataFragment record {|
+    int offset;
+    int length;
+|};
+
+# Represents an encapsulated pixel data element value.
+# Fragment values are not loaded into memory. Instead, each fragment is described by its position
+# within the source, so that frames can be read or decoded on demand.
+#
+# + basicOffsetTable - Offsets of the first fragment of each frame, relative to the first fragment item
+# + fragments - Fragment descriptors, in the order they appear in the source
+public type EncapsulatedPixelData record {|
+    int[] basicOffsetTable;
+    PixelDataFragment[] fragments;
+|};
+
+# Represents a data element value that was not loaded into memory.
+# Instead, the value is described by its position within the source it was parsed from,
+# so that it can be read on demand.
+#
+# + path - Path of the file the value was parsed from. Absent if the value was parsed from an in-memory source.
+# + offset - Byte offset of the value within the source
+# + length - Length of the value in bytes
+public type BulkDataReference record {|
+    string path?;
+    int offset;
+    int length;
+|};
+
 # Represents a DICOM data element value.
-public type DataElementValue string|int|float|table<record {readonly Tag tag;}> key(tag)|byte[]|Tag?;
+# Multiple values of binary numeric VRs are held as packed `int[]` or `float[]` arrays, and multiple `AT` values as
+# `int[]` arrays of tag integers, e.g. `TAG_PIXEL_DATA`.
+public type DataElementValue string|int|float|int[]|float[]|table<record {readonly Tag tag;}> key(tag)|byte[]|Tag|
+    EncapsulatedPixelData|BulkDataReference?;
 
 # Represents a DICOM data element.
 #
@@ -122,6 +158,104 @@ public type File record {|
     Dataset dataset;
 |};
 
+# Represents the pixel attributes of an image, which determine how its frames are rendered.
+#
+# + pixelData - Reference to the native pixel data value within the file it was parsed from
+# + rows - Number of rows of each frame
+# + columns - Number of columns of each frame
+# + samplesPerPixel - Number of samples (color planes) of each pixel
+# + photometricInterpretation - Intended interpretation of the pixel data
+# + bitsAllocated - Number of bits allocated for each pixel sample
+# + bitsStored - Number of bits stored for each pixel sample
+# + pixelRepresentation - Data representation of the pixel samples. `0` for unsigned and `1` for two's complement
+# + planarConfiguration - Whether the color samples are interleaved by pixel (`0`) or by plane (`1`)
+# + numberOfFrames - Number of frames of the image
+# + rescaleSlope - Slope of the Modality LUT, which maps stored values to output units
+# + rescaleIntercept - Intercept of the Modality LUT
+# + windowCenter - Window center of the VOI LUT, if the image has a window
+# + windowWidth - Window width of the VOI LUT, if the image has a window
+public type RenderingParameters record {|
+    BulkDataReference pixelData;
+    int rows;
+    int columns;
+    int samplesPerPixel = 1;
+    string photometricInterpretation = PHOTOMETRIC_MONOCHROME2;
+    int bitsAllocated;
+    int bitsStored;
+    int pixelRepresentation = 0;
+    int planarConfiguration = 0;
+    int numberOfFrames = 1;
+    float rescaleSlope = 1.0;
+    float rescaleIntercept = 0.0;
+    float windowCenter?;
+    float windowWidth?;
+|};
+
+# Represents the layout of native pixel data, which determines how frames are decoded into and encoded from it.
+#
+# + rows - Number of rows of each frame
+# + columns - Number of columns of each frame
+# + samplesPerPixel - Number of samples (color planes) of each pixel
+# + bitsAllocated - Number of bits allocated for each pixel sample
+# + planarConfiguration - Whether the color samples are interleaved by pixel (`0`) or by plane (`1`)
+# + numberOfFrames - Number of frames of the image
+public type PixelLayout record {|
+    int rows;
+    int columns;
+    int samplesPerPixel = 1;
+    int bitsAllocated;
+    int planarConfiguration = 0;
+    int numberOfFrames = 1;
+|};
+
+# Represents the options of rendering a frame.
+#
+# + mediaType - Media type of the rendered image
+# + quality - Quality of lossy rendered images, from 1 to 100
+# + viewportWidth - Width of the viewport the image is downscaled to fit in. The image is not downscaled horizontally
+# if absent
+# + viewportHeight - Height of the viewport the image is downscaled to fit in. The image is not downscaled vertically
+# if absent
+# + windowCenter - Window center overriding the window of the image. Applied only along with `windowWidth`
+# + windowWidth - Window width overriding the window of the image. Applied only along with `windowCenter`
+public type RenderingOptions record {|
+    RenderedMediaType mediaType = RENDERED_JPEG;
+    int quality = DEFAULT_RENDERING_QUALITY;
+    int viewportWidth?;
+    int viewportHeight?;
+    float windowCenter?;
+    float windowWidth?;
+|};
+
+# Represents a snapshot of a histogram of recorded values.
+# Percentiles are estimated from log-linear buckets, with a relative error of at most 12.5%.
+#
+# + count - The number of recorded values
+# + sum - The sum of the recorded values
+# + min - The minimum recorded value
+# + max - The maximum recorded value
+# + p50 - The estimated 50th percentile of the recorded values
+# + p90 - The estimated 90th percentile of the recorded values
+# + p99 - The estimated 99th percentile of the recorded values
+public type HistogramSnapshot record {|
+    int count;
+    int sum;
+    int min;
+    int max;
+    int p50;
+    int p90;
+    int p99;
+|};
+
+# Represents a snapshot of the recorded metrics.
+#
+# + counters - The counter values, keyed by counter name
+# + histograms - The histogram snapshots, keyed by histogram name
+public type MetricsSnapshot record {|
+    map<int> counters;
+    map<HistogramSnapshot> histograms;
+|};
+
 # Represents a VR value format validator function
 type ValueFormatValidatorFn isolated function (Vr vr, string value) returns ValidationError?;
 
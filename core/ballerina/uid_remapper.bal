@@ -0,0 +1,35 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# A table of replacement UIDs, keyed by the UIDs they replace, such as for de-identification.
+#
+# Each UID is replaced by a UID derived from a random UUID, under the `2.25` root. A UID is mapped on first use, and
+# concurrent remappings of the same UID always receive the same replacement, so that a single remapper can be shared
+# by all strands processing the instances of a study, keeping the references between the instances consistent.
+public isolated class UidRemapper {
+    private final handle remapper = javaNewUidRemapper();
+
+    # Retrieves the replacement of a UID, creating it if the UID has not been remapped before.
+    #
+    # + uid - The UID to be replaced
+    # + return - The replacement UID
+    public isolated function remap(string uid) returns string => javaUidRemapperRemap(self.remapper, uid);
+
+    # Retrieves the number of remapped UIDs.
+    #
+    # + return - The number of remapped UIDs
+    public isolated function size() returns int => javaUidRemapperSize(self.remapper);
+}
@@ -195,13 +195,7 @@ public isolated function strToTag(string tagStr) returns Tag|Error {
 #
 # + tag - The tag to be converted
 # + return - The integer representation of the given tag, or an `Error` if the conversion fails
-public isolated function tagToInt(Tag tag) returns int|Error {
-    int|error tagInt = int:fromHexString(tagToStr(tag));
-    if tagInt is int {
-        return tagInt;
-    }
-    return error Error(string `Tag to int conversion failed`, tagInt);
-}
+public isolated function tagToInt(Tag tag) returns int|Error => tagToColumn(tag);
 
 # Retrieves a data element from a dataset using its keyword.
 #
@@ -238,8 +232,9 @@ public isolated function getTagFromKeyword(string tagKeyword) returns Tag? {
 # + return - The `TagInfo` if tag information is found, otherwise `()`
 public isolated function getTagInfo(Tag tag) returns TagInfo? {
     // Could be a standard or a repeating tag
-    TagInfo? tagInfo = getStandardTagInfo(tag);
-    return tagInfo is TagInfo ? tagInfo : getRepeatingTagInfo(tag);
+    TagInfo? tagInfo = getStandardTagInfo(tag) ?: getRepeatingTagInfo(tag);
+    recordDictionaryLookup(tagInfo is TagInfo);
+    return tagInfo;
 }
 
 # Retrieves DICOM standard tag information.
@@ -278,39 +273,21 @@ isolated function getRepeatingTagInfo(Tag tag) returns TagInfo? {
 # + privateCreatorID - The private creator identifier of the tag
 # + return - The `TagInfo` if tag information is found, otherwise `()`
 public isolated function getPrivateTagInfo(Tag tag, string privateCreatorID) returns TagInfo? {
-    TagInfo|error? tagInfo = ();
-
-    map<json>|error privateDict = trap privateTagsMap.get(privateCreatorID).ensureType();
-    if privateDict is error { // No matching private dictionary
-        return;
-    }
-
-    string tagStr = tagToStr(tag);
-    string group = tagStr.substring(0, 4);
-    string element = tagStr.substring(4);
-
-    // Keys to match against in the private dictionary
-    string[] keys = [
-        tagStr,
-        string `${group}xx${element.substring(2)}`,
-        string `${group.substring(0, 2)}xxxx${element.substring(2)}`
-    ];
-
-    // Keys available in the private dictionary
-    string[] availableKeys = [];
-
-    foreach var key in keys {
-        if privateDict.hasKey(key) {
-            availableKeys.push(key);
-        }
-    }
+    (PrivateDictionary & readonly)? dictionary = getPrivateDictionary(privateCreatorID);
+    (TagInfo & readonly)? tagInfo = dictionary is () ? () : lookupPrivateTagInfo(dictionary, tag);
+    recordDictionaryLookup(tagInfo is TagInfo);
+    // Compiled tag information is shared, therefore, a copy is returned
+    return tagInfo is () ? () : {...tagInfo};
+}
 
-    // If matching keys are available, retrieve the corresponding tag information
-    if availableKeys.length() > 0 {
-        tagInfo = privateDict.get(availableKeys[0]).cloneWithType();
+# Records a tag information lookup in the DICOM dictionaries.
+#
+# + hit - Whether the lookup matched a dictionary entry
+isolated function recordDictionaryLookup(boolean hit) {
+    incrementCounter(METRIC_DICTIONARY_LOOKUPS);
+    if !hit {
+        incrementCounter(METRIC_DICTIONARY_MISSES);
     }
-
-    return tagInfo is error ? () : tagInfo;
 }
 
 # Validates a DICOM entity (tag, data element, or dataset).
@@ -351,7 +328,11 @@ public isolated function toBytes(Tag|DataElement|Dataset entity, TransferSyntax
         } else if entity is DataElement {
             return check encodeDataElement(entity, transferSyntax);
         } else { // Dataset
-            return check encodeDataset(entity, transferSyntax, encodeSorted);
+            int startTime = startTimer();
+            byte[] datasetBytes = check encodeDataset(entity, transferSyntax, encodeSorted);
+            recordDuration(METRIC_ENCODER_DURATION, startTime);
+            incrementCounter(METRIC_ENCODER_BYTES, datasetBytes.length());
+            return datasetBytes;
         }
     } on fail error e {
         return error EncodingError("Entity encoding failed", e);
@@ -453,6 +434,123 @@ public isolated function floatToBytes(float n, ByteOrder byteOrder) returns byte
     return error Error("Float to bytes conversion failed", floatBytes);
 }
 
+# Decodes the packed values of a binary integer VR, or the tags of an `AT` value, in a single pass.
+# `AT` values are decoded into tag integers, e.g. `TAG_PIXEL_DATA`.
+#
+# + bytes - The byte array containing the packed values
+# + vr - The VR of the values
+# + byteOrder - The byte order used in the byte array
+# + return - The decoded values, or an `Error` if the VR is not an integer VR or the length is not a multiple of its
+# value length
+public isolated function bytesToIntArray(byte[] bytes, Vr vr, ByteOrder byteOrder) returns int[]|Error {
+    if !isIntVr(vr) {
+        return error Error(string `VR ${vr} does not hold integer values`);
+    }
+    int width = check getPackedValueWidth(bytes.length(), vr);
+    if vr == AT {
+        // Tags are encoded as a pair of 16-bit unsigned integers, the group followed by the element
+        int[] parts = check decodePackedInts(bytes, byteOrder, 2, false);
+        return from int index in 0 ..< parts.length() / 2 select parts[index * 2] << 16 | parts[index * 2 + 1];
+    }
+    return decodePackedInts(bytes, byteOrder, width, SIGNED_INT_VRs.indexOf(vr) != ());
+}
+
+# Decodes the packed values of a binary float VR in a single pass.
+#
+# + bytes - The byte array containing the packed values
+# + vr - The VR of the values
+# + byteOrder - The byte order used in the byte array
+# + return - The decoded values, or an `Error` if the VR is not a float VR or the length is not a multiple of its
+# value length
+public isolated function bytesToFloatArray(byte[] bytes, Vr vr, ByteOrder byteOrder) returns float[]|Error {
+    if !isFloatVr(vr) {
+        return error Error(string `VR ${vr} does not hold float values`);
+    }
+    int width = check getPackedValueWidth(bytes.length(), vr);
+    float[]|error values = trap javaBytesToFloatArray(bytes, byteOrder, width);
+    if values is float[] {
+        return values;
+    }
+    return error Error("Bytes to float array conversion failed", values);
+}
+
+# Encodes the values of a binary integer VR, or the tag integers of an `AT` value, into packed bytes.
+#
+# + values - The values to be encoded
+# + vr - The VR of the values
+# + byteOrder - The byte order to be used for the encoding
+# + return - The packed values, or an `Error` if the VR is not an integer VR
+public isolated function intArrayToBytes(int[] values, Vr vr, ByteOrder byteOrder) returns byte[]|Error {
+    if !isIntVr(vr) {
+        return error Error(string `VR ${vr} does not hold integer values`);
+    }
+    int[] packedValues = values;
+    int width = FIXED_LENGTH_VALUE_BYTES.get(vr);
+    if vr == AT {
+        packedValues = [];
+        foreach int tag in values {
+            packedValues.push(tag >> 16 & 0xFFFF, tag & 0xFFFF);
+        }
+        width = 2;
+    }
+    byte[]|error bytes = trap javaIntArrayToBytes(packedValues, byteOrder, width);
+    if bytes is byte[] {
+        return bytes;
+    }
+    return error Error("Int array to bytes conversion failed", bytes);
+}
+
+# Encodes the values of a binary float VR into packed bytes.
+#
+# + values - The values to be encoded
+# + vr - The VR of the values
+# + byteOrder - The byte order to be used for the encoding
+# + return - The packed values, or an `Error` if the VR is not a float VR
+public isolated function floatArrayToBytes(float[] values, Vr vr, ByteOrder byteOrder) returns byte[]|Error {
+    if !isFloatVr(vr) {
+        return error Error(string `VR ${vr} does not hold float values`);
+    }
+    byte[]|error bytes = trap javaFloatArrayToBytes(values, byteOrder, FIXED_LENGTH_VALUE_BYTES.get(vr));
+    if bytes is byte[] {
+        return bytes;
+    }
+    return error Error("Float array to bytes conversion failed", bytes);
+}
+
+# Checks if a data element value holds packed values of a binary numeric VR.
+#
+# + value - The data element value to be checked
+# + return - `true` if the value is a packed `int[]` or `float[]` array, otherwise `false`
+isolated function isPackedValue(DataElementValue value) returns boolean => value is int[]|float[] && value !is byte[];
+
+# Decodes packed integer values.
+#
+# + bytes - The byte array containing the packed values
+# + byteOrder - The byte order used in the byte array
+# + width - The number of bytes of each value
+# + signed - Whether the values are signed
+# + return - The decoded values, or an `Error` if the decoding fails
+isolated function decodePackedInts(byte[] bytes, ByteOrder byteOrder, int width, boolean signed) returns int[]|Error {
+    int[]|error values = trap javaBytesToIntArray(bytes, byteOrder, width, signed);
+    if values is int[] {
+        return values;
+    }
+    return error Error("Bytes to int array conversion failed", values);
+}
+
+# Retrieves the number of bytes of each packed value of a VR.
+#
+# + length - The length of the packed values
+# + vr - The VR of the values
+# + return - The number of bytes of each value, or an `Error` if the length is not a multiple of it
+isolated function getPackedValueWidth(int length, Vr vr) returns int|Error {
+    int width = FIXED_LENGTH_VALUE_BYTES.get(vr);
+    if length % width != 0 {
+        return error Error(string `Value length ${length} is not a multiple of the ${vr} value length ${width}`);
+    }
+    return width;
+}
+
 # Checks if a VR is a string type VR.
 #
 # + vr - The VR to be checked
@@ -607,12 +705,8 @@ isolated function constructSpaceBytes(int length) returns byte[] {
 # + dataset - The given DICOM dataset
 # + tagInt - The tag as an integer (e.g., dicom:TAG_PATIENT_NAME)
 # + return - The string value of the tag, or an `Error` if not found or cannot be converted to string
-public isolated function getString(Dataset dataset, int tagInt) returns string|Error {
-    int group = (tagInt >> 16) & 0xFFFF;
-    int element = tagInt & 0xFFFF;
-    Tag tagRec = {group: <int:Unsigned16>group, element: <int:Unsigned16>element};
-
-    DataElement? dataElement = dataset[tagRec];
+public isolated function getString(Dataset|IndexedDataset dataset, int tagInt) returns string|Error {
+    DataElement? dataElement = getDataElement(dataset, tagInt);
     if dataElement is () {
         return error Error(string `Tag not found in dataset: ${tagInt.toHexString()}`);
     }
@@ -628,6 +722,10 @@ public isolated function getString(Dataset dataset, int tagInt) returns string|E
             return error Error("Failed to convert byte[] to string");
         }
         return strVal;
+    } else if value is int[]|float[] {
+        // Packed values are joined as multiple values of string VRs are
+        (int|float)[] items = value;
+        return string:'join("\\", ...from int|float item in items select item.toString());
     }
     return error Error("Data element value is not a string type");
 }
@@ -637,11 +735,11 @@ public isolated function getString(Dataset dataset, int tagInt) returns string|E
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The data element if found, or `()`
-public isolated function getDataElement(Dataset dataset, int tagInt) returns DataElement? {
-    int group = (tagInt >> 16) & 0xFFFF;
-    int element = tagInt & 0xFFFF;
-    Tag tagRec = {group: <int:Unsigned16>group, element: <int:Unsigned16>element};
-    return dataset[tagRec];
+public isolated function getDataElement(Dataset|IndexedDataset dataset, int tagInt) returns DataElement? {
+    if dataset is IndexedDataset {
+        return dataset.get(tagInt);
+    }
+    return dataset[columnToTag(tagInt)];
 }
 
 # Parses a DICOM Person Name (PN VR) string into a structured `PersonName` record.
@@ -681,7 +779,7 @@ public isolated function parsePersonName(string pnString) returns PersonName {
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The integer value if found and valid, or `Error`
-public isolated function getInt(Dataset dataset, int tagInt) returns int|Error {
+public isolated function getInt(Dataset|IndexedDataset dataset, int tagInt) returns int|Error {
     DataElement? dataElement = getDataElement(dataset, tagInt);
     if dataElement is () {
         return error Error(string `Data element not found for tag: ${tagInt}`);
@@ -704,7 +802,7 @@ public isolated function getInt(Dataset dataset, int tagInt) returns int|Error {
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The float value if found and valid, or `Error`
-public isolated function getFloat(Dataset dataset, int tagInt) returns float|Error {
+public isolated function getFloat(Dataset|IndexedDataset dataset, int tagInt) returns float|Error {
     DataElement? dataElement = getDataElement(dataset, tagInt);
     if dataElement is () {
         return error Error(string `Data element not found for tag: ${tagInt}`);
@@ -729,7 +827,7 @@ public isolated function getFloat(Dataset dataset, int tagInt) returns float|Err
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The array of strings if found and valid, or `Error`
-public isolated function getStringArray(Dataset dataset, int tagInt) returns string[]|Error {
+public isolated function getStringArray(Dataset|IndexedDataset dataset, int tagInt) returns string[]|Error {
     string|Error val = getString(dataset, tagInt);
     if val is string {
         return re `\\`.split(val);
@@ -737,12 +835,19 @@ public isolated function getStringArray(Dataset dataset, int tagInt) returns str
     return val;
 }
 
-# Extracts an array of integers from a multi-valued dataset element (separated by '\').
+# Extracts an array of integers from a multi-valued dataset element.
+# Packed values of binary VRs are copied as they are, and string values are split at '\'.
 #
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The array of integers if found and valid, or `Error`
-public isolated function getIntArray(Dataset dataset, int tagInt) returns int[]|Error {
+public isolated function getIntArray(Dataset|IndexedDataset dataset, int tagInt) returns int[]|Error {
+    DataElementValue value = getDataElement(dataset, tagInt)?.value;
+    if value is int[] && value !is byte[] {
+        return value.clone();
+    } else if value is int {
+        return [value];
+    }
     string[]|Error strArr = getStringArray(dataset, tagInt);
     if strArr is string[] {
         int[] intArr = [];
@@ -762,12 +867,23 @@ public isolated function getIntArray(Dataset dataset, int tagInt) returns int[]|
     return strArr;
 }
 
-# Extracts an array of floats from a multi-valued dataset element (separated by '\').
+# Extracts an array of floats from a multi-valued dataset element.
+# Packed values of binary VRs are copied as they are, and string values are split at '\'.
 #
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The array of floats if found and valid, or `Error`
-public isolated function getFloatArray(Dataset dataset, int tagInt) returns float[]|Error {
+public isolated function getFloatArray(Dataset|IndexedDataset dataset, int tagInt) returns float[]|Error {
+    DataElementValue value = getDataElement(dataset, tagInt)?.value;
+    if value is float[] {
+        return value.clone();
+    } else if value is float {
+        return [value];
+    } else if value is int[] && value !is byte[] {
+        return from int item in value select <float>item;
+    } else if value is int {
+        return [<float>value];
+    }
     string[]|Error strArr = getStringArray(dataset, tagInt);
     if strArr is string[] {
         float[] floatArr = [];
@@ -792,7 +908,7 @@ public isolated function getFloatArray(Dataset dataset, int tagInt) returns floa
 # + dataset - The DICOM dataset
 # + tagInt - The tag as an integer
 # + return - The `SequenceValue` if found, or `Error` if missing or invalid type
-public isolated function getSequence(Dataset dataset, int tagInt) returns SequenceValue|Error {
+public isolated function getSequence(Dataset|IndexedDataset dataset, int tagInt) returns SequenceValue|Error {
     DataElement? dataElement = getDataElement(dataset, tagInt);
     if dataElement is () {
         return error Error(string `Data element not found for tag: ${tagInt}`);
@@ -805,6 +921,77 @@ public isolated function getSequence(Dataset dataset, int tagInt) returns Sequen
     return error Error("Data element value is not a Sequence VR");
 }
 
+# Extracts an encapsulated pixel data value from the dataset.
+#
+# + dataset - The DICOM dataset
+# + return - The `EncapsulatedPixelData` if found, or `Error` if missing or not encapsulated
+public isolated function getEncapsulatedPixelData(Dataset|IndexedDataset dataset) returns EncapsulatedPixelData|Error {
+    DataElement? dataElement = getDataElement(dataset, TAG_PIXEL_DATA);
+    if dataElement is () {
+        return error Error("Pixel data element not found");
+    }
+
+    DataElementValue val = dataElement.value;
+    if val is EncapsulatedPixelData {
+        return val;
+    }
+    return error Error("Pixel data element value is not encapsulated");
+}
+
+# Groups the fragments of an encapsulated pixel data value by frame.
+# Frame boundaries are taken from the Basic Offset Table when present. Otherwise, a single frame
+# is assumed to span all fragments, or each fragment is assumed to hold one frame when the fragment
+# count matches the number of frames. Based off of Section A.4 in Part 5.
+#
+# + pixelData - The encapsulated pixel data value
+# + numberOfFrames - The number of frames in the pixel data
+# + return - The fragments of each frame, or an `Error` if the frame boundaries cannot be determined
+public isolated function getFrameFragments(EncapsulatedPixelData pixelData,
+        int numberOfFrames = 1) returns PixelDataFragment[][]|Error {
+    PixelDataFragment[] fragments = pixelData.fragments;
+    int[] basicOffsetTable = pixelData.basicOffsetTable;
+    if numberOfFrames < 1 {
+        return error Error(string `Invalid number of frames: ${numberOfFrames}`);
+    }
+    if fragments.length() == 0 {
+        return error Error("Encapsulated pixel data does not contain any fragments");
+    }
+
+    if basicOffsetTable.length() == 0 {
+        if numberOfFrames == 1 {
+            return [fragments];
+        } else if fragments.length() == numberOfFrames {
+            return from PixelDataFragment fragment in fragments select [fragment];
+        }
+        return error Error(string `Cannot determine frame boundaries of ${fragments.length()} fragments ` +
+                string `for ${numberOfFrames} frames without a Basic Offset Table`);
+    }
+
+    if basicOffsetTable.length() != numberOfFrames {
+        return error Error(string `Basic Offset Table has ${basicOffsetTable.length()} entries, ` +
+                string `expected ${numberOfFrames}`);
+    }
+
+    // Offsets in the Basic Offset Table are relative to the first byte of the first fragment item tag,
+    // and each fragment item is preceded by an 8 byte item header
+    int firstItemOffset = fragments[0].offset;
+    PixelDataFragment[][] frames = [];
+    int fragmentIndex = 0;
+    foreach int frameIndex in 0 ..< numberOfFrames {
+        int frameEnd = frameIndex + 1 < numberOfFrames ? basicOffsetTable[frameIndex + 1] : int:MAX_VALUE;
+        PixelDataFragment[] frameFragments = [];
+        while fragmentIndex < fragments.length() && fragments[fragmentIndex].offset - firstItemOffset < frameEnd {
+            frameFragments.push(fragments[fragmentIndex]);
+            fragmentIndex += 1;
+        }
+        if frameFragments.length() == 0 {
+            return error Error(string `No fragments found for frame ${frameIndex}`);
+        }
+        frames.push(frameFragments);
+    }
+    return frames;
+}
+
 # Parses a DICOM Date string (DA VR) into a structured `DicomDate` record.
 # The DA VR format is `YYYYMMDD`.
 #
@@ -146,12 +146,12 @@ isolated function validateValueType(Vr vr, DataElementValue value) returns Valid
                 fail error ValidationError(constructInvalidValueTypeErrorMsg(vr, value, "byte[]"));
             }
         } else if isIntVr(vr) {
-            if value !is int {
-                fail error ValidationError(constructInvalidValueTypeErrorMsg(vr, value, "int"));
+            if value !is int && !isPackedValue(value) {
+                fail error ValidationError(constructInvalidValueTypeErrorMsg(vr, value, "int|int[]"));
             }
         } else if isFloatVr(vr) {
-            if value !is float {
-                fail error ValidationError(constructInvalidValueTypeErrorMsg(vr, value, "float"));
+            if value !is float && value !is float[] {
+                fail error ValidationError(constructInvalidValueTypeErrorMsg(vr, value, "float|float[]"));
             }
         } else {
             fail error ValidationError(string `Could not determine the value type of the VR ${vr}`);
@@ -174,7 +174,9 @@ isolated function validateValueLength(Vr vr, DataElementValue value,
         if valueLength == () {
             fail error ValidationError("Could not calculate the value length of the value");
         }
-        if FIXED_LENGTH_VALUE_BYTES.hasKey(vr) && valueLength > FIXED_LENGTH_VALUE_BYTES.get(vr) {
+        // Packed values are encoded as whole values of the fixed length
+        if FIXED_LENGTH_VALUE_BYTES.hasKey(vr) && !isPackedValue(value)
+                && valueLength > FIXED_LENGTH_VALUE_BYTES.get(vr) {
             fail error ValidationError(constructInvalidValueLengthErrorMsg(vr, valueLength,
                     FIXED_LENGTH_VALUE_BYTES.get(vr)));
         }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+repositories {
+    mavenCentral()
+    maven {
+        url = uri("https://maven.pkg.github.com/ballerina-platform/*")
+        credentials {
+            username = System.getenv("GITHUB_USERNAME")
+            password = System.getenv("GITHUB_PAT")
+        }
+    }
+}
+
+val ballerinaLangVersion: String by project
+
+dependencies {
+    jmh(project(":dicom-native"))
+    jmh(group = "org.ballerinalang", name = "ballerina-runtime", version = ballerinaLangVersion)
+}
+
+// Benchmarks are only run on demand, e.g. ./gradlew :dicom-benchmarks:jmh
+jmh {
+    // Report allocation rates alongside timings
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // Benchmarks can be filtered using -PjmhIncludes=<regex>
+    if (project.hasProperty("jmhIncludes")) {
+        includes.add(project.property("jmhIncludes").toString())
+    }
+}
+
+// Set Java language version to 21
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
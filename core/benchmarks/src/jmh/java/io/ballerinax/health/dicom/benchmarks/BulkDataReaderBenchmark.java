@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.benchmarks;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerinax.health.dicom.BulkDataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading and Base64 encoding the pixel data of synthetic files as bulk data.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkDataReaderBenchmark {
+
+    @Param({"large", "multiFrame"})
+    private String file;
+
+    private Path path;
+    private BulkDataReader reader;
+    private long offset;
+    private long length;
+
+    @Setup
+    public void setup() throws IOException {
+        SyntheticDicom.SyntheticFile syntheticFile = switch (file) {
+            case "large" -> SyntheticDicom.large(SyntheticDicom.DEFAULT_SEED, 2048, 2048);
+            case "multiFrame" -> SyntheticDicom.multiFrame(SyntheticDicom.DEFAULT_SEED, 100, 65536);
+            default -> throw new IllegalArgumentException("Unknown file: " + file);
+        };
+        path = Files.createTempFile("bulk-data-benchmark", ".dcm");
+        syntheticFile.write(path);
+        offset = syntheticFile.pixelDataOffset();
+        length = syntheticFile.pixelDataLength();
+        reader = BulkDataReader.open(StringUtils.fromString(path.toString()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public BArray read() throws IOException {
+        return reader.read(offset, length);
+    }
+
+    @Benchmark
+    public BString encodeBase64() throws IOException {
+        return reader.encodeBase64(offset, length);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.benchmarks;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerinax.health.dicom.ByteUtils;
+import io.ballerinax.health.dicom.InvalidByteOrderException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the numeric byte conversions used to parse and encode binary VR values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ByteUtilsBenchmark {
+
+    @Param({"LITTLE_ENDIAN", "BIG_ENDIAN"})
+    private String byteOrder;
+
+    private BString byteOrderValue;
+    private BArray intBytes;
+    private BArray floatBytes;
+    private BArray shortBytes;
+    private int intValue;
+    private float floatValue;
+
+    @Setup
+    public void setup() {
+        byteOrderValue = StringUtils.fromString(byteOrder);
+        intBytes = ValueCreator.createArrayValue(new byte[]{0x12, 0x34, 0x56, 0x78});
+        floatBytes = ValueCreator.createArrayValue(new byte[]{0x40, 0x49, 0x0F, (byte) 0xDB});
+        shortBytes = ValueCreator.createArrayValue(new byte[]{0x01, 0x02});
+        intValue = 0x12345678;
+        floatValue = 3.14159f;
+    }
+
+    @Benchmark
+    public int bytesToInt() throws InvalidByteOrderException {
+        return ByteUtils.bytesToInt(intBytes, byteOrderValue);
+    }
+
+    @Benchmark
+    public float bytesToFloat() throws InvalidByteOrderException {
+        return ByteUtils.bytesToFloat(floatBytes, byteOrderValue);
+    }
+
+    @Benchmark
+    public BArray intToBytes() throws InvalidByteOrderException {
+        return ByteUtils.intToBytes(intValue, byteOrderValue);
+    }
+
+    @Benchmark
+    public BArray floatToBytes() throws InvalidByteOrderException {
+        return ByteUtils.floatToBytes(floatValue, byteOrderValue);
+    }
+
+    @Benchmark
+    public BArray resizeNumericByteArray() throws InvalidByteOrderException {
+        // US values are widened to the 4 byte integer representation
+        return ByteUtils.resizeNumericByteArray(shortBytes, byteOrderValue, 4);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.benchmarks;
+
+import io.ballerinax.health.dicom.ColumnarStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the columnar store operations behind generating DICOMweb responses from a store:
+ * matching attribute values, and reading back the attributes of the matching datasets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarStoreBenchmark {
+
+    private static final int MODALITY = 0x00080060;
+    private static final int PATIENT_NAME = 0x00100010;
+    private static final int STUDY_INSTANCE_UID = 0x0020000D;
+    private static final int SERIES_NUMBER = 0x00200011;
+    private static final String[] MODALITIES = {"CT", "MR", "US", "CR", "DX", "PT"};
+
+    @Param({"10", "1000", "100000"})
+    private int datasetCount;
+
+    private ColumnarStore store;
+    private String studyInstanceUid;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(SyntheticDicom.DEFAULT_SEED);
+        store = new ColumnarStore();
+        for (int i = 0; i < datasetCount; i++) {
+            int row = store.addRow();
+            store.putString(row, MODALITY, "CS", MODALITIES[random.nextInt(MODALITIES.length)]);
+            store.putString(row, PATIENT_NAME, "PN", "PATIENT^" + random.nextInt(datasetCount));
+            // Ten instances per study
+            store.putString(row, STUDY_INSTANCE_UID, "UI", "1.2.826.0.1.3680043.10.543." + i / 10);
+            store.putInt(row, SERIES_NUMBER, "IS", random.nextInt(1, 100));
+        }
+        studyInstanceUid = "1.2.826.0.1.3680043.10.543." + (datasetCount - 1) / 20;
+    }
+
+    @Benchmark
+    public int[] findSelectiveString() {
+        return store.findString(STUDY_INSTANCE_UID, studyInstanceUid);
+    }
+
+    @Benchmark
+    public int[] findUnselectiveString() {
+        return store.findString(MODALITY, "CT");
+    }
+
+    @Benchmark
+    public int[] findInt() {
+        return store.findInt(SERIES_NUMBER, 42);
+    }
+
+    @Benchmark
+    public void readMatchingRows(Blackhole blackhole) {
+        for (int row : store.findString(MODALITY, "CT")) {
+            for (int tag : store.getRowTags(row)) {
+                if (store.getKind(row, tag) == ColumnarStore.KIND_STRING) {
+                    blackhole.consume(store.getString(row, tag));
+                } else {
+                    blackhole.consume(store.getInt(row, tag));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic DICOM Part 10 files, encoded using the Explicit VR Little Endian transfer syntax.
+ * <p>
+ * Files are generated from a seed, so that benchmark results are reproducible without any patient data.
+ * The generated attribute values are random but valid for their VRs.
+ * </p>
+ */
+public final class SyntheticDicom {
+
+    /**
+     * The seed used when a seed is not given.
+     */
+    public static final long DEFAULT_SEED = 0x4449434FL;
+
+    private static final String EXPLICIT_VR_LITTLE_ENDIAN = "1.2.840.10008.1.2.1";
+    private static final String SECONDARY_CAPTURE_IMAGE_STORAGE = "1.2.840.10008.5.1.4.1.1.7";
+    private static final String UID_ROOT = "1.2.826.0.1.3680043.10.543";
+    private static final String[] MODALITIES = {"CT", "MR", "US", "CR", "DX", "PT"};
+    private static final String[] NAMES = {"DOE^JANE", "ROE^RICHARD", "MOE^MARY", "POE^PAT", "COE^CHRIS"};
+
+    private SyntheticDicom() {
+    }
+
+    /**
+     * A generated file.
+     *
+     * @param bytes           the encoded file
+     * @param pixelDataOffset the offset of the pixel data value within the file, or {@code -1} if there is none
+     * @param pixelDataLength the length of the pixel data value in bytes
+     */
+    public record SyntheticFile(byte[] bytes, long pixelDataOffset, long pixelDataLength) {
+
+        /**
+         * Writes the file.
+         *
+         * @param path the file path
+         * @throws IOException if the file cannot be written
+         */
+        public void write(Path path) throws IOException {
+            Files.write(path, bytes);
+        }
+    }
+
+    /**
+     * Generates a file with the study, series, patient and instance attributes used by DICOMweb searches,
+     * and no pixel data.
+     *
+     * @param seed the seed
+     * @return the generated file
+     */
+    public static SyntheticFile small(long seed) {
+        Writer writer = new Writer();
+        writeAttributes(writer, new SplittableRandom(seed), 0, 0);
+        return writer.toFile(-1, 0);
+    }
+
+    /**
+     * Generates a single frame file with native pixel data.
+     *
+     * @param seed    the seed
+     * @param rows    the number of pixel rows
+     * @param columns the number of pixel columns
+     * @return the generated file
+     */
+    public static SyntheticFile large(long seed, int rows, int columns) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Writer writer = new Writer();
+        writeAttributes(writer, random, rows, columns);
+        byte[] pixelData = new byte[rows * columns * 2];
+        random.nextBytes(pixelData);
+        writer.longElement(0x7FE0, 0x0010, "OW", pixelData.length);
+        long pixelDataOffset = writer.size();
+        writer.raw(pixelData);
+        return writer.toFile(pixelDataOffset, pixelData.length);
+    }
+
+    /**
+     * Generates a multi-frame file with encapsulated pixel data, with a Basic Offset Table and a fragment per frame.
+     *
+     * @param seed        the seed
+     * @param frames      the number of frames
+     * @param frameLength the length of each frame fragment in bytes, rounded up to an even length
+     * @return the generated file, with the pixel data offset and length covering all the pixel data items
+     */
+    public static SyntheticFile multiFrame(long seed, int frames, int frameLength) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Writer writer = new Writer();
+        writeAttributes(writer, random, 512, 512);
+        int fragmentLength = frameLength + frameLength % 2;
+        // Pixel data of undefined length
+        writer.longElement(0x7FE0, 0x0010, "OB", -1);
+        long pixelDataOffset = writer.size();
+        // Basic Offset Table
+        writer.tag(0xFFFE, 0xE000);
+        writer.uint32(frames * 4L);
+        for (int frame = 0; frame < frames; frame++) {
+            writer.uint32((long) frame * (fragmentLength + 8));
+        }
+        byte[] fragment = new byte[fragmentLength];
+        for (int frame = 0; frame < frames; frame++) {
+            random.nextBytes(fragment);
+            writer.tag(0xFFFE, 0xE000);
+            writer.uint32(fragmentLength);
+            writer.raw(fragment);
+        }
+        long pixelDataLength = writer.size() - pixelDataOffset;
+        // Sequence delimitation item
+        writer.tag(0xFFFE, 0xE0DD);
+        writer.uint32(0);
+        return writer.toFile(pixelDataOffset, pixelDataLength);
+    }
+
+    /**
+     * Generates a file with nested sequences of undefined length.
+     *
+     * @param seed             the seed
+     * @param depth            the nesting depth of the sequences
+     * @param itemsPerSequence the number of items of each sequence
+     * @return the generated file
+     */
+    public static SyntheticFile deeplySequenced(long seed, int depth, int itemsPerSequence) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Writer writer = new Writer();
+        writeAttributes(writer, random, 0, 0);
+        // Request Attributes Sequence
+        writeSequence(writer, random, depth, itemsPerSequence);
+        return writer.toFile(-1, 0);
+    }
+
+    /**
+     * Writes the four kinds of files to a directory, to be used as fixtures by benchmarks of the Ballerina packages.
+     *
+     * @param args the output directory, which defaults to the working directory
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : ".");
+        Files.createDirectories(directory);
+        small(DEFAULT_SEED).write(directory.resolve("small.dcm"));
+        large(DEFAULT_SEED, 2048, 2048).write(directory.resolve("large.dcm"));
+        multiFrame(DEFAULT_SEED, 100, 65536).write(directory.resolve("multiframe.dcm"));
+        deeplySequenced(DEFAULT_SEED, 8, 2).write(directory.resolve("sequenced.dcm"));
+    }
+
+    private static void writeSequence(Writer writer, SplittableRandom random, int depth, int itemsPerSequence) {
+        writer.longElement(0x0040, 0x0275, "SQ", -1);
+        for (int item = 0; item < itemsPerSequence; item++) {
+            writer.tag(0xFFFE, 0xE000);
+            writer.uint32(-1);
+            // Scheduled Procedure Step Description, Scheduled Procedure Step ID
+            writer.stringElement(0x0040, 0x0007, "LO", "PROCEDURE " + random.nextInt(1000));
+            writer.stringElement(0x0040, 0x0009, "SH", "SPS" + random.nextInt(100000));
+            if (depth > 1) {
+                writeSequence(writer, random, depth - 1, itemsPerSequence);
+            }
+            // Item delimitation item
+            writer.tag(0xFFFE, 0xE00D);
+            writer.uint32(0);
+        }
+        // Sequence delimitation item
+        writer.tag(0xFFFE, 0xE0DD);
+        writer.uint32(0);
+    }
+
+    private static void writeAttributes(Writer writer, SplittableRandom random, int rows, int columns) {
+        String studyUid = uid(random);
+        String sopInstanceUid = uid(random);
+
+        // File Meta Information, with the group length computed over the remaining meta elements
+        Writer meta = new Writer(0);
+        meta.longElement(0x0002, 0x0001, "OB", 2);
+        meta.raw(new byte[]{0, 1});
+        meta.stringElement(0x0002, 0x0002, "UI", SECONDARY_CAPTURE_IMAGE_STORAGE);
+        meta.stringElement(0x0002, 0x0003, "UI", sopInstanceUid);
+        meta.stringElement(0x0002, 0x0010, "UI", EXPLICIT_VR_LITTLE_ENDIAN);
+        meta.stringElement(0x0002, 0x0012, "UI", UID_ROOT + ".1");
+        writer.shortElement(0x0002, 0x0000, "UL", 4);
+        writer.uint32(meta.size());
+        writer.raw(meta.out.toByteArray());
+
+        writer.stringElement(0x0008, 0x0005, "CS", "ISO_IR 100");
+        writer.stringElement(0x0008, 0x0016, "UI", SECONDARY_CAPTURE_IMAGE_STORAGE);
+        writer.stringElement(0x0008, 0x0018, "UI", sopInstanceUid);
+        writer.stringElement(0x0008, 0x0020, "DA", date(random));
+        writer.stringElement(0x0008, 0x0030, "TM", String.format("%02d%02d%02d", random.nextInt(24),
+                random.nextInt(60), random.nextInt(60)));
+        writer.stringElement(0x0008, 0x0050, "SH", "ACC" + random.nextInt(1000000));
+        writer.stringElement(0x0008, 0x0060, "CS", MODALITIES[random.nextInt(MODALITIES.length)]);
+        writer.stringElement(0x0008, 0x0090, "PN", NAMES[random.nextInt(NAMES.length)]);
+        writer.stringElement(0x0008, 0x1030, "LO", "SYNTHETIC STUDY " + random.nextInt(1000));
+        writer.stringElement(0x0010, 0x0010, "PN", NAMES[random.nextInt(NAMES.length)]);
+        writer.stringElement(0x0010, 0x0020, "LO", "PID" + random.nextInt(1000000));
+        writer.stringElement(0x0010, 0x0030, "DA", date(random));
+        writer.stringElement(0x0010, 0x0040, "CS", random.nextBoolean() ? "F" : "M");
+        writer.stringElement(0x0020, 0x000D, "UI", studyUid);
+        writer.stringElement(0x0020, 0x000E, "UI", uid(random));
+        writer.stringElement(0x0020, 0x0010, "SH", String.valueOf(random.nextInt(10000)));
+        writer.stringElement(0x0020, 0x0011, "IS", String.valueOf(random.nextInt(1, 100)));
+        writer.stringElement(0x0020, 0x0013, "IS", String.valueOf(random.nextInt(1, 1000)));
+        if (rows > 0 && columns > 0) {
+            writer.shortElement(0x0028, 0x0002, "US", 2);
+            writer.uint16(1);
+            writer.stringElement(0x0028, 0x0004, "CS", "MONOCHROME2");
+            writer.shortElement(0x0028, 0x0010, "US", 2);
+            writer.uint16(rows);
+            writer.shortElement(0x0028, 0x0011, "US", 2);
+            writer.uint16(columns);
+            writer.shortElement(0x0028, 0x0100, "US", 2);
+            writer.uint16(16);
+            writer.shortElement(0x0028, 0x0101, "US", 2);
+            writer.uint16(12);
+            writer.shortElement(0x0028, 0x0102, "US", 2);
+            writer.uint16(11);
+            writer.shortElement(0x0028, 0x0103, "US", 2);
+            writer.uint16(0);
+        }
+    }
+
+    private static String uid(SplittableRandom random) {
+        return UID_ROOT + "." + random.nextInt(1, Integer.MAX_VALUE) + "." + random.nextInt(1, Integer.MAX_VALUE);
+    }
+
+    private static String date(SplittableRandom random) {
+        return String.format("%04d%02d%02d", random.nextInt(1950, 2024), random.nextInt(1, 13), random.nextInt(1, 29));
+    }
+
+    /**
+     * Writes Explicit VR Little Endian encoded elements.
+     */
+    private static final class Writer {
+        private static final int PREAMBLE_LENGTH = 128;
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        private Writer() {
+            out.writeBytes(new byte[PREAMBLE_LENGTH]);
+            out.writeBytes("DICM".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private Writer(int preambleLength) {
+            out.writeBytes(new byte[preambleLength]);
+        }
+
+        private long size() {
+            return out.size();
+        }
+
+        private void raw(byte[] bytes) {
+            out.writeBytes(bytes);
+        }
+
+        private void tag(int group, int element) {
+            uint16(group);
+            uint16(element);
+        }
+
+        private void uint16(int value) {
+            out.write(value & 0xFF);
+            out.write((value >>> 8) & 0xFF);
+        }
+
+        private void uint32(long value) {
+            uint16((int) (value & 0xFFFF));
+            uint16((int) ((value >>> 16) & 0xFFFF));
+        }
+
+        private void shortElement(int group, int element, String vr, int length) {
+            tag(group, element);
+            out.writeBytes(vr.getBytes(StandardCharsets.US_ASCII));
+            uint16(length);
+        }
+
+        private void longElement(int group, int element, String vr, long length) {
+            tag(group, element);
+            out.writeBytes(vr.getBytes(StandardCharsets.US_ASCII));
+            uint16(0);
+            uint32(length);
+        }
+
+        private void stringElement(int group, int element, String vr, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            int length = bytes.length + bytes.length % 2;
+            shortElement(group, element, vr, length);
+            out.writeBytes(bytes);
+            if (length != bytes.length) {
+                // UIDs are padded with a null byte, other strings with a space
+                out.write(vr.equals("UI") ? 0x00 : 0x20);
+            }
+        }
+
+        private SyntheticFile toFile(long pixelDataOffset, long pixelDataLength) {
+            return new SyntheticFile(out.toByteArray(), pixelDataOffset, pixelDataLength);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * Reads byte ranges of a file, such as the bulk data values referenced by parsed DICOM datasets.
+ * <p>
+ * Ranges are read using positional reads, so that a value can be read without reading the bytes that precede it.
+ * </p>
+ */
+public class BulkDataReader {
+
+    // Chunks are read in multiples of 3 bytes, so that no padding is produced before the end of a Base64 encoded range
+    private static final int ENCODE_CHUNK_SIZE = 3 * 16384;
+
+    private final FileChannel channel;
+
+    private BulkDataReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a file for reading byte ranges.
+     *
+     * @param filePath the file path
+     * @return the opened reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static BulkDataReader open(BString filePath) throws IOException {
+        return new BulkDataReader(FileChannel.open(Path.of(filePath.getValue()), StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads a byte range of the file.
+     *
+     * @param offset the offset of the first byte of the range
+     * @param length the length of the range in bytes
+     * @return the bytes of the range
+     * @throws IOException if the range cannot be read, or if it exceeds the end of the file
+     */
+    public BArray read(long offset, long length) throws IOException {
+        validateRange(offset, length);
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        readFully(buffer, offset, offset, length);
+        return ValueCreator.createArrayValue(buffer.array());
+    }
+
+    /**
+     * Reads a byte range of the file and encodes it using the Base64 alphabet.
+     * <p>
+     * The range is read in chunks, which are encoded straight into the characters of the encoded string,
+     * so that the raw bytes of the range are never held in memory as a whole.
+     * </p>
+     *
+     * @param offset the offset of the first byte of the range
+     * @param length the length of the range in bytes
+     * @return the Base64 encoded range, with padding
+     * @throws IOException if the range cannot be read, or if it exceeds the end of the file
+     */
+    public BString encodeBase64(long offset, long length) throws IOException {
+        validateRange(offset, length);
+        long encodedLength = 4 * ((length + 2) / 3);
+        if (encodedLength > Integer.MAX_VALUE) {
+            throw new IOException("Byte range is too large to be Base64 encoded: length " + length);
+        }
+        ArrayOutputStream encoded = new ArrayOutputStream((int) encodedLength);
+        ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(ENCODE_CHUNK_SIZE, length));
+        try (OutputStream encoder = Base64.getEncoder().wrap(encoded)) {
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                chunk.clear();
+                chunk.limit((int) Math.min(chunk.capacity(), end - position));
+                readFully(chunk, position, offset, length);
+                encoder.write(chunk.array(), 0, chunk.limit());
+                position += chunk.limit();
+            }
+        }
+        // Base64 characters are ASCII, therefore, each byte maps to a single Latin-1 character
+        return StringUtils.fromString(new String(encoded.buffer, 0, encoded.size, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Retrieves the size of the file.
+     *
+     * @return the file size in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    private void validateRange(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid byte range: offset " + offset + ", length " + length);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position, long offset, long length) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Byte range exceeds the end of the file: offset " + offset +
+                        ", length " + length);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * An output stream writing into a fixed size array, which is sized to the exact length of its content.
+     */
+    private static class ArrayOutputStream extends OutputStream {
+        private final byte[] buffer;
+        private int size;
+
+        private ArrayOutputStream(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        @Override
+        public void write(int b) {
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            System.arraycopy(bytes, off, buffer, size, len);
+            size += len;
+        }
+    }
+}
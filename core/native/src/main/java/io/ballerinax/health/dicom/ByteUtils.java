@@ -88,6 +88,104 @@ public class ByteUtils {
         return ValueCreator.createArrayValue(bytes);
     }
 
+    /**
+     * Decodes the packed integer values of a Ballerina byte array in a single pass.
+     *
+     * @param bArray    the Ballerina byte array containing the packed values
+     * @param byteOrder the Ballerina string specifying the byte order
+     * @param width     the number of bytes of each value, which is 2, 4 or 8
+     * @param signed    whether the values are signed
+     * @return the decoded values as a Ballerina int array
+     * @throws InvalidByteOrderException if the provided byte order is an invalid byte order
+     */
+    public static BArray bytesToIntArray(BArray bArray, BString byteOrder, long width, boolean signed)
+            throws InvalidByteOrderException {
+        ByteBuffer buffer = wrapPackedValues(bArray, byteOrder);
+        long[] values = new long[(int) (bArray.size() / width)];
+        for (int i = 0; i < values.length; i++) {
+            if (width == Short.BYTES) {
+                short value = buffer.getShort();
+                values[i] = signed ? value : Short.toUnsignedLong(value);
+            } else if (width == Integer.BYTES) {
+                int value = buffer.getInt();
+                values[i] = signed ? value : Integer.toUnsignedLong(value);
+            } else {
+                // Unsigned 64-bit values above the range of Ballerina integers wrap around
+                values[i] = buffer.getLong();
+            }
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+
+    /**
+     * Decodes the packed floating point values of a Ballerina byte array in a single pass.
+     *
+     * @param bArray    the Ballerina byte array containing the packed values
+     * @param byteOrder the Ballerina string specifying the byte order
+     * @param width     the number of bytes of each value, which is 4 or 8
+     * @return the decoded values as a Ballerina float array
+     * @throws InvalidByteOrderException if the provided byte order is an invalid byte order
+     */
+    public static BArray bytesToFloatArray(BArray bArray, BString byteOrder, long width)
+            throws InvalidByteOrderException {
+        ByteBuffer buffer = wrapPackedValues(bArray, byteOrder);
+        double[] values = new double[(int) (bArray.size() / width)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = width == Float.BYTES ? buffer.getFloat() : buffer.getDouble();
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+
+    /**
+     * Encodes integer values into a packed Ballerina byte array.
+     *
+     * @param values    the Ballerina int array containing the values
+     * @param byteOrder the Ballerina string specifying the byte order
+     * @param width     the number of bytes of each value, which is 2, 4 or 8
+     * @return the packed Ballerina byte array
+     * @throws InvalidByteOrderException if the provided byte order is an invalid byte order
+     */
+    public static BArray intArrayToBytes(BArray values, BString byteOrder, long width)
+            throws InvalidByteOrderException {
+        int count = (int) values.size();
+        long[] ints = values.getIntArray();
+        ByteBuffer buffer = ByteBuffer.allocate((int) (count * width)).order(getByteOrder(byteOrder));
+        for (int i = 0; i < count; i++) {
+            if (width == Short.BYTES) {
+                buffer.putShort((short) ints[i]);
+            } else if (width == Integer.BYTES) {
+                buffer.putInt((int) ints[i]);
+            } else {
+                buffer.putLong(ints[i]);
+            }
+        }
+        return ValueCreator.createArrayValue(buffer.array());
+    }
+
+    /**
+     * Encodes floating point values into a packed Ballerina byte array.
+     *
+     * @param values    the Ballerina float array containing the values
+     * @param byteOrder the Ballerina string specifying the byte order
+     * @param width     the number of bytes of each value, which is 4 or 8
+     * @return the packed Ballerina byte array
+     * @throws InvalidByteOrderException if the provided byte order is an invalid byte order
+     */
+    public static BArray floatArrayToBytes(BArray values, BString byteOrder, long width)
+            throws InvalidByteOrderException {
+        int count = (int) values.size();
+        double[] floats = values.getFloatArray();
+        ByteBuffer buffer = ByteBuffer.allocate((int) (count * width)).order(getByteOrder(byteOrder));
+        for (int i = 0; i < count; i++) {
+            if (width == Float.BYTES) {
+                buffer.putFloat((float) floats[i]);
+            } else {
+                buffer.putDouble(floats[i]);
+            }
+        }
+        return ValueCreator.createArrayValue(buffer.array());
+    }
+
     /**
      * Resizes a Ballerina numeric byte array to a specified length, respecting the byte order.
      *
@@ -137,6 +235,19 @@ public class ByteUtils {
         return ByteBuffer.wrap(bytes, offset, byteSize).order(order);
     }
 
+    /**
+     * Wraps the bytes of a Ballerina byte array containing packed values, without copying them.
+     *
+     * @param bArray    the Ballerina byte array
+     * @param byteOrder the Ballerina string specifying the byte order
+     * @return a ByteBuffer positioned at the first value
+     * @throws InvalidByteOrderException if an invalid byte order is encountered
+     */
+    private static ByteBuffer wrapPackedValues(BArray bArray, BString byteOrder) throws InvalidByteOrderException {
+        // The backing array of a Ballerina array may be longer than the array
+        return ByteBuffer.wrap(bArray.getByteArray(), 0, (int) bArray.size()).order(getByteOrder(byteOrder));
+    }
+
     /**
      * Retrieves the ByteOrder enum value based on the provided byte order Ballerina string.
      *
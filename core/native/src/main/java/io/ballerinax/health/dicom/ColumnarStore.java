@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A column oriented store for collections of DICOM datasets, such as the datasets of a study or a series.
+ * <p>
+ * Each tag is stored as a column, where each row holds the data element of a single dataset. Integer and float
+ * values are stored in primitive arrays, string values are dictionary encoded, and the presence of a value in a
+ * row is tracked using a sparse bitmap. Values of any other type are stored as opaque objects.
+ * <p>
+ * The values of a column are stored compactly in row order, and the slot of a row is its rank in the presence
+ * bitmap. So a column only takes memory for the rows that hold a value, which keeps private and rarely present
+ * tags cheap in large collections.
+ * The store is safe for concurrent use.
+ */
+public class ColumnarStore {
+
+    /**
+     * Kind of a value that is absent from a row.
+     */
+    public static final int KIND_ABSENT = 0;
+    /**
+     * Kind of an empty value.
+     */
+    public static final int KIND_EMPTY = 1;
+    /**
+     * Kind of an integer value.
+     */
+    public static final int KIND_INT = 2;
+    /**
+     * Kind of a float value.
+     */
+    public static final int KIND_FLOAT = 3;
+    /**
+     * Kind of a string value.
+     */
+    public static final int KIND_STRING = 4;
+    /**
+     * Kind of any other value.
+     */
+    public static final int KIND_OBJECT = 5;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TreeMap<Integer, Column> columns = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int rowCount = 0;
+
+    /**
+     * Adds a new empty row to the store.
+     *
+     * @return the index of the new row
+     */
+    public int addRow() {
+        lock.writeLock().lock();
+        try {
+            return rowCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of rows in the store.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return rowCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores an empty value.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @param vr  the VR of the value
+     */
+    public void putEmpty(int row, int tag, String vr) {
+        put(row, tag, vr, KIND_EMPTY, (column, slot) -> {
+        });
+    }
+
+    /**
+     * Stores an integer value.
+     *
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public void putInt(int row, int tag, String vr, long value) {
+        put(row, tag, vr, KIND_INT, (column, slot) -> column.putInt(slot, value));
+    }
+
+    /**
+     * Stores a float value.
+     *
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public void putFloat(int row, int tag, String vr, double value) {
+        put(row, tag, vr, KIND_FLOAT, (column, slot) -> column.putFloat(slot, value));
+    }
+
+    /**
+     * Stores a string value.
+     *
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public void putString(int row, int tag, String vr, String value) {
+        put(row, tag, vr, KIND_STRING, (column, slot) -> column.putString(slot, value));
+    }
+
+    /**
+     * Stores a value of any other type.
+     *
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value, which should be immutable
+     */
+    public void putObject(int row, int tag, String vr, Object value) {
+        put(row, tag, vr, KIND_OBJECT, (column, slot) -> column.putObject(slot, value));
+    }
+
+    /**
+     * Retrieves the tags of the values present in a row, in ascending order.
+     *
+     * @param row the row index
+     * @return the tags present in the row
+     */
+    public int[] getRowTags(int row) {
+        lock.readLock().lock();
+        try {
+            int[] tags = new int[columns.size()];
+            int count = 0;
+            for (Map.Entry<Integer, Column> entry : columns.entrySet()) {
+                if (entry.getValue().presence.get(row)) {
+                    tags[count++] = entry.getKey();
+                }
+            }
+            return Arrays.copyOf(tags, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the kind of the value stored in a row.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the kind of the value, or {@link #KIND_ABSENT} if no value is stored
+     */
+    public int getKind(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column == null || !column.presence.get(row) ? KIND_ABSENT : column.kinds[column.presence.rank(row)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the VR of the value stored in a row.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the VR, or {@code null} if no value is stored
+     */
+    public String getVr(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column == null || !column.presence.get(row)
+                    ? null : column.vrs.get(column.vrCodes[column.presence.rank(row)]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves an integer value.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the value
+     */
+    public long getInt(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column.ints[getSlot(column, row, tag, KIND_INT)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a float value.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the value
+     */
+    public double getFloat(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column.floats[getSlot(column, row, tag, KIND_FLOAT)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a string value.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the value
+     */
+    public String getString(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column.dictionary.get(column.stringCodes[getSlot(column, row, tag, KIND_STRING)]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a value of any other type.
+     *
+     * @param row the row index
+     * @param tag the tag of the column
+     * @return the value
+     */
+    public Object getObject(int row, int tag) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            return column.objects[getSlot(column, row, tag, KIND_OBJECT)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the rows holding the given integer value.
+     *
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices, in ascending order
+     */
+    public int[] findInt(int tag, long value) {
+        return find(tag, KIND_INT, (column, slot) -> column.ints[slot] == value);
+    }
+
+    /**
+     * Finds the rows holding the given float value.
+     *
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices, in ascending order
+     */
+    public int[] findFloat(int tag, double value) {
+        return find(tag, KIND_FLOAT, (column, slot) -> column.floats[slot] == value);
+    }
+
+    /**
+     * Finds the rows holding the given string value.
+     * The value is looked up in the column dictionary once, after which only the dictionary codes are compared.
+     *
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices, in ascending order
+     */
+    public int[] findString(int tag, String value) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            Integer code = column == null ? null : column.codes.get(value);
+            if (code == null) {
+                return new int[0];
+            }
+            return find(tag, KIND_STRING, (matchColumn, slot) -> matchColumn.stringCodes[slot] == code);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(int row, int tag, String vr, int kind, ColumnWriter writer) {
+        lock.writeLock().lock();
+        try {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Invalid row index: " + row);
+            }
+            Column column = columns.computeIfAbsent(tag, key -> new Column());
+            int slot = column.getOrInsertSlot(row);
+            column.vrCodes[slot] = column.getVrCode(vr);
+            column.kinds[slot] = (byte) kind;
+            writer.write(column, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int getSlot(Column column, int row, int tag, int kind) {
+        int slot = column == null || !column.presence.get(row) ? -1 : column.presence.rank(row);
+        if (slot < 0 || column.kinds[slot] != kind) {
+            throw new IllegalArgumentException("No value of the requested kind for tag " + tag + " in row " + row);
+        }
+        return slot;
+    }
+
+    private int[] find(int tag, int kind, RowMatcher matcher) {
+        lock.readLock().lock();
+        try {
+            Column column = columns.get(tag);
+            if (column == null) {
+                return new int[0];
+            }
+            int[] rows = new int[column.presence.cardinality()];
+            int count = 0;
+            int slot = 0;
+            for (int row = column.presence.nextSetBit(0); row >= 0; row = column.presence.nextSetBit(row + 1)) {
+                if (column.kinds[slot] == kind && matcher.matches(column, slot)) {
+                    rows[count++] = row;
+                }
+                slot++;
+            }
+            return Arrays.copyOf(rows, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a value into a slot of a column.
+     */
+    private interface ColumnWriter {
+        void write(Column column, int slot);
+    }
+
+    /**
+     * Matches the value in a slot of a column.
+     */
+    private interface RowMatcher {
+        boolean matches(Column column, int slot);
+    }
+
+    /**
+     * A single tag column. Value arrays are only allocated for the value kinds stored in the column, and hold one
+     * slot per present row, ordered by row index.
+     */
+    private static class Column {
+        private final SparseBitmap presence = new SparseBitmap();
+        private final List<String> vrs = new ArrayList<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private byte[] vrCodes = new byte[0];
+        private byte[] kinds = new byte[0];
+        private long[] ints;
+        private double[] floats;
+        private int[] stringCodes;
+        private Object[] objects;
+
+        private int getOrInsertSlot(int row) {
+            int slot = presence.rank(row);
+            if (presence.get(row)) {
+                return slot;
+            }
+            int size = presence.cardinality();
+            ensureCapacity(size + 1);
+            if (slot < size) {
+                // Rows are usually filled in ascending order, so shifting the later slots is rare
+                shift(vrCodes, slot, size);
+                shift(kinds, slot, size);
+                shift(ints, slot, size);
+                shift(floats, slot, size);
+                shift(stringCodes, slot, size);
+                shift(objects, slot, size);
+            }
+            presence.set(row);
+            return slot;
+        }
+
+        private static void shift(Object array, int slot, int size) {
+            if (array != null) {
+                System.arraycopy(array, slot, array, slot + 1, size - slot);
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (size <= kinds.length) {
+                return;
+            }
+            int capacity = Math.max(INITIAL_CAPACITY, Math.max(size, kinds.length * 2));
+            vrCodes = Arrays.copyOf(vrCodes, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            ints = ints == null ? null : Arrays.copyOf(ints, capacity);
+            floats = floats == null ? null : Arrays.copyOf(floats, capacity);
+            stringCodes = stringCodes == null ? null : Arrays.copyOf(stringCodes, capacity);
+            objects = objects == null ? null : Arrays.copyOf(objects, capacity);
+        }
+
+        private byte getVrCode(String vr) {
+            int code = vrs.indexOf(vr);
+            if (code < 0) {
+                code = vrs.size();
+                vrs.add(vr);
+            }
+            return (byte) code;
+        }
+
+        private void putInt(int slot, long value) {
+            if (ints == null) {
+                ints = new long[kinds.length];
+            }
+            ints[slot] = value;
+        }
+
+        private void putFloat(int slot, double value) {
+            if (floats == null) {
+                floats = new double[kinds.length];
+            }
+            floats[slot] = value;
+        }
+
+        private void putString(int slot, String value) {
+            if (stringCodes == null) {
+                stringCodes = new int[kinds.length];
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codes.put(value, code);
+            }
+            stringCodes[slot] = code;
+        }
+
+        private void putObject(int slot, Object value) {
+            if (objects == null) {
+                objects = new Object[kinds.length];
+            }
+            objects[slot] = value;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Adapts {@link ColumnarStore} operations to Ballerina values.
+ */
+public class ColumnarStoreUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ColumnarStoreUtils() {
+    }
+
+    /**
+     * Stores an empty value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     */
+    public static void putEmpty(ColumnarStore store, long row, long tag, BString vr) {
+        store.putEmpty((int) row, (int) tag, vr.getValue());
+    }
+
+    /**
+     * Stores an integer value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public static void putInt(ColumnarStore store, long row, long tag, BString vr, long value) {
+        store.putInt((int) row, (int) tag, vr.getValue(), value);
+    }
+
+    /**
+     * Stores a float value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public static void putFloat(ColumnarStore store, long row, long tag, BString vr, double value) {
+        store.putFloat((int) row, (int) tag, vr.getValue(), value);
+    }
+
+    /**
+     * Stores a string value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public static void putString(ColumnarStore store, long row, long tag, BString vr, BString value) {
+        store.putString((int) row, (int) tag, vr.getValue(), value.getValue());
+    }
+
+    /**
+     * Stores an immutable Ballerina value of any other type.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @param vr    the VR of the value
+     * @param value the value
+     */
+    public static void putObject(ColumnarStore store, long row, long tag, BString vr, Object value) {
+        store.putObject((int) row, (int) tag, vr.getValue(), value);
+    }
+
+    /**
+     * Retrieves the tags of the values present in a row, in ascending order.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @return the tags present in the row as a Ballerina int array
+     */
+    public static BArray getRowTags(ColumnarStore store, long row) {
+        return toBallerinaIntArray(store.getRowTags((int) row));
+    }
+
+    /**
+     * Retrieves the kind of the value stored in a row.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the kind of the value
+     */
+    public static long getKind(ColumnarStore store, long row, long tag) {
+        return store.getKind((int) row, (int) tag);
+    }
+
+    /**
+     * Retrieves the VR of the value stored in a row.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the VR as a Ballerina string
+     */
+    public static BString getVr(ColumnarStore store, long row, long tag) {
+        return StringUtils.fromString(store.getVr((int) row, (int) tag));
+    }
+
+    /**
+     * Retrieves an integer value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the value
+     */
+    public static long getInt(ColumnarStore store, long row, long tag) {
+        return store.getInt((int) row, (int) tag);
+    }
+
+    /**
+     * Retrieves a float value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the value
+     */
+    public static double getFloat(ColumnarStore store, long row, long tag) {
+        return store.getFloat((int) row, (int) tag);
+    }
+
+    /**
+     * Retrieves a string value.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the value as a Ballerina string
+     */
+    public static BString getString(ColumnarStore store, long row, long tag) {
+        return StringUtils.fromString(store.getString((int) row, (int) tag));
+    }
+
+    /**
+     * Retrieves a Ballerina value of any other type.
+     *
+     * @param store the columnar store
+     * @param row   the row index
+     * @param tag   the tag of the column
+     * @return the value
+     */
+    public static Object getObject(ColumnarStore store, long row, long tag) {
+        return store.getObject((int) row, (int) tag);
+    }
+
+    /**
+     * Finds the rows holding the given integer value.
+     *
+     * @param store the columnar store
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices as a Ballerina int array
+     */
+    public static BArray findInt(ColumnarStore store, long tag, long value) {
+        return toBallerinaIntArray(store.findInt((int) tag, value));
+    }
+
+    /**
+     * Finds the rows holding the given float value.
+     *
+     * @param store the columnar store
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices as a Ballerina int array
+     */
+    public static BArray findFloat(ColumnarStore store, long tag, double value) {
+        return toBallerinaIntArray(store.findFloat((int) tag, value));
+    }
+
+    /**
+     * Finds the rows holding the given string value.
+     *
+     * @param store the columnar store
+     * @param tag   the tag of the column
+     * @param value the value to match
+     * @return the matching row indices as a Ballerina int array
+     */
+    public static BArray findString(ColumnarStore store, long tag, BString value) {
+        return toBallerinaIntArray(store.findString((int) tag, value.getValue()));
+    }
+
+    private static BArray toBallerinaIntArray(int[] values) {
+        long[] longValues = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longValues[i] = values[i];
+        }
+        return ValueCreator.createArrayValue(longValues);
+    }
+}
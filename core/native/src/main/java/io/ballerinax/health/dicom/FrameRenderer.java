@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Renders frames of native (uncompressed) pixel data into consumer formats.
+ * <p>
+ * Grayscale frames are rendered by applying the Modality LUT (rescale slope and intercept) and a linear VOI LUT
+ * (window center and width), which are combined into a single lookup table over the stored pixel values, so that
+ * each pixel is rendered with a single table lookup. Frames are read straight from the source file, are downscaled
+ * to fit a viewport by averaging blocks of pixels, and are encoded as JPEG or PNG.
+ * </p>
+ */
+public final class FrameRenderer {
+
+    private static final String MEDIA_TYPE_PNG = "image/png";
+    private static final String MONOCHROME1 = "MONOCHROME1";
+    private static final int MAX_OUTPUT_VALUE = 255;
+
+    private FrameRenderer() {
+    }
+
+    /**
+     * Renders a frame of native pixel data.
+     *
+     * @param path           the path of the file holding the pixel data
+     * @param offset         the offset of the pixel data value within the file
+     * @param length         the length of the pixel data value in bytes
+     * @param frameNumber    the number of the frame to be rendered, starting from 1
+     * @param parameters     the image pixel attributes, as a `dicom:RenderingParameters` record
+     * @param options        the rendering options, as a `dicom:RenderingOptions` record
+     * @return the encoded image
+     * @throws IOException if the frame cannot be read or encoded
+     */
+    public static BArray render(BString path, long offset, long length, long frameNumber,
+                                BMap<BString, Object> parameters, BMap<BString, Object> options) throws IOException {
+        Image image = new Image(parameters);
+        long frameLength = image.getFrameLength();
+        if (frameNumber < 1 || frameNumber * frameLength > length) {
+            throw new IOException("Frame " + frameNumber + " exceeds the pixel data of length " + length);
+        }
+        byte[] frame = readFrame(Path.of(path.getValue()), offset + (frameNumber - 1) * frameLength,
+                (int) frameLength);
+
+        int[] samples = image.samplesPerPixel == 1
+                ? renderGrayscale(image, frame, getDouble(options, "windowCenter"), getDouble(options, "windowWidth"))
+                : renderColor(image, frame);
+        int viewportWidth = (int) getLong(options, "viewportWidth", image.columns);
+        int viewportHeight = (int) getLong(options, "viewportHeight", image.rows);
+        // Images are downscaled to fit the viewport, preserving the aspect ratio, but are never upscaled
+        double scale = Math.min(1.0, Math.min((double) viewportWidth / image.columns,
+                (double) viewportHeight / image.rows));
+        int width = Math.max(1, (int) Math.round(image.columns * scale));
+        int height = Math.max(1, (int) Math.round(image.rows * scale));
+        if (width != image.columns || height != image.rows) {
+            samples = downscale(samples, image.columns, image.rows, image.samplesPerPixel, width, height);
+        }
+
+        BufferedImage bufferedImage = new BufferedImage(width, height,
+                image.samplesPerPixel == 1 ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_3BYTE_BGR);
+        // Samples are given in band order, which is RGB for color images
+        bufferedImage.getRaster().setPixels(0, 0, width, height, samples);
+        String mediaType = ((BString) options.get(StringUtils.fromString("mediaType"))).getValue();
+        return ValueCreator.createArrayValue(encode(bufferedImage, mediaType, getLong(options, "quality", 90)));
+    }
+
+    /**
+     * Renders a grayscale frame into 8-bit output values.
+     *
+     * @param image        the image pixel attributes
+     * @param frame        the frame bytes
+     * @param windowCenter the window center overriding the window of the image, if any
+     * @param windowWidth  the window width overriding the window of the image, if any
+     * @return the output values, one per pixel
+     */
+    static int[] renderGrayscale(Image image, byte[] frame, Double windowCenter, Double windowWidth) {
+        int pixels = image.rows * image.columns;
+        int[] stored = new int[pixels];
+        int storedRange = 1 << image.bitsStored;
+        int mask = storedRange - 1;
+        int signBit = 1 << (image.bitsStored - 1);
+        boolean isSigned = image.pixelRepresentation == 1;
+        int minStored = isSigned ? -signBit : 0;
+        int minValue = Integer.MAX_VALUE;
+        int maxValue = Integer.MIN_VALUE;
+        for (int i = 0; i < pixels; i++) {
+            // Native pixel data is read in Explicit VR Little Endian, the only transfer syntax of the parser
+            int value = image.bitsAllocated == 8 ? frame[i] & 0xFF
+                    : (frame[2 * i] & 0xFF) | (frame[2 * i + 1] & 0xFF) << 8;
+            value &= mask;
+            if (isSigned && (value & signBit) != 0) {
+                value -= storedRange;
+            }
+            stored[i] = value;
+            minValue = Math.min(minValue, value);
+            maxValue = Math.max(maxValue, value);
+        }
+
+        double center;
+        double width;
+        if (windowCenter != null && windowWidth != null) {
+            center = windowCenter;
+            width = windowWidth;
+        } else if (image.windowCenter != null && image.windowWidth != null) {
+            center = image.windowCenter;
+            width = image.windowWidth;
+        } else {
+            // Without a window, the full range of the frame's modality values is rendered
+            double min = Math.min(minValue * image.rescaleSlope, maxValue * image.rescaleSlope)
+                    + image.rescaleIntercept;
+            double max = Math.max(minValue * image.rescaleSlope, maxValue * image.rescaleSlope)
+                    + image.rescaleIntercept;
+            width = max - min + 1;
+            center = (min + max) / 2 + 0.5;
+        }
+
+        int[] lut = createLut(image, minStored, storedRange, center, Math.max(1.0, width));
+        for (int i = 0; i < pixels; i++) {
+            stored[i] = lut[stored[i] - minStored];
+        }
+        return stored;
+    }
+
+    /**
+     * Creates the lookup table mapping stored pixel values to 8-bit output values.
+     *
+     * @param image       the image pixel attributes
+     * @param minStored   the minimum stored pixel value
+     * @param storedRange the number of stored pixel values
+     * @param center      the window center
+     * @param width       the window width
+     * @return the lookup table, indexed by the stored value minus the minimum stored value
+     */
+    static int[] createLut(Image image, int minStored, int storedRange, double center, double width) {
+        // The linear VOI LUT function is based off of Section C.11.2.1.2.1 in Part 3
+        double lower = center - 0.5 - (width - 1) / 2;
+        double upper = center - 0.5 + (width - 1) / 2;
+        boolean isInverted = MONOCHROME1.equals(image.photometricInterpretation);
+        int[] lut = new int[storedRange];
+        for (int i = 0; i < storedRange; i++) {
+            double value = (i + minStored) * image.rescaleSlope + image.rescaleIntercept;
+            int output;
+            if (value <= lower) {
+                output = 0;
+            } else if (value > upper) {
+                output = MAX_OUTPUT_VALUE;
+            } else {
+                output = (int) Math.round(((value - (center - 0.5)) / (width - 1) + 0.5) * MAX_OUTPUT_VALUE);
+            }
+            lut[i] = isInverted ? MAX_OUTPUT_VALUE - output : output;
+        }
+        return lut;
+    }
+
+    /**
+     * Renders an 8-bit RGB frame into interleaved output samples.
+     *
+     * @param image the image pixel attributes
+     * @param frame the frame bytes
+     * @return the output samples, in RGB order for each pixel
+     */
+    static int[] renderColor(Image image, byte[] frame) {
+        int pixels = image.rows * image.columns;
+        int[] samples = new int[3 * pixels];
+        for (int i = 0; i < pixels; i++) {
+            for (int band = 0; band < 3; band++) {
+                // Color planes are either interleaved by pixel, or stored one after another
+                int index = image.planarConfiguration == 0 ? 3 * i + band : band * pixels + i;
+                samples[3 * i + band] = frame[index] & 0xFF;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Downscales interleaved samples by averaging the block of source pixels covered by each target pixel.
+     *
+     * @param samples      the source samples
+     * @param sourceWidth  the source width
+     * @param sourceHeight the source height
+     * @param bands        the number of samples per pixel
+     * @param width        the target width
+     * @param height       the target height
+     * @return the target samples
+     */
+    static int[] downscale(int[] samples, int sourceWidth, int sourceHeight, int bands, int width, int height) {
+        int[] scaled = new int[width * height * bands];
+        for (int y = 0; y < height; y++) {
+            int top = (int) ((long) y * sourceHeight / height);
+            int bottom = Math.max(top + 1, (int) ((long) (y + 1) * sourceHeight / height));
+            for (int x = 0; x < width; x++) {
+                int left = (int) ((long) x * sourceWidth / width);
+                int right = Math.max(left + 1, (int) ((long) (x + 1) * sourceWidth / width));
+                int count = (bottom - top) * (right - left);
+                for (int band = 0; band < bands; band++) {
+                    long sum = 0;
+                    for (int sy = top; sy < bottom; sy++) {
+                        int rowStart = sy * sourceWidth;
+                        for (int sx = left; sx < right; sx++) {
+                            sum += samples[(rowStart + sx) * bands + band];
+                        }
+                    }
+                    scaled[(y * width + x) * bands + band] = (int) ((sum + count / 2) / count);
+                }
+            }
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image, String mediaType, long quality) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (MEDIA_TYPE_PNG.equals(mediaType)) {
+            ImageIO.write(image, "png", output);
+            return output.toByteArray();
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG image writer is available");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam writeParam = writer.getDefaultWriteParam();
+            writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            writeParam.setCompressionQuality(quality / 100f);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] readFrame(Path path, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long readPosition = position;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, readPosition);
+                if (read < 0) {
+                    throw new EOFException("Frame exceeds the end of the file: " + path);
+                }
+                readPosition += read;
+            }
+        }
+        return buffer.array();
+    }
+
+    private static Double getDouble(BMap<BString, Object> map, String key) {
+        Object value = map.get(StringUtils.fromString(key));
+        return value instanceof Double ? (Double) value : null;
+    }
+
+    private static long getLong(BMap<BString, Object> map, String key, long defaultValue) {
+        Object value = map.get(StringUtils.fromString(key));
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    /**
+     * The pixel attributes of an image, read from a `dicom:RenderingParameters` record.
+     */
+    static final class Image {
+        final int rows;
+        final int columns;
+        final int samplesPerPixel;
+        final String photometricInterpretation;
+        final int bitsAllocated;
+        final int bitsStored;
+        final int pixelRepresentation;
+        final int planarConfiguration;
+        final double rescaleSlope;
+        final double rescaleIntercept;
+        final Double windowCenter;
+        final Double windowWidth;
+
+        Image(BMap<BString, Object> parameters) {
+            this.rows = (int) getLong(parameters, "rows", 0);
+            this.columns = (int) getLong(parameters, "columns", 0);
+            this.samplesPerPixel = (int) getLong(parameters, "samplesPerPixel", 1);
+            this.photometricInterpretation = ((BString) parameters.get(
+                    StringUtils.fromString("photometricInterpretation"))).getValue();
+            this.bitsAllocated = (int) getLong(parameters, "bitsAllocated", 8);
+            this.bitsStored = (int) getLong(parameters, "bitsStored", bitsAllocated);
+            this.pixelRepresentation = (int) getLong(parameters, "pixelRepresentation", 0);
+            this.planarConfiguration = (int) getLong(parameters, "planarConfiguration", 0);
+            Double slope = getDouble(parameters, "rescaleSlope");
+            Double intercept = getDouble(parameters, "rescaleIntercept");
+            this.rescaleSlope = slope != null ? slope : 1.0;
+            this.rescaleIntercept = intercept != null ? intercept : 0.0;
+            this.windowCenter = getDouble(parameters, "windowCenter");
+            this.windowWidth = getDouble(parameters, "windowWidth");
+        }
+
+        long getFrameLength() {
+            return (long) rows * columns * samplesPerPixel * (bitsAllocated / 8);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A token index for fuzzy matching of person names and other short strings, such as the values of PN and LO
+ * attributes.
+ * <p>
+ * Values are folded to lower case without diacritical marks, and split into tokens at each character that is neither
+ * a letter nor a digit, so that the components and component groups of person names are tokens of their own. The
+ * tokens of each attribute are held in a prefix trie, along with their Soundex codes. A query token matches the
+ * indexed tokens it is a prefix of, and the indexed tokens that sound alike. A value matches a query if each query
+ * token matches one of its tokens. The index is safe for concurrent use.
+ * </p>
+ */
+public class FuzzyTokenIndex {
+
+    private static final String[] NO_STRINGS = new String[0];
+    // Soundex digits of the letters 'a' to 'z', where '0' marks the letters that are not coded
+    private static final String SOUNDEX_DIGITS = "01230120022455012623010202";
+    private static final int SOUNDEX_LENGTH = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, AttributeIndex> attributes = new HashMap<>();
+    // Indexed tokens of each key by tag, used to remove the key from the tries
+    private final Map<String, Map<Integer, Set<String>>> keyTokens = new HashMap<>();
+
+    /**
+     * Indexes the attribute values of a key, replacing the values indexed for the key if present.
+     *
+     * @param key    the key, such as the path of a file
+     * @param tags   the tags of the attributes
+     * @param values the attribute values, at the indices of their tags
+     */
+    public void put(String key, int[] tags, String[] values) {
+        // Tokenize outside the lock, as it is the costly part of indexing
+        Map<Integer, Set<String>> tokens = new HashMap<>();
+        for (int i = 0; i < tags.length; i++) {
+            Set<String> tagTokens = tokens.computeIfAbsent(tags[i], tag -> new HashSet<>());
+            tagTokens.addAll(Arrays.asList(tokenize(values[i])));
+        }
+        lock.writeLock().lock();
+        try {
+            removeKey(key);
+            for (Map.Entry<Integer, Set<String>> entry : tokens.entrySet()) {
+                AttributeIndex attribute = attributes.computeIfAbsent(entry.getKey(), tag -> new AttributeIndex());
+                for (String token : entry.getValue()) {
+                    attribute.add(token, key);
+                }
+            }
+            keyTokens.put(key, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the attribute values indexed for a key.
+     *
+     * @param key the key
+     * @return {@code true} if the key was indexed, {@code false} otherwise
+     */
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            return removeKey(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a key is indexed.
+     *
+     * @param key the key
+     * @return {@code true} if the key is indexed, {@code false} otherwise
+     */
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return keyTokens.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of indexed keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keyTokens.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the keys whose value of an attribute matches a query. A query without tokens matches all keys.
+     *
+     * @param tag   the tag of the attribute
+     * @param query the query, such as a person name or a part of it
+     * @return the matching keys, in ascending order
+     */
+    public String[] find(int tag, String query) {
+        String[] queryTokens = tokenize(query);
+        lock.readLock().lock();
+        try {
+            if (queryTokens.length == 0) {
+                return sorted(keyTokens.keySet());
+            }
+            AttributeIndex attribute = attributes.get(tag);
+            if (attribute == null) {
+                return NO_STRINGS;
+            }
+            Set<String> matches = null;
+            for (String queryToken : queryTokens) {
+                Set<String> tokenMatches = attribute.find(queryToken);
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.retainAll(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+            return sorted(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a value matches a query, in the same way as the index matches indexed values.
+     *
+     * @param value the value
+     * @param query the query
+     * @return {@code true} if the value matches the query, {@code false} otherwise
+     */
+    public static boolean matches(String value, String query) {
+        String[] valueTokens = tokenize(value);
+        for (String queryToken : tokenize(query)) {
+            String queryCode = soundex(queryToken);
+            boolean matched = false;
+            for (String valueToken : valueTokens) {
+                if (valueToken.startsWith(queryToken) || (queryCode != null && queryCode.equals(soundex(valueToken)))) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a value into case and accent folded tokens.
+     *
+     * @param value the value
+     * @return the tokens, in their order in the value
+     */
+    static String[] tokenize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= decomposed.length(); i++) {
+            char c = i < decomposed.length() ? decomposed.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens.toArray(NO_STRINGS);
+    }
+
+    /**
+     * Computes the American Soundex code of a folded token.
+     *
+     * @param token the token
+     * @return the Soundex code, or {@code null} if the token does not start with a Latin letter
+     */
+    static String soundex(String token) {
+        char first = token.charAt(0);
+        if (first < 'a' || first > 'z') {
+            return null;
+        }
+        char[] code = {Character.toUpperCase(first), '0', '0', '0'};
+        int length = 1;
+        char previous = SOUNDEX_DIGITS.charAt(first - 'a');
+        for (int i = 1; i < token.length() && length < SOUNDEX_LENGTH; i++) {
+            char c = token.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char digit = SOUNDEX_DIGITS.charAt(c - 'a');
+            if (digit != '0' && digit != previous) {
+                code[length++] = digit;
+            }
+            // Letters of the same code separated by 'h' or 'w' are coded once
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        return new String(code);
+    }
+
+    private boolean removeKey(String key) {
+        Map<Integer, Set<String>> tokens = keyTokens.remove(key);
+        if (tokens == null) {
+            return false;
+        }
+        for (Map.Entry<Integer, Set<String>> entry : tokens.entrySet()) {
+            AttributeIndex attribute = attributes.get(entry.getKey());
+            for (String token : entry.getValue()) {
+                attribute.remove(token, key);
+            }
+            if (attribute.isEmpty()) {
+                attributes.remove(entry.getKey());
+            }
+        }
+        return true;
+    }
+
+    private static String[] sorted(Set<String> keys) {
+        String[] result = keys.toArray(NO_STRINGS);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * The prefix trie and Soundex codes of the tokens of an attribute.
+     */
+    private static final class AttributeIndex {
+        private final Node root = new Node();
+        // Keys of each Soundex code, with the number of their tokens of the code, as several tokens may share a code
+        private final Map<String, Map<String, Integer>> soundexKeys = new HashMap<>();
+
+        void add(String token, String key) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+            }
+            node.keys.add(key);
+            String code = soundex(token);
+            if (code != null) {
+                soundexKeys.computeIfAbsent(code, c -> new HashMap<>()).merge(key, 1, Integer::sum);
+            }
+        }
+
+        void remove(String token, String key) {
+            Node[] path = new Node[token.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < token.length(); i++) {
+                path[i + 1] = path[i].children.get(token.charAt(i));
+            }
+            path[token.length()].keys.remove(key);
+            // Prune the nodes that no longer lead to a token
+            for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].children.remove(token.charAt(i - 1));
+            }
+            String code = soundex(token);
+            if (code != null) {
+                Map<String, Integer> keys = soundexKeys.get(code);
+                keys.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+                if (keys.isEmpty()) {
+                    soundexKeys.remove(code);
+                }
+            }
+        }
+
+        Set<String> find(String queryToken) {
+            Set<String> keys = new HashSet<>();
+            Node node = root;
+            for (int i = 0; i < queryToken.length() && node != null; i++) {
+                node = node.children.get(queryToken.charAt(i));
+            }
+            if (node != null) {
+                Deque<Node> pending = new ArrayDeque<>();
+                pending.push(node);
+                while (!pending.isEmpty()) {
+                    Node current = pending.pop();
+                    keys.addAll(current.keys);
+                    current.children.values().forEach(pending::push);
+                }
+            }
+            String code = soundex(queryToken);
+            if (code != null) {
+                keys.addAll(soundexKeys.getOrDefault(code, Map.of()).keySet());
+            }
+            return keys;
+        }
+
+        boolean isEmpty() {
+            return root.isEmpty();
+        }
+    }
+
+    /**
+     * A trie node, holding the keys of the token that ends at the node.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<String> keys = new HashSet<>(2);
+
+        boolean isEmpty() {
+            return children.isEmpty() && keys.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Adapts {@link FuzzyTokenIndex} operations to Ballerina values.
+ */
+public class FuzzyTokenIndexUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private FuzzyTokenIndexUtils() {
+    }
+
+    /**
+     * Indexes the attribute values of a key, replacing the values indexed for the key if present.
+     *
+     * @param index  the fuzzy token index
+     * @param key    the key
+     * @param tags   the tags of the attributes, as a Ballerina int array
+     * @param values the attribute values, as a Ballerina string array
+     */
+    public static void put(FuzzyTokenIndex index, BString key, BArray tags, BArray values) {
+        int count = tags.size();
+        int[] attributeTags = new int[count];
+        String[] attributeValues = new String[count];
+        for (int i = 0; i < count; i++) {
+            attributeTags[i] = (int) tags.getInt(i);
+            attributeValues[i] = values.getBString(i).getValue();
+        }
+        index.put(key.getValue(), attributeTags, attributeValues);
+    }
+
+    /**
+     * Removes the attribute values indexed for a key.
+     *
+     * @param index the fuzzy token index
+     * @param key   the key
+     * @return {@code true} if the key was indexed, {@code false} otherwise
+     */
+    public static boolean remove(FuzzyTokenIndex index, BString key) {
+        return index.remove(key.getValue());
+    }
+
+    /**
+     * Checks whether a key is indexed.
+     *
+     * @param index the fuzzy token index
+     * @param key   the key
+     * @return {@code true} if the key is indexed, {@code false} otherwise
+     */
+    public static boolean contains(FuzzyTokenIndex index, BString key) {
+        return index.contains(key.getValue());
+    }
+
+    /**
+     * Finds the keys whose value of an attribute matches a query.
+     *
+     * @param index the fuzzy token index
+     * @param tag   the tag of the attribute
+     * @param query the query
+     * @return the matching keys in ascending order, as a Ballerina string array
+     */
+    public static BArray find(FuzzyTokenIndex index, long tag, BString query) {
+        String[] keys = index.find((int) tag, query.getValue());
+        BString[] values = new BString[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = StringUtils.fromString(keys[i]);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+
+    /**
+     * Checks whether a value matches a fuzzy matching query.
+     *
+     * @param value the value
+     * @param query the query
+     * @return {@code true} if the value matches the query, {@code false} otherwise
+     */
+    public static boolean matches(BString value, BString query) {
+        return FuzzyTokenIndex.matches(value.getValue(), query.getValue());
+    }
+}
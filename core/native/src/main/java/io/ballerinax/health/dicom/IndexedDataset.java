@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A DICOM dataset keyed by tags packed into 32-bit integers.
+ * <p>
+ * Data elements are held in an open addressing hash table with linear probing, so that looking up a tag neither
+ * allocates nor compares tag records. The tags are additionally kept in ascending order on demand, as required to
+ * encode the dataset. Data elements are opaque immutable values. The dataset is safe for concurrent use.
+ * </p>
+ */
+public class IndexedDataset {
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int[] NO_TAGS = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] tags = new int[INITIAL_CAPACITY];
+    // A null value marks an empty slot, as any integer is a valid tag
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+    // Tags in ascending order, computed on demand and discarded when tags are added or removed
+    private volatile int[] sortedTags = NO_TAGS;
+
+    /**
+     * Retrieves the data element of a tag.
+     *
+     * @param tag the tag
+     * @return the data element, or {@code null} if the tag is not present
+     */
+    public Object get(int tag) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(tags, values, tag);
+            return values[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a tag is present.
+     *
+     * @param tag the tag
+     * @return {@code true} if the tag is present, {@code false} otherwise
+     */
+    public boolean contains(int tag) {
+        return get(tag) != null;
+    }
+
+    /**
+     * Adds a data element, replacing the data element of the same tag if present.
+     *
+     * @param tag   the tag
+     * @param value the data element
+     * @return the replaced data element, or {@code null} if the tag was not present
+     */
+    public Object put(int tag, Object value) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(tags, values, tag);
+            Object previous = values[slot];
+            values[slot] = value;
+            tags[slot] = tag;
+            if (previous == null) {
+                size++;
+                sortedTags = null;
+                if (size > tags.length * LOAD_FACTOR) {
+                    resize(tags.length * 2);
+                }
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the data element of a tag.
+     *
+     * @param tag the tag
+     * @return the removed data element, or {@code null} if the tag was not present
+     */
+    public Object remove(int tag) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(tags, values, tag);
+            Object previous = values[slot];
+            if (previous == null) {
+                return null;
+            }
+            values[slot] = null;
+            size--;
+            sortedTags = null;
+            // Shift back the following entries of the probe sequence, so that lookups need no tombstones
+            int mask = tags.length - 1;
+            int next = (slot + 1) & mask;
+            while (values[next] != null) {
+                int home = hash(tags[next], mask);
+                // Move the entry if its home slot is not within the cyclic range (slot, next]
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    tags[slot] = tags[next];
+                    values[slot] = values[next];
+                    values[next] = null;
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the number of data elements.
+     *
+     * @return the number of data elements
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the tags present in the dataset, in ascending order. The returned array must not be modified.
+     *
+     * @return the tags in ascending order
+     */
+    public int[] getSortedTags() {
+        int[] sorted = sortedTags;
+        if (sorted != null) {
+            return sorted;
+        }
+        lock.readLock().lock();
+        try {
+            sorted = new int[size];
+            int index = 0;
+            for (int slot = 0; slot < tags.length; slot++) {
+                if (values[slot] != null) {
+                    sorted[index++] = tags[slot];
+                }
+            }
+            // Tags are ordered as unsigned integers, so that private groups above 0x7FFF sort last
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] ^= Integer.MIN_VALUE;
+            }
+            Arrays.sort(sorted);
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] ^= Integer.MIN_VALUE;
+            }
+            // Concurrent readers compute the same array, therefore, the last write wins
+            sortedTags = sorted;
+            return sorted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] newTags = new int[capacity];
+        Object[] newValues = new Object[capacity];
+        for (int slot = 0; slot < tags.length; slot++) {
+            if (values[slot] != null) {
+                int newSlot = findSlot(newTags, newValues, tags[slot]);
+                newTags[newSlot] = tags[slot];
+                newValues[newSlot] = values[slot];
+            }
+        }
+        tags = newTags;
+        values = newValues;
+    }
+
+    private static int findSlot(int[] tags, Object[] values, int tag) {
+        int mask = tags.length - 1;
+        int slot = hash(tag, mask);
+        while (values[slot] != null && tags[slot] != tag) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(int tag, int mask) {
+        // Fibonacci hashing spreads the clustered group and element numbers over the table
+        return ((tag * 0x9E3779B9) >>> 16) & mask;
+    }
+}
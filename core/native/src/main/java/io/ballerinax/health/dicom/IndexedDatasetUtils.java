@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+
+/**
+ * Adapts {@link IndexedDataset} operations to Ballerina values.
+ */
+public class IndexedDatasetUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private IndexedDatasetUtils() {
+    }
+
+    /**
+     * Retrieves the data element of a tag.
+     *
+     * @param dataset the indexed dataset
+     * @param tag     the tag
+     * @return the data element, or {@code null} if the tag is not present
+     */
+    public static Object get(IndexedDataset dataset, long tag) {
+        return dataset.get((int) tag);
+    }
+
+    /**
+     * Checks whether a tag is present.
+     *
+     * @param dataset the indexed dataset
+     * @param tag     the tag
+     * @return {@code true} if the tag is present, {@code false} otherwise
+     */
+    public static boolean contains(IndexedDataset dataset, long tag) {
+        return dataset.contains((int) tag);
+    }
+
+    /**
+     * Adds a data element, replacing the data element of the same tag if present.
+     *
+     * @param dataset the indexed dataset
+     * @param tag     the tag
+     * @param value   the immutable data element
+     */
+    public static void put(IndexedDataset dataset, long tag, Object value) {
+        dataset.put((int) tag, value);
+    }
+
+    /**
+     * Removes the data element of a tag.
+     *
+     * @param dataset the indexed dataset
+     * @param tag     the tag
+     * @return the removed data element, or {@code null} if the tag was not present
+     */
+    public static Object remove(IndexedDataset dataset, long tag) {
+        return dataset.remove((int) tag);
+    }
+
+    /**
+     * Retrieves the tags present in the dataset, in ascending order.
+     *
+     * @param dataset the indexed dataset
+     * @return the tags as a Ballerina int array
+     */
+    public static BArray getSortedTags(IndexedDataset dataset) {
+        int[] tags = dataset.getSortedTags();
+        long[] longTags = new long[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            // Tags are unsigned 32-bit integers
+            longTags[i] = tags[i] & 0xFFFFFFFFL;
+        }
+        return ValueCreator.createArrayValue(longTags);
+    }
+}
@@ -0,0 +1,855 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent, embedded index of DICOM file metadata.
+ * <p>
+ * The index is a directory holding an append-only record log, a sorted key block per indexed attribute and a
+ * snapshot of the live log records. Each log record holds the indexed attributes of a single file, along with the
+ * modification time and size of the file, which are used to detect changed files. Log records are read with
+ * positional reads, and key blocks are memory-mapped.
+ * </p>
+ * <p>
+ * Records appended after the last {@link #flush()} are kept in an in-memory tail. Flushing merges the keys of the
+ * tail into the key blocks of the changed attributes only, and writes a snapshot, so that reopening the index only
+ * replays the records appended after the last flush. Superseded records stay in the log until it is compacted, which
+ * happens on flush once most of the log is superseded, or on {@link #compact()}.
+ * The index is safe for concurrent use within a single process.
+ * </p>
+ */
+public class MetadataIndex {
+
+    /**
+     * Kind of an empty attribute value.
+     */
+    public static final byte VALUE_EMPTY = 0;
+    /**
+     * Kind of a string attribute value.
+     */
+    public static final byte VALUE_STRING = 1;
+    /**
+     * Kind of an integer attribute value.
+     */
+    public static final byte VALUE_INT = 2;
+    /**
+     * Kind of a float attribute value.
+     */
+    public static final byte VALUE_FLOAT = 3;
+
+    private static final String LOG_FILE_NAME = "records.log";
+    private static final String SNAPSHOT_FILE_NAME = "snapshot.bin";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String KEY_BLOCK_FILE_PREFIX = "keys-";
+    private static final String KEY_BLOCK_FILE_SUFFIX = ".blk";
+    private static final int KEY_BLOCK_MAGIC = 0x4449444B;
+    private static final int SNAPSHOT_MAGIC = 0x44494453;
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_REMOVE = 2;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    // Logs smaller than this are not compacted on flush, as replaying them is cheap
+    private static final long MIN_COMPACTION_LOG_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Long, String> livePaths = new HashMap<>();
+    private final Map<Integer, KeyBlock> keyBlocks = new HashMap<>();
+    private final Map<Integer, TreeMap<String, List<Long>>> tailKeys = new HashMap<>();
+    // Replaced on compaction, which holds the write lock
+    private FileChannel logChannel;
+    private long logLength;
+    private long liveBytes;
+    // The log length covered by the snapshot, or -1 if the snapshot is missing or outdated
+    private long snapshotLogLength = -1;
+
+    private MetadataIndex(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.logChannel = openLog();
+        this.logLength = logChannel.size();
+        if (!loadSnapshot()) {
+            recover();
+        }
+    }
+
+    /**
+     * Opens the index in the given directory, creating it if it does not exist.
+     *
+     * @param directory the index directory
+     * @return the opened index
+     * @throws IOException if the index cannot be opened
+     */
+    public static MetadataIndex open(String directory) throws IOException {
+        return new MetadataIndex(Paths.get(directory).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Checks whether the indexed attributes of a file are up to date, based on its modification time and size.
+     *
+     * @param filePath the file path
+     * @return {@code true} if the file is indexed and has not changed since, {@code false} otherwise
+     * @throws IOException if the file attributes cannot be read
+     */
+    public boolean isUpToDate(String filePath) throws IOException {
+        Path path = normalize(filePath);
+        long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(path.toString());
+            return entry != null && entry.modifiedTime == modifiedTime && entry.size == size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the attributes of a file, replacing any previously indexed attributes of the file.
+     * Values must be {@code null}, {@link String}, {@link Long} or {@link Double} instances.
+     *
+     * @param filePath the file path
+     * @param tags     the attribute tags
+     * @param vrs      the attribute VRs
+     * @param values   the attribute values
+     * @throws IOException if the attributes cannot be written
+     */
+    public void put(String filePath, int[] tags, String[] vrs, Object[] values) throws IOException {
+        Path path = normalize(filePath);
+        long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+        Attribute[] attributes = new Attribute[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            attributes[i] = new Attribute(tags[i], vrs[i], values[i]);
+        }
+        byte[] body = encodeRecord(RECORD_PUT, path.toString(), modifiedTime, size, attributes);
+        lock.writeLock().lock();
+        try {
+            long position = appendRecord(body);
+            putEntry(path.toString(), new Entry(position, RECORD_HEADER_BYTES + body.length, modifiedTime, size));
+            addTailKeys(position, attributes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the indexed attributes of a file.
+     *
+     * @param filePath the file path
+     * @throws IOException if the removal cannot be written
+     */
+    public void remove(String filePath) throws IOException {
+        String path = normalize(filePath).toString();
+        lock.writeLock().lock();
+        try {
+            if (!entries.containsKey(path)) {
+                return;
+            }
+            appendRecord(encodeRecord(RECORD_REMOVE, path, 0, 0, new Attribute[0]));
+            removeEntry(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the paths of the indexed files, in ascending order.
+     *
+     * @return the indexed file paths
+     */
+    public String[] getFilePaths() {
+        lock.readLock().lock();
+        try {
+            String[] paths = entries.keySet().toArray(new String[0]);
+            Arrays.sort(paths);
+            return paths;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the indexed attributes of a file.
+     *
+     * @param filePath the file path
+     * @return the indexed attributes, or {@code null} if the file is not indexed
+     * @throws IOException if the attributes cannot be read
+     */
+    public Attribute[] get(String filePath) throws IOException {
+        String path = normalize(filePath).toString();
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(path);
+            return entry == null ? null : readRecord(entry.position).attributes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the indexed files holding the given attribute key.
+     *
+     * @param tag the attribute tag
+     * @param key the attribute key, as created by {@link #toKey(byte, Object)}
+     * @return the matching file paths, in ascending order
+     */
+    public String[] find(int tag, String key) {
+        lock.readLock().lock();
+        try {
+            TreeSet<String> paths = new TreeSet<>();
+            KeyBlock keyBlock = keyBlocks.get(tag);
+            if (keyBlock != null) {
+                for (long position : keyBlock.find(key)) {
+                    addLivePath(paths, position);
+                }
+            }
+            Map<String, List<Long>> tail = tailKeys.get(tag);
+            if (tail != null) {
+                for (long position : tail.getOrDefault(key, List.of())) {
+                    addLivePath(paths, position);
+                }
+            }
+            return paths.toArray(new String[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the log to the storage device, merges the keys of the records appended since the last flush into the
+     * key blocks of their attributes, and writes the snapshot, so that the index can be reopened without replaying
+     * the log. The log is compacted instead if most of it is superseded.
+     *
+     * @throws IOException if the index cannot be flushed
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (logLength == snapshotLogLength) {
+                return;
+            }
+            logChannel.force(true);
+            if (logLength >= MIN_COMPACTION_LOG_BYTES && liveBytes * 2 < logLength) {
+                compactLog();
+                return;
+            }
+            for (Map.Entry<Integer, TreeMap<String, List<Long>>> tail : tailKeys.entrySet()) {
+                int tag = tail.getKey();
+                keyBlocks.put(tag, writeKeyBlock(tag, mergeKeys(keyBlocks.get(tag), tail.getValue())));
+            }
+            tailKeys.clear();
+            writeSnapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with the live records only, and rebuilds the key blocks and the snapshot.
+     *
+     * @throws IOException if the index cannot be compacted
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            logChannel.force(true);
+            compactLog();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes and closes the index.
+     *
+     * @throws IOException if the index cannot be closed
+     */
+    public void close() throws IOException {
+        flush();
+        logChannel.close();
+    }
+
+    /**
+     * Creates the key of an attribute value. Keys of different value kinds never match each other.
+     *
+     * @param kind  the value kind
+     * @param value the value
+     * @return the attribute key
+     */
+    public static String toKey(byte kind, Object value) {
+        return kind + ":" + (value == null ? "" : value.toString());
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(directory.resolve(LOG_FILE_NAME), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void putEntry(String path, Entry entry) {
+        Entry previous = entries.put(path, entry);
+        if (previous != null) {
+            livePaths.remove(previous.position);
+            liveBytes -= previous.length;
+        }
+        livePaths.put(entry.position, path);
+        liveBytes += entry.length;
+    }
+
+    private void removeEntry(String path) {
+        Entry previous = entries.remove(path);
+        if (previous != null) {
+            livePaths.remove(previous.position);
+            liveBytes -= previous.length;
+        }
+    }
+
+    private void addLivePath(TreeSet<String> paths, long position) {
+        String path = livePaths.get(position);
+        if (path != null) {
+            paths.add(path);
+        }
+    }
+
+    private void addTailKeys(long position, Attribute[] attributes) {
+        for (Attribute attribute : attributes) {
+            KeyBlock keyBlock = keyBlocks.get(attribute.tag);
+            if (keyBlock != null && position < keyBlock.coveredLogLength) {
+                continue;
+            }
+            tailKeys.computeIfAbsent(attribute.tag, tag -> new TreeMap<>())
+                    .computeIfAbsent(attribute.getKey(), key -> new ArrayList<>()).add(position);
+        }
+    }
+
+    private List<KeyEntry> mergeKeys(KeyBlock keyBlock, TreeMap<String, List<Long>> tail) {
+        // Both the key block and the tail are sorted by key, and superseded records are dropped while merging
+        List<KeyEntry> keys = new ArrayList<>();
+        int count = keyBlock == null ? 0 : keyBlock.count;
+        int index = 0;
+        String blockKey = count > 0 ? keyBlock.getKey(0) : null;
+        Iterator<Map.Entry<String, List<Long>>> tailEntries = tail.entrySet().iterator();
+        Map.Entry<String, List<Long>> tailEntry = tailEntries.hasNext() ? tailEntries.next() : null;
+        while (blockKey != null || tailEntry != null) {
+            if (blockKey != null && (tailEntry == null || blockKey.compareTo(tailEntry.getKey()) <= 0)) {
+                addLiveKey(keys, blockKey, keyBlock.getPosition(index));
+                index++;
+                blockKey = index < count ? keyBlock.getKey(index) : null;
+            } else {
+                for (long position : tailEntry.getValue()) {
+                    addLiveKey(keys, tailEntry.getKey(), position);
+                }
+                tailEntry = tailEntries.hasNext() ? tailEntries.next() : null;
+            }
+        }
+        return keys;
+    }
+
+    private void addLiveKey(List<KeyEntry> keys, String key, long position) {
+        if (livePaths.containsKey(position)) {
+            keys.add(new KeyEntry(key, position));
+        }
+    }
+
+    private boolean loadSnapshot() throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE_NAME);
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != SNAPSHOT_MAGIC) {
+            return false;
+        }
+        int checksum = buffer.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+        long coveredLogLength = buffer.getLong();
+        if (coveredLogLength > logLength) {
+            return false;
+        }
+        int blockCount = buffer.getInt();
+        for (int i = 0; i < blockCount; i++) {
+            int tag = buffer.getInt();
+            Path blockFile = getKeyBlockFile(tag);
+            KeyBlock keyBlock = Files.exists(blockFile) ? KeyBlock.open(blockFile) : null;
+            if (keyBlock == null || keyBlock.tag != tag || keyBlock.coveredLogLength > logLength) {
+                return false;
+            }
+            keyBlocks.put(tag, keyBlock);
+        }
+        int entryCount = buffer.getInt();
+        for (int i = 0; i < entryCount; i++) {
+            byte[] pathBytes = new byte[buffer.getInt()];
+            buffer.get(pathBytes);
+            putEntry(new String(pathBytes, StandardCharsets.UTF_8),
+                    new Entry(buffer.getLong(), buffer.getInt(), buffer.getLong(), buffer.getLong()));
+        }
+        snapshotLogLength = coveredLogLength;
+        replayLog(coveredLogLength);
+        return true;
+    }
+
+    private void recover() throws IOException {
+        // The key blocks cannot be trusted without a valid snapshot, therefore, the whole log is replayed into the
+        // tail, and the key blocks are rebuilt on the next flush
+        entries.clear();
+        livePaths.clear();
+        keyBlocks.clear();
+        tailKeys.clear();
+        liveBytes = 0;
+        snapshotLogLength = -1;
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_FILE_NAME));
+        try (DirectoryStream<Path> blockFiles = Files.newDirectoryStream(directory,
+                KEY_BLOCK_FILE_PREFIX + "*" + KEY_BLOCK_FILE_SUFFIX)) {
+            for (Path blockFile : blockFiles) {
+                Files.delete(blockFile);
+            }
+        }
+        replayLog(0);
+    }
+
+    private void replayLog(long position) throws IOException {
+        while (position + RECORD_HEADER_BYTES <= logLength) {
+            byte[] body = readRecordBody(position);
+            if (body == null) {
+                break;
+            }
+            Record record = decodeRecord(body);
+            if (record.type == RECORD_PUT) {
+                putEntry(record.path, new Entry(position, RECORD_HEADER_BYTES + body.length, record.modifiedTime,
+                        record.size));
+                addTailKeys(position, record.attributes);
+            } else {
+                removeEntry(record.path);
+            }
+            position += RECORD_HEADER_BYTES + body.length;
+        }
+        if (position < logLength) {
+            // Discard a partially written record, e.g. after a crash during an append
+            logChannel.truncate(position);
+            logLength = position;
+        }
+    }
+
+    private void compactLog() throws IOException {
+        Path logFile = directory.resolve(LOG_FILE_NAME);
+        Path compactedLogFile = directory.resolve(LOG_FILE_NAME + TEMPORARY_FILE_SUFFIX);
+        List<Map.Entry<String, Entry>> liveEntries = new ArrayList<>(entries.entrySet());
+        liveEntries.sort(Comparator.comparingLong(liveEntry -> liveEntry.getValue().position));
+        Map<String, Entry> compactedEntries = new HashMap<>();
+        Map<Integer, List<KeyEntry>> keysByTag = new HashMap<>();
+        try (FileChannel compactedLog = FileChannel.open(compactedLogFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<String, Entry> liveEntry : liveEntries) {
+                Entry entry = liveEntry.getValue();
+                byte[] body = readRecordBody(entry.position);
+                if (body == null) {
+                    throw new IOException("Corrupted metadata index record at position " + entry.position);
+                }
+                writeRecord(compactedLog, position, body);
+                compactedEntries.put(liveEntry.getKey(), new Entry(position, entry.length, entry.modifiedTime,
+                        entry.size));
+                for (Attribute attribute : decodeRecord(body).attributes) {
+                    keysByTag.computeIfAbsent(attribute.tag, tag -> new ArrayList<>())
+                            .add(new KeyEntry(attribute.getKey(), position));
+                }
+                position += entry.length;
+            }
+            compactedLog.force(true);
+        }
+
+        // Remove the snapshot before replacing the log, so that a crash while replacing the log and the key blocks
+        // is recovered from by replaying the compacted log
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_FILE_NAME));
+        snapshotLogLength = -1;
+        logChannel.close();
+        try {
+            Files.move(compactedLogFile, logFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            logChannel = openLog();
+        }
+        logLength = logChannel.size();
+
+        entries.clear();
+        livePaths.clear();
+        tailKeys.clear();
+        liveBytes = 0;
+        compactedEntries.forEach(this::putEntry);
+        for (Integer tag : keyBlocks.keySet()) {
+            if (!keysByTag.containsKey(tag)) {
+                Files.deleteIfExists(getKeyBlockFile(tag));
+            }
+        }
+        keyBlocks.clear();
+        for (Map.Entry<Integer, List<KeyEntry>> keys : keysByTag.entrySet()) {
+            keys.getValue().sort(Comparator.comparing(keyEntry -> keyEntry.key));
+            keyBlocks.put(keys.getKey(), writeKeyBlock(keys.getKey(), keys.getValue()));
+        }
+        writeSnapshot();
+    }
+
+    private void writeSnapshot() throws IOException {
+        List<byte[]> pathBytes = new ArrayList<>(entries.size());
+        int length = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * (2 + keyBlocks.size());
+        for (String path : entries.keySet()) {
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            pathBytes.add(bytes);
+            length += Integer.BYTES * 2 + bytes.length + Long.BYTES * 3;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(0).putLong(logLength).putInt(keyBlocks.size());
+        for (int tag : keyBlocks.keySet()) {
+            buffer.putInt(tag);
+        }
+        buffer.putInt(entries.size());
+        int index = 0;
+        for (Entry entry : entries.values()) {
+            byte[] bytes = pathBytes.get(index++);
+            buffer.putInt(bytes.length).put(bytes);
+            buffer.putLong(entry.position).putInt(entry.length).putLong(entry.modifiedTime).putLong(entry.size);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES * 2, length - Integer.BYTES * 2);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        writeAtomically(directory.resolve(SNAPSHOT_FILE_NAME), buffer.array());
+        snapshotLogLength = logLength;
+    }
+
+    private long appendRecord(byte[] body) throws IOException {
+        long position = logLength;
+        writeRecord(logChannel, position, body);
+        logLength += RECORD_HEADER_BYTES + body.length;
+        return position;
+    }
+
+    private static void writeRecord(FileChannel channel, long position, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + body.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private Record readRecord(long position) throws IOException {
+        byte[] body = readRecordBody(position);
+        if (body == null) {
+            throw new IOException("Corrupted metadata index record at position " + position);
+        }
+        return decodeRecord(body);
+    }
+
+    private byte[] readRecordBody(long position) throws IOException {
+        // Positional reads do not change the channel position, therefore, concurrent readers do not interfere
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (position + RECORD_HEADER_BYTES > logLength || !readFully(header, position)) {
+            return null;
+        }
+        int length = header.getInt(0);
+        int checksum = header.getInt(Integer.BYTES);
+        if (length < 0 || position + RECORD_HEADER_BYTES + length > logLength) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        if (!readFully(body, position + RECORD_HEADER_BYTES)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        return (int) crc.getValue() == checksum ? body.array() : null;
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (logChannel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeRecord(byte type, String path, long modifiedTime, long size,
+                                       Attribute[] attributes) {
+        List<byte[]> encodedValues = new ArrayList<>();
+        byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + Long.BYTES * 2 + Integer.BYTES + pathBytes.length + Integer.BYTES;
+        for (Attribute attribute : attributes) {
+            byte[] vrBytes = attribute.vr.getBytes(StandardCharsets.US_ASCII);
+            byte[] valueBytes = attribute.encodeValue();
+            encodedValues.add(vrBytes);
+            encodedValues.add(valueBytes);
+            length += Integer.BYTES + 1 + vrBytes.length + 1 + Integer.BYTES + valueBytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(type).putLong(modifiedTime).putLong(size).putInt(pathBytes.length).put(pathBytes);
+        buffer.putInt(attributes.length);
+        for (int i = 0; i < attributes.length; i++) {
+            byte[] vrBytes = encodedValues.get(i * 2);
+            byte[] valueBytes = encodedValues.get(i * 2 + 1);
+            buffer.putInt(attributes[i].tag).put((byte) vrBytes.length).put(vrBytes);
+            buffer.put(attributes[i].kind).putInt(valueBytes.length).put(valueBytes);
+        }
+        return buffer.array();
+    }
+
+    private static Record decodeRecord(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        byte type = buffer.get();
+        long modifiedTime = buffer.getLong();
+        long size = buffer.getLong();
+        byte[] pathBytes = new byte[buffer.getInt()];
+        buffer.get(pathBytes);
+        Attribute[] attributes = new Attribute[buffer.getInt()];
+        for (int i = 0; i < attributes.length; i++) {
+            int tag = buffer.getInt();
+            byte[] vrBytes = new byte[buffer.get()];
+            buffer.get(vrBytes);
+            byte kind = buffer.get();
+            byte[] valueBytes = new byte[buffer.getInt()];
+            buffer.get(valueBytes);
+            attributes[i] = Attribute.decode(tag, new String(vrBytes, StandardCharsets.US_ASCII), kind, valueBytes);
+        }
+        return new Record(type, new String(pathBytes, StandardCharsets.UTF_8), modifiedTime, size, attributes);
+    }
+
+    private KeyBlock writeKeyBlock(int tag, List<KeyEntry> keys) throws IOException {
+        List<byte[]> keyBytes = new ArrayList<>(keys.size());
+        int dataLength = 0;
+        for (KeyEntry keyEntry : keys) {
+            byte[] bytes = keyEntry.key.getBytes(StandardCharsets.UTF_8);
+            keyBytes.add(bytes);
+            dataLength += Integer.BYTES + bytes.length + Long.BYTES;
+        }
+        int headerLength = Integer.BYTES * 3 + Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(headerLength + Integer.BYTES * keys.size() + dataLength)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(KEY_BLOCK_MAGIC).putInt(tag).putLong(logLength).putInt(keys.size());
+        int entryOffset = 0;
+        for (byte[] bytes : keyBytes) {
+            buffer.putInt(entryOffset);
+            entryOffset += Integer.BYTES + bytes.length + Long.BYTES;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            buffer.putInt(keyBytes.get(i).length).put(keyBytes.get(i)).putLong(keys.get(i).position);
+        }
+
+        Path blockFile = getKeyBlockFile(tag);
+        writeAtomically(blockFile, buffer.array());
+        return KeyBlock.open(blockFile);
+    }
+
+    private Path getKeyBlockFile(int tag) {
+        return directory.resolve(String.format("%s%08X%s", KEY_BLOCK_FILE_PREFIX, tag, KEY_BLOCK_FILE_SUFFIX));
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        // Write to a temporary file first, so that a crash never leaves a partially written file behind
+        Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_FILE_SUFFIX);
+        Files.write(temporaryFile, content);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * An indexed attribute of a file.
+     */
+    public static class Attribute {
+        private final int tag;
+        private final String vr;
+        private final byte kind;
+        private final Object value;
+
+        private Attribute(int tag, String vr, Object value) {
+            this.tag = tag;
+            this.vr = vr == null ? "" : vr;
+            this.value = value;
+            if (value == null) {
+                this.kind = VALUE_EMPTY;
+            } else if (value instanceof Long) {
+                this.kind = VALUE_INT;
+            } else if (value instanceof Double) {
+                this.kind = VALUE_FLOAT;
+            } else if (value instanceof String) {
+                this.kind = VALUE_STRING;
+            } else {
+                throw new IllegalArgumentException("Unsupported attribute value type: " + value.getClass());
+            }
+        }
+
+        /**
+         * Retrieves the attribute tag.
+         *
+         * @return the tag
+         */
+        public int getTag() {
+            return tag;
+        }
+
+        /**
+         * Retrieves the attribute VR.
+         *
+         * @return the VR, which is empty if unknown
+         */
+        public String getVr() {
+            return vr;
+        }
+
+        /**
+         * Retrieves the attribute value.
+         *
+         * @return a {@link String}, {@link Long} or {@link Double} value, or {@code null} if empty
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        private String getKey() {
+            return toKey(kind, value);
+        }
+
+        private byte[] encodeValue() {
+            return switch (kind) {
+                case VALUE_INT -> ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong((Long) value).array();
+                case VALUE_FLOAT -> ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putDouble((Double) value).array();
+                case VALUE_STRING -> ((String) value).getBytes(StandardCharsets.UTF_8);
+                default -> new byte[0];
+            };
+        }
+
+        private static Attribute decode(int tag, String vr, byte kind, byte[] valueBytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(valueBytes).order(ByteOrder.LITTLE_ENDIAN);
+            Object value = switch (kind) {
+                case VALUE_INT -> buffer.getLong();
+                case VALUE_FLOAT -> buffer.getDouble();
+                case VALUE_STRING -> new String(valueBytes, StandardCharsets.UTF_8);
+                default -> null;
+            };
+            return new Attribute(tag, vr, value);
+        }
+    }
+
+    /**
+     * A memory-mapped, sorted key block of a single attribute.
+     */
+    private static class KeyBlock {
+        private final int tag;
+        private final long coveredLogLength;
+        private final int count;
+        private final ByteBuffer buffer;
+        private final int dataOffset;
+
+        private KeyBlock(int tag, long coveredLogLength, int count, ByteBuffer buffer) {
+            this.tag = tag;
+            this.coveredLogLength = coveredLogLength;
+            this.count = count;
+            this.buffer = buffer;
+            this.dataOffset = Integer.BYTES * 3 + Long.BYTES + Integer.BYTES * count;
+        }
+
+        private static KeyBlock open(Path blockFile) throws IOException {
+            try (FileChannel channel = FileChannel.open(blockFile, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                if (buffer.capacity() < Integer.BYTES * 3 + Long.BYTES || buffer.getInt(0) != KEY_BLOCK_MAGIC) {
+                    return null;
+                }
+                return new KeyBlock(buffer.getInt(4), buffer.getLong(8), buffer.getInt(16), buffer);
+            }
+        }
+
+        private List<Long> find(String key) {
+            // Binary search for the first entry holding the key
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (getKey(middle).compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            List<Long> positions = new ArrayList<>();
+            for (int i = low; i < count && getKey(i).equals(key); i++) {
+                positions.add(getPosition(i));
+            }
+            return positions;
+        }
+
+        private int getEntryOffset(int index) {
+            return dataOffset + buffer.getInt(Integer.BYTES * 3 + Long.BYTES + Integer.BYTES * index);
+        }
+
+        private String getKey(int index) {
+            int entryOffset = getEntryOffset(index);
+            byte[] keyBytes = new byte[buffer.getInt(entryOffset)];
+            buffer.get(entryOffset + Integer.BYTES, keyBytes);
+            return new String(keyBytes, StandardCharsets.UTF_8);
+        }
+
+        private long getPosition(int index) {
+            int entryOffset = getEntryOffset(index);
+            return buffer.getLong(entryOffset + Integer.BYTES + buffer.getInt(entryOffset));
+        }
+    }
+
+    private record Entry(long position, int length, long modifiedTime, long size) {
+    }
+
+    private record KeyEntry(String key, long position) {
+    }
+
+    private record Record(byte type, String path, long modifiedTime, long size, Attribute[] attributes) {
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+
+/**
+ * Adapts {@link MetadataIndex} operations to Ballerina values.
+ */
+public class MetadataIndexUtils {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private MetadataIndexUtils() {
+    }
+
+    /**
+     * Opens the metadata index in the given directory, creating it if it does not exist.
+     *
+     * @param directory the index directory
+     * @return the opened index
+     * @throws IOException if the index cannot be opened
+     */
+    public static MetadataIndex open(BString directory) throws IOException {
+        return MetadataIndex.open(directory.getValue());
+    }
+
+    /**
+     * Checks whether the indexed attributes of a file are up to date.
+     *
+     * @param index    the metadata index
+     * @param filePath the file path
+     * @return {@code true} if the file is indexed and has not changed since, {@code false} otherwise
+     * @throws IOException if the file attributes cannot be read
+     */
+    public static boolean isUpToDate(MetadataIndex index, BString filePath) throws IOException {
+        return index.isUpToDate(filePath.getValue());
+    }
+
+    /**
+     * Indexes the attributes of a file.
+     *
+     * @param index    the metadata index
+     * @param filePath the file path
+     * @param tags     the attribute tags as a Ballerina int array
+     * @param vrs      the attribute VRs as a Ballerina string array
+     * @param values   the attribute values as a Ballerina array of strings, ints, floats and nils
+     * @throws IOException if the attributes cannot be written
+     */
+    public static void put(MetadataIndex index, BString filePath, BArray tags, BArray vrs, BArray values)
+            throws IOException {
+        int count = tags.size();
+        int[] attributeTags = new int[count];
+        String[] attributeVrs = new String[count];
+        Object[] attributeValues = new Object[count];
+        for (int i = 0; i < count; i++) {
+            attributeTags[i] = (int) tags.getInt(i);
+            attributeVrs[i] = vrs.getBString(i).getValue();
+            attributeValues[i] = toJavaValue(values.get(i));
+        }
+        index.put(filePath.getValue(), attributeTags, attributeVrs, attributeValues);
+    }
+
+    /**
+     * Removes the indexed attributes of a file.
+     *
+     * @param index    the metadata index
+     * @param filePath the file path
+     * @throws IOException if the removal cannot be written
+     */
+    public static void remove(MetadataIndex index, BString filePath) throws IOException {
+        index.remove(filePath.getValue());
+    }
+
+    /**
+     * Retrieves the paths of the indexed files, in ascending order.
+     *
+     * @param index the metadata index
+     * @return the indexed file paths as a Ballerina string array
+     */
+    public static BArray getFilePaths(MetadataIndex index) {
+        return toBallerinaStringArray(index.getFilePaths());
+    }
+
+    /**
+     * Retrieves the indexed attributes of a file.
+     *
+     * @param index    the metadata index
+     * @param filePath the file path
+     * @return the attributes as a flat Ballerina array of tag, VR and value triples,
+     * or {@code null} if the file is not indexed
+     * @throws IOException if the attributes cannot be read
+     */
+    public static BArray get(MetadataIndex index, BString filePath) throws IOException {
+        MetadataIndex.Attribute[] attributes = index.get(filePath.getValue());
+        if (attributes == null) {
+            return null;
+        }
+        BArray result = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+        for (MetadataIndex.Attribute attribute : attributes) {
+            result.append((long) attribute.getTag());
+            result.append(StringUtils.fromString(attribute.getVr()));
+            Object value = attribute.getValue();
+            result.append(value instanceof String stringValue ? StringUtils.fromString(stringValue) : value);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the indexed files holding the given attribute value.
+     *
+     * @param index the metadata index
+     * @param tag   the attribute tag
+     * @param value the Ballerina string, int or float value to match
+     * @return the matching file paths as a Ballerina string array
+     */
+    public static BArray find(MetadataIndex index, long tag, Object value) {
+        Object javaValue = toJavaValue(value);
+        byte kind = javaValue instanceof Long ? MetadataIndex.VALUE_INT
+                : javaValue instanceof Double ? MetadataIndex.VALUE_FLOAT : MetadataIndex.VALUE_STRING;
+        return toBallerinaStringArray(index.find((int) tag, MetadataIndex.toKey(kind, javaValue)));
+    }
+
+    /**
+     * Flushes the metadata index.
+     *
+     * @param index the metadata index
+     * @throws IOException if the index cannot be flushed
+     */
+    public static void flush(MetadataIndex index) throws IOException {
+        index.flush();
+    }
+
+    /**
+     * Compacts the metadata index.
+     *
+     * @param index the metadata index
+     * @throws IOException if the index cannot be compacted
+     */
+    public static void compact(MetadataIndex index) throws IOException {
+        index.compact();
+    }
+
+    /**
+     * Closes the metadata index.
+     *
+     * @param index the metadata index
+     * @throws IOException if the index cannot be closed
+     */
+    public static void close(MetadataIndex index) throws IOException {
+        index.close();
+    }
+
+    private static Object toJavaValue(Object value) {
+        return value instanceof BString stringValue ? stringValue.getValue() : value;
+    }
+
+    private static BArray toBallerinaStringArray(String[] values) {
+        BString[] stringValues = new BString[values.length];
+        for (int i = 0; i < values.length; i++) {
+            stringValues[i] = StringUtils.fromString(values[i]);
+        }
+        return ValueCreator.createArrayValue(stringValues);
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide registry of the counters and histograms recorded by the DICOM packages.
+ * <p>
+ * Counters and histogram buckets are {@link LongAdder}s, so that concurrent recording threads do not contend on a
+ * shared value and no locks are taken on the recording path. Metrics are created on first use and are read by
+ * pulling snapshots.
+ * </p>
+ */
+public final class Metrics {
+
+    // Start time returned while recording is disabled, so that durations started while disabled are not recorded
+    private static final long DISABLED_TIMER = Long.MIN_VALUE;
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+
+    private Metrics() {
+    }
+
+    /**
+     * Enables or disables recording. Metrics recorded before disabling are retained.
+     *
+     * @param value whether recording is enabled
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Checks whether recording is enabled.
+     *
+     * @return {@code true} if recording is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a duration.
+     *
+     * @return the start time in nanoseconds, to be passed to {@link #recordDuration(BString, long)}
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : DISABLED_TIMER;
+    }
+
+    /**
+     * Records the time elapsed since a start time in a histogram.
+     *
+     * @param name      the histogram name
+     * @param startTime the start time returned by {@link #startTimer()}
+     * @return the recorded duration in nanoseconds, or {@code -1} if the duration is not recorded
+     */
+    public static long recordDuration(BString name, long startTime) {
+        if (!enabled || startTime == DISABLED_TIMER) {
+            return -1;
+        }
+        long duration = Math.max(System.nanoTime() - startTime, 0);
+        getHistogram(name.getValue()).record(duration);
+        return duration;
+    }
+
+    /**
+     * Records a value in a histogram.
+     *
+     * @param name  the histogram name
+     * @param value the value
+     */
+    public static void recordValue(BString name, long value) {
+        if (enabled) {
+            getHistogram(name.getValue()).record(value);
+        }
+    }
+
+    /**
+     * Increments a counter.
+     *
+     * @param name   the counter name
+     * @param amount the amount to increment the counter by
+     */
+    public static void incrementCounter(BString name, long amount) {
+        if (enabled) {
+            getCounter(name.getValue()).add(amount);
+        }
+    }
+
+    /**
+     * Retrieves the names of the recorded counters.
+     *
+     * @return the counter names
+     */
+    public static BArray getCounterNames() {
+        return toStringArray(COUNTERS.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Retrieves the value of a counter.
+     *
+     * @param name the counter name
+     * @return the counter value, or {@code 0} if the counter has not been recorded
+     */
+    public static long getCounterValue(BString name) {
+        LongAdder counter = COUNTERS.get(name.getValue());
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Retrieves the names of the recorded histograms.
+     *
+     * @return the histogram names
+     */
+    public static BArray getHistogramNames() {
+        return toStringArray(HISTOGRAMS.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Retrieves a snapshot of a histogram.
+     *
+     * @param name the histogram name
+     * @return the count, sum, minimum, maximum, and the 50th, 90th and 99th percentiles of the recorded values,
+     * or all zeros if the histogram has not been recorded
+     */
+    public static BArray getHistogramSnapshot(BString name) {
+        Histogram histogram = HISTOGRAMS.get(name.getValue());
+        return ValueCreator.createArrayValue(histogram == null ? new long[7] : histogram.snapshot());
+    }
+
+    /**
+     * Removes all recorded metrics.
+     */
+    public static void reset() {
+        COUNTERS.clear();
+        HISTOGRAMS.clear();
+    }
+
+    private static LongAdder getCounter(String name) {
+        // Look up before computing, as computeIfAbsent may lock the bin even if the counter exists
+        LongAdder counter = COUNTERS.get(name);
+        return counter != null ? counter : COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    private static Histogram getHistogram(String name) {
+        Histogram histogram = HISTOGRAMS.get(name);
+        return histogram != null ? histogram : HISTOGRAMS.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    private static BArray toStringArray(String[] values) {
+        BString[] strings = new BString[values.length];
+        for (int i = 0; i < values.length; i++) {
+            strings[i] = StringUtils.fromString(values[i]);
+        }
+        return ValueCreator.createArrayValue(strings);
+    }
+
+    /**
+     * A histogram of non-negative values with log-linear buckets.
+     * <p>
+     * Each power of two range is split into {@value #SUB_BUCKETS} equal buckets, which bounds the relative error of
+     * the reported percentiles to 12.5% without any configuration of the expected value range.
+     * </p>
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        Histogram() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            // The buckets only cover non-negative values, therefore, negative values are recorded as zero
+            long recordedValue = Math.max(value, 0);
+            buckets[bucketIndex(recordedValue)].increment();
+            sum.add(recordedValue);
+            min.accumulate(recordedValue);
+            max.accumulate(recordedValue);
+        }
+
+        long[] snapshot() {
+            long[] counts = new long[BUCKET_COUNT];
+            long count = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            if (count == 0) {
+                return new long[7];
+            }
+            long maxValue = max.get();
+            return new long[]{count, sum.sum(), min.get(), maxValue, percentile(counts, count, 0.5, maxValue),
+                    percentile(counts, count, 0.9, maxValue), percentile(counts, count, 0.99, maxValue)};
+        }
+
+        private static long percentile(long[] counts, long count, double quantile, long maxValue) {
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long cumulativeCount = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulativeCount += counts[i];
+                if (cumulativeCount >= rank) {
+                    return Math.min(bucketUpperBound(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long bucketUpperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return lowerBound + (1L << shift) - 1;
+        }
+    }
+}
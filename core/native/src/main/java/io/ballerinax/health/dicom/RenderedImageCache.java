@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size bounded, two tier cache of rendered images.
+ * <p>
+ * Images are cached in memory, and the least recently used images are spilled to a directory when the memory tier
+ * is full. Images read from the directory are promoted back to memory. Each tier evicts its least recently used
+ * images when its size limit is exceeded. File I/O is performed outside the locks of the tiers, so that a slow disk
+ * does not block memory hits.
+ * </p>
+ */
+public class RenderedImageCache {
+
+    private static final String FILE_EXTENSION = ".img";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    private final long maxMemorySize;
+    private final Path directory;
+    private final long maxDiskSize;
+    // Access ordered maps iterate from the least recently used entry
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+    private long diskSize;
+
+    /**
+     * Creates a rendered image cache. Images previously spilled to the directory are retained, up to the disk size
+     * limit.
+     *
+     * @param maxMemorySize the maximum total size of the images held in memory, in bytes
+     * @param directory     the directory images are spilled to, or an empty string to cache images only in memory
+     * @param maxDiskSize   the maximum total size of the images held in the directory, in bytes
+     * @throws IOException if the directory cannot be created or read
+     */
+    public RenderedImageCache(long maxMemorySize, BString directory, long maxDiskSize) throws IOException {
+        this.maxMemorySize = maxMemorySize;
+        this.maxDiskSize = maxDiskSize;
+        this.directory = directory.getValue().isEmpty() ? null : Path.of(directory.getValue());
+        if (this.directory != null) {
+            Files.createDirectories(this.directory);
+            loadDirectory();
+        }
+    }
+
+    /**
+     * Retrieves a cached image, marking it as the most recently used image.
+     *
+     * @param key the cache key
+     * @return the image, or {@code null} if the image is not cached
+     * @throws IOException if the image cannot be read from the directory
+     */
+    public BArray get(BString key) throws IOException {
+        String cacheKey = key.getValue();
+        synchronized (memory) {
+            byte[] image = memory.get(cacheKey);
+            if (image != null) {
+                return ValueCreator.createArrayValue(image);
+            }
+        }
+        if (directory == null) {
+            return null;
+        }
+        String fileName = getFileName(cacheKey);
+        synchronized (disk) {
+            if (disk.get(fileName) == null) {
+                return null;
+            }
+        }
+        byte[] image;
+        try {
+            image = Files.readAllBytes(directory.resolve(fileName));
+        } catch (NoSuchFileException e) {
+            // The file was evicted after it was looked up
+            return null;
+        }
+        putInMemory(cacheKey, image);
+        return ValueCreator.createArrayValue(image);
+    }
+
+    /**
+     * Caches an image as the most recently used image, evicting the least recently used images if the cache is full.
+     *
+     * @param key   the cache key
+     * @param image the image
+     * @throws IOException if images spilled to the directory cannot be written
+     */
+    public void put(BString key, BArray image) throws IOException {
+        putInMemory(key.getValue(), image.getBytes());
+    }
+
+    /**
+     * Removes all cached images.
+     *
+     * @throws IOException if the files of the directory cannot be deleted
+     */
+    public void clear() throws IOException {
+        synchronized (memory) {
+            memory.clear();
+            memorySize = 0;
+        }
+        if (directory == null) {
+            return;
+        }
+        List<String> fileNames;
+        synchronized (disk) {
+            fileNames = new ArrayList<>(disk.keySet());
+            disk.clear();
+            diskSize = 0;
+        }
+        deleteFiles(fileNames);
+    }
+
+    /**
+     * Retrieves the total size of the images held in memory.
+     *
+     * @return the size in bytes
+     */
+    public long getMemorySize() {
+        synchronized (memory) {
+            return memorySize;
+        }
+    }
+
+    /**
+     * Retrieves the total size of the images held in the directory.
+     *
+     * @return the size in bytes
+     */
+    public long getDiskSize() {
+        synchronized (disk) {
+            return diskSize;
+        }
+    }
+
+    private void putInMemory(String key, byte[] image) throws IOException {
+        List<Map.Entry<String, byte[]>> evicted = new ArrayList<>();
+        if (image.length > maxMemorySize) {
+            // Images that do not fit in memory are written straight to the directory
+            evicted.add(Map.entry(key, image));
+        } else {
+            synchronized (memory) {
+                byte[] previous = memory.put(key, image);
+                memorySize += image.length - (previous != null ? previous.length : 0);
+                Iterator<Map.Entry<String, byte[]>> entries = memory.entrySet().iterator();
+                while (memorySize > maxMemorySize && entries.hasNext()) {
+                    Map.Entry<String, byte[]> eldest = entries.next();
+                    entries.remove();
+                    memorySize -= eldest.getValue().length;
+                    evicted.add(eldest);
+                }
+            }
+        }
+        if (directory == null) {
+            return;
+        }
+        for (Map.Entry<String, byte[]> entry : evicted) {
+            putOnDisk(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void putOnDisk(String key, byte[] image) throws IOException {
+        if (image.length > maxDiskSize) {
+            return;
+        }
+        String fileName = getFileName(key);
+        // Files are written under a temporary name and moved into place, so that readers never see partial files
+        Path tempFile = Files.createTempFile(directory, fileName, TEMP_FILE_EXTENSION);
+        try {
+            Files.write(tempFile, image);
+            Files.move(tempFile, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long previous = disk.put(fileName, (long) image.length);
+            diskSize += image.length - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> entries = disk.entrySet().iterator();
+            while (diskSize > maxDiskSize && entries.hasNext()) {
+                Map.Entry<String, Long> eldest = entries.next();
+                entries.remove();
+                diskSize -= eldest.getValue();
+                evicted.add(eldest.getKey());
+            }
+        }
+        deleteFiles(evicted);
+    }
+
+    private void loadDirectory() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TEMP_FILE_EXTENSION)) {
+                    // Left behind by an interrupted write
+                    Files.deleteIfExists(file);
+                } else if (fileName.endsWith(FILE_EXTENSION)) {
+                    files.add(file);
+                }
+            }
+        }
+        // Files are loaded from the least recently modified, so that they are evicted first
+        files.sort((file1, file2) -> {
+            try {
+                return Files.getLastModifiedTime(file1).compareTo(Files.getLastModifiedTime(file2));
+            } catch (IOException e) {
+                return 0;
+            }
+        });
+        List<String> evicted = new ArrayList<>();
+        for (Path file : files) {
+            disk.put(file.getFileName().toString(), Files.size(file));
+            diskSize += Files.size(file);
+        }
+        Iterator<Map.Entry<String, Long>> entries = disk.entrySet().iterator();
+        while (diskSize > maxDiskSize && entries.hasNext()) {
+            Map.Entry<String, Long> eldest = entries.next();
+            entries.remove();
+            diskSize -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+        deleteFiles(evicted);
+    }
+
+    private void deleteFiles(List<String> fileNames) throws IOException {
+        for (String fileName : fileNames) {
+            Files.deleteIfExists(directory.resolve(fileName));
+        }
+    }
+
+    private static String getFileName(String key) {
+        try {
+            // Keys are hashed, as they may hold characters that are not valid in file names
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest) + FILE_EXTENSION;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
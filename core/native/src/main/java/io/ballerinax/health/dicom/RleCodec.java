@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Decodes and encodes frames of the RLE Lossless transfer syntax, as specified in Annex G of Part 5.
+ * <p>
+ * Each frame is held in a single fragment, which starts with a 64 byte header holding the number of segments and
+ * the offset of each segment. Each segment holds one byte of one sample of every pixel, most significant byte
+ * first, compressed using the PackBits scheme. Frames are independent, therefore, frames are decoded and encoded
+ * in parallel on the common fork-join pool.
+ * </p>
+ * <p>
+ * Decoded frames are native little endian pixel data, laid out as given by the planar configuration. Segments are
+ * decoded straight into their strided positions within a single destination buffer holding all frames.
+ * </p>
+ */
+public final class RleCodec {
+
+    private static final int HEADER_LENGTH = 64;
+    private static final int MAX_SEGMENTS = 15;
+    private static final int MAX_RUN_LENGTH = 128;
+    // A no-operation header byte, used to pad segments to an even length
+    private static final byte NO_OPERATION = (byte) 0x80;
+    private static final ArrayType FRAGMENTS_TYPE =
+            TypeCreator.createArrayType(TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
+
+    private RleCodec() {
+    }
+
+    /**
+     * Decodes RLE Lossless frames held in memory.
+     *
+     * @param frames the encoded frames, each holding the fragment of a frame
+     * @param layout the pixel layout of the image, as a `dicom:PixelLayout` record
+     * @return the native pixel data of all frames
+     * @throws IOException if a frame cannot be decoded
+     */
+    public static BArray decodeFrames(BArray frames, BMap<BString, Object> layout) throws IOException {
+        Layout pixelLayout = new Layout(layout);
+        int frameCount = (int) frames.size();
+        int frameLength = pixelLayout.getFrameLength();
+        byte[][] sources = new byte[frameCount][];
+        int[] lengths = new int[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            BArray frame = (BArray) frames.get(i);
+            sources[i] = frame.getByteArray();
+            lengths[i] = (int) frame.size();
+        }
+        byte[] destination = new byte[multiply(frameLength, frameCount)];
+        forEachFrame(frameCount, frame -> decodeFrame(sources[frame], lengths[frame], destination,
+                frame * frameLength, pixelLayout));
+        return ValueCreator.createArrayValue(destination);
+    }
+
+    /**
+     * Decodes RLE Lossless frames from the encapsulated pixel data fragments of a file.
+     *
+     * @param path                the path of the file holding the fragments
+     * @param fragmentOffsets     the offsets of the fragments within the file, in frame order
+     * @param fragmentLengths     the lengths of the fragments
+     * @param frameFragmentCounts the number of fragments of each frame
+     * @param layout              the pixel layout of the image, as a `dicom:PixelLayout` record
+     * @return the native pixel data of all frames
+     * @throws IOException if a frame cannot be read or decoded
+     */
+    public static BArray decodeFile(BString path, BArray fragmentOffsets, BArray fragmentLengths,
+                                    BArray frameFragmentCounts, BMap<BString, Object> layout) throws IOException {
+        Layout pixelLayout = new Layout(layout);
+        long[] offsets = fragmentOffsets.getIntArray();
+        long[] lengths = fragmentLengths.getIntArray();
+        long[] fragmentCounts = frameFragmentCounts.getIntArray();
+        int frameCount = fragmentCounts.length;
+        int[] firstFragments = new int[frameCount + 1];
+        for (int i = 0; i < frameCount; i++) {
+            firstFragments[i + 1] = firstFragments[i] + (int) fragmentCounts[i];
+        }
+        if (firstFragments[frameCount] > fragmentOffsets.size()) {
+            throw new IOException("Frames hold more fragments than the pixel data");
+        }
+        int frameLength = pixelLayout.getFrameLength();
+        byte[] destination = new byte[multiply(frameLength, frameCount)];
+        try (FileChannel channel = FileChannel.open(Path.of(path.getValue()), StandardOpenOption.READ)) {
+            // Positional reads do not change the channel position, therefore, frames are read concurrently
+            forEachFrame(frameCount, frame -> {
+                byte[] source = readFrame(channel, offsets, lengths, firstFragments[frame],
+                        firstFragments[frame + 1]);
+                decodeFrame(source, source.length, destination, frame * frameLength, pixelLayout);
+            });
+        }
+        return ValueCreator.createArrayValue(destination);
+    }
+
+    /**
+     * Encodes native pixel data into RLE Lossless frames.
+     *
+     * @param pixelData the native pixel data of all frames
+     * @param layout    the pixel layout of the image, as a `dicom:PixelLayout` record
+     * @return the fragment of each frame
+     * @throws IOException if the pixel data does not hold all frames of the layout
+     */
+    public static BArray encodeFrames(BArray pixelData, BMap<BString, Object> layout) throws IOException {
+        Layout pixelLayout = new Layout(layout);
+        byte[] source = pixelData.getByteArray();
+        int frameLength = pixelLayout.getFrameLength();
+        int frameCount = pixelLayout.numberOfFrames;
+        if (pixelData.size() < (long) frameLength * frameCount) {
+            throw new IOException("Pixel data of length " + pixelData.size() + " does not hold " + frameCount
+                    + " frames of length " + frameLength);
+        }
+        byte[][] fragments = new byte[frameCount][];
+        forEachFrame(frameCount, frame -> fragments[frame] = encodeFrame(source, frame * frameLength, pixelLayout));
+        BArray result = ValueCreator.createArrayValue(FRAGMENTS_TYPE);
+        for (byte[] fragment : fragments) {
+            result.append(ValueCreator.createArrayValue(fragment));
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a frame into the destination buffer.
+     *
+     * @param source            the encoded frame
+     * @param length            the length of the encoded frame
+     * @param destination       the destination buffer
+     * @param destinationOffset the offset of the frame within the destination buffer
+     * @param layout            the pixel layout of the image
+     * @throws IOException if the frame cannot be decoded
+     */
+    static void decodeFrame(byte[] source, int length, byte[] destination, int destinationOffset, Layout layout)
+            throws IOException {
+        if (length < HEADER_LENGTH) {
+            throw new IOException("RLE frame of length " + length + " does not hold a header");
+        }
+        int segmentCount = readUnsignedInt(source, 0);
+        if (segmentCount != layout.getSegmentCount()) {
+            throw new IOException("Expected " + layout.getSegmentCount() + " RLE segments, found " + segmentCount);
+        }
+        for (int segment = 0; segment < segmentCount; segment++) {
+            int start = readUnsignedInt(source, 4 + 4 * segment);
+            int end = segment + 1 < segmentCount ? readUnsignedInt(source, 8 + 4 * segment) : length;
+            if (start < HEADER_LENGTH || start > end || end > length) {
+                throw new IOException("Invalid offset of RLE segment " + segment + ": " + start);
+            }
+            decodeSegment(source, start, end, destination, destinationOffset + layout.getSegmentOffset(segment),
+                    layout.getSegmentStride(), layout.getPixelCount());
+        }
+    }
+
+    /**
+     * Encodes a frame. Each row is encoded separately, as runs must not cross rows.
+     *
+     * @param source       the native pixel data
+     * @param sourceOffset the offset of the frame within the pixel data
+     * @param layout       the pixel layout of the image
+     * @return the encoded frame
+     */
+    static byte[] encodeFrame(byte[] source, int sourceOffset, Layout layout) {
+        int segmentCount = layout.getSegmentCount();
+        int rowStride = layout.columns * layout.getSegmentStride();
+        // Literals are at most half of the runs of a row longer than their bytes, see encodeRow()
+        int maxRowLength = layout.columns + layout.columns / 2 + layout.columns / MAX_RUN_LENGTH + 2;
+        byte[] encoded = new byte[HEADER_LENGTH + segmentCount * (layout.rows * maxRowLength + 1)];
+        writeUnsignedInt(encoded, 0, segmentCount);
+        int position = HEADER_LENGTH;
+        for (int segment = 0; segment < segmentCount; segment++) {
+            writeUnsignedInt(encoded, 4 + 4 * segment, position);
+            int segmentStart = position;
+            int rowStart = sourceOffset + layout.getSegmentOffset(segment);
+            for (int row = 0; row < layout.rows; row++) {
+                position = encodeRow(source, rowStart, layout.getSegmentStride(), layout.columns, encoded, position);
+                rowStart += rowStride;
+            }
+            if ((position - segmentStart) % 2 != 0) {
+                encoded[position++] = NO_OPERATION;
+            }
+        }
+        return Arrays.copyOf(encoded, position);
+    }
+
+    private static void decodeSegment(byte[] source, int start, int end, byte[] destination, int offset, int stride,
+                                      int count) throws IOException {
+        int position = start;
+        int target = offset;
+        int decoded = 0;
+        while (decoded < count && position < end) {
+            int header = source[position++];
+            if (header >= 0) { // Literal run of header + 1 bytes
+                int length = header + 1;
+                if (position + length > end || decoded + length > count) {
+                    throw new IOException("RLE literal run exceeds its segment");
+                }
+                for (int i = 0; i < length; i++) {
+                    destination[target] = source[position++];
+                    target += stride;
+                }
+                decoded += length;
+            } else if (header != NO_OPERATION) { // Replicate run of 1 - header bytes
+                int length = 1 - header;
+                if (position >= end || decoded + length > count) {
+                    throw new IOException("RLE replicate run exceeds its segment");
+                }
+                byte value = source[position++];
+                for (int i = 0; i < length; i++) {
+                    destination[target] = value;
+                    target += stride;
+                }
+                decoded += length;
+            }
+        }
+        if (decoded < count) {
+            throw new IOException("RLE segment decodes to " + decoded + " bytes, expected " + count);
+        }
+    }
+
+    private static int encodeRow(byte[] source, int start, int stride, int count, byte[] encoded, int position) {
+        int index = 0;
+        while (index < count) {
+            byte value = source[start + index * stride];
+            int runLength = 1;
+            while (index + runLength < count && runLength < MAX_RUN_LENGTH
+                    && source[start + (index + runLength) * stride] == value) {
+                runLength++;
+            }
+            if (runLength > 1) {
+                encoded[position++] = (byte) (1 - runLength);
+                encoded[position++] = value;
+                index += runLength;
+                continue;
+            }
+            // A literal run extends up to the next pair of equal bytes, which starts a replicate run
+            int headerPosition = position++;
+            int literalLength = 0;
+            while (index < count && literalLength < MAX_RUN_LENGTH && (index + 1 == count
+                    || source[start + index * stride] != source[start + (index + 1) * stride])) {
+                encoded[position++] = source[start + index * stride];
+                index++;
+                literalLength++;
+            }
+            encoded[headerPosition] = (byte) (literalLength - 1);
+        }
+        return position;
+    }
+
+    private static byte[] readFrame(FileChannel channel, long[] offsets, long[] lengths, int firstFragment,
+                                    int endFragment) throws IOException {
+        long frameLength = 0;
+        for (int fragment = firstFragment; fragment < endFragment; fragment++) {
+            frameLength += lengths[fragment];
+        }
+        if (frameLength > Integer.MAX_VALUE) {
+            throw new IOException("RLE frame is too large: length " + frameLength);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) frameLength);
+        for (int fragment = firstFragment; fragment < endFragment; fragment++) {
+            long position = offsets[fragment];
+            buffer.limit(buffer.position() + (int) lengths[fragment]);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Fragment exceeds the end of the file: offset " + offsets[fragment]);
+                }
+                position += read;
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void forEachFrame(int frameCount, FrameTask task) throws IOException {
+        try {
+            IntStream.range(0, frameCount).parallel().forEach(frame -> {
+                try {
+                    task.run(frame);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int multiply(int frameLength, int frameCount) throws IOException {
+        long length = (long) frameLength * frameCount;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Decoded pixel data is too large: length " + length);
+        }
+        return (int) length;
+    }
+
+    private static int readUnsignedInt(byte[] bytes, int offset) throws IOException {
+        long value = (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8 | (bytes[offset + 2] & 0xFFL) << 16
+                | (bytes[offset + 3] & 0xFFL) << 24;
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid RLE header value: " + value);
+        }
+        return (int) value;
+    }
+
+    private static void writeUnsignedInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * A task processing a single frame.
+     */
+    @FunctionalInterface
+    private interface FrameTask {
+        void run(int frame) throws IOException;
+    }
+
+    /**
+     * The pixel layout of an image, read from a `dicom:PixelLayout` record.
+     */
+    static final class Layout {
+        final int rows;
+        final int columns;
+        final int samplesPerPixel;
+        final int bytesPerSample;
+        final boolean planar;
+        final int numberOfFrames;
+
+        Layout(BMap<BString, Object> layout) throws IOException {
+            this(getInt(layout, "rows"), getInt(layout, "columns"), getInt(layout, "samplesPerPixel"),
+                    getInt(layout, "bitsAllocated"), getInt(layout, "planarConfiguration") == 1,
+                    getInt(layout, "numberOfFrames"));
+        }
+
+        Layout(int rows, int columns, int samplesPerPixel, int bitsAllocated, boolean planar, int numberOfFrames)
+                throws IOException {
+            if (rows <= 0 || columns <= 0 || samplesPerPixel <= 0 || numberOfFrames <= 0) {
+                throw new IOException("Invalid pixel layout: " + rows + "x" + columns + ", " + samplesPerPixel
+                        + " samples per pixel, " + numberOfFrames + " frames");
+            }
+            if (bitsAllocated <= 0 || bitsAllocated % 8 != 0
+                    || samplesPerPixel * (bitsAllocated / 8) > MAX_SEGMENTS) {
+                throw new IOException("Unsupported RLE pixel layout: " + samplesPerPixel + " samples of "
+                        + bitsAllocated + " bits");
+            }
+            this.rows = rows;
+            this.columns = columns;
+            this.samplesPerPixel = samplesPerPixel;
+            this.bytesPerSample = bitsAllocated / 8;
+            this.planar = planar;
+            this.numberOfFrames = numberOfFrames;
+        }
+
+        int getPixelCount() {
+            return rows * columns;
+        }
+
+        int getFrameLength() throws IOException {
+            long length = (long) rows * columns * samplesPerPixel * bytesPerSample;
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Frame is too large: length " + length);
+            }
+            return (int) length;
+        }
+
+        int getSegmentCount() {
+            return samplesPerPixel * bytesPerSample;
+        }
+
+        /**
+         * Retrieves the offset of the first byte of a segment within a native frame. Segments hold the most
+         * significant byte of a sample first, whereas native samples are little endian.
+         */
+        int getSegmentOffset(int segment) {
+            int sample = segment / bytesPerSample;
+            int byteIndex = bytesPerSample - 1 - segment % bytesPerSample;
+            return planar ? sample * getPixelCount() * bytesPerSample + byteIndex : sample * bytesPerSample + byteIndex;
+        }
+
+        /**
+         * Retrieves the distance between the bytes of consecutive pixels of a segment within a native frame.
+         */
+        int getSegmentStride() {
+            return planar ? bytesPerSample : samplesPerPixel * bytesPerSample;
+        }
+
+        private static int getInt(BMap<BString, Object> layout, String key) {
+            return ((Long) layout.get(StringUtils.fromString(key))).intValue();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import java.util.Arrays;
+
+/**
+ * A bitmap that only allocates storage for the blocks that contain set bits.
+ * Suitable for tracking the presence of values in sparsely populated columns.
+ */
+public class SparseBitmap {
+
+    private static final int WORD_BITS = 64;
+    private static final int BLOCK_WORDS = 64;
+    private static final int BLOCK_BITS = WORD_BITS * BLOCK_WORDS;
+
+    private long[][] blocks = new long[0][];
+    // Number of set bits in all the blocks before each block
+    private int[] blockRanks = new int[0];
+    private int cardinality = 0;
+
+    /**
+     * Sets the bit at the given index.
+     *
+     * @param index the index of the bit
+     */
+    public void set(int index) {
+        int blockIndex = index / BLOCK_BITS;
+        if (blockIndex >= blocks.length) {
+            int length = blocks.length;
+            blocks = Arrays.copyOf(blocks, Math.max(blockIndex + 1, length * 2));
+            blockRanks = Arrays.copyOf(blockRanks, blocks.length);
+            Arrays.fill(blockRanks, length, blocks.length, cardinality);
+        }
+        long[] block = blocks[blockIndex];
+        if (block == null) {
+            block = new long[BLOCK_WORDS];
+            blocks[blockIndex] = block;
+        }
+        int bitIndex = index % BLOCK_BITS;
+        long mask = 1L << (bitIndex % WORD_BITS);
+        if ((block[bitIndex / WORD_BITS] & mask) == 0) {
+            block[bitIndex / WORD_BITS] |= mask;
+            cardinality++;
+            for (int i = blockIndex + 1; i < blockRanks.length; i++) {
+                blockRanks[i]++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bit at the given index is set.
+     *
+     * @param index the index of the bit
+     * @return {@code true} if the bit is set, {@code false} otherwise
+     */
+    public boolean get(int index) {
+        int blockIndex = index / BLOCK_BITS;
+        if (index < 0 || blockIndex >= blocks.length || blocks[blockIndex] == null) {
+            return false;
+        }
+        int bitIndex = index % BLOCK_BITS;
+        return (blocks[blockIndex][bitIndex / WORD_BITS] & (1L << (bitIndex % WORD_BITS))) != 0;
+    }
+
+    /**
+     * Retrieves the index of the first set bit at or after the given index.
+     *
+     * @param fromIndex the index to start searching from
+     * @return the index of the next set bit, or {@code -1} if there is no such bit
+     */
+    public int nextSetBit(int fromIndex) {
+        int blockIndex = fromIndex / BLOCK_BITS;
+        int wordIndex = (fromIndex % BLOCK_BITS) / WORD_BITS;
+        long word = blockIndex < blocks.length && blocks[blockIndex] != null
+                ? blocks[blockIndex][wordIndex] & (-1L << (fromIndex % WORD_BITS)) : 0;
+        while (blockIndex < blocks.length) {
+            long[] block = blocks[blockIndex];
+            if (block != null) {
+                while (true) {
+                    if (word != 0) {
+                        return blockIndex * BLOCK_BITS + wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+                    }
+                    if (++wordIndex == BLOCK_WORDS) {
+                        break;
+                    }
+                    word = block[wordIndex];
+                }
+            }
+            blockIndex++;
+            wordIndex = 0;
+            word = blockIndex < blocks.length && blocks[blockIndex] != null ? blocks[blockIndex][0] : 0;
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the number of set bits before the given index.
+     *
+     * @param index the index of the bit
+     * @return the number of set bits at lower indices
+     */
+    public int rank(int index) {
+        if (index <= 0) {
+            return 0;
+        }
+        int blockIndex = index / BLOCK_BITS;
+        if (blockIndex >= blocks.length) {
+            return cardinality;
+        }
+        int rank = blockRanks[blockIndex];
+        long[] block = blocks[blockIndex];
+        if (block != null) {
+            int bitIndex = index % BLOCK_BITS;
+            int wordIndex = bitIndex / WORD_BITS;
+            for (int i = 0; i < wordIndex; i++) {
+                rank += Long.bitCount(block[i]);
+            }
+            rank += Long.bitCount(block[wordIndex] & ((1L << (bitIndex % WORD_BITS)) - 1));
+        }
+        return rank;
+    }
+
+    /**
+     * Retrieves the number of set bits.
+     *
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+}
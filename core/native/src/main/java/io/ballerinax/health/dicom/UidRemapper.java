@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of replacement UIDs, keyed by the UIDs they replace.
+ * <p>
+ * Each UID is replaced by a UID derived from a random UUID, as specified in Section B.2 in Part 5. A UID is mapped
+ * atomically on first use, so that concurrent remappings of the same UID always share a single replacement UID.
+ * </p>
+ */
+public class UidRemapper {
+
+    private static final String UUID_UID_ROOT = "2.25.";
+
+    private final ConcurrentHashMap<String, BString> uids = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the replacement of a UID, creating it if the UID has not been remapped before.
+     *
+     * @param uid the UID to be replaced
+     * @return the replacement UID
+     */
+    public BString remap(BString uid) {
+        return uids.computeIfAbsent(uid.getValue(), k -> StringUtils.fromString(newUid()));
+    }
+
+    /**
+     * Retrieves the number of remapped UIDs.
+     *
+     * @return the number of remapped UIDs
+     */
+    public long size() {
+        return uids.size();
+    }
+
+    private static String newUid() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer bytes = ByteBuffer.allocate(2 * Long.BYTES);
+        bytes.putLong(uuid.getMostSignificantBits());
+        bytes.putLong(uuid.getLeastSignificantBits());
+        // The UUID is encoded as an unsigned decimal integer
+        return UUID_UID_ROOT + new BigInteger(1, bytes.array());
+    }
+}
@@ -3,7 +3,9 @@ rootProject.name = "dicom"
 
 include(":ballerina")
 include(":native")
+include(":benchmarks")
 
 // Rename projects
 project(":ballerina").name = "dicom-ballerina"
 project(":native").name = "dicom-native"
+project(":benchmarks").name = "dicom-benchmarks"
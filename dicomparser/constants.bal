@@ -16,6 +16,9 @@
 
 import ballerinax/health.dicom as dicom;
 
+# Length of the DICOM file preamble in bytes
+const int PREAMBLE_LENGTH = 128;
+
 # DICOM prefix bytes
 final byte[] & readonly DICOM_PREFIX = "DICM".toBytes().cloneReadOnly();
 
@@ -38,3 +41,62 @@ const EMPTY_TAG_INFO = {
 
 // DICOM transfer syntaxes supported by the parser
 final dicom:TransferSyntax[] & readonly SUPPORTED_TRANSFER_SYNTAXES = [dicom:EXPLICIT_VR_LITTLE_ENDIAN];
+
+# Maximum number of bytes read at a time when skipping bytes of a byte channel
+const int SKIP_CHUNK_SIZE = 65536;
+
+# Maximum number of bytes read at a time when visiting a dataset read from a byte channel
+const int VISIT_CHUNK_SIZE = 65536;
+
+# Maximum number of value bytes transcoded at a time. Must be a multiple of 8, so that chunks hold whole numbers.
+const int TRANSCODE_CHUNK_SIZE = 65536;
+
+# Transfer syntax UIDs, keyed by transfer syntax
+# From Section A.1, A.2 and A.3 in Part 5
+final map<string> & readonly TRANSFER_SYNTAX_UIDS = {
+    [dicom:IMPLICIT_VR_LITTLE_ENDIAN]: "1.2.840.10008.1.2",
+    [dicom:EXPLICIT_VR_LITTLE_ENDIAN]: "1.2.840.10008.1.2.1",
+    [dicom:EXPLICIT_VR_BIG_ENDIAN]: "1.2.840.10008.1.2.2"
+};
+
+# Transfer Syntax UID file meta information tag
+const TRANSFER_SYNTAX_UID_TAG = {group: 0x0002, element: 0x0010};
+
+# File Meta Information Group Length tag
+const FILE_META_GROUP_LENGTH_TAG = {group: 0x0002, element: 0x0000};
+
+# Default maximum number of values and data elements held by a value pool
+const int DEFAULT_VALUE_POOL_CAPACITY = 100000;
+
+# Default maximum number of issues kept as samples by a parse diagnostics collector
+const int DEFAULT_DIAGNOSTICS_SAMPLE_LIMIT = 10;
+
+# Minimum interval between the logged summaries of parse diagnostics, in seconds
+const decimal DIAGNOSTICS_LOG_INTERVAL = 10;
+
+# Maximum number of issue counts included in a logged summary of parse diagnostics
+const int DIAGNOSTICS_LOG_COUNT_LIMIT = 5;
+
+# Bit of the issue count key of parse diagnostics marking the issues of values parsed on their own, which have no tag
+const int UNTAGGED_ISSUE_KEY_BIT = 1 << 40;
+
+// VRs of values that are pooled by a value pool
+// These VRs hold values that commonly repeat across datasets of the same study or series
+final dicom:Vr[] & readonly POOLED_VRs = [dicom:CS, dicom:UI, dicom:LO, dicom:SH, dicom:PN];
+
+// Tags of the UIDs that are unique to an instance or a series, which are not pooled by a value pool
+// These values repeat in few datasets, and would otherwise fill the pool before the values it is meant to share
+final int[] & readonly UNPOOLED_TAGS = [dicom:TAG_MEDIA_STORAGE_SOP_INSTANCE_UID,
+    dicom:TAG_REFERENCED_SOP_INSTANCE_UID_IN_FILE, dicom:TAG_SOP_INSTANCE_UID, dicom:TAG_SERIES_INSTANCE_UID];
+
+# Prefix of the UIDs of the JPEG family of transfer syntaxes, which encapsulate pixel data in an Explicit VR Little
+# Endian dataset
+const JPEG_TRANSFER_SYNTAX_UID_PREFIX = "1.2.840.10008.1.2.4.";
+
+# RLE Lossless transfer syntax UID, which encapsulates pixel data in an Explicit VR Little Endian dataset
+const RLE_LOSSLESS_TRANSFER_SYNTAX_UID = "1.2.840.10008.1.2.5";
+
+// VRs of string values that can be replaced by a hash in de-identification
+// Other string VRs restrict their character repertoire or format, which a hash does not conform to
+final dicom:Vr[] & readonly HASHABLE_VRs = [dicom:AE, dicom:CS, dicom:LO, dicom:LT, dicom:PN, dicom:SH, dicom:ST,
+    dicom:UC, dicom:UT];
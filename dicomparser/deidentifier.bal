@@ -0,0 +1,285 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/crypto;
+import ballerina/io;
+import ballerinax/health.dicom as dicom;
+
+# A subset of the Basic Application Level Confidentiality Profile, which removes or empties the identifying
+# attributes of the patient, the study and the institution, remaps the instance UIDs and removes private data
+# elements. Based off of Table E.1-1 in Part 15.
+public final DeidentificationProfile & readonly BASIC_DEIDENTIFICATION_PROFILE = {
+    rules: {
+        "PatientName": {action: EMPTY},
+        "PatientID": {action: EMPTY},
+        "PatientBirthDate": {action: EMPTY},
+        "PatientSex": {action: EMPTY},
+        "ReferringPhysicianName": {action: EMPTY},
+        "AccessionNumber": {action: EMPTY},
+        "StudyID": {action: EMPTY},
+        "OtherPatientIDs": {action: REMOVE},
+        "OtherPatientIDsSequence": {action: REMOVE},
+        "OtherPatientNames": {action: REMOVE},
+        "PatientAge": {action: REMOVE},
+        "PatientAddress": {action: REMOVE},
+        "PatientTelephoneNumbers": {action: REMOVE},
+        "PatientComments": {action: REMOVE},
+        "InstitutionName": {action: REMOVE},
+        "InstitutionAddress": {action: REMOVE},
+        "StationName": {action: REMOVE},
+        "DeviceSerialNumber": {action: REMOVE},
+        "PerformingPhysicianName": {action: REMOVE},
+        "PhysiciansOfRecord": {action: REMOVE},
+        "OperatorsName": {action: REMOVE},
+        "StudyInstanceUID": {action: REMAP_UID},
+        "SeriesInstanceUID": {action: REMAP_UID},
+        "SOPInstanceUID": {action: REMAP_UID},
+        "MediaStorageSOPInstanceUID": {action: REMAP_UID},
+        "ReferencedSOPInstanceUID": {action: REMAP_UID},
+        "FrameOfReferenceUID": {action: REMAP_UID},
+        "InstanceCreatorUID": {action: REMAP_UID}
+    }
+};
+
+# De-identifies an encoded DICOM dataset.
+# The dataset is streamed element by element as in `transcode()`, and the rules of the de-identifier's profile are
+# applied to the data elements at any nesting level. Values are copied in bounded chunks, and pixel data is never
+# loaded into memory.
+#
+# + 'source - The source of the dataset to be de-identified
+# + transferSyntax - The transfer syntax of the source, which the de-identified dataset is also written in
+# + destination - The channel the de-identified dataset is written to
+# + deidentifier - The de-identifier applied to the dataset
+# + return - A `dicom:DeidentificationError` if the de-identification fails
+public isolated function deidentify(byte[]|io:ReadableByteChannel 'source, dicom:TransferSyntax transferSyntax,
+        io:WritableByteChannel destination, Deidentifier deidentifier) returns dicom:DeidentificationError? {
+    do {
+        int startTime = dicom:startTimer();
+        SourceReader reader = new ('source);
+        DatasetTranscoder transcoder = new (reader, destination, transferSyntax, deidentifier);
+        check transcoder.transcodeDataset(transferSyntax);
+        recordDeidentifyMetrics(startTime, reader);
+    } on fail error e {
+        return error dicom:DeidentificationError("Data set de-identification failed", e);
+    }
+}
+
+# De-identifies a DICOM file.
+# The file preamble is zeroed, the file meta information and the dataset are de-identified as described in
+# `deidentify()`, and the file is written in its original transfer syntax. Files of transfer syntaxes with
+# encapsulated pixel data are supported, as long as the dataset is encoded in Explicit VR Little Endian.
+#
+# + sourcePath - The path of the DICOM file to be de-identified
+# + destinationPath - The path of the de-identified DICOM file
+# + deidentifier - The de-identifier applied to the file. A single de-identifier should be used for all the files
+# of a study, so that UIDs are remapped consistently across the files
+# + return - A `dicom:DeidentificationError` if the de-identification fails
+public isolated function deidentifyFile(string sourcePath, string destinationPath,
+        Deidentifier deidentifier) returns dicom:DeidentificationError? {
+    do {
+        io:ReadableByteChannel sourceChannel = check io:openReadableFile(sourcePath);
+        io:WritableByteChannel|io:Error destination = io:openWritableFile(destinationPath);
+        if destination is io:Error {
+            check sourceChannel.close();
+            fail destination;
+        }
+        error? result = deidentifyFileFromChannel(sourceChannel, sourcePath, destination, deidentifier);
+        error? sourceCloseResult = sourceChannel.close();
+        error? destinationCloseResult = destination.close();
+        check result;
+        check sourceCloseResult;
+        check destinationCloseResult;
+    } on fail error e {
+        return error dicom:DeidentificationError(string `File de-identification failed: ${sourcePath}`, e);
+    }
+}
+
+# De-identifies a DICOM file from a channel positioned at the start of the file.
+#
+# + sourceChannel - The channel of the DICOM file
+# + sourcePath - The path of the DICOM file
+# + destination - The channel the de-identified file is written to
+# + deidentifier - The de-identifier applied to the file
+# + return - An error if the de-identification fails
+isolated function deidentifyFileFromChannel(io:ReadableByteChannel sourceChannel, string sourcePath,
+        io:WritableByteChannel destination, Deidentifier deidentifier) returns error? {
+    int startTime = dicom:startTimer();
+    _ = check readPreamble(sourceChannel);
+    if !isValidFile(sourceChannel, true) {
+        return error dicom:DeidentificationError("Not a valid DICOM file");
+    }
+    SourceReader reader = new (sourceChannel, PREAMBLE_LENGTH + DICOM_PREFIX.length(), sourcePath);
+    byte[] metaBytes = check readFileMetaInfo(reader);
+    string transferSyntaxUid = check getFileMetaTransferSyntaxUid(metaBytes);
+    dicom:TransferSyntax? transferSyntax = getDatasetTransferSyntax(transferSyntaxUid);
+    if transferSyntax == () {
+        return error dicom:DeidentificationError(string `Unsupported transfer syntax: ${transferSyntaxUid}`);
+    }
+
+    // The file meta information is de-identified into a buffer, as its group length changes with its values
+    byte[] deidentifiedMetaBytes = [];
+    SourceReader metaReader = new (metaBytes);
+    DatasetTranscoder metaTranscoder = new (metaReader, deidentifiedMetaBytes, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+        deidentifier);
+    check metaTranscoder.transcodeDataset(dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+
+    // The preamble may hold application specific data, therefore, it is not retained
+    byte[PREAMBLE_LENGTH] preamble = [];
+    DatasetTranscoder transcoder = new (reader, destination, transferSyntax, deidentifier);
+    check transcoder.write(preamble);
+    check transcoder.write(DICOM_PREFIX);
+    check transcoder.write(encodeFileMetaGroupLength(deidentifiedMetaBytes.length()));
+    check transcoder.write(deidentifiedMetaBytes);
+    check transcoder.transcodeDataset(transferSyntax);
+    recordDeidentifyMetrics(startTime, reader);
+}
+
+# Applies a de-identification profile to data elements.
+# A de-identifier is safe to share across strands. Its UID remapper maps each UID to the same replacement UID
+# regardless of the file or strand it is read by, keeping the references between de-identified files consistent.
+public isolated class Deidentifier {
+    // Rules keyed by tag string
+    private final map<DeidentificationRule> & readonly rules;
+    private final map<DeidentificationRule> & readonly privateCreatorRules;
+    private final (DeidentificationRule & readonly)? privateTagRule;
+    private final string hashKey;
+    private final dicom:UidRemapper uidRemapper;
+
+    # Initializes a new instance of the `Deidentifier`.
+    #
+    # + profile - The de-identification profile
+    # + uidRemapper - The UID remapper used by the `REMAP_UID` action
+    # + return - A `dicom:DeidentificationError` if a rule key is neither a tag string nor a known keyword
+    public isolated function init(DeidentificationProfile profile = BASIC_DEIDENTIFICATION_PROFILE,
+            dicom:UidRemapper uidRemapper = new) returns dicom:DeidentificationError? {
+        map<DeidentificationRule> rules = {};
+        foreach [string, DeidentificationRule] [key, rule] in profile.rules.entries() {
+            // Keywords may also have a length of 8, e.g. `Modality`, therefore, keys are checked for both
+            dicom:Tag|dicom:Error tagFromStr = dicom:strToTag(key);
+            dicom:Tag? tag = tagFromStr is dicom:Tag ? tagFromStr : dicom:getTagFromKeyword(key);
+            if tag == () {
+                return error dicom:DeidentificationError(string `Invalid de-identification rule key: ${key}`);
+            }
+            rules[dicom:tagToStr(tag)] = rule;
+        }
+        self.rules = rules.cloneReadOnly();
+        self.privateCreatorRules = profile.privateCreatorRules.cloneReadOnly();
+        self.privateTagRule = profile.privateTagRule.cloneReadOnly();
+        self.hashKey = profile.hashKey;
+        self.uidRemapper = uidRemapper;
+    }
+
+    # Retrieves the rule of a data element. Rules of specific data elements take precedence over the rules of private
+    # blocks, which take precedence over the rule of private data elements.
+    #
+    # + tag - The tag of the data element
+    # + privateCreatorId - The private creator ID of the block of the data element, if the data element is private
+    # + return - The rule of the data element, or `()` if the data element is kept as it is
+    isolated function getRule(dicom:Tag tag, string? privateCreatorId = ()) returns DeidentificationRule? {
+        DeidentificationRule? rule = self.rules[dicom:tagToStr(tag)];
+        if rule is DeidentificationRule || !dicom:isPrivateTag(tag) {
+            return rule;
+        }
+        if privateCreatorId is string && self.privateCreatorRules.hasKey(privateCreatorId) {
+            return self.privateCreatorRules.get(privateCreatorId);
+        }
+        return self.privateTagRule;
+    }
+
+    # Rewrites the value of a data element with a `REPLACE`, `HASH` or `REMAP_UID` rule.
+    #
+    # + tag - The tag of the data element
+    # + vr - The VR of the data element
+    # + valueBytes - The encoded value
+    # + rule - The rule of the data element
+    # + return - The rewritten value, padded to an even length, or an error if the rule cannot be applied to the VR
+    isolated function rewriteValue(dicom:Tag tag, dicom:Vr vr, byte[] valueBytes,
+            DeidentificationRule rule) returns byte[]|error {
+        byte[] rewrittenValue;
+        if rule.action == REPLACE && dicom:STR_VRs.indexOf(vr) != () {
+            rewrittenValue = rule.replacement.toBytes();
+        } else if rule.action == HASH && HASHABLE_VRs.indexOf(vr) != () {
+            rewrittenValue = check self.hash(vr, (check string:fromBytes(valueBytes)).trim());
+        } else if rule.action == REMAP_UID && vr == dicom:UI {
+            string[] uids = re `\\`.split(check string:fromBytes(valueBytes));
+            string[] remappedUids = from string uid in uids
+                let string trimmedUid = trimUid(uid)
+                select trimmedUid == "" ? "" : self.uidRemapper.remap(trimmedUid);
+            rewrittenValue = string:'join("\\", ...remappedUids).toBytes();
+        } else {
+            return error dicom:DeidentificationError(string `Action ${rule.action} cannot be applied to VR ${vr}: ${
+                dicom:tagToStr(tag)}`);
+        }
+        // UIDs are padded with a trailing NULL, and other strings with a trailing space, to achieve an even length
+        if rewrittenValue.length() % 2 != 0 {
+            rewrittenValue.push(vr == dicom:UI ? 0x00 : 0x20);
+        }
+        return rewrittenValue;
+    }
+
+    # Hashes a string value into an uppercase hexadecimal string, truncated to the maximum value length of the VR.
+    #
+    # + vr - The VR of the value
+    # + value - The value to be hashed
+    # + return - The encoded hash, or an error if hashing fails
+    isolated function hash(dicom:Vr vr, string value) returns byte[]|error {
+        // Empty values carry no identifying information, and are kept empty
+        if value == "" {
+            return [];
+        }
+        byte[] digest = self.hashKey == "" ? crypto:hashSha256(value.toBytes())
+            : check crypto:hmacSha256(value.toBytes(), self.hashKey.toBytes());
+        string hexDigest = digest.toBase16().toUpperAscii();
+        int maxLength = dicom:VARIABLE_LENGTH_VALUE_BYTES[vr] ?: hexDigest.length();
+        return hexDigest.substring(0, int:min(maxLength, hexDigest.length())).toBytes();
+    }
+}
+
+# Retrieves the transfer syntax UID of the file meta information.
+#
+# + metaBytes - The file meta information elements
+# + return - The transfer syntax UID, or an error if the file meta information does not have a transfer syntax UID
+isolated function getFileMetaTransferSyntaxUid(byte[] metaBytes) returns string|error {
+    dicom:Dataset metaDataset = check parseDataset(metaBytes, dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    dicom:DataElementValue uid = metaDataset[TRANSFER_SYNTAX_UID_TAG]?.value;
+    if uid !is string {
+        return error dicom:DeidentificationError("File meta information does not have a transfer syntax UID");
+    }
+    return trimUid(uid);
+}
+
+# Retrieves the transfer syntax a dataset is encoded in, from the transfer syntax UID of its file.
+#
+# + uid - The transfer syntax UID
+# + return - The transfer syntax of the dataset, or `()` if the transfer syntax is not supported
+isolated function getDatasetTransferSyntax(string uid) returns dicom:TransferSyntax? {
+    // Transfer syntaxes that encapsulate pixel data encode the dataset in Explicit VR Little Endian
+    // Based off of Section A.4 in Part 5
+    if uid.startsWith(JPEG_TRANSFER_SYNTAX_UID_PREFIX) || uid == RLE_LOSSLESS_TRANSFER_SYNTAX_UID {
+        return dicom:EXPLICIT_VR_LITTLE_ENDIAN;
+    }
+    return getTransferSyntax(uid);
+}
+
+# Records the metrics of a de-identified dataset or file.
+#
+# + startTime - The time de-identification started, as returned by `dicom:startTimer()`
+# + reader - The reader of the de-identified source
+isolated function recordDeidentifyMetrics(int startTime, SourceReader reader) {
+    dicom:recordDuration(dicom:METRIC_DEIDENTIFIER_DURATION, startTime);
+    dicom:incrementCounter(dicom:METRIC_DEIDENTIFIER_BYTES, reader.getPosition());
+}
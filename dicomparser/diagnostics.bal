@@ -0,0 +1,191 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/log;
+import ballerina/time;
+import ballerinax/health.dicom as dicom;
+
+# Collects the issues found while parsing datasets, such as VR mismatches and invalid value lengths.
+# Issues are counted per tag and kind, and only the first issues are kept as samples. Recording an issue therefore
+# neither formats a message nor retains the value of the data element, so that malformed datasets, which may hold
+# an issue in most of their data elements, are parsed about as fast as well-formed ones.
+public isolated class ParseDiagnostics {
+    private final int sampleLimit;
+    // Issue counts, keyed by the integer issue key of their kind and tag
+    private final table<IssueCountEntry> key(issueKey) counts = table [];
+    private final ParseIssue[] samples = [];
+    private int issueCount = 0;
+    // Number of issues selected as samples, including the ones not yet added to the samples
+    private int sampleCount = 0;
+
+    # Initializes the parse diagnostics collector.
+    #
+    # + sampleLimit - The maximum number of issues kept as samples
+    public isolated function init(int sampleLimit = DEFAULT_DIAGNOSTICS_SAMPLE_LIMIT) {
+        self.sampleLimit = sampleLimit;
+    }
+
+    # Adds an issue.
+    #
+    # + issue - The issue
+    public isolated function add(ParseIssue issue) {
+        ParseIssueKind kind = issue.kind;
+        int issueKey = getIssueKey(kind, issue.tag);
+        boolean sampled;
+        lock {
+            self.issueCount += 1;
+            IssueCountEntry? entry = self.counts[issueKey];
+            if entry is IssueCountEntry {
+                entry.count += 1;
+            } else {
+                self.counts.add({issueKey, kind, count: 1});
+            }
+            sampled = self.sampleCount < self.sampleLimit;
+            if sampled {
+                self.sampleCount += 1;
+            }
+        }
+        // Only the issues kept as samples are copied
+        if sampled {
+            ParseIssue & readonly sample = issue.cloneReadOnly();
+            lock {
+                self.samples.push(sample);
+            }
+        }
+    }
+
+    # Retrieves the number of recorded issues.
+    #
+    # + return - The number of issues
+    public isolated function length() returns int {
+        lock {
+            return self.issueCount;
+        }
+    }
+
+    # Retrieves the issue counts per tag and kind, in the order the first issue of each was recorded.
+    #
+    # + return - The issue counts
+    public isolated function getCounts() returns ParseIssueCount[] {
+        lock {
+            ParseIssueCount[] counts = from IssueCountEntry entry in self.counts
+                select {kind: entry.kind, tag: getIssueKeyTag(entry.issueKey), count: entry.count};
+            return counts.clone();
+        }
+    }
+
+    # Retrieves the first recorded issues, up to the sample limit.
+    #
+    # + return - The sampled issues
+    public isolated function getSamples() returns ParseIssue[] {
+        lock {
+            return self.samples.clone();
+        }
+    }
+}
+
+# Represents the number of issues of a kind found for a tag, as counted by a parse diagnostics collector.
+#
+# + issueKey - The issue key of the kind and tag
+# + kind - The kind of the issues
+# + count - The number of issues
+type IssueCountEntry record {|
+    readonly int issueKey;
+    ParseIssueKind kind;
+    int count;
+|};
+
+# Computes the integer key of the issues of a kind found for a tag, which holds the kind in the bits from 32, and
+# the group and element of the tag in the lower 32 bits.
+#
+# + kind - The kind of the issues
+# + tag - The tag of the data elements, or `()` for values parsed on their own
+# + return - The issue key
+isolated function getIssueKey(ParseIssueKind kind, dicom:Tag? tag) returns int {
+    int kindCode = kind == VR_MISMATCH ? 0 : kind == UNKNOWN_TAG ? 1 : 2;
+    return tag is dicom:Tag ? (kindCode << 32) | (tag.group << 16) | tag.element
+        : (kindCode << 32) | UNTAGGED_ISSUE_KEY_BIT;
+}
+
+# Retrieves the tag of an issue key.
+#
+# + issueKey - The issue key
+# + return - The tag, or `()` for the issues of values parsed on their own
+isolated function getIssueKeyTag(int issueKey) returns dicom:Tag? {
+    if (issueKey & UNTAGGED_ISSUE_KEY_BIT) != 0 {
+        return;
+    }
+    return {group: (issueKey >> 16) & 0xFFFF, element: issueKey & 0xFFFF};
+}
+
+# Represents the state of the rate-limited logging of parse diagnostics summaries.
+#
+# + nextLogTime - The monotonic time from which the next summary may be logged, in seconds
+# + suppressedLogs - The number of summaries not logged since the last logged summary
+type DiagnosticsLogState record {|
+    decimal nextLogTime;
+    int suppressedLogs;
+|};
+
+isolated DiagnosticsLogState diagnosticsLogState = {nextLogTime: 0, suppressedLogs: 0};
+
+# Records an issue in a parse diagnostics collector, or logs it if there is no collector, such as when a value is
+# parsed on its own. The value of the data element is not logged.
+#
+# + diagnostics - The parse diagnostics collector
+# + issue - The issue
+isolated function reportParseIssue(ParseDiagnostics? diagnostics, ParseIssue issue) {
+    if diagnostics is ParseDiagnostics {
+        diagnostics.add(issue);
+        return;
+    }
+    dicom:Tag? tag = issue.tag;
+    log:printWarn(string `Issue found while parsing data element: ${issue.kind}`,
+            tag = tag is dicom:Tag ? dicom:tagToStr(tag) : (), vr = issue.vr, dictionaryVr = issue.dictionaryVr,
+            expectedLength = issue.expectedLength, length = issue.length);
+}
+
+# Logs a summary of the issues found while parsing a source, if any. At most one summary is logged per
+# `DIAGNOSTICS_LOG_INTERVAL`, and the number of summaries left out since the previous one is included.
+#
+# + diagnostics - The parse diagnostics collector of the source
+# + 'source - The description of the source, such as its file path
+isolated function logParseDiagnostics(ParseDiagnostics diagnostics, string 'source) {
+    int issueCount = diagnostics.length();
+    if issueCount == 0 {
+        return;
+    }
+    decimal now = time:monotonicNow();
+    int suppressedLogs;
+    lock {
+        if now < diagnosticsLogState.nextLogTime {
+            diagnosticsLogState.suppressedLogs += 1;
+            return;
+        }
+        suppressedLogs = diagnosticsLogState.suppressedLogs;
+        diagnosticsLogState = {nextLogTime: now + DIAGNOSTICS_LOG_INTERVAL, suppressedLogs: 0};
+    }
+    ParseIssueCount[] counts = diagnostics.getCounts().sort(array:DESCENDING, count => count.count);
+    string[] topIssues = [];
+    foreach ParseIssueCount count in counts.slice(0, int:min(counts.length(), DIAGNOSTICS_LOG_COUNT_LIMIT)) {
+        dicom:Tag? tag = count.tag;
+        topIssues.push(string `${tag is dicom:Tag ? dicom:tagToStr(tag) : "-"} ${count.kind}: ${count.count}`);
+    }
+    log:printWarn(string `Found ${issueCount} issues while parsing: ${'source}. ` +
+            string `Parsed values of the affected data elements may not be accurate.`,
+            topIssues = topIssues, suppressedSummaries = suppressedLogs);
+}
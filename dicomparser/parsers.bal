@@ -15,7 +15,6 @@
 // under the License.
 
 import ballerina/io;
-import ballerina/log;
 import ballerinax/health.dicom as dicom;
 
 # Parses a DICOM source.
@@ -24,17 +23,24 @@ import ballerinax/health.dicom as dicom;
 # + transferSyntax - The transfer syntax of the source
 # + metaElementsOnly - A flag indicating whether to stop parsing after reading the file meta information 
 # + ignorePixelData - A flag indicating whether to skip reading the pixel data
+# + valuePool - An optional value pool used to share identical values across parsed datasets
+# + bulkDataThreshold - An optional value length, in bytes, above which binary values are not loaded into memory,
+# but are referenced by their position within the source as `dicom:BulkDataReference` values
+# + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary of
+# the issues is logged instead.
 # + return - A `dicom:File` if the source is a DICOM file, a `dicom:Dataset` if the source is an encoded dataset, 
 # or a `dicom:ParsingError` if parsing fails
 public isolated function parse(string|byte[] 'source, dicom:TransferSyntax transferSyntax,
-        boolean metaElementsOnly = false, boolean ignorePixelData = false)
+        boolean metaElementsOnly = false, boolean ignorePixelData = false, ValuePool? valuePool = (),
+        int? bulkDataThreshold = (), ParseDiagnostics? diagnostics = ())
         returns dicom:File|dicom:Dataset|dicom:ParsingError {
     do {
         if 'source is string { // File path
-            return check parseFile('source, transferSyntax, metaElementsOnly, ignorePixelData);
+            return check parseFile('source, transferSyntax, metaElementsOnly, ignorePixelData, valuePool,
+                    bulkDataThreshold, diagnostics);
         } else { // Encoded dataset
-            return check parseDataset(check io:createReadableChannel('source), transferSyntax,
-                    metaElementsOnly, ignorePixelData);
+            return check parseDataset('source, transferSyntax, metaElementsOnly, ignorePixelData, valuePool,
+                    bulkDataThreshold, diagnostics);
         }
     } on fail error e {
         return error dicom:ParsingError("Parsing failed", e);
@@ -47,9 +53,15 @@ public isolated function parse(string|byte[] 'source, dicom:TransferSyntax trans
 # + transferSyntax - The transfer syntax of the DICOM file
 # + metaElementsOnly - A flag indicating whether to stop parsing after reading the file meta information
 # + ignorePixelData - A flag indicating whether to skip loading the pixel data during parsing
+# + valuePool - An optional value pool used to share identical values across parsed datasets
+# + bulkDataThreshold - An optional value length, in bytes, above which binary values are not loaded into memory,
+# but are referenced by their position within the file as `dicom:BulkDataReference` values
+# + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary of
+# the issues is logged instead.
 # + return - The parsed `dicom:File`, or a `dicom:ParsingError` if the parsing fails.
 public isolated function parseFile(string filePath, dicom:TransferSyntax transferSyntax,
-        boolean metaElementsOnly = false, boolean ignorePixelData = false) returns dicom:File|dicom:ParsingError {
+        boolean metaElementsOnly = false, boolean ignorePixelData = false, ValuePool? valuePool = (),
+        int? bulkDataThreshold = (), ParseDiagnostics? diagnostics = ()) returns dicom:File|dicom:ParsingError {
     do {
         if !isSupportedTransferSyntax(transferSyntax) {
             fail error dicom:ParsingError(string `Unsupported transfer syntax: ${transferSyntax}`);
@@ -68,7 +80,15 @@ public isolated function parseFile(string filePath, dicom:TransferSyntax transfe
 
         // Parse dataset
         // After reading the preamble and prefix validation, the remaining bytes in the channel contains the dataset
-        dicom:Dataset dataset = check parseDataset(fileByteChannel, transferSyntax, metaElementsOnly, ignorePixelData);
+        int startTime = dicom:startTimer();
+        SourceReader reader = new (fileByteChannel, PREAMBLE_LENGTH + DICOM_PREFIX.length(), filePath);
+        ParseDiagnostics collector = diagnostics ?: new;
+        dicom:Dataset dataset = check parseDatasetFromReader(reader, transferSyntax, metaElementsOnly, ignorePixelData,
+                valuePool, bulkDataThreshold, collector);
+        recordParseMetrics(startTime, reader, dataset);
+        if diagnostics == () {
+            logParseDiagnostics(collector, filePath);
+        }
 
         return {preamble, dataset};
     } on fail error e {
@@ -77,34 +97,59 @@ public isolated function parseFile(string filePath, dicom:TransferSyntax transfe
 }
 
 # Parses a DICOM Data Set.
+# Encapsulated pixel data fragment offsets are relative to the start of the given source.
 #
 # + 'source - The source of the dataset to be parsed
 # + transferSyntax - The transfer syntax of the DICOM dataset 
 # + metaElementsOnly - A flag indicating whether to stop parsing after reading the file meta information
 # + ignorePixelData - A flag indicating whether to skip loading the pixel data during parsing
+# + valuePool - An optional value pool used to share identical values across parsed datasets
+# + bulkDataThreshold - An optional value length, in bytes, above which binary values are not loaded into memory,
+# but are referenced by their position within the source as `dicom:BulkDataReference` values
+# + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary of
+# the issues is logged instead.
 # + return - The parsed `dicom:Dataset`, or a `dicom:ParsingError` if the parsing fails.
 public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dicom:TransferSyntax transferSyntax,
-        boolean metaElementsOnly = false, boolean ignorePixelData = false) returns dicom:Dataset|dicom:ParsingError {
+        boolean metaElementsOnly = false, boolean ignorePixelData = false, ValuePool? valuePool = (),
+        int? bulkDataThreshold = (), ParseDiagnostics? diagnostics = ()) returns dicom:Dataset|dicom:ParsingError {
+    int startTime = dicom:startTimer();
+    SourceReader reader = new ('source);
+    ParseDiagnostics collector = diagnostics ?: new;
+    dicom:Dataset dataset = check parseDatasetFromReader(reader, transferSyntax, metaElementsOnly, ignorePixelData,
+            valuePool, bulkDataThreshold, collector);
+    recordParseMetrics(startTime, reader, dataset);
+    if diagnostics == () {
+        logParseDiagnostics(collector, "data set");
+    }
+    return dataset;
+}
+
+# Parses a DICOM Data Set from a source reader.
+#
+# + reader - The reader of the dataset source
+# + transferSyntax - The transfer syntax of the DICOM dataset
+# + metaElementsOnly - A flag indicating whether to stop parsing after reading the file meta information
+# + ignorePixelData - A flag indicating whether to skip loading the pixel data during parsing
+# + valuePool - An optional value pool used to share identical values across parsed datasets
+# + bulkDataThreshold - An optional value length, in bytes, above which binary values are referenced
+# instead of being loaded into memory
+# + diagnostics - An optional collector of the issues found while parsing
+# + return - The parsed `dicom:Dataset`, or a `dicom:ParsingError` if the parsing fails.
+isolated function parseDatasetFromReader(SourceReader reader, dicom:TransferSyntax transferSyntax,
+        boolean metaElementsOnly = false, boolean ignorePixelData = false, ValuePool? valuePool = (),
+        int? bulkDataThreshold = (), ParseDiagnostics? diagnostics = ()) returns dicom:Dataset|dicom:ParsingError {
     do {
         if !isSupportedTransferSyntax(transferSyntax) {
             fail error dicom:ParsingError(string `Unsupported transfer syntax: ${transferSyntax}`);
         }
 
-        io:ReadableByteChannel datasetByteChannel;
-
-        if 'source is byte[] {
-            datasetByteChannel = check io:createReadableChannel('source);
-        } else { // io:ReadableByteChannel
-            datasetByteChannel = 'source;
-        }
-
         // DICOM dataset
         dicom:Dataset dataset = table [];
 
         dicom:ByteOrder byteOrder = dicom:getByteOrder(transferSyntax);
 
-        // Keep track of the most recent private creator ID in order to read the private data blocks
-        string privateCreatorId = "";
+        // Keep track of the private creators of the private blocks of the dataset
+        dicom:PrivateCreatorResolver privateCreators = new;
 
         while true {
             // Read 8 bytes at a time:
@@ -112,7 +157,7 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
             // - For Explicit VR with a 16-bit length, this covers: tag + VR + VL
             // - For Implicit VR, this covers: tag + VL
             // Based off of Table 7.1-1, 7.1-2 and 7.1-3 in Part 5
-            byte[]|io:Error bytesRead = datasetByteChannel.read(8);
+            byte[]|io:Error bytesRead = reader.read(8);
 
             if bytesRead is io:Error {
                 fail error dicom:ParsingError("Failed to read bytes", bytesRead);
@@ -123,11 +168,8 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
                 return dataset;
             }
 
-            // Byte channel to source read bytes
-            io:ReadableByteChannel bytesReadByteChannel = check io:createReadableChannel(bytesRead);
-
             // Tag
-            dicom:Tag tag = check parseTag(check bytesReadByteChannel.read(4), byteOrder);
+            dicom:Tag tag = check parseTag(bytesRead.slice(0, 4), byteOrder);
 
             // Check if an item delimitation tag
             // This means currently parsing an item value data set of a sequence (SQ)
@@ -149,14 +191,15 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
             }
 
             // VR
-            dicom:Vr vr = check parseVr(check bytesReadByteChannel.read(2));
+            dicom:Vr vr = check parseVr(bytesRead.slice(4, 6));
 
             // VL
-            int vl = check parseVl(check bytesReadByteChannel.read(2), byteOrder);
+            byte[] vlBytes = bytesRead.slice(6, 8);
             // Check if the VR is an explicit VR with a 32-bit length
             if dicom:EXPLICIT_LENGTH_32_VRs.indexOf(vr) != () {
-                vl = check parseVl(check datasetByteChannel.read(4), byteOrder);
+                vlBytes = check reader.read(4);
             }
+            int vl = check parseVl(vlBytes, byteOrder);
 
             // Value
             dicom:DataElementValue value;
@@ -165,18 +208,18 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
             if vr == dicom:SQ {
                 // TODO: Add support for explicit length SQ data element parsing
                 // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1524
-                value = check parseSequenceValue(datasetByteChannel, transferSyntax);
+                value = check parseSequenceValueFromReader(reader, transferSyntax, valuePool, bulkDataThreshold,
+                        diagnostics);
+            } else if dicom:isPixelDataTag(tag) && vlBytes == dicom:UNDEFINED_VL_BYTES {
+                // Pixel data with an undefined length is encapsulated
+                // Only the fragment positions are recorded, the fragment values are not read into memory
+                value = check parseEncapsulatedPixelData(reader, byteOrder);
+            } else if bulkDataThreshold is int && vl > bulkDataThreshold && dicom:BULK_DATA_VRs.indexOf(vr) != () {
+                // Binary values above the bulk data threshold are skipped and only their position is recorded
+                value = check parseBulkDataReference(reader, vl);
             } else {
-                // If a PixelData tag, the value length is undefined, therefore read everything that's left in the byte
-                // channel
-                // byte[] valueBytes = dicom:isPixelDataTag(tag) ? check datasetByteChannel.readAll() : 
-                byte[] valueBytes;
-                if dicom:isPixelDataTag(tag) {
-                    valueBytes = check datasetByteChannel.readAll();
-                } else {
-                    valueBytes = vl == 0 ? [] : check datasetByteChannel.read(vl);
-                }
-                value = check parseValue(vr, valueBytes, byteOrder);
+                byte[] valueBytes = vl == 0 ? [] : check reader.read(vl);
+                value = check parseValue(vr, valueBytes, byteOrder, diagnostics, tag);
             }
 
             // Get tag information from the dictionaries
@@ -187,9 +230,11 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
 
             if isPrivateCreator {
                 matchingTagInfo = {...PRIVATE_CREATOR_TAG_INFO};
-                privateCreatorId = check value.ensureType();
+                if value is string {
+                    privateCreators.register(tag, value);
+                }
             } else if isPrivate {
-                matchingTagInfo = dicom:getPrivateTagInfo(tag, privateCreatorId);
+                matchingTagInfo = privateCreators.getTagInfo(tag);
             } else { // Standard or Repeating
                 matchingTagInfo = dicom:getTagInfo(tag);
             }
@@ -199,10 +244,10 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
 
             // Check if there's a VR mismatch between the parsed VR and the VR from dicom dictionaries
             // Use the parsed VR in case of a mismatch as tag dictionaries could be outdated
-            if !dicom:isPrivateCreatorTag(tag) && vr != tagInfo.vr {
-                log:printWarn(string `VR mismatch for tag: ${dicom:tagToStr(tag)}. ` +
-                        string `Using parsed VR instead of the one in the dictionary.`,
-                        parsedVr = vr, dictVr = tagInfo.vr);
+            if !isPrivateCreator && vr != tagInfo.vr {
+                dicom:Vr? dictionaryVr = tagInfo.vr;
+                reportParseIssue(diagnostics, dictionaryVr is dicom:Vr
+                    ? {kind: VR_MISMATCH, tag, vr, dictionaryVr} : {kind: UNKNOWN_TAG, tag, vr});
                 tagInfo.vr = vr;
             }
 
@@ -214,6 +259,11 @@ public isolated function parseDataset(byte[]|io:ReadableByteChannel 'source, dic
                 value: value
             };
 
+            // Share identical data elements across parsed datasets
+            if valuePool is ValuePool {
+                de = valuePool.internDataElement(de);
+            }
+
             // Add data element to dataset
             dataset.put(de);
         }
@@ -279,11 +329,11 @@ public isolated function parseVl(byte[] vlBytes, dicom:ByteOrder byteOrder) retu
 # + vr - The Value Representation (VR) of the data element
 # + valueBytes - The byte array containing the encoded data element value
 # + byteOrder - The byte order used in the byte array
+# + diagnostics - An optional collector of the issues found while parsing. If not given, issues are logged.
+# + tag - The tag of the data element, if known, used to report issues
 # + return - A `dicom:DataElementValue` if the parsing is successful, or a `dicom:ParsingError` if the parsing fails
-public isolated function parseValue(dicom:Vr vr, byte[] valueBytes,
-        dicom:ByteOrder byteOrder) returns dicom:DataElementValue|dicom:ParsingError {
-    // TODO: Add proper parsing support for multi-valued data elements
-    // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1544
+public isolated function parseValue(dicom:Vr vr, byte[] valueBytes, dicom:ByteOrder byteOrder,
+        ParseDiagnostics? diagnostics = (), dicom:Tag? tag = ()) returns dicom:DataElementValue|dicom:ParsingError {
     do {
         // Value parsing logic is based off of Table 6.2-1 in Part 5
         dicom:DataElementValue value = ();
@@ -292,28 +342,35 @@ public isolated function parseValue(dicom:Vr vr, byte[] valueBytes,
             return value;
         }
 
-        // If the VR value has a fixed length, and that value length is not respected, log a warning
+        // Values of binary numeric VRs are decoded in a single pass. Values holding more than one value of the
+        // fixed length of the VR are multi-valued, and are kept as packed arrays.
+        // Based off of Section 6.4 in Part 5
+        boolean isFloatVr = dicom:isFloatVr(vr);
+        if (isFloatVr || dicom:isIntVr(vr)) && valueBytes.length() % dicom:FIXED_LENGTH_VALUE_BYTES.get(vr) == 0 {
+            if vr == dicom:AT && valueBytes.length() == dicom:FIXED_LENGTH_VALUE_BYTES.get(vr) {
+                // AT is an ordered pair of 16-bit unsigned integers that is the value of a data element tag
+                return check parseTag(valueBytes, byteOrder);
+            }
+            if isFloatVr {
+                float[] values = check dicom:bytesToFloatArray(valueBytes, vr, byteOrder);
+                return values.length() == 1 ? values[0] : values;
+            }
+            int[] values = check dicom:bytesToIntArray(valueBytes, vr, byteOrder);
+            return values.length() == 1 ? values[0] : values;
+        }
+
+        // If the VR value has a fixed length, and that value length is not respected, report an issue
         // In this case, use raw value bytes without parsing
-        // NOTE: This VL discrepancy maybe due to data element having multiple values, therefore, should
-        // be revisited when multi-valued data element parsing support is added
         if dicom:FIXED_LENGTH_VALUE_BYTES.hasKey(vr) &&
                     (dicom:FIXED_LENGTH_VALUE_BYTES.get(vr) != valueBytes.length()) {
-            log:printWarn(string `Mismatch in value length for VR ${vr}:` +
-            string ` expected: ${dicom:FIXED_LENGTH_VALUE_BYTES.get(vr)}, found: ${valueBytes.length()}. ` +
-            string `Using raw bytes as value, parsed value may not be accurate.`, value = valueBytes);
+            reportParseIssue(diagnostics, {kind: VALUE_LENGTH_MISMATCH, tag, vr,
+                expectedLength: dicom:FIXED_LENGTH_VALUE_BYTES.get(vr), length: valueBytes.length()});
             value = valueBytes;
             return value;
         }
 
-        if vr == dicom:AT {
-            // AT is an ordered pair of 16-bit unsigned integers that is the value of a data element tag
-            value = check parseTag(valueBytes, byteOrder);
-        } else if dicom:isBytesVr(vr) {
+        if dicom:isBytesVr(vr) {
             value = valueBytes;
-        } else if dicom:isFloatVr(vr) {
-            value = check dicom:bytesToFloat(valueBytes, byteOrder);
-        } else if dicom:isIntVr(vr) {
-            value = check dicom:bytesToInt(valueBytes, byteOrder);
         } else if dicom:isStringVr(vr) {
             value = check string:fromBytes(valueBytes);
         }
@@ -334,9 +391,33 @@ public isolated function parseValue(dicom:Vr vr, byte[] valueBytes,
 #
 # + 'source - The source of the sequence value to be parsed
 # + transferSyntax - The transfer syntax of the sequence data
+# + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary of
+# the issues is logged instead.
 # + return - A `dicom:SequenceValue` if the parsing is successful, or a `dicom:ParsingError` if the parsing fails
 public isolated function parseSequenceValue(byte[]|io:ReadableByteChannel 'source,
-        dicom:TransferSyntax transferSyntax) returns dicom:SequenceValue|dicom:ParsingError {
+        dicom:TransferSyntax transferSyntax, ParseDiagnostics? diagnostics = ())
+        returns dicom:SequenceValue|dicom:ParsingError {
+    ParseDiagnostics collector = diagnostics ?: new;
+    dicom:SequenceValue sequence = check parseSequenceValueFromReader(new ('source), transferSyntax,
+            diagnostics = collector);
+    if diagnostics == () {
+        logParseDiagnostics(collector, "sequence value");
+    }
+    return sequence;
+}
+
+# Parses a DICOM sequence value from a source reader.
+#
+# + reader - The reader of the sequence value source
+# + transferSyntax - The transfer syntax of the sequence data
+# + valuePool - An optional value pool used to share identical values across parsed datasets
+# + bulkDataThreshold - An optional value length, in bytes, above which binary values are referenced
+# instead of being loaded into memory
+# + diagnostics - An optional collector of the issues found while parsing
+# + return - A `dicom:SequenceValue` if the parsing is successful, or a `dicom:ParsingError` if the parsing fails
+isolated function parseSequenceValueFromReader(SourceReader reader, dicom:TransferSyntax transferSyntax,
+        ValuePool? valuePool = (), int? bulkDataThreshold = (), ParseDiagnostics? diagnostics = ())
+        returns dicom:SequenceValue|dicom:ParsingError {
     // TODO: Add support for explicit length item parsing.
     // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1543
     do {
@@ -344,14 +425,6 @@ public isolated function parseSequenceValue(byte[]|io:ReadableByteChannel 'sourc
             fail error(string `Unsupported transfer syntax: ${transferSyntax}`);
         }
 
-        io:ReadableByteChannel sequenceByteChannel;
-
-        if 'source is byte[] {
-            sequenceByteChannel = check io:createReadableChannel('source);
-        } else { // io:ReadableByteChannel
-            sequenceByteChannel = 'source;
-        }
-
         // Sequence parsing logic is based off of Section 7.5 in Part 5
         // Sequence data element value (items) dataset
         dicom:SequenceValue sequence = table [];
@@ -359,14 +432,14 @@ public isolated function parseSequenceValue(byte[]|io:ReadableByteChannel 'sourc
 
         while true {
             // Item tag
-            byte[]|io:Error itemTagBytes = sequenceByteChannel.read(4);
+            byte[]|io:Error itemTagBytes = reader.read(4);
             if itemTagBytes is io:Error {
                 fail error dicom:ParsingError("Failed to read item tag", itemTagBytes);
             }
             dicom:Tag itemTag = check parseTag(itemTagBytes, byteOrder);
 
             // Item length
-            byte[]|io:Error itemLengthBytes = sequenceByteChannel.read(4);
+            byte[]|io:Error itemLengthBytes = reader.read(4);
             if itemLengthBytes is io:Error {
                 fail error dicom:ParsingError("Failed to read item length", itemLengthBytes);
             }
@@ -383,7 +456,8 @@ public isolated function parseSequenceValue(byte[]|io:ReadableByteChannel 'sourc
             }
 
             // Read item value Dataset
-            dicom:Dataset itemValueDataset = check parseDataset(sequenceByteChannel, transferSyntax);
+            dicom:Dataset itemValueDataset = check parseDatasetFromReader(reader, transferSyntax,
+                    valuePool = valuePool, bulkDataThreshold = bulkDataThreshold, diagnostics = diagnostics);
 
             dicom:SequenceItem sequenceItem = {tag: itemTag, length: itemLength, valueDataset: itemValueDataset};
             sequence.put(sequenceItem);
@@ -392,3 +466,80 @@ public isolated function parseSequenceValue(byte[]|io:ReadableByteChannel 'sourc
         return error dicom:ParsingError("Sequence value parsing failed", e);
     }
 }
+
+# Parses an encapsulated pixel data element value.
+# The first item holds the Basic Offset Table, which is decoded. The remaining items are pixel data fragments,
+# which are recorded as offset and length descriptors and skipped without being read into memory.
+# Based off of Section A.4 in Part 5.
+#
+# + reader - The reader positioned at the first item of the encapsulated pixel data
+# + byteOrder - The byte order of the encoded pixel data items
+# + return - A `dicom:EncapsulatedPixelData` if the parsing is successful, or a `dicom:ParsingError` if the parsing fails
+isolated function parseEncapsulatedPixelData(SourceReader reader,
+        dicom:ByteOrder byteOrder) returns dicom:EncapsulatedPixelData|dicom:ParsingError {
+    do {
+        int[] basicOffsetTable = [];
+        dicom:PixelDataFragment[] fragments = [];
+        boolean isBasicOffsetTableItem = true;
+
+        while true {
+            // Item tag + item length
+            byte[] itemHeaderBytes = check reader.read(8);
+            if itemHeaderBytes.length() < 8 {
+                fail error dicom:ParsingError("Unexpected end of source while reading pixel data items");
+            }
+            dicom:Tag itemTag = check parseTag(itemHeaderBytes.slice(0, 4), byteOrder);
+
+            // Check if a sequence delimitation item, which marks the end of the pixel data
+            if itemTag == dicom:SEQUENCE_DELIMITER_TAG {
+                return {basicOffsetTable, fragments};
+            } else if itemTag != dicom:ITEM_TAG {
+                fail error dicom:ParsingError(string `Invalid pixel data item tag: ${dicom:tagToStr(itemTag)}`);
+            }
+
+            // Item lengths are unsigned 32-bit integers
+            int itemLength = check parseVl(itemHeaderBytes.slice(4), byteOrder) & 0xFFFFFFFF;
+
+            if isBasicOffsetTableItem {
+                // The Basic Offset Table may be empty, in which case the item length is zero
+                byte[] tableBytes = check reader.read(itemLength);
+                if tableBytes.length() != itemLength {
+                    fail error dicom:ParsingError("Unexpected end of source while reading the Basic Offset Table");
+                }
+                int offsetIndex = 0;
+                while offsetIndex + 4 <= tableBytes.length() {
+                    int offset = check dicom:bytesToInt(tableBytes.slice(offsetIndex, offsetIndex + 4), byteOrder);
+                    basicOffsetTable.push(offset & 0xFFFFFFFF);
+                    offsetIndex += 4;
+                }
+                isBasicOffsetTableItem = false;
+            } else {
+                fragments.push({offset: reader.getPosition(), length: itemLength});
+                check reader.skip(itemLength);
+            }
+        }
+    } on fail error e {
+        return error dicom:ParsingError("Encapsulated pixel data parsing failed", e);
+    }
+}
+
+# Parses a bulk data reference to a data element value.
+# The value is skipped without being read into memory, and is described by its position within the source.
+#
+# + reader - The reader positioned at the first byte of the value
+# + vl - The value length
+# + return - A `dicom:BulkDataReference` if the parsing is successful, or a `dicom:ParsingError` if the parsing fails
+isolated function parseBulkDataReference(SourceReader reader,
+        int vl) returns dicom:BulkDataReference|dicom:ParsingError {
+    do {
+        dicom:BulkDataReference reference = {offset: reader.getPosition(), length: vl};
+        string? sourcePath = reader.getSourcePath();
+        if sourcePath is string {
+            reference.path = sourcePath;
+        }
+        check reader.skip(vl);
+        return reference;
+    } on fail error e {
+        return error dicom:ParsingError("Bulk data reference parsing failed", e);
+    }
+}
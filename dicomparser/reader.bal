@@ -0,0 +1,142 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+
+# Sequentially reads a DICOM source while keeping track of the current byte position within the source.
+class SourceReader {
+    private final byte[]|io:ReadableByteChannel 'source;
+    private final int startPosition;
+    private final string? sourcePath;
+    private int position;
+
+    # Initializes the reader.
+    #
+    # + 'source - The source to be read
+    # + position - The position of the first unread byte of the source, e.g. the number of bytes
+    # already consumed from a file channel
+    # + sourcePath - The path of the source file, if the source is read from a file
+    isolated function init(byte[]|io:ReadableByteChannel 'source, int position = 0, string? sourcePath = ()) {
+        self.'source = 'source;
+        self.startPosition = position;
+        self.sourcePath = sourcePath;
+        self.position = position;
+    }
+
+    # Reads up to the given number of bytes from the source.
+    # Fewer bytes are returned only if the end of the source is reached.
+    #
+    # + length - The number of bytes to be read
+    # + return - The bytes read, or an `io:Error` if reading fails
+    isolated function read(int length) returns byte[]|io:Error {
+        byte[]|io:ReadableByteChannel 'source = self.'source;
+        byte[] bytesRead;
+        if length <= 0 {
+            bytesRead = [];
+        } else if 'source is byte[] {
+            int index = int:min(self.position - self.startPosition, 'source.length());
+            bytesRead = 'source.slice(index, int:min(index + length, 'source.length()));
+        } else {
+            bytesRead = check readFromChannel('source, length);
+        }
+        self.position += bytesRead.length();
+        return bytesRead;
+    }
+
+    # Reads all the remaining bytes from the source.
+    #
+    # + return - The bytes read, or an `io:Error` if reading fails
+    isolated function readAll() returns byte[]|io:Error {
+        byte[]|io:ReadableByteChannel 'source = self.'source;
+        byte[] bytesRead;
+        if 'source is byte[] {
+            bytesRead = 'source.slice(int:min(self.position - self.startPosition, 'source.length()));
+        } else {
+            byte[]|io:Error channelBytes = 'source.readAll();
+            if channelBytes is io:EofError {
+                bytesRead = [];
+            } else {
+                bytesRead = check channelBytes;
+            }
+        }
+        self.position += bytesRead.length();
+        return bytesRead;
+    }
+
+    # Skips the given number of bytes without retaining them.
+    #
+    # + length - The number of bytes to be skipped
+    # + return - An `io:Error` if the end of the source is reached before skipping all bytes
+    isolated function skip(int length) returns io:Error? {
+        byte[]|io:ReadableByteChannel 'source = self.'source;
+        if 'source is byte[] {
+            // Byte array sources can simply be skipped by moving the position
+            if self.position - self.startPosition + length > 'source.length() {
+                return error io:EofError(string `Cannot skip ${length} bytes at position ${self.position}`);
+            }
+            self.position += length;
+            return;
+        }
+
+        // Channel sources are read in bounded chunks, which are discarded
+        int remaining = length;
+        while remaining > 0 {
+            byte[] bytesRead = check readFromChannel('source, int:min(remaining, SKIP_CHUNK_SIZE));
+            if bytesRead.length() == 0 {
+                return error io:EofError(string `Cannot skip ${length} bytes at position ${self.position}`);
+            }
+            remaining -= bytesRead.length();
+            self.position += bytesRead.length();
+        }
+    }
+
+    # Retrieves the position of the next byte to be read.
+    #
+    # + return - The current position within the source
+    isolated function getPosition() returns int => self.position;
+
+    # Retrieves the path of the source file.
+    #
+    # + return - The source file path, or `()` if the source is not read from a file
+    isolated function getSourcePath() returns string? => self.sourcePath;
+}
+
+# Reads up to the given number of bytes from a byte channel.
+# A single channel read may return fewer bytes than requested, therefore, the channel is read
+# until the requested number of bytes is available or the end of the channel is reached.
+#
+# + channel - The byte channel to be read
+# + length - The number of bytes to be read
+# + return - The bytes read, or an `io:Error` if reading fails
+isolated function readFromChannel(io:ReadableByteChannel channel, int length) returns byte[]|io:Error {
+    byte[] bytesRead = [];
+    while bytesRead.length() < length {
+        byte[]|io:Error chunk = channel.read(length - bytesRead.length());
+        if chunk is io:EofError {
+            break;
+        }
+        byte[] chunkBytes = check chunk;
+        if chunkBytes.length() == 0 {
+            break;
+        }
+        if bytesRead.length() == 0 {
+            bytesRead = chunkBytes;
+        } else {
+            bytesRead.push(...chunkBytes);
+        }
+    }
+    return bytesRead;
+}
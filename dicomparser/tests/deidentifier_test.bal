@@ -0,0 +1,171 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+import ballerinax/health.dicom as dicom;
+
+final byte[] & readonly IDENTIFIABLE_DATASET = [
+    // Modality (0008,0060), CS, "MR"
+    0x08, 0x00, 0x60, 0x00, 0x43, 0x53, 0x02, 0x00, 0x4D, 0x52,
+    // Private creator (0009,0010), LO, "ACME"
+    0x09, 0x00, 0x10, 0x00, 0x4C, 0x4F, 0x04, 0x00, 0x41, 0x43, 0x4D, 0x45,
+    // Private data element (0009,1001), LO, "AB"
+    0x09, 0x00, 0x01, 0x10, 0x4C, 0x4F, 0x02, 0x00, 0x41, 0x42,
+    // Patient's Name (0010,0010), PN, "DOE^JOHN"
+    0x10, 0x00, 0x10, 0x00, 0x50, 0x4E, 0x08, 0x00, 0x44, 0x4F, 0x45, 0x5E, 0x4A, 0x4F, 0x48, 0x4E,
+    // Patient ID (0010,0020), LO, "ID42"
+    0x10, 0x00, 0x20, 0x00, 0x4C, 0x4F, 0x04, 0x00, 0x49, 0x44, 0x34, 0x32,
+    // Other Patient IDs (0010,1000), LO, "X1"
+    0x10, 0x00, 0x00, 0x10, 0x4C, 0x4F, 0x02, 0x00, 0x58, 0x31,
+    // Study Instance UID (0020,000D), UI, "1.2.3"
+    0x20, 0x00, 0x0D, 0x00, 0x55, 0x49, 0x06, 0x00, 0x31, 0x2E, 0x32, 0x2E, 0x33, 0x00
+];
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyDatasetTest() returns error? {
+    Deidentifier deidentifier = check new ({
+        rules: {
+            "PatientName": {action: REPLACE, replacement: "ANON"},
+            "00100020": {action: EMPTY},
+            "OtherPatientIDs": {action: REMOVE}
+        }
+    });
+    byte[] expectedDataset = [
+        0x08, 0x00, 0x60, 0x00, 0x43, 0x53, 0x02, 0x00, 0x4D, 0x52,
+        // Private data elements are removed by default
+        0x10, 0x00, 0x10, 0x00, 0x50, 0x4E, 0x04, 0x00, 0x41, 0x4E, 0x4F, 0x4E,
+        0x10, 0x00, 0x20, 0x00, 0x4C, 0x4F, 0x00, 0x00,
+        0x20, 0x00, 0x0D, 0x00, 0x55, 0x49, 0x06, 0x00, 0x31, 0x2E, 0x32, 0x2E, 0x33, 0x00
+    ];
+    test:assertEquals(check deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier), expectedDataset);
+}
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyPrivateBlockTest() returns error? {
+    Deidentifier deidentifier = check new ({privateCreatorRules: {"ACME": {action: KEEP}}});
+    dicom:Dataset dataset = check parseDataset(check deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier),
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertTrue(dataset.hasKey({group: 0x0009, element: 0x1001}));
+
+    deidentifier = check new ({privateCreatorRules: {"OTHER": {action: KEEP}}});
+    dataset = check parseDataset(check deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier),
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertFalse(dataset.hasKey({group: 0x0009, element: 0x0010}));
+    test:assertFalse(dataset.hasKey({group: 0x0009, element: 0x1001}));
+}
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyHashTest() returns error? {
+    map<DeidentificationRule> rules = {"PatientID": {action: HASH}, "Modality": {action: HASH}};
+    Deidentifier deidentifier = check new ({rules});
+    dicom:Dataset dataset = check parseDataset(check deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier),
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    string hashedId = check dicom:getString(dataset, dicom:TAG_PATIENT_ID);
+    test:assertEquals(hashedId.length(), 64);
+    // Hashes are truncated to the maximum value length of the VR
+    test:assertEquals((check dicom:getString(dataset, dicom:TAG_MODALITY)).length(), 16);
+
+    // Hashes are deterministic, and depend on the hash key
+    dataset = check parseDataset(check deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier),
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertEquals(check dicom:getString(dataset, dicom:TAG_PATIENT_ID), hashedId);
+    Deidentifier keyedDeidentifier = check new ({rules, hashKey: "secret"});
+    dataset = check parseDataset(check deidentifyBytes(IDENTIFIABLE_DATASET, keyedDeidentifier),
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertNotEquals(check dicom:getString(dataset, dicom:TAG_PATIENT_ID), hashedId);
+}
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyInvalidRuleTest() returns error? {
+    Deidentifier|dicom:DeidentificationError invalidKeyDeidentifier = new ({rules: {"NotAKeyword": {action: REMOVE}}});
+    test:assertTrue(invalidKeyDeidentifier is dicom:DeidentificationError);
+
+    // UIDs cannot be hashed, as hashes are not valid UIDs
+    Deidentifier deidentifier = check new ({rules: {"StudyInstanceUID": {action: HASH}}});
+    byte[]|error result = deidentifyBytes(IDENTIFIABLE_DATASET, deidentifier);
+    test:assertTrue(result is dicom:DeidentificationError);
+}
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyFileTest() returns error? {
+    string sourcePath = "./tests/resources/sample_patient_info.dcm";
+    string directory = check file:createTempDir();
+    string firstPath = check file:joinPath(directory, "first.dcm");
+    string secondPath = check file:joinPath(directory, "second.dcm");
+
+    // Files de-identified concurrently with the same de-identifier have the same remapped UIDs
+    Deidentifier deidentifier = check new;
+    future<dicom:DeidentificationError?> first = start deidentifyFile(sourcePath, firstPath, deidentifier);
+    future<dicom:DeidentificationError?> second = start deidentifyFile(sourcePath, secondPath, deidentifier);
+    check wait first;
+    check wait second;
+
+    dicom:Dataset dataset = (check parseFile(firstPath, dicom:EXPLICIT_VR_LITTLE_ENDIAN)).dataset;
+    test:assertEquals(dicom:getDataElement(dataset, dicom:TAG_PATIENT_NAME)?.value, ());
+    test:assertEquals(dicom:getDataElement(dataset, dicom:TAG_PATIENT_ID)?.value, ());
+    string studyInstanceUid = check dicom:getString(dataset, dicom:TAG_STUDY_INSTANCE_UID);
+    test:assertTrue(studyInstanceUid.startsWith("2.25."));
+    // The SOP instance UID of the file meta information and the dataset are remapped to the same UID
+    test:assertEquals(check dicom:getString(dataset, dicom:TAG_MEDIA_STORAGE_SOP_INSTANCE_UID),
+            check dicom:getString(dataset, dicom:TAG_SOP_INSTANCE_UID));
+
+    dicom:Dataset secondDataset = (check parseFile(secondPath, dicom:EXPLICIT_VR_LITTLE_ENDIAN)).dataset;
+    test:assertEquals(check dicom:getString(secondDataset, dicom:TAG_STUDY_INSTANCE_UID), studyInstanceUid);
+}
+
+@test:Config {groups: ["deidentifier"]}
+function deidentifyEncapsulatedFileTest() returns error? {
+    string sourcePath = "./tests/resources/sample_1.DCM";
+    string deidentifiedPath = check file:joinPath(check file:createTempDir(), "deidentified.dcm");
+    check deidentifyFile(sourcePath, deidentifiedPath, check new);
+
+    dicom:Dataset dataset = (check parseFile(deidentifiedPath, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            ignorePixelData = true)).dataset;
+    test:assertTrue((check dicom:getString(dataset, dicom:TAG_SOP_INSTANCE_UID)).startsWith("2.25."));
+    test:assertFalse(dataset.hasKey({group: 0x0009, element: 0x0010}));
+    test:assertFalse(dataset.hasKey({group: 0x0029, element: 0x1000}));
+
+    // The encapsulated pixel data is the last data element, and is written as it is
+    byte[] sourceBytes = check io:fileReadBytes(sourcePath);
+    byte[] deidentifiedBytes = check io:fileReadBytes(deidentifiedPath);
+    int pixelDataLength = sourceBytes.length() - check findPixelDataPosition(sourceBytes);
+    test:assertEquals(deidentifiedBytes.slice(deidentifiedBytes.length() - pixelDataLength),
+            sourceBytes.slice(sourceBytes.length() - pixelDataLength));
+}
+
+function deidentifyBytes(byte[] 'source, Deidentifier deidentifier) returns byte[]|error {
+    string filePath = check file:joinPath(check file:createTempDir(), "deidentified");
+    io:WritableByteChannel destination = check io:openWritableFile(filePath);
+    dicom:DeidentificationError? result = deidentify('source, dicom:EXPLICIT_VR_LITTLE_ENDIAN, destination,
+            deidentifier);
+    check destination.close();
+    check result;
+    return io:fileReadBytes(filePath);
+}
+
+function findPixelDataPosition(byte[] fileBytes) returns int|error {
+    // Pixel Data (7FE0,0010), OB, undefined length
+    byte[] header = [0xE0, 0x7F, 0x10, 0x00, 0x4F, 0x42, 0x00, 0x00, 0xFF, 0xFF, 0xFF, 0xFF];
+    foreach int i in 0 ... fileBytes.length() - header.length() {
+        if fileBytes.slice(i, i + header.length()) == header {
+            return i;
+        }
+    }
+    return error("Encapsulated pixel data not found");
+}
@@ -0,0 +1,90 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+import ballerinax/health.dicom as dicom;
+
+// An Explicit VR Little Endian dataset with a Patient Name encoded as LO, and Rows and Columns with 3 byte values
+final byte[] & readonly MALFORMED_DATASET = [
+    0x10, 0x00, 0x10, 0x00, 0x4C, 0x4F, 0x04, 0x00, 0x44, 0x4F, 0x45, 0x20,
+    0x28, 0x00, 0x10, 0x00, 0x55, 0x53, 0x03, 0x00, 0x01, 0x02, 0x03,
+    0x28, 0x00, 0x11, 0x00, 0x55, 0x53, 0x03, 0x00, 0x01, 0x02, 0x03
+];
+
+@test:Config {groups: ["diagnostics"]}
+function parseDatasetDiagnosticsTest() returns error? {
+    ParseDiagnostics diagnostics = new (sampleLimit = 2);
+    dicom:Dataset dataset = check parseDataset(MALFORMED_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            diagnostics = diagnostics);
+    // Values with an invalid length are kept as raw bytes
+    test:assertEquals(dataset.get({group: 0x0028, element: 0x0010}).value, [1, 2, 3]);
+    test:assertEquals(dataset.get({group: 0x0010, element: 0x0010}).vr, dicom:LO);
+
+    test:assertEquals(diagnostics.length(), 3);
+    test:assertEquals(diagnostics.getCounts(), [
+        {kind: VR_MISMATCH, tag: {group: 0x0010, element: 0x0010}, count: 1},
+        {kind: VALUE_LENGTH_MISMATCH, tag: {group: 0x0028, element: 0x0010}, count: 1},
+        {kind: VALUE_LENGTH_MISMATCH, tag: {group: 0x0028, element: 0x0011}, count: 1}
+    ]);
+    test:assertEquals(diagnostics.getSamples(), [
+        {kind: VR_MISMATCH, tag: {group: 0x0010, element: 0x0010}, vr: dicom:LO, dictionaryVr: dicom:PN},
+        {
+            kind: VALUE_LENGTH_MISMATCH,
+            tag: {group: 0x0028, element: 0x0010},
+            vr: dicom:US,
+            expectedLength: 2,
+            length: 3
+        }
+    ]);
+
+    // Issues of the same tag and kind are counted together
+    _ = check parseDataset(MALFORMED_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN, diagnostics = diagnostics);
+    test:assertEquals(diagnostics.length(), 6);
+    test:assertEquals(diagnostics.getCounts()[0].count, 2);
+    test:assertEquals(diagnostics.getSamples().length(), 2);
+}
+
+@test:Config {groups: ["diagnostics"]}
+function visitDatasetDiagnosticsTest() returns error? {
+    ParseDiagnostics diagnostics = new;
+    RecordingVisitor visitor = new;
+    check visitDataset(MALFORMED_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN, visitor, diagnostics);
+    test:assertEquals(diagnostics.getCounts(), [
+        {kind: VALUE_LENGTH_MISMATCH, tag: {group: 0x0028, element: 0x0010}, count: 1},
+        {kind: VALUE_LENGTH_MISMATCH, tag: {group: 0x0028, element: 0x0011}, count: 1}
+    ]);
+}
+
+@test:Config {groups: ["diagnostics"]}
+function parseValueDiagnosticsTest() returns error? {
+    ParseDiagnostics diagnostics = new;
+    test:assertEquals(check parseValue(dicom:FL, [1, 2, 3], dicom:LITTLE_ENDIAN, diagnostics), [1, 2, 3]);
+    test:assertEquals(diagnostics.getSamples(),
+            [{kind: VALUE_LENGTH_MISMATCH, tag: (), vr: dicom:FL, expectedLength: 4, length: 3}]);
+    // Without a collector, the issue is logged
+    test:assertEquals(check parseValue(dicom:FL, [1, 2, 3], dicom:LITTLE_ENDIAN), [1, 2, 3]);
+}
+
+@test:Config {groups: ["diagnostics"]}
+function issueKeyTest() {
+    dicom:Tag tag = {group: 0xFFFE, element: 0xE00D};
+    int issueKey = getIssueKey(VALUE_LENGTH_MISMATCH, tag);
+    test:assertEquals(getIssueKeyTag(issueKey), tag);
+    test:assertNotEquals(issueKey, getIssueKey(VR_MISMATCH, tag));
+    test:assertNotEquals(getIssueKey(VR_MISMATCH, ()), getIssueKey(VR_MISMATCH, {group: 0x0000, element: 0x0000}));
+    test:assertEquals(getIssueKeyTag(getIssueKey(UNKNOWN_TAG, ())), ());
+}
@@ -153,7 +153,15 @@ function parseFileWithPixelDataTest() {
         // Pixel Data Tag is (7FE0, 0010) -> (32736, 16) in decimal
         dicom:DataElement? pixelDataElement = dicom:getDataElement(parsedFile.dataset, dicom:TAG_PIXEL_DATA);
         if pixelDataElement is dicom:DataElement {
-            test:assertTrue(pixelDataElement.value is byte[]);
+            // sample_1.DCM has JPEG compressed, encapsulated pixel data with 96 frames
+            dicom:DataElementValue pixelData = pixelDataElement.value;
+            if pixelData is dicom:EncapsulatedPixelData {
+                test:assertEquals(pixelData.basicOffsetTable.length(), 96);
+                test:assertEquals(pixelData.fragments.length(), 96);
+                test:assertEquals(pixelData.fragments[0], {offset: 11126, length: 17912});
+            } else {
+                test:assertFail("Pixel Data element value is not encapsulated.");
+            }
         } else {
             test:assertFail("Pixel Data element not found.");
         }
@@ -162,6 +170,149 @@ function parseFileWithPixelDataTest() {
     }
 }
 
+@test:Config {groups: ["parsers"]}
+function parseEncapsulatedPixelDataTest() {
+    byte[] encodedDataset = [
+        // Pixel Data (7FE0,0010), OB, undefined length
+        0xE0, 0x7F, 0x10, 0x00, 0x4F, 0x42, 0x00, 0x00, 0xFF, 0xFF, 0xFF, 0xFF,
+        // Basic Offset Table item with two offsets
+        0xFE, 0xFF, 0x00, 0xE0, 0x08, 0x00, 0x00, 0x00,
+        0x00, 0x00, 0x00, 0x00, 0x0C, 0x00, 0x00, 0x00,
+        // First fragment item with a 4 byte value
+        0xFE, 0xFF, 0x00, 0xE0, 0x04, 0x00, 0x00, 0x00, 0x01, 0x02, 0x03, 0x04,
+        // Second fragment item with a 2 byte value
+        0xFE, 0xFF, 0x00, 0xE0, 0x02, 0x00, 0x00, 0x00, 0x05, 0x06,
+        // Sequence delimitation item
+        0xFE, 0xFF, 0xDD, 0xE0, 0x00, 0x00, 0x00, 0x00
+    ];
+    dicom:Dataset|dicom:ParsingError dataset = parseDataset(encodedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    if dataset is dicom:ParsingError {
+        test:assertFail("Parsing failed for encapsulated pixel data: " + dataset.message());
+    }
+
+    dicom:EncapsulatedPixelData|dicom:Error pixelData = dicom:getEncapsulatedPixelData(dataset);
+    if pixelData is dicom:Error {
+        test:assertFail(pixelData.message());
+    }
+    dicom:EncapsulatedPixelData expectedPixelData = {
+        basicOffsetTable: [0, 12],
+        fragments: [{offset: 36, length: 4}, {offset: 48, length: 2}]
+    };
+    test:assertEquals(pixelData, expectedPixelData);
+
+    dicom:PixelDataFragment[][]|dicom:Error frames = dicom:getFrameFragments(pixelData, 2);
+    test:assertEquals(frames, [[{offset: 36, length: 4}], [{offset: 48, length: 2}]]);
+}
+
+@test:Config {groups: ["parsers"]}
+function parseBulkDataReferenceTest() {
+    byte[] encodedDataset = [
+        // Modality (0008,0060), CS, "MR"
+        0x08, 0x00, 0x60, 0x00, 0x43, 0x53, 0x02, 0x00, 0x4D, 0x52,
+        // Encapsulated Document (0042,0011), OB, 6 byte value
+        0x42, 0x00, 0x11, 0x00, 0x4F, 0x42, 0x00, 0x00, 0x06, 0x00, 0x00, 0x00,
+        0x01, 0x02, 0x03, 0x04, 0x05, 0x06
+    ];
+    dicom:Tag encapsulatedDocumentTag = {group: 0x0042, element: 0x0011};
+
+    // Binary values above the threshold are referenced by their position within the source
+    dicom:Dataset|dicom:ParsingError dataset = parseDataset(encodedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            bulkDataThreshold = 4);
+    if dataset is dicom:ParsingError {
+        test:assertFail("Parsing failed with a bulk data threshold: " + dataset.message());
+    }
+    dicom:BulkDataReference expectedReference = {offset: 22, length: 6};
+    test:assertEquals(dataset.get(encapsulatedDocumentTag).value, expectedReference);
+    test:assertEquals(dataset.get({group: 0x0008, element: 0x0060}).value, "MR");
+
+    // Values within the threshold are loaded
+    dataset = parseDataset(encodedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN, bulkDataThreshold = 6);
+    if dataset is dicom:ParsingError {
+        test:assertFail("Parsing failed with a bulk data threshold: " + dataset.message());
+    }
+    test:assertEquals(dataset.get(encapsulatedDocumentTag).value, <byte[]>[1, 2, 3, 4, 5, 6]);
+}
+
+@test:Config {groups: ["parsers"]}
+function parseFileWithValuePoolTest() {
+    ValuePool valuePool = new;
+    dicom:File|dicom:ParsingError parsedFile1 = parseFile("./tests/resources/sample_1.DCM",
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN, ignorePixelData = true, valuePool = valuePool);
+    dicom:File|dicom:ParsingError parsedFile2 = parseFile("./tests/resources/sample_1.DCM",
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN, ignorePixelData = true, valuePool = valuePool);
+    if parsedFile1 is dicom:ParsingError || parsedFile2 is dicom:ParsingError {
+        test:assertFail("Parsing failed for sample_1.DCM with a value pool");
+    }
+
+    // Identical data elements must share a single instance
+    dicom:DataElement? studyInstanceUid1 = dicom:getDataElement(parsedFile1.dataset, dicom:TAG_STUDY_INSTANCE_UID);
+    dicom:DataElement? studyInstanceUid2 = dicom:getDataElement(parsedFile2.dataset, dicom:TAG_STUDY_INSTANCE_UID);
+    test:assertTrue(studyInstanceUid1 is dicom:DataElement & readonly);
+    test:assertTrue(studyInstanceUid1 === studyInstanceUid2);
+
+    // Parsed values must not be affected by pooling
+    dicom:File|dicom:ParsingError parsedFile3 = parseFile("./tests/resources/sample_1.DCM",
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN, ignorePixelData = true);
+    if parsedFile3 is dicom:ParsingError {
+        test:assertFail("Parsing failed for sample_1.DCM without a value pool");
+    }
+    test:assertEquals(parsedFile1.dataset, parsedFile3.dataset);
+}
+
+@test:Config {groups: ["parsers"]}
+function valuePoolCapacityTest() {
+    ValuePool valuePool = new (2);
+    _ = valuePool.internString("MR");
+    _ = valuePool.internString("CT");
+    // The pool is full, therefore, new values must not be added
+    test:assertEquals(valuePool.internString("US"), "US");
+    test:assertEquals(valuePool.size(), 2);
+    // Pooled values must not be added again
+    _ = valuePool.internString("MR");
+    test:assertEquals(valuePool.size(), 2);
+
+    valuePool.clear();
+    test:assertEquals(valuePool.size(), 0);
+}
+
+@test:Config {groups: ["parsers"]}
+function valuePoolDataElementTest() {
+    ValuePool valuePool = new;
+    dicom:Tag modalityTag = {group: 0x0008, element: 0x0060};
+    dicom:DataElement modality1 = valuePool.internDataElement({tag: modalityTag, vr: dicom:CS, vl: 2, value: "MR"});
+    dicom:DataElement modality2 = valuePool.internDataElement({tag: modalityTag, vr: dicom:CS, vl: 2, value: "MR"});
+    dicom:DataElement modality3 = valuePool.internDataElement({tag: modalityTag, vr: dicom:CS, vl: 2, value: "CT"});
+    test:assertTrue(modality1 === modality2);
+    // Data elements with the same tag, VR and VL, but different values, must be pooled separately
+    test:assertFalse(modality1 === modality3);
+    test:assertEquals(modality3.value, "CT");
+    // The "MR" and "CT" values, and the two data elements
+    test:assertEquals(valuePool.size(), 4);
+
+    valuePool.clear();
+    test:assertEquals(valuePool.size(), 0);
+}
+
+@test:Config {groups: ["parsers"]}
+function valuePoolUniqueUidTest() {
+    ValuePool valuePool = new (4);
+    dicom:Tag sopInstanceUidTag = {group: 0x0008, element: 0x0018};
+    dicom:Tag seriesInstanceUidTag = {group: 0x0020, element: 0x000E};
+    dicom:Tag modalityTag = {group: 0x0008, element: 0x0060};
+    // Instances with their own SOP instance UIDs, in series of their own
+    foreach int i in 0 ..< 100 {
+        dicom:DataElement sopInstanceUid = {tag: sopInstanceUidTag, vr: dicom:UI, value: string `1.2.3.${i}`};
+        test:assertTrue(valuePool.internDataElement(sopInstanceUid) === sopInstanceUid);
+        _ = valuePool.internDataElement({tag: seriesInstanceUidTag, vr: dicom:UI, value: string `1.2.4.${i}`});
+    }
+    // Unique UIDs do not take the capacity of the pool, therefore, shared values are still pooled
+    test:assertEquals(valuePool.size(), 0);
+    dicom:DataElement modality1 = valuePool.internDataElement({tag: modalityTag, vr: dicom:CS, vl: 2, value: "MR"});
+    dicom:DataElement modality2 = valuePool.internDataElement({tag: modalityTag, vr: dicom:CS, vl: 2, value: "MR"});
+    test:assertTrue(modality1 === modality2);
+    test:assertEquals(valuePool.size(), 2);
+}
+
 @test:Config {groups: ["parsers"]}
 function parseFileMetaOnlyTest() {
     dicom:File|dicom:ParsingError parsedFile = parseFile("./tests/resources/sample_1.DCM",
@@ -222,6 +373,19 @@ function parseMultiValueFloatTagTest() {
     }
 }
 
+@test:Config {groups: ["parsers"]}
+function parseMultiValueBinaryNumericValueTest() {
+    // Multi-valued binary numeric values are decoded into packed arrays
+    test:assertEquals(parseValue(dicom:US, [0, 2, 0, 1], dicom:LITTLE_ENDIAN), [512, 256]);
+    test:assertEquals(parseValue(dicom:SS, [0xFF, 0xFF], dicom:LITTLE_ENDIAN), -1);
+    test:assertEquals(parseValue(dicom:FD, [0, 0, 0, 0, 0, 0, 0xF0, 0x3F], dicom:LITTLE_ENDIAN), 1.0);
+    test:assertEquals(parseValue(dicom:FD, [0, 0, 0, 0, 0, 0, 0xF0, 0x3F, 0, 0, 0, 0, 0, 0, 0, 0xC0],
+            dicom:LITTLE_ENDIAN), [1.0, -2.0]);
+    test:assertEquals(parseValue(dicom:AT, [0x28, 0, 0x10, 0], dicom:LITTLE_ENDIAN), {group: 0x0028, element: 0x0010});
+    // Values that are not a multiple of the fixed length of the VR are kept as raw bytes
+    test:assertEquals(parseValue(dicom:US, [0, 2, 0], dicom:LITTLE_ENDIAN), [0, 2, 0]);
+}
+
 @test:Config {groups: ["parsers"]}
 function parseDateAndTimeTagsTest() {
     dicom:File|dicom:ParsingError parsedFile = parseFile("./tests/resources/sample_patient_info.dcm",
@@ -0,0 +1,169 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+import ballerinax/health.dicom as dicom;
+
+final byte[] & readonly EXPLICIT_LITTLE_ENDIAN_DATASET = [
+    // Modality (0008,0060), CS, "MR"
+    0x08, 0x00, 0x60, 0x00, 0x43, 0x53, 0x02, 0x00, 0x4D, 0x52,
+    // Referenced Image Sequence (0008,1140), SQ, defined length
+    0x08, 0x00, 0x40, 0x11, 0x53, 0x51, 0x00, 0x00, 0x14, 0x00, 0x00, 0x00,
+    // Item, defined length
+    0xFE, 0xFF, 0x00, 0xE0, 0x0C, 0x00, 0x00, 0x00,
+    // Referenced SOP Instance UID (0008,1150), UI, "1.2"
+    0x08, 0x00, 0x50, 0x11, 0x55, 0x49, 0x04, 0x00, 0x31, 0x2E, 0x32, 0x00,
+    // Rows (0028,0010), US, 512
+    0x28, 0x00, 0x10, 0x00, 0x55, 0x53, 0x02, 0x00, 0x00, 0x02,
+    // Diffusion b-value (0018,9087), FD, 1.0
+    0x18, 0x00, 0x87, 0x90, 0x46, 0x44, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0xF0, 0x3F
+];
+
+final byte[] & readonly EXPLICIT_BIG_ENDIAN_DATASET = [
+    0x00, 0x08, 0x00, 0x60, 0x43, 0x53, 0x00, 0x02, 0x4D, 0x52,
+    // Sequences and items are written with undefined lengths
+    0x00, 0x08, 0x11, 0x40, 0x53, 0x51, 0x00, 0x00, 0xFF, 0xFF, 0xFF, 0xFF,
+    0xFF, 0xFE, 0xE0, 0x00, 0xFF, 0xFF, 0xFF, 0xFF,
+    0x00, 0x08, 0x11, 0x50, 0x55, 0x49, 0x00, 0x04, 0x31, 0x2E, 0x32, 0x00,
+    // Item delimitation item
+    0xFF, 0xFE, 0xE0, 0x0D, 0x00, 0x00, 0x00, 0x00,
+    // Sequence delimitation item
+    0xFF, 0xFE, 0xE0, 0xDD, 0x00, 0x00, 0x00, 0x00,
+    0x00, 0x28, 0x00, 0x10, 0x55, 0x53, 0x00, 0x02, 0x02, 0x00,
+    0x00, 0x18, 0x90, 0x87, 0x46, 0x44, 0x00, 0x08, 0x3F, 0xF0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+];
+
+final byte[] & readonly IMPLICIT_LITTLE_ENDIAN_DATASET = [
+    0x08, 0x00, 0x60, 0x00, 0x02, 0x00, 0x00, 0x00, 0x4D, 0x52,
+    0x08, 0x00, 0x40, 0x11, 0xFF, 0xFF, 0xFF, 0xFF,
+    0xFE, 0xFF, 0x00, 0xE0, 0xFF, 0xFF, 0xFF, 0xFF,
+    0x08, 0x00, 0x50, 0x11, 0x04, 0x00, 0x00, 0x00, 0x31, 0x2E, 0x32, 0x00,
+    0xFE, 0xFF, 0x0D, 0xE0, 0x00, 0x00, 0x00, 0x00,
+    0xFE, 0xFF, 0xDD, 0xE0, 0x00, 0x00, 0x00, 0x00,
+    0x28, 0x00, 0x10, 0x00, 0x02, 0x00, 0x00, 0x00, 0x00, 0x02,
+    0x18, 0x00, 0x87, 0x90, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0xF0, 0x3F
+];
+
+@test:Config {groups: ["transcoder"]}
+function transcodeByteOrderTest() returns error? {
+    test:assertEquals(check transcodeBytes(EXPLICIT_LITTLE_ENDIAN_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            dicom:EXPLICIT_VR_BIG_ENDIAN), EXPLICIT_BIG_ENDIAN_DATASET);
+    test:assertEquals(check transcodeBytes(EXPLICIT_BIG_ENDIAN_DATASET, dicom:EXPLICIT_VR_BIG_ENDIAN,
+            dicom:IMPLICIT_VR_LITTLE_ENDIAN), IMPLICIT_LITTLE_ENDIAN_DATASET);
+}
+
+@test:Config {groups: ["transcoder"]}
+function transcodeVrEncodingTest() returns error? {
+    test:assertEquals(check transcodeBytes(EXPLICIT_LITTLE_ENDIAN_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            dicom:IMPLICIT_VR_LITTLE_ENDIAN), IMPLICIT_LITTLE_ENDIAN_DATASET);
+
+    // VRs are inserted from the dictionaries
+    byte[] transcodedDataset = check transcodeBytes(IMPLICIT_LITTLE_ENDIAN_DATASET, dicom:IMPLICIT_VR_LITTLE_ENDIAN,
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    dicom:Dataset dataset = check parseDataset(transcodedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertEquals(check dicom:getString(dataset, dicom:TAG_MODALITY), "MR");
+    test:assertEquals(check dicom:getInt(dataset, dicom:TAG_ROWS), 512);
+    test:assertEquals(check dicom:getFloat(dataset, dicom:TAG_DIFFUSION_B_VALUE), 1.0);
+    dicom:SequenceValue sequence = check dicom:getSequence(dataset, dicom:TAG_REFERENCED_IMAGE_SEQUENCE);
+    test:assertEquals(sequence.length(), 1);
+}
+
+@test:Config {groups: ["transcoder"]}
+function transcodeImplicitVrTest() returns error? {
+    byte[] implicitDataset = [
+        // Group length (0008,0000), which is dropped
+        0x08, 0x00, 0x00, 0x00, 0x04, 0x00, 0x00, 0x00, 0x0A, 0x00, 0x00, 0x00,
+        // Modality (0008,0060)
+        0x08, 0x00, 0x60, 0x00, 0x02, 0x00, 0x00, 0x00, 0x4D, 0x52,
+        // Private creator (0009,0010), "ACME"
+        0x09, 0x00, 0x10, 0x00, 0x04, 0x00, 0x00, 0x00, 0x41, 0x43, 0x4D, 0x45,
+        // Unknown private data element (0009,1001)
+        0x09, 0x00, 0x01, 0x10, 0x02, 0x00, 0x00, 0x00, 0x01, 0x02
+    ];
+    byte[] expectedDataset = [
+        0x08, 0x00, 0x60, 0x00, 0x43, 0x53, 0x02, 0x00, 0x4D, 0x52,
+        0x09, 0x00, 0x10, 0x00, 0x4C, 0x4F, 0x04, 0x00, 0x41, 0x43, 0x4D, 0x45,
+        // Data elements not found in the dictionaries are written as UN
+        0x09, 0x00, 0x01, 0x10, 0x55, 0x4E, 0x00, 0x00, 0x02, 0x00, 0x00, 0x00, 0x01, 0x02
+    ];
+    test:assertEquals(check transcodeBytes(implicitDataset, dicom:IMPLICIT_VR_LITTLE_ENDIAN,
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN), expectedDataset);
+}
+
+@test:Config {groups: ["transcoder"]}
+function transcodePrivateBlocksTest() returns error? {
+    byte[] implicitDataset = [
+        // Private creator (0019,0010), "CARDIO-D.R. 1.0 "
+        0x19, 0x00, 0x10, 0x00, 0x10, 0x00, 0x00, 0x00,
+        0x43, 0x41, 0x52, 0x44, 0x49, 0x4F, 0x2D, 0x44, 0x2E, 0x52, 0x2E, 0x20, 0x31, 0x2E, 0x30, 0x20,
+        // Private creator (0019,0011), "CEMAX-ICON", reserving a second block of the group
+        0x19, 0x00, 0x11, 0x00, 0x0A, 0x00, 0x00, 0x00, 0x43, 0x45, 0x4D, 0x41, 0x58, 0x2D, 0x49, 0x43, 0x4F, 0x4E,
+        // Maximum Frame Size (0019,1030) of the first block
+        0x19, 0x00, 0x30, 0x10, 0x04, 0x00, 0x00, 0x00, 0x00, 0x01, 0x00, 0x00,
+        // CR EDR Mode (0019,1130) of the second block
+        0x19, 0x00, 0x30, 0x11, 0x02, 0x00, 0x00, 0x00, 0x41, 0x42
+    ];
+    byte[] transcodedDataset = check transcodeBytes(implicitDataset, dicom:IMPLICIT_VR_LITTLE_ENDIAN,
+            dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    // Each private data element is resolved against the private creator of its own block
+    dicom:Dataset dataset = check parseDataset(transcodedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+    test:assertEquals(dicom:getDataElement(dataset, 0x00191030)?.vr, dicom:UL);
+    test:assertEquals(dicom:getDataElement(dataset, 0x00191130)?.vr, dicom:LO);
+    test:assertEquals(check dicom:getInt(dataset, 0x00191030), 256);
+}
+
+@test:Config {groups: ["transcoder"]}
+function transcodeTruncatedDatasetTest() returns error? {
+    byte[] truncatedDataset = EXPLICIT_LITTLE_ENDIAN_DATASET.slice(0, 30);
+    byte[]|error transcodedDataset = transcodeBytes(truncatedDataset, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            dicom:IMPLICIT_VR_LITTLE_ENDIAN);
+    test:assertTrue(transcodedDataset is dicom:TranscodingError);
+}
+
+@test:Config {groups: ["transcoder"]}
+function transcodeFileTest() returns error? {
+    string sourcePath = "./tests/resources/sample_patient_info.dcm";
+    string directory = check file:createTempDir();
+    string bigEndianPath = check file:joinPath(directory, "big_endian.dcm");
+    string implicitPath = check file:joinPath(directory, "implicit.dcm");
+    string explicitPath = check file:joinPath(directory, "explicit.dcm");
+
+    check transcodeFile(sourcePath, bigEndianPath, dicom:EXPLICIT_VR_BIG_ENDIAN);
+    check transcodeFile(bigEndianPath, implicitPath, dicom:IMPLICIT_VR_LITTLE_ENDIAN);
+    check transcodeFile(implicitPath, explicitPath, dicom:EXPLICIT_VR_LITTLE_ENDIAN);
+
+    // The file meta information holds the UID of the target transfer syntax
+    dicom:File bigEndianFile = check parseFile(bigEndianPath, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            metaElementsOnly = true);
+    string transferSyntaxUid = check dicom:getString(bigEndianFile.dataset, dicom:TAG_TRANSFER_SYNTAX_UID);
+    test:assertTrue(transferSyntaxUid.startsWith("1.2.840.10008.1.2.2"));
+
+    // The source has no group lengths other than the file meta information group length and no defined length
+    // sequences, therefore, transcoding back to its transfer syntax restores it as is
+    test:assertEquals(check io:fileReadBytes(explicitPath), check io:fileReadBytes(sourcePath));
+}
+
+function transcodeBytes(byte[] 'source, dicom:TransferSyntax sourceTransferSyntax,
+        dicom:TransferSyntax targetTransferSyntax) returns byte[]|error {
+    string filePath = check file:joinPath(check file:createTempDir(), "transcoded");
+    io:WritableByteChannel destination = check io:openWritableFile(filePath);
+    dicom:TranscodingError? result = transcode('source, sourceTransferSyntax, destination, targetTransferSyntax);
+    check destination.close();
+    check result;
+    return io:fileReadBytes(filePath);
+}
@@ -0,0 +1,142 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+import ballerinax/health.dicom as dicom;
+
+final string[] & readonly EXPECTED_VISIT_EVENTS = [
+    "start 00080060 CS",
+    "value 00080060",
+    "sequenceStart 00081140",
+    "itemStart 0",
+    "start 00081150 UI",
+    "value 00081150",
+    "itemEnd 0",
+    "sequenceEnd 00081140",
+    "start 00280010 US",
+    "value 00280010",
+    "start 00189087 FD",
+    "value 00189087"
+];
+
+class RecordingVisitor {
+    *DatasetVisitor;
+
+    final string[] events = [];
+    final map<dicom:DataElementValue> values = {};
+    // Actions returned when the data elements or sequences of the given tags are started
+    private final map<VisitAction> & readonly actions;
+
+    isolated function init(map<VisitAction> & readonly actions = {}) {
+        self.actions = actions;
+    }
+
+    public isolated function elementStart(ElementHeader header) returns VisitAction {
+        self.events.push(string `start ${dicom:tagToStr(header.tag)} ${header.vr}`);
+        return self.actions[dicom:tagToStr(header.tag)] ?: CONTINUE;
+    }
+
+    public isolated function elementValue(ElementHeader header, dicom:DataElementValue value) returns VisitAction {
+        self.events.push(string `value ${dicom:tagToStr(header.tag)}`);
+        self.values[dicom:tagToStr(header.tag)] = value;
+        return CONTINUE;
+    }
+
+    public isolated function sequenceStart(ElementHeader header) returns VisitAction {
+        self.events.push(string `sequenceStart ${dicom:tagToStr(header.tag)}`);
+        return self.actions[dicom:tagToStr(header.tag)] ?: CONTINUE;
+    }
+
+    public isolated function sequenceEnd(ElementHeader header) returns VisitAction {
+        self.events.push(string `sequenceEnd ${dicom:tagToStr(header.tag)}`);
+        return CONTINUE;
+    }
+
+    public isolated function itemStart(ItemHeader header) returns VisitAction {
+        self.events.push(string `itemStart ${header.index}`);
+        return CONTINUE;
+    }
+
+    public isolated function itemEnd(ItemHeader header) returns VisitAction {
+        self.events.push(string `itemEnd ${header.index}`);
+        return CONTINUE;
+    }
+}
+
+@test:Config {groups: ["visitor"]}
+function visitDatasetTest() returns error? {
+    RecordingVisitor visitor = new;
+    check visitDataset(EXPLICIT_LITTLE_ENDIAN_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN, visitor);
+    test:assertEquals(visitor.events, EXPECTED_VISIT_EVENTS);
+    test:assertEquals(visitor.values["00080060"], "MR");
+    test:assertEquals(visitor.values["00280010"], 512);
+    test:assertEquals(visitor.values["00189087"], 1.0);
+
+    // Undefined length sequences and items, with VRs looked up from the dictionaries
+    RecordingVisitor implicitVisitor = new;
+    check visitDataset(IMPLICIT_LITTLE_ENDIAN_DATASET, dicom:IMPLICIT_VR_LITTLE_ENDIAN, implicitVisitor);
+    test:assertEquals(implicitVisitor.events, EXPECTED_VISIT_EVENTS);
+    test:assertEquals(implicitVisitor.values, visitor.values);
+}
+
+@test:Config {groups: ["visitor"]}
+function visitDatasetChunksTest() returns error? {
+    // Every header and value is split across chunk boundaries
+    foreach int chunkSize in [1, 3, 7] {
+        RecordingVisitor visitor = new;
+        DatasetEventParser parser = new (dicom:EXPLICIT_VR_BIG_ENDIAN, visitor);
+        int offset = 0;
+        while offset < EXPLICIT_BIG_ENDIAN_DATASET.length() {
+            int endOffset = int:min(offset + chunkSize, EXPLICIT_BIG_ENDIAN_DATASET.length());
+            check parser.push(EXPLICIT_BIG_ENDIAN_DATASET.slice(offset, endOffset));
+            offset = endOffset;
+        }
+        check parser.close();
+        test:assertEquals(visitor.events, EXPECTED_VISIT_EVENTS);
+        test:assertEquals(visitor.values["00280010"], 512);
+    }
+}
+
+@test:Config {groups: ["visitor"]}
+function visitDatasetSkipAndStopTest() returns error? {
+    // Skipped values and sequences are not visited
+    RecordingVisitor skippingVisitor = new ({"00080060": SKIP, "00081140": SKIP});
+    check visitDataset(EXPLICIT_LITTLE_ENDIAN_DATASET, dicom:EXPLICIT_VR_LITTLE_ENDIAN, skippingVisitor);
+    test:assertEquals(skippingVisitor.events, ["start 00080060 CS", "sequenceStart 00081140", "start 00280010 US",
+        "value 00280010", "start 00189087 FD", "value 00189087"]);
+
+    // Undefined length sequences are skipped by parsing them to their end
+    RecordingVisitor implicitSkippingVisitor = new ({"00081140": SKIP});
+    check visitDataset(IMPLICIT_LITTLE_ENDIAN_DATASET, dicom:IMPLICIT_VR_LITTLE_ENDIAN, implicitSkippingVisitor);
+    test:assertEquals(implicitSkippingVisitor.events, ["start 00080060 CS", "value 00080060",
+        "sequenceStart 00081140", "start 00280010 US", "value 00280010", "start 00189087 FD", "value 00189087"]);
+
+    // Parsing ends when stopped, without reading the remaining data elements
+    RecordingVisitor stoppingVisitor = new ({"00280010": STOP});
+    DatasetEventParser parser = new (dicom:EXPLICIT_VR_LITTLE_ENDIAN, stoppingVisitor);
+    check parser.push(EXPLICIT_LITTLE_ENDIAN_DATASET);
+    test:assertTrue(parser.isStopped());
+    check parser.close();
+    test:assertEquals(stoppingVisitor.events, EXPECTED_VISIT_EVENTS.slice(0, 9));
+}
+
+@test:Config {groups: ["visitor"]}
+function visitTruncatedDatasetTest() returns error? {
+    DatasetEventParser parser = new (dicom:EXPLICIT_VR_LITTLE_ENDIAN, new RecordingVisitor());
+    check parser.push(EXPLICIT_LITTLE_ENDIAN_DATASET.slice(0, 30));
+    test:assertTrue(parser.close() is dicom:ParsingError);
+}
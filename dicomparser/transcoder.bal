@@ -0,0 +1,623 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerinax/health.dicom as dicom;
+
+# Transcodes an encoded DICOM dataset from one transfer syntax to another.
+# The dataset is rewritten element by element without being parsed into a `dicom:Dataset`: numeric values are
+# byte swapped when the byte orders differ, and VRs are inserted from the DICOM dictionaries or dropped when the VR
+# encodings differ. Values are copied in bounded chunks, so that memory use does not grow with the dataset size.
+# Sequences and items are written with undefined lengths, and group length elements are dropped, as lengths change
+# when VRs are inserted or dropped.
+#
+# + 'source - The source of the dataset to be transcoded
+# + sourceTransferSyntax - The transfer syntax of the source
+# + destination - The channel the transcoded dataset is written to
+# + targetTransferSyntax - The transfer syntax of the transcoded dataset
+# + return - A `dicom:TranscodingError` if the transcoding fails
+public isolated function transcode(byte[]|io:ReadableByteChannel 'source, dicom:TransferSyntax sourceTransferSyntax,
+        io:WritableByteChannel destination,
+        dicom:TransferSyntax targetTransferSyntax) returns dicom:TranscodingError? {
+    do {
+        int startTime = dicom:startTimer();
+        SourceReader reader = new ('source);
+        DatasetTranscoder transcoder = new (reader, destination, targetTransferSyntax);
+        check transcoder.transcodeDataset(sourceTransferSyntax);
+        recordTranscodeMetrics(startTime, reader);
+    } on fail error e {
+        return error dicom:TranscodingError("Data set transcoding failed", e);
+    }
+}
+
+# Transcodes a DICOM file to another transfer syntax.
+# The file meta information is rewritten with the UID of the target transfer syntax, and the dataset is transcoded
+# as described in `transcode()`. The source transfer syntax is read from the file meta information.
+#
+# + sourcePath - The path of the DICOM file to be transcoded
+# + destinationPath - The path of the transcoded DICOM file
+# + targetTransferSyntax - The transfer syntax of the transcoded file
+# + return - A `dicom:TranscodingError` if the transcoding fails
+public isolated function transcodeFile(string sourcePath, string destinationPath,
+        dicom:TransferSyntax targetTransferSyntax) returns dicom:TranscodingError? {
+    do {
+        io:ReadableByteChannel sourceChannel = check io:openReadableFile(sourcePath);
+        io:WritableByteChannel|io:Error destination = io:openWritableFile(destinationPath);
+        if destination is io:Error {
+            check sourceChannel.close();
+            fail destination;
+        }
+        error? result = transcodeFileFromChannel(sourceChannel, sourcePath, destination, targetTransferSyntax);
+        error? sourceCloseResult = sourceChannel.close();
+        error? destinationCloseResult = destination.close();
+        check result;
+        check sourceCloseResult;
+        check destinationCloseResult;
+    } on fail error e {
+        return error dicom:TranscodingError(string `File transcoding failed: ${sourcePath}`, e);
+    }
+}
+
+# Transcodes a DICOM file from a channel positioned at the start of the file.
+#
+# + sourceChannel - The channel of the DICOM file
+# + sourcePath - The path of the DICOM file
+# + destination - The channel the transcoded file is written to
+# + targetTransferSyntax - The transfer syntax of the transcoded file
+# + return - An error if the transcoding fails
+isolated function transcodeFileFromChannel(io:ReadableByteChannel sourceChannel, string sourcePath,
+        io:WritableByteChannel destination, dicom:TransferSyntax targetTransferSyntax) returns error? {
+    int startTime = dicom:startTimer();
+    byte[] preamble = check readPreamble(sourceChannel);
+    if !isValidFile(sourceChannel, true) {
+        return error dicom:TranscodingError("Not a valid DICOM file");
+    }
+    SourceReader reader = new (sourceChannel, PREAMBLE_LENGTH + DICOM_PREFIX.length(), sourcePath);
+    byte[] metaBytes = check readFileMetaInfo(reader);
+    [byte[], dicom:TransferSyntax] [transcodedMetaBytes, sourceTransferSyntax] =
+            check transcodeFileMetaInfo(metaBytes, targetTransferSyntax);
+
+    DatasetTranscoder transcoder = new (reader, destination, targetTransferSyntax);
+    check transcoder.write(preamble);
+    check transcoder.write(DICOM_PREFIX);
+    check transcoder.write(transcodedMetaBytes);
+    check transcoder.transcodeDataset(sourceTransferSyntax);
+    recordTranscodeMetrics(startTime, reader);
+}
+
+# Reads the file meta information of a DICOM file.
+#
+# + reader - The reader of the file, positioned after the DICOM prefix
+# + return - The file meta information elements, excluding the group length element, or an error if reading fails
+isolated function readFileMetaInfo(SourceReader reader) returns byte[]|error {
+    // The file meta information is always encoded in Explicit VR Little Endian, and starts with its group length
+    // Based off of Section 7.1 in Part 10
+    byte[] groupLengthBytes = check readExactly(reader, 12);
+    if check parseTag(groupLengthBytes.slice(0, 4), dicom:LITTLE_ENDIAN) != FILE_META_GROUP_LENGTH_TAG {
+        return error dicom:TranscodingError("File meta information does not start with its group length");
+    }
+    int groupLength = check dicom:bytesToInt(groupLengthBytes.slice(8), dicom:LITTLE_ENDIAN) & 0xFFFFFFFF;
+    return readExactly(reader, groupLength);
+}
+
+# Rewrites the file meta information elements with the UID of a target transfer syntax.
+#
+# + metaBytes - The file meta information elements, excluding the group length element
+# + targetTransferSyntax - The target transfer syntax
+# + return - The rewritten file meta information, including the group length element, and the transfer syntax of the
+# source, or an error if the file meta information is invalid
+isolated function transcodeFileMetaInfo(byte[] metaBytes, dicom:TransferSyntax targetTransferSyntax)
+        returns [byte[], dicom:TransferSyntax]|error {
+    byte[] elementBytes = [];
+    dicom:TransferSyntax? sourceTransferSyntax = ();
+    int position = 0;
+    while position < metaBytes.length() {
+        if position + 8 > metaBytes.length() {
+            return error dicom:TranscodingError("Unexpected end of file meta information");
+        }
+        dicom:Tag tag = check parseTag(metaBytes.slice(position, position + 4), dicom:LITTLE_ENDIAN);
+        dicom:Vr vr = check parseVr(metaBytes.slice(position + 4, position + 6));
+        int valueStart = position + 8;
+        byte[] vlBytes = metaBytes.slice(position + 6, valueStart);
+        if dicom:EXPLICIT_LENGTH_32_VRs.indexOf(vr) != () {
+            valueStart += 4;
+            vlBytes = metaBytes.slice(position + 8, int:min(valueStart, metaBytes.length()));
+        }
+        int valueEnd = valueStart + (check parseUnsignedVl(vlBytes, dicom:LITTLE_ENDIAN));
+        if valueEnd > metaBytes.length() {
+            return error dicom:TranscodingError(string `Unexpected end of file meta information element: ${
+                dicom:tagToStr(tag)}`);
+        }
+
+        if tag == TRANSFER_SYNTAX_UID_TAG {
+            string uid = check string:fromBytes(metaBytes.slice(valueStart, valueEnd));
+            sourceTransferSyntax = getTransferSyntax(trimUid(uid));
+            if sourceTransferSyntax == () {
+                return error dicom:TranscodingError(string `Unsupported transfer syntax: ${trimUid(uid)}`);
+            }
+            // UIDs are padded with a trailing NULL to achieve an even length
+            byte[] uidBytes = TRANSFER_SYNTAX_UIDS.get(targetTransferSyntax).toBytes();
+            if uidBytes.length() % 2 != 0 {
+                uidBytes.push(0);
+            }
+            elementBytes.push(...metaBytes.slice(position, position + 6));
+            elementBytes.push(...encodeUnsigned(uidBytes.length(), 2, dicom:LITTLE_ENDIAN));
+            elementBytes.push(...uidBytes);
+        } else if tag != FILE_META_GROUP_LENGTH_TAG {
+            elementBytes.push(...metaBytes.slice(position, valueEnd));
+        }
+        position = valueEnd;
+    }
+    if sourceTransferSyntax == () {
+        return error dicom:TranscodingError("File meta information does not have a transfer syntax UID");
+    }
+
+    // The group length changes with the length of the transfer syntax UID
+    byte[] transcodedMetaBytes = encodeFileMetaGroupLength(elementBytes.length());
+    transcodedMetaBytes.push(...elementBytes);
+    return [transcodedMetaBytes, sourceTransferSyntax];
+}
+
+# Encodes the File Meta Information Group Length data element.
+#
+# + groupLength - The length of the file meta information elements following the group length element
+# + return - The encoded group length data element
+isolated function encodeFileMetaGroupLength(int groupLength) returns byte[] =>
+    [...encodeTag(FILE_META_GROUP_LENGTH_TAG, dicom:LITTLE_ENDIAN), ...dicom:UL.toBytes(),
+        ...encodeUnsigned(4, 2, dicom:LITTLE_ENDIAN), ...encodeUnsigned(groupLength, 4, dicom:LITTLE_ENDIAN)];
+
+# Rewrites data elements read from a source reader in a target transfer syntax, optionally de-identifying them.
+class DatasetTranscoder {
+    private final SourceReader reader;
+    private final io:WritableByteChannel|byte[] destination;
+    private final dicom:ByteOrder targetByteOrder;
+    private final boolean isExplicitTarget;
+    private final Deidentifier? deidentifier;
+    // Set while the data elements being read are removed, in which case nothing is written
+    private boolean isDiscarding = false;
+
+    # Initializes the transcoder.
+    #
+    # + reader - The reader of the source
+    # + destination - The channel the transcoded data elements are written to, or an array they are appended to
+    # + targetTransferSyntax - The target transfer syntax
+    # + deidentifier - The de-identifier applied to the data elements, if any
+    isolated function init(SourceReader reader, io:WritableByteChannel|byte[] destination,
+            dicom:TransferSyntax targetTransferSyntax, Deidentifier? deidentifier = ()) {
+        self.reader = reader;
+        self.destination = destination;
+        self.targetByteOrder = dicom:getByteOrder(targetTransferSyntax);
+        self.isExplicitTarget = dicom:isExplicitTransferSyntax(targetTransferSyntax);
+        self.deidentifier = deidentifier;
+    }
+
+    # Transcodes the data elements of a dataset.
+    #
+    # + sourceTransferSyntax - The transfer syntax of the source dataset
+    # + endPosition - The position of the end of the dataset, if the dataset is an item of a defined length
+    # + isItem - Whether the dataset is an item, in which case it must end with an item delimitation item
+    # if its length is undefined
+    # + return - An error if the transcoding fails
+    isolated function transcodeDataset(dicom:TransferSyntax sourceTransferSyntax, int? endPosition = (),
+            boolean isItem = false) returns error? {
+        dicom:ByteOrder sourceByteOrder = dicom:getByteOrder(sourceTransferSyntax);
+        boolean isExplicitSource = dicom:isExplicitTransferSyntax(sourceTransferSyntax);
+        // Private creators of the private blocks of the dataset
+        dicom:PrivateCreatorResolver privateCreators = new;
+
+        while endPosition == () || self.reader.getPosition() < endPosition {
+            byte[] tagBytes = check self.reader.read(4);
+            if tagBytes.length() == 0 && endPosition == () && !isItem {
+                // End of the dataset source
+                return;
+            } else if tagBytes.length() < 4 {
+                return error dicom:TranscodingError(string `Unexpected end of source at position ${
+                    self.reader.getPosition()}`);
+            }
+            dicom:Tag tag = check parseTag(tagBytes, sourceByteOrder);
+
+            // The item delimitation item is written by the caller, along with the item
+            if tag == dicom:ITEM_DELIMITER_TAG {
+                check self.reader.skip(4);
+                return;
+            }
+
+            // VR and VL
+            dicom:Vr vr;
+            byte[] vlBytes;
+            if isExplicitSource {
+                byte[] vrBytes = check readExactly(self.reader, 4);
+                vr = check parseVr(vrBytes.slice(0, 2));
+                vlBytes = dicom:EXPLICIT_LENGTH_32_VRs.indexOf(vr) != ()
+                    ? check readExactly(self.reader, 4) : vrBytes.slice(2);
+            } else {
+                vlBytes = check readExactly(self.reader, 4);
+                vr = getImplicitVr(tag, privateCreators);
+            }
+            boolean isUndefinedLength = vlBytes == dicom:UNDEFINED_VL_BYTES;
+            int vl = check parseUnsignedVl(vlBytes, sourceByteOrder);
+
+            // Group lengths change as VRs are inserted or dropped, and are not required outside the file meta
+            // information, therefore, they are dropped
+            if tag.element == 0x0000 {
+                check self.reader.skip(vl);
+                continue;
+            }
+
+            boolean isSequence = vr == dicom:SQ || (isUndefinedLength && vr == dicom:UN);
+            boolean isEncapsulatedPixelData = isUndefinedLength && !isSequence && dicom:isPixelDataTag(tag);
+            if isUndefinedLength && !isSequence && !isEncapsulatedPixelData {
+                return error dicom:TranscodingError(string `Undefined length value of VR ${vr} cannot be ` +
+                        string `transcoded: ${dicom:tagToStr(tag)}`);
+            }
+
+            // Private creator IDs are retained to look up the VRs and the de-identification rules of the private
+            // data elements of the block
+            byte[]? privateCreatorValue = ();
+            string? privateCreatorId = ();
+            if dicom:isPrivateCreatorTag(tag) && !isSequence {
+                byte[] valueBytes = check readExactly(self.reader, vl);
+                string id = (check string:fromBytes(valueBytes)).trim();
+                privateCreators.register(tag, id);
+                privateCreatorId = id;
+                privateCreatorValue = valueBytes;
+            } else if dicom:isPrivateTag(tag) {
+                privateCreatorId = privateCreators.getCreator(tag);
+            }
+
+            Deidentifier? deidentifier = self.deidentifier;
+            DeidentificationRule? rule = deidentifier is Deidentifier && !self.isDiscarding
+                ? deidentifier.getRule(tag, privateCreatorId) : ();
+            boolean wasDiscarding = self.isDiscarding;
+            if rule is DeidentificationRule && deidentifier is Deidentifier {
+                match rule.action {
+                    REMOVE => {
+                        self.isDiscarding = true;
+                    }
+                    EMPTY => {
+                        check self.writeHeader(tag, isSequence ? dicom:SQ : getExplicitVr(vr, 0), 0);
+                        self.isDiscarding = true;
+                    }
+                    REPLACE|HASH|REMAP_UID => {
+                        if isSequence || isEncapsulatedPixelData {
+                            return error dicom:DeidentificationError(string `Value of VR ${vr} cannot be ` +
+                                    string `rewritten: ${dicom:tagToStr(tag)}`);
+                        }
+                        byte[] valueBytes = privateCreatorValue ?: check readExactly(self.reader, vl);
+                        byte[] rewrittenValue = check deidentifier.rewriteValue(tag, vr, valueBytes, rule);
+                        check self.writeHeader(tag, getExplicitVr(vr, rewrittenValue.length()),
+                                rewrittenValue.length());
+                        check self.write(rewrittenValue);
+                        continue;
+                    }
+                }
+            }
+
+            if isSequence {
+                // Undefined length UN values are sequences encoded in Implicit VR Little Endian
+                // Based off of Section 6.2.2 in Part 5
+                dicom:TransferSyntax itemTransferSyntax = vr == dicom:UN
+                    ? dicom:IMPLICIT_VR_LITTLE_ENDIAN : sourceTransferSyntax;
+                check self.writeHeader(tag, dicom:SQ, ());
+                check self.transcodeSequence(itemTransferSyntax,
+                        isUndefinedLength ? () : self.reader.getPosition() + vl);
+                check self.writeItemHeader(dicom:SEQUENCE_DELIMITER_TAG, 0);
+            } else if isEncapsulatedPixelData {
+                check self.writeHeader(tag, vr, ());
+                check self.transcodeEncapsulatedPixelData(sourceByteOrder);
+            } else {
+                check self.writeHeader(tag, getExplicitVr(vr, vl), vl);
+                if privateCreatorValue is byte[] {
+                    check self.write(privateCreatorValue);
+                } else {
+                    check self.copyValue(vl, sourceByteOrder == self.targetByteOrder ? 1 : getSwapWidth(vr));
+                }
+            }
+            self.isDiscarding = wasDiscarding;
+        }
+    }
+
+    # Transcodes the items of a sequence.
+    #
+    # + itemTransferSyntax - The transfer syntax of the source items
+    # + endPosition - The position of the end of the sequence, if the sequence is of a defined length
+    # + return - An error if the transcoding fails
+    isolated function transcodeSequence(dicom:TransferSyntax itemTransferSyntax, int? endPosition) returns error? {
+        // Sequence encoding is based off of Section 7.5 in Part 5
+        dicom:ByteOrder byteOrder = dicom:getByteOrder(itemTransferSyntax);
+        while endPosition == () || self.reader.getPosition() < endPosition {
+            byte[] itemHeaderBytes = check readExactly(self.reader, 8);
+            dicom:Tag itemTag = check parseTag(itemHeaderBytes.slice(0, 4), byteOrder);
+            if itemTag == dicom:SEQUENCE_DELIMITER_TAG {
+                return;
+            } else if itemTag != dicom:ITEM_TAG {
+                return error dicom:TranscodingError(string `Invalid item tag: ${dicom:tagToStr(itemTag)}`);
+            }
+            byte[] itemLengthBytes = itemHeaderBytes.slice(4);
+            int? itemEndPosition = itemLengthBytes == dicom:UNDEFINED_VL_BYTES
+                ? () : self.reader.getPosition() + check parseUnsignedVl(itemLengthBytes, byteOrder);
+
+            check self.writeItemHeader(dicom:ITEM_TAG, ());
+            check self.transcodeDataset(itemTransferSyntax, itemEndPosition, true);
+            check self.writeItemHeader(dicom:ITEM_DELIMITER_TAG, 0);
+        }
+    }
+
+    # Transcodes the items of an encapsulated pixel data value, up to and including its sequence delimitation item.
+    # Fragments are copied as they are, in bounded chunks.
+    #
+    # + sourceByteOrder - The byte order of the source items
+    # + return - An error if the transcoding fails
+    isolated function transcodeEncapsulatedPixelData(dicom:ByteOrder sourceByteOrder) returns error? {
+        // Encapsulated pixel data encoding is based off of Section A.4 in Part 5
+        boolean isBasicOffsetTableItem = true;
+        while true {
+            byte[] itemHeaderBytes = check readExactly(self.reader, 8);
+            dicom:Tag itemTag = check parseTag(itemHeaderBytes.slice(0, 4), sourceByteOrder);
+            int itemLength = check parseUnsignedVl(itemHeaderBytes.slice(4), sourceByteOrder);
+            check self.writeItemHeader(itemTag, itemLength);
+            if itemTag == dicom:SEQUENCE_DELIMITER_TAG {
+                return;
+            } else if itemTag != dicom:ITEM_TAG {
+                return error dicom:TranscodingError(string `Invalid pixel data item tag: ${dicom:tagToStr(itemTag)}`);
+            }
+            // The offsets of the Basic Offset Table are 32-bit numbers, while fragments are not byte swapped
+            boolean isSwapped = isBasicOffsetTableItem && sourceByteOrder != self.targetByteOrder;
+            check self.copyValue(itemLength, isSwapped ? 4 : 1);
+            isBasicOffsetTableItem = false;
+        }
+    }
+
+    # Copies a value from the source to the destination in bounded chunks.
+    #
+    # + vl - The value length
+    # + swapWidth - The number of bytes of each number of the value to be byte swapped, or 1 if the value is not
+    # byte swapped
+    # + return - An error if the copying fails
+    isolated function copyValue(int vl, int swapWidth) returns error? {
+        if self.isDiscarding {
+            return self.reader.skip(vl);
+        }
+        int remaining = vl;
+        while remaining > 0 {
+            byte[] chunk = check readExactly(self.reader, int:min(remaining, TRANSCODE_CHUNK_SIZE));
+            if swapWidth > 1 {
+                swapBytes(chunk, swapWidth);
+            }
+            check self.write(chunk);
+            remaining -= chunk.length();
+        }
+    }
+
+    # Writes a data element header in the target transfer syntax.
+    #
+    # + tag - The tag of the data element
+    # + vr - The VR of the data element, which is written only if the target transfer syntax is explicit
+    # + vl - The value length, or `()` if the length is undefined
+    # + return - An error if the writing fails
+    isolated function writeHeader(dicom:Tag tag, dicom:Vr vr, int? vl) returns error? {
+        // Header encoding is based off of Table 7.1-1, 7.1-2 and 7.1-3 in Part 5
+        byte[] header = encodeTag(tag, self.targetByteOrder);
+        if self.isExplicitTarget {
+            header.push(...vr.toBytes());
+            if dicom:EXPLICIT_LENGTH_32_VRs.indexOf(vr) == () {
+                header.push(...encodeUnsigned(vl ?: 0, 2, self.targetByteOrder));
+                return self.write(header);
+            }
+            // Reserved bytes
+            header.push(0, 0);
+        }
+        header.push(...(vl is int ? encodeUnsigned(vl, 4, self.targetByteOrder) : dicom:UNDEFINED_VL_BYTES));
+        check self.write(header);
+    }
+
+    # Writes an item, item delimitation or sequence delimitation header in the target transfer syntax.
+    #
+    # + tag - The tag of the item
+    # + length - The length of the item, or `()` if the length is undefined
+    # + return - An error if the writing fails
+    isolated function writeItemHeader(dicom:Tag tag, int? length) returns error? {
+        byte[] header = encodeTag(tag, self.targetByteOrder);
+        header.push(...(length is int ? encodeUnsigned(length, 4, self.targetByteOrder) : dicom:UNDEFINED_VL_BYTES));
+        check self.write(header);
+    }
+
+    # Writes bytes to the destination, unless the data elements being read are removed.
+    # A single channel write may write fewer bytes than given, therefore, the channel is written until all bytes
+    # are written.
+    #
+    # + bytes - The bytes to be written
+    # + return - An `io:Error` if the writing fails
+    isolated function write(byte[] bytes) returns io:Error? {
+        io:WritableByteChannel|byte[] destination = self.destination;
+        if self.isDiscarding {
+            return;
+        } else if destination is byte[] {
+            destination.push(...bytes);
+            return;
+        }
+        int offset = 0;
+        while offset < bytes.length() {
+            offset += check destination.write(bytes, offset);
+        }
+    }
+}
+
+# Reads exactly the given number of bytes from a source reader.
+#
+# + reader - The source reader
+# + length - The number of bytes to be read
+# + return - The bytes read, or an error if reading fails or the end of the source is reached
+isolated function readExactly(SourceReader reader, int length) returns byte[]|error {
+    byte[] bytesRead = check reader.read(length);
+    if bytesRead.length() < length {
+        return error dicom:TranscodingError(string `Unexpected end of source at position ${reader.getPosition()}`);
+    }
+    return bytesRead;
+}
+
+# Parses an unsigned value length.
+#
+# + vlBytes - The 16-bit or 32-bit value length bytes
+# + byteOrder - The byte order of the value length bytes
+# + return - The value length, or a `dicom:ParsingError` if the parsing fails
+isolated function parseUnsignedVl(byte[] vlBytes, dicom:ByteOrder byteOrder) returns int|dicom:ParsingError =>
+    (check parseVl(vlBytes, byteOrder)) & 0xFFFFFFFF;
+
+# Retrieves the VR of a data element of an implicit VR dataset from the DICOM dictionaries.
+#
+# + tag - The tag of the data element
+# + privateCreators - The private creators of the private blocks of the dataset
+# + return - The VR of the data element, or `dicom:UN` if the data element is not found in the dictionaries
+isolated function getImplicitVr(dicom:Tag tag, dicom:PrivateCreatorResolver privateCreators) returns dicom:Vr {
+    if tag.element == 0x0000 {
+        return dicom:UL;
+    } else if dicom:isPrivateCreatorTag(tag) {
+        return dicom:LO;
+    }
+    dicom:TagInfo? tagInfo = ();
+    if dicom:isPrivateTag(tag) {
+        tagInfo = privateCreators.getTagInfo(tag);
+    } else {
+        tagInfo = dicom:getTagInfo(tag);
+    }
+    dicom:Vr? vr = tagInfo?.vr;
+    if vr == () {
+        return dicom:UN;
+    }
+    // Ambiguous VRs are resolved to the VRs used by Implicit VR Little Endian
+    // Based off of Section A.1 in Part 5
+    match vr {
+        dicom:OB_OW => {
+            return dicom:OW;
+        }
+        dicom:US_SS|dicom:US_SS_OW|dicom:US_OW => {
+            // Values of these VRs are byte swapped as 16-bit numbers alike, therefore, US is used, and the length
+            // is checked when the VR is written, as longer values can only be encoded as OW
+            return dicom:US;
+        }
+    }
+    return vr;
+}
+
+# Retrieves the VR with which a data element of a given value length can be encoded in an explicit VR transfer
+# syntax. Values longer than a 16-bit value length can hold are encoded as OW if numeric, or UN otherwise.
+#
+# + vr - The VR of the data element
+# + vl - The value length
+# + return - The VR to be encoded
+isolated function getExplicitVr(dicom:Vr vr, int vl) returns dicom:Vr {
+    if vl <= 0xFFFF || dicom:EXPLICIT_LENGTH_16_VRs.indexOf(vr) == () {
+        return vr;
+    }
+    return vr == dicom:US || vr == dicom:SS ? dicom:OW : dicom:UN;
+}
+
+# Retrieves the number of bytes of each number of a value that are byte swapped when the byte order changes.
+#
+# + vr - The VR of the value
+# + return - The number of bytes of each number, or 1 if the value is not byte swapped
+isolated function getSwapWidth(dicom:Vr vr) returns int {
+    match vr {
+        dicom:AT|dicom:OW|dicom:SS|dicom:US => {
+            return 2;
+        }
+        dicom:FL|dicom:OF|dicom:OL|dicom:SL|dicom:UL => {
+            return 4;
+        }
+        dicom:FD|dicom:OD|dicom:OV|dicom:SV|dicom:UV => {
+            return 8;
+        }
+    }
+    return 1;
+}
+
+# Reverses the byte order of each number of a value in place.
+#
+# + bytes - The value bytes
+# + width - The number of bytes of each number
+isolated function swapBytes(byte[] bytes, int width) {
+    int offset = 0;
+    while offset + width <= bytes.length() {
+        int low = offset;
+        int high = offset + width - 1;
+        while low < high {
+            byte temp = bytes[low];
+            bytes[low] = bytes[high];
+            bytes[high] = temp;
+            low += 1;
+            high -= 1;
+        }
+        offset += width;
+    }
+}
+
+# Encodes a tag.
+#
+# + tag - The tag
+# + byteOrder - The byte order to be used for encoding
+# + return - The encoded tag
+isolated function encodeTag(dicom:Tag tag, dicom:ByteOrder byteOrder) returns byte[] =>
+    [...encodeUnsigned(tag.group, 2, byteOrder), ...encodeUnsigned(tag.element, 2, byteOrder)];
+
+# Encodes an unsigned integer.
+#
+# + n - The integer
+# + length - The number of bytes of the encoded integer
+# + byteOrder - The byte order to be used for encoding
+# + return - The encoded integer
+isolated function encodeUnsigned(int n, int length, dicom:ByteOrder byteOrder) returns byte[] {
+    byte[] bytes = [];
+    foreach int i in 0 ..< length {
+        int shift = 8 * (byteOrder == dicom:LITTLE_ENDIAN ? i : length - 1 - i);
+        bytes.push(<byte>((n >> shift) & 0xFF));
+    }
+    return bytes;
+}
+
+# Retrieves the transfer syntax of a UID.
+#
+# + uid - The transfer syntax UID
+# + return - The transfer syntax, or `()` if the transfer syntax is not supported
+isolated function getTransferSyntax(string uid) returns dicom:TransferSyntax? {
+    foreach [string, string] [transferSyntax, transferSyntaxUid] in TRANSFER_SYNTAX_UIDS.entries() {
+        if transferSyntaxUid == uid && transferSyntax is dicom:TransferSyntax {
+            return transferSyntax;
+        }
+    }
+    return;
+}
+
+# Removes the trailing NULL and space padding of a UID.
+#
+# + uid - The padded UID
+# + return - The UID without padding
+isolated function trimUid(string uid) returns string {
+    string trimmed = uid;
+    while trimmed.endsWith("\u{0}") || trimmed.endsWith(" ") {
+        trimmed = trimmed.substring(0, trimmed.length() - 1);
+    }
+    return trimmed;
+}
+
+# Records the metrics of a transcoded dataset or file.
+#
+# + startTime - The time transcoding started, as returned by `dicom:startTimer()`
+# + reader - The reader of the transcoded source
+isolated function recordTranscodeMetrics(int startTime, SourceReader reader) {
+    dicom:recordDuration(dicom:METRIC_TRANSCODER_DURATION, startTime);
+    dicom:incrementCounter(dicom:METRIC_TRANSCODER_BYTES, reader.getPosition());
+}
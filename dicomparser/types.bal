@@ -0,0 +1,131 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/health.dicom as dicom;
+
+# Represents the actions applied to data elements in de-identification.
+public enum DeidentificationAction {
+    # Remove the data element
+    REMOVE,
+    # Keep the data element with an empty value
+    EMPTY,
+    # Replace the value with a fixed replacement value
+    REPLACE,
+    # Replace the value with a hash of the value
+    HASH,
+    # Replace each UID of the value with a UID mapped by the de-identifier's UID remapper
+    REMAP_UID,
+    # Keep the data element as it is
+    KEEP
+}
+
+# Represents the de-identification rule of a data element.
+#
+# + action - The action applied to the data element
+# + replacement - The replacement value of the `REPLACE` action
+public type DeidentificationRule record {|
+    DeidentificationAction action;
+    string replacement = "";
+|};
+
+# Represents a de-identification profile.
+#
+# + rules - Rules of specific data elements, keyed by tag string (e.g. `00100010`) or keyword (e.g. `PatientName`)
+# + privateCreatorRules - Rules of the private data elements of private blocks, keyed by private creator ID
+# + privateTagRule - Rule of the private data elements not matched by the other rules, or `()` to keep them
+# + hashKey - The key used to hash values with HMAC-SHA256. Values are hashed with SHA-256 if empty
+public type DeidentificationProfile record {|
+    map<DeidentificationRule> rules = {};
+    map<DeidentificationRule> privateCreatorRules = {};
+    DeidentificationRule? privateTagRule = {action: REMOVE};
+    string hashKey = "";
+|};
+
+# Represents the actions with which a `DatasetVisitor` directs the parsing of a dataset.
+public enum VisitAction {
+    # Continue parsing, reading the visited value or the content of the visited sequence or item
+    CONTINUE,
+    # Skip the visited value, sequence or item without reporting its content
+    SKIP,
+    # Stop parsing
+    STOP
+}
+
+# Represents the header of a data element reported to a `DatasetVisitor`.
+#
+# + tag - The tag of the data element
+# + vr - The VR of the data element, read from the dataset or, for Implicit VR datasets, from the DICOM dictionaries
+# + vl - The value length, or `()` if the length is undefined
+# + position - The position of the data element within the dataset
+# + depth - The number of sequence items the data element is nested in
+public type ElementHeader record {|
+    dicom:Tag tag;
+    dicom:Vr vr;
+    int? vl;
+    int position;
+    int depth;
+|};
+
+# Represents the header of a sequence item reported to a `DatasetVisitor`.
+#
+# + index - The index of the item within its sequence
+# + length - The length of the item, or `()` if the length is undefined
+# + position - The position of the item within the dataset
+# + depth - The number of sequence items the data elements of the item are nested in, including the item
+public type ItemHeader record {|
+    int index;
+    int? length;
+    int position;
+    int depth;
+|};
+
+# Represents the kinds of the issues found while parsing a dataset.
+public enum ParseIssueKind {
+    # The VR read from the dataset differs from the VR in the DICOM dictionaries
+    VR_MISMATCH,
+    # The data element is not in the DICOM dictionaries
+    UNKNOWN_TAG,
+    # The value length does not match the fixed value length of the VR
+    VALUE_LENGTH_MISMATCH
+}
+
+# Represents an issue found while parsing a data element.
+#
+# + kind - The kind of the issue
+# + tag - The tag of the data element, or `()` if the value was parsed on its own
+# + vr - The VR read from the dataset
+# + dictionaryVr - The VR in the DICOM dictionaries, for `VR_MISMATCH` issues
+# + expectedLength - The fixed value length of the VR, for `VALUE_LENGTH_MISMATCH` issues
+# + length - The value length found, for `VALUE_LENGTH_MISMATCH` issues
+public type ParseIssue record {|
+    ParseIssueKind kind;
+    dicom:Tag? tag;
+    dicom:Vr vr;
+    dicom:Vr dictionaryVr?;
+    int expectedLength?;
+    int length?;
+|};
+
+# Represents the number of issues of a kind found for a tag.
+#
+# + kind - The kind of the issues
+# + tag - The tag of the data elements, or `()` for values parsed on their own
+# + count - The number of issues
+public type ParseIssueCount record {|
+    ParseIssueKind kind;
+    dicom:Tag? tag;
+    int count;
+|};
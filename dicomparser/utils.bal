@@ -25,9 +25,10 @@ public isolated function readPreamble(io:ReadableByteChannel fileByteChannel) re
     // First 128 bytes of the file is the preamble
     // From Section 7.1 in Part 10
     do {
-        byte[] preamble = check fileByteChannel.read(128);
-        if preamble.length() != 128 {
-            fail error dicom:Error(string `Invalid preamble length: Expected 128 bytes, Found ${preamble.length()} bytes`);
+        byte[] preamble = check fileByteChannel.read(PREAMBLE_LENGTH);
+        if preamble.length() != PREAMBLE_LENGTH {
+            fail error dicom:Error(string `Invalid preamble length: Expected ${PREAMBLE_LENGTH} bytes, ` +
+                    string `Found ${preamble.length()} bytes`);
         }
         return preamble;
     } on fail error e {
@@ -61,3 +62,14 @@ public isolated function isValidFile(io:ReadableByteChannel fileByteChannel,
 # + return - `true` if the transfer syntax is supported, `false` otherwise
 isolated function isSupportedTransferSyntax(dicom:TransferSyntax transferSyntax) returns boolean
         => SUPPORTED_TRANSFER_SYNTAXES.indexOf(transferSyntax) != ();
+
+# Records the metrics of a parsed dataset.
+#
+# + startTime - The time parsing started, as returned by `dicom:startTimer()`
+# + reader - The reader of the parsed source
+# + dataset - The parsed dataset
+isolated function recordParseMetrics(int startTime, SourceReader reader, dicom:Dataset dataset) {
+    dicom:recordDuration(dicom:METRIC_PARSER_DURATION, startTime);
+    dicom:incrementCounter(dicom:METRIC_PARSER_BYTES, reader.getPosition());
+    dicom:recordValue(dicom:METRIC_PARSER_ELEMENTS, dataset.length());
+}
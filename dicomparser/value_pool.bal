@@ -0,0 +1,125 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/health.dicom as dicom;
+
+# A bounded pool of parsed values, shared across parsing operations.
+# Identical `CS`, `UI`, `LO`, `SH` and `PN` values, and whole data elements holding them, are parsed into a single
+# shared instance. This reduces the retained memory when many datasets of the same study or series are kept in memory.
+# Pooled data elements are immutable, therefore, datasets parsed with a pool must replace such data elements
+# instead of modifying them. Once the capacity is reached, new values are no longer added to the pool. SOP instance
+# and series instance UIDs are not pooled, as they are unique to few datasets and would fill the pool with values
+# that are not shared.
+public isolated class ValuePool {
+    private final int capacity;
+    private final map<string> strings = {};
+    // Data elements are keyed by tag, VR and VL, and then by their pooled value, so that the keys reference the
+    // pooled string values instead of holding copies of them
+    private final map<map<dicom:DataElement & readonly>> dataElements = {};
+    private int dataElementCount = 0;
+
+    # Initializes the value pool.
+    #
+    # + capacity - The maximum number of values and data elements held by the pool
+    public isolated function init(int capacity = DEFAULT_VALUE_POOL_CAPACITY) {
+        self.capacity = capacity;
+    }
+
+    # Retrieves the pooled instance of a string value.
+    #
+    # + value - The string value
+    # + return - The pooled instance if available, otherwise the given value
+    public isolated function internString(string value) returns string {
+        lock {
+            string? pooledValue = self.strings[value];
+            if pooledValue is string {
+                return pooledValue;
+            }
+            if self.strings.length() + self.dataElementCount < self.capacity {
+                self.strings[value] = value;
+            }
+        }
+        return value;
+    }
+
+    # Retrieves the pooled instance of a data element.
+    # Only data elements with a poolable VR and a string value, which are not unique to an instance or a series,
+    # are pooled.
+    #
+    # + dataElement - The data element
+    # + return - The pooled data element if available, otherwise the given data element
+    public isolated function internDataElement(dicom:DataElement dataElement) returns dicom:DataElement {
+        dicom:Vr? vr = dataElement.vr;
+        dicom:DataElementValue value = dataElement.value;
+        if vr is () || value !is string || POOLED_VRs.indexOf(vr) == ()
+                || UNPOOLED_TAGS.indexOf((dataElement.tag.group << 16) | dataElement.tag.element) != () {
+            return dataElement;
+        }
+
+        string pooledValue = self.internString(value);
+        int? vl = dataElement.vl;
+        string key = string `${dicom:tagToStr(dataElement.tag)}|${vr}|${vl ?: -1}`;
+        lock {
+            dicom:DataElement & readonly? pooledDataElement = self.dataElements[key][pooledValue];
+            if pooledDataElement !is () {
+                return pooledDataElement;
+            }
+        }
+
+        dicom:DataElement newDataElement = {tag: dataElement.tag, vr, value: pooledValue};
+        if vl is int {
+            newDataElement.vl = vl;
+        }
+        dicom:DataElement & readonly newPooledDataElement = newDataElement.cloneReadOnly();
+        lock {
+            // Another strand may have pooled an identical data element in the meantime
+            map<dicom:DataElement & readonly>? valueDataElements = self.dataElements[key];
+            dicom:DataElement & readonly? pooledDataElement = valueDataElements[pooledValue];
+            if pooledDataElement !is () {
+                return pooledDataElement;
+            }
+            if self.strings.length() + self.dataElementCount < self.capacity {
+                if valueDataElements is () {
+                    self.dataElements[key] = {[pooledValue]: newPooledDataElement};
+                } else {
+                    valueDataElements[pooledValue] = newPooledDataElement;
+                }
+                self.dataElementCount += 1;
+                return newPooledDataElement;
+            }
+        }
+        dataElement.value = pooledValue;
+        return dataElement;
+    }
+
+    # Retrieves the number of values and data elements held by the pool.
+    #
+    # + return - The size of the pool
+    public isolated function size() returns int {
+        lock {
+            return self.strings.length() + self.dataElementCount;
+        }
+    }
+
+    # Removes all values and data elements from the pool.
+    public isolated function clear() {
+        lock {
+            self.strings.removeAll();
+            self.dataElements.removeAll();
+            self.dataElementCount = 0;
+        }
+    }
+}
@@ -0,0 +1,535 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerinax/health.dicom as dicom;
+
+# Receives the structure of a dataset as it is parsed by a `DatasetEventParser`.
+# Each callback returns the action with which parsing proceeds, or an error to fail parsing.
+public type DatasetVisitor object {
+
+    # Visits the start of a data element that is not a sequence.
+    # Encapsulated pixel data elements are started with an undefined length, and their items are visited as
+    # `byte[]` values, starting with the Basic Offset Table.
+    #
+    # + header - The header of the data element
+    # + return - `CONTINUE` to visit the value, `SKIP` to skip it, or `STOP` to stop parsing
+    public isolated function elementStart(ElementHeader header) returns VisitAction|error;
+
+    # Visits the value of a data element.
+    #
+    # + header - The header of the data element, or of the pixel data item if the value is an encapsulated pixel
+    # data item
+    # + value - The parsed value
+    # + return - `STOP` to stop parsing, or any other action to continue
+    public isolated function elementValue(ElementHeader header, dicom:DataElementValue value) returns VisitAction|error;
+
+    # Visits the start of a sequence.
+    #
+    # + header - The header of the sequence data element
+    # + return - `CONTINUE` to visit the items of the sequence, `SKIP` to skip them, or `STOP` to stop parsing
+    public isolated function sequenceStart(ElementHeader header) returns VisitAction|error;
+
+    # Visits the end of a sequence whose items were not skipped.
+    #
+    # + header - The header of the sequence data element
+    # + return - `STOP` to stop parsing, or any other action to continue
+    public isolated function sequenceEnd(ElementHeader header) returns VisitAction|error;
+
+    # Visits the start of a sequence item.
+    #
+    # + header - The header of the item
+    # + return - `CONTINUE` to visit the data elements of the item, `SKIP` to skip them, or `STOP` to stop parsing
+    public isolated function itemStart(ItemHeader header) returns VisitAction|error;
+
+    # Visits the end of a sequence item that was not skipped.
+    #
+    # + header - The header of the item
+    # + return - `STOP` to stop parsing, or any other action to continue
+    public isolated function itemEnd(ItemHeader header) returns VisitAction|error;
+};
+
+# Parses a DICOM dataset read from a source, and reports its structure to a visitor as it is parsed.
+# The source is read in bounded chunks, therefore, memory use does not grow with the dataset size, apart from the
+# values visited by the visitor.
+#
+# + 'source - The source of the dataset to be parsed
+# + transferSyntax - The transfer syntax of the dataset
+# + visitor - The visitor the dataset is reported to
+# + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary of
+# the issues is logged instead.
+# + return - A `dicom:ParsingError` if the parsing fails, or if the visitor returns an error
+public isolated function visitDataset(byte[]|io:ReadableByteChannel 'source, dicom:TransferSyntax transferSyntax,
+        DatasetVisitor visitor, ParseDiagnostics? diagnostics = ()) returns dicom:ParsingError? {
+    DatasetEventParser parser = new (transferSyntax, visitor, diagnostics);
+    if 'source is byte[] {
+        check parser.push('source);
+        return parser.close();
+    }
+    while !parser.isStopped() {
+        byte[]|io:Error chunk = 'source.read(VISIT_CHUNK_SIZE);
+        if chunk is io:EofError {
+            break;
+        } else if chunk is io:Error {
+            return error dicom:ParsingError("Failed to read bytes", chunk);
+        } else if chunk.length() == 0 {
+            break;
+        }
+        check parser.push(chunk);
+    }
+    return parser.close();
+}
+
+# Kinds of the nested structures of a dataset being parsed.
+const SEQUENCE_FRAME = "SEQUENCE";
+const ITEM_FRAME = "ITEM";
+const FRAGMENTS_FRAME = "FRAGMENTS";
+
+# Represents a sequence, an item, or an encapsulated pixel data element being parsed.
+#
+# + kind - The kind of the structure
+# + header - The header of the sequence or pixel data element, or of the sequence of the item
+# + item - The header of the item, if the structure is an item
+# + endPosition - The position of the end of the structure, or `()` if its length is undefined
+# + transferSyntax - The transfer syntax of the content of the structure
+# + isSkipped - Whether the content is skipped, in which case it is parsed without being visited
+# + itemCount - The number of items of the sequence read so far
+# + privateCreators - The private creators of the private blocks of the item
+type VisitFrame record {|
+    SEQUENCE_FRAME|ITEM_FRAME|FRAGMENTS_FRAME kind;
+    ElementHeader header;
+    ItemHeader? item = ();
+    int? endPosition;
+    dicom:TransferSyntax transferSyntax;
+    boolean isSkipped;
+    int itemCount = 0;
+    dicom:PrivateCreatorResolver? privateCreators = ();
+|};
+
+# Represents a value being read.
+#
+# + header - The header of the data element, or of the pixel data item
+# + isFragment - Whether the value is an encapsulated pixel data item
+# + isVisited - Whether the value is reported to the visitor
+# + bytes - The bytes of the value read so far
+type PendingValue record {|
+    ElementHeader header;
+    boolean isFragment;
+    boolean isVisited;
+    byte[] bytes = [];
+|};
+
+# Parses an encoded DICOM dataset pushed in chunks of any size, and reports its structure to a `DatasetVisitor`
+# as it is parsed. Parsing resumes across chunk boundaries, and only the bytes of an incomplete header or of a
+# visited value are retained between chunks. Skipped values, sequences and items are skipped by their length
+# without being retained, while sequences and items of undefined length are parsed to find their end.
+# Once the parsing fails or the visitor stops it, the remaining input is ignored.
+public class DatasetEventParser {
+
+    private final dicom:TransferSyntax transferSyntax;
+    private final DatasetVisitor visitor;
+    private final ParseDiagnostics diagnostics;
+    // Whether a summary of the diagnostics is logged, as the caller did not provide a collector
+    private final boolean logsDiagnostics;
+    // Private creators of the private blocks of the top level dataset
+    private final dicom:PrivateCreatorResolver privateCreators = new;
+    private final VisitFrame[] frames = [];
+    // Unconsumed bytes start at the offset
+    private byte[] buffer = [];
+    private int offset = 0;
+    // Position of the next unconsumed byte within the dataset
+    private int position = 0;
+    // Number of bytes of a skipped value that are yet to be consumed
+    private int skipRemaining = 0;
+    private PendingValue? pendingValue = ();
+    private boolean stopped = false;
+
+    # Initializes the parser.
+    #
+    # + transferSyntax - The transfer syntax of the dataset
+    # + visitor - The visitor the dataset is reported to
+    # + diagnostics - An optional collector of the issues found while parsing. If not given, a rate-limited summary
+    # of the issues is logged when the parser is closed.
+    public isolated function init(dicom:TransferSyntax transferSyntax, DatasetVisitor visitor,
+            ParseDiagnostics? diagnostics = ()) {
+        self.transferSyntax = transferSyntax;
+        self.visitor = visitor;
+        self.diagnostics = diagnostics ?: new;
+        self.logsDiagnostics = diagnostics == ();
+    }
+
+    # Parses the next chunk of the dataset.
+    #
+    # + chunk - The chunk of the dataset
+    # + return - A `dicom:ParsingError` if the parsing fails, or if the visitor returns an error
+    public isolated function push(byte[] chunk) returns dicom:ParsingError? {
+        if self.stopped {
+            return;
+        }
+        if self.offset == self.buffer.length() {
+            self.buffer = chunk;
+        } else {
+            self.buffer.push(...chunk);
+        }
+        self.offset = 0;
+        error? result = self.process();
+        if result is error {
+            self.stopped = true;
+            return error dicom:ParsingError("Data set visiting failed", result);
+        }
+        // The unconsumed bytes, which are at most a partial header, are copied, so that the chunk can be reused by the
+        // caller
+        byte[] remaining = [];
+        remaining.push(...self.peek(0, self.available()));
+        self.buffer = remaining;
+        self.offset = 0;
+    }
+
+    # Ends the dataset, verifying that it was not truncated.
+    #
+    # + return - A `dicom:ParsingError` if the dataset ends within a data element, a sequence or an item
+    public isolated function close() returns dicom:ParsingError? {
+        if self.stopped {
+            return;
+        }
+        self.stopped = true;
+        if self.logsDiagnostics {
+            logParseDiagnostics(self.diagnostics, "data set");
+        }
+        // Items and sequences of a defined length that end with the dataset have already been ended
+        if self.buffer.length() > self.offset || self.skipRemaining > 0 || self.pendingValue is PendingValue
+                || self.frames.length() > 0 {
+            return error dicom:ParsingError(string `Unexpected end of data set at position ${self.position}`);
+        }
+    }
+
+    # Checks whether the parsing has ended, as the visitor stopped it, it failed, or the parser was closed.
+    #
+    # + return - `true` if the parsing has ended, `false` otherwise
+    public isolated function isStopped() returns boolean => self.stopped;
+
+    # Parses the buffered bytes until more bytes are needed, or the parsing is stopped.
+    #
+    # + return - An error if the parsing fails
+    isolated function process() returns error? {
+        while !self.stopped {
+            if self.skipRemaining > 0 {
+                int length = int:min(self.skipRemaining, self.available());
+                self.consume(length);
+                self.skipRemaining -= length;
+                if self.skipRemaining > 0 {
+                    return;
+                }
+                continue;
+            }
+            PendingValue? pendingValue = self.pendingValue;
+            if pendingValue is PendingValue {
+                boolean isRead = check self.readValue(pendingValue);
+                if !isRead {
+                    return;
+                }
+                continue;
+            }
+            if check self.endFrame() {
+                continue;
+            }
+            VisitFrame? frame = self.getFrame();
+            boolean isRead;
+            if frame is VisitFrame && frame.kind != ITEM_FRAME {
+                isRead = check self.readItem(frame);
+            } else {
+                isRead = check self.readElement(frame);
+            }
+            if !isRead {
+                return;
+            }
+        }
+    }
+
+    # Reads the header of a data element, and visits its start.
+    #
+    # + frame - The item the data element belongs to, or `()` if it belongs to the top level dataset
+    # + return - `false` if more bytes are needed to read the header, `true` otherwise, or an error if the reading
+    # fails
+    isolated function readElement(VisitFrame? frame) returns boolean|error {
+        // Header encoding is based off of Table 7.1-1, 7.1-2 and 7.1-3 in Part 5
+        dicom:TransferSyntax transferSyntax = frame is VisitFrame ? frame.transferSyntax : self.transferSyntax;
+        dicom:ByteOrder byteOrder = dicom:getByteOrder(transferSyntax);
+        if self.available() < 8 {
+            return false;
+        }
+        int elementPosition = self.position;
+        dicom:Tag tag = check parseTag(self.peek(0, 4), byteOrder);
+        if tag == dicom:ITEM_DELIMITER_TAG {
+            if frame is () {
+                return error dicom:ParsingError(string `Unexpected item delimitation item at position ${
+                    elementPosition}`);
+            }
+            self.consume(8);
+            _ = self.frames.pop();
+            check self.visitEnd(frame);
+            return true;
+        }
+
+        dicom:Vr vr;
+        byte[] vlBytes;
+        if dicom:isExplicitTransferSyntax(transferSyntax) {
+            vr = check parseVr(self.peek(4, 6));
+            if dicom:EXPLICIT_LENGTH_32_VRs.indexOf(vr) == () {
+                vlBytes = self.peek(6, 8);
+                self.consume(8);
+            } else if self.available() < 12 {
+                return false;
+            } else {
+                vlBytes = self.peek(8, 12);
+                self.consume(12);
+            }
+        } else {
+            vlBytes = self.peek(4, 8);
+            self.consume(8);
+            vr = getImplicitVr(tag, self.getPrivateCreators(frame));
+        }
+        int? vl = vlBytes == dicom:UNDEFINED_VL_BYTES ? () : check parseUnsignedVl(vlBytes, byteOrder);
+        int depth = frame?.item?.depth ?: 0;
+        ElementHeader header = {tag, vr, vl, position: elementPosition, depth};
+        boolean isSkipped = frame is VisitFrame && frame.isSkipped;
+
+        // Undefined length UN values are sequences encoded in Implicit VR Little Endian
+        // Based off of Section 6.2.2 in Part 5
+        if vr == dicom:SQ || (vl == () && vr == dicom:UN) {
+            VisitAction action = isSkipped ? SKIP : check self.visit(self.visitor.sequenceStart(header));
+            if action == SKIP && vl is int {
+                self.skipRemaining = vl;
+            } else if action != STOP {
+                self.frames.push({
+                    kind: SEQUENCE_FRAME,
+                    header,
+                    endPosition: vl is int ? self.position + vl : (),
+                    transferSyntax: vr == dicom:UN ? dicom:IMPLICIT_VR_LITTLE_ENDIAN : transferSyntax,
+                    isSkipped: action == SKIP
+                });
+            }
+            return true;
+        }
+
+        if vl is () {
+            if !dicom:isPixelDataTag(tag) {
+                return error dicom:ParsingError(string `Undefined length value of VR ${vr}: ${dicom:tagToStr(tag)}`);
+            }
+            // Encapsulated pixel data items are read until the sequence delimitation item, even if skipped
+            VisitAction action = isSkipped ? SKIP : check self.visit(self.visitor.elementStart(header));
+            if action != STOP {
+                self.frames.push({
+                    kind: FRAGMENTS_FRAME,
+                    header,
+                    endPosition: (),
+                    transferSyntax,
+                    isSkipped: action == SKIP
+                });
+            }
+            return true;
+        }
+
+        VisitAction action = isSkipped ? SKIP : check self.visit(self.visitor.elementStart(header));
+        if action == STOP {
+            return true;
+        }
+        // Private creator IDs are read even if skipped, as they are needed to look up the VRs of the private data
+        // elements of implicit VR datasets
+        if action == SKIP && !dicom:isPrivateCreatorTag(tag) {
+            self.skipRemaining = vl;
+        } else {
+            self.pendingValue = {header, isFragment: false, isVisited: action == CONTINUE};
+        }
+        return true;
+    }
+
+    # Reads the header of a sequence item or an encapsulated pixel data item, and visits the start of a sequence
+    # item.
+    #
+    # + frame - The sequence or the encapsulated pixel data element the item belongs to
+    # + return - `false` if more bytes are needed to read the header, `true` otherwise, or an error if the reading
+    # fails
+    isolated function readItem(VisitFrame frame) returns boolean|error {
+        // Sequence encoding is based off of Section 7.5 in Part 5
+        // Encapsulated pixel data encoding is based off of Section A.4 in Part 5
+        if self.available() < 8 {
+            return false;
+        }
+        dicom:ByteOrder byteOrder = dicom:getByteOrder(frame.transferSyntax);
+        int itemPosition = self.position;
+        dicom:Tag itemTag = check parseTag(self.peek(0, 4), byteOrder);
+        byte[] lengthBytes = self.peek(4, 8);
+        self.consume(8);
+        if itemTag == dicom:SEQUENCE_DELIMITER_TAG {
+            _ = self.frames.pop();
+            check self.visitEnd(frame);
+            return true;
+        } else if itemTag != dicom:ITEM_TAG {
+            return error dicom:ParsingError(string `Invalid item tag: ${dicom:tagToStr(itemTag)}`);
+        }
+        int? length = lengthBytes == dicom:UNDEFINED_VL_BYTES ? () : check parseUnsignedVl(lengthBytes, byteOrder);
+
+        if frame.kind == FRAGMENTS_FRAME {
+            if length is () {
+                return error dicom:ParsingError("Undefined length encapsulated pixel data item");
+            } else if frame.isSkipped {
+                self.skipRemaining = length;
+            } else {
+                ElementHeader header = {...frame.header, vl: length, position: itemPosition};
+                self.pendingValue = {header, isFragment: true, isVisited: true};
+            }
+            return true;
+        }
+
+        ItemHeader item = {index: frame.itemCount, length, position: itemPosition, depth: frame.header.depth + 1};
+        frame.itemCount += 1;
+        VisitAction action = frame.isSkipped ? SKIP : check self.visit(self.visitor.itemStart(item));
+        if action == SKIP && length is int {
+            self.skipRemaining = length;
+        } else if action != STOP {
+            self.frames.push({
+                kind: ITEM_FRAME,
+                header: frame.header,
+                item,
+                endPosition: length is int ? self.position + length : (),
+                transferSyntax: frame.transferSyntax,
+                isSkipped: action == SKIP,
+                privateCreators: new dicom:PrivateCreatorResolver()
+            });
+        }
+        return true;
+    }
+
+    # Reads the available bytes of a value, and visits the value once it is read.
+    #
+    # + pendingValue - The value being read
+    # + return - `false` if more bytes are needed to read the value, `true` otherwise, or an error if the value
+    # cannot be parsed
+    isolated function readValue(PendingValue pendingValue) returns boolean|error {
+        ElementHeader header = pendingValue.header;
+        int vl = header.vl ?: 0;
+        int length = int:min(vl - pendingValue.bytes.length(), self.available());
+        if length > 0 {
+            byte[] bytes = self.peek(0, length);
+            self.consume(length);
+            // Values read from a single chunk are not copied again
+            if length == vl {
+                pendingValue.bytes = bytes;
+            } else {
+                pendingValue.bytes.push(...bytes);
+            }
+        }
+        if pendingValue.bytes.length() < vl {
+            return false;
+        }
+        self.pendingValue = ();
+
+        VisitFrame? frame = self.getFrame();
+        byte[] bytes = pendingValue.bytes;
+        if !pendingValue.isFragment && dicom:isPrivateCreatorTag(header.tag) {
+            self.getPrivateCreators(frame).register(header.tag, (check string:fromBytes(bytes)).trim());
+        }
+        if pendingValue.isVisited {
+            dicom:TransferSyntax transferSyntax = frame is VisitFrame ? frame.transferSyntax : self.transferSyntax;
+            dicom:DataElementValue value = pendingValue.isFragment
+                ? bytes : check parseValue(header.vr, bytes, dicom:getByteOrder(transferSyntax), self.diagnostics,
+                        header.tag);
+            _ = check self.visit(self.visitor.elementValue(header, value));
+        }
+        return true;
+    }
+
+    # Ends the innermost sequence or item if its defined length has been read.
+    #
+    # + return - `true` if a sequence or an item was ended, `false` otherwise, or an error if the content of the
+    # sequence or the item exceeds its length
+    isolated function endFrame() returns boolean|error {
+        VisitFrame? frame = self.getFrame();
+        int? endPosition = frame?.endPosition;
+        if frame is () || endPosition is () || self.position < endPosition {
+            return false;
+        } else if self.position > endPosition {
+            return error dicom:ParsingError(string `Content exceeds the length of the ${frame.kind.toLowerAscii()} ` +
+                    string `at position ${endPosition}`);
+        }
+        _ = self.frames.pop();
+        check self.visitEnd(frame);
+        return true;
+    }
+
+    # Visits the end of a sequence or an item, unless it was skipped.
+    #
+    # + frame - The ended sequence, item, or encapsulated pixel data element
+    # + return - An error if the visitor returns an error
+    isolated function visitEnd(VisitFrame frame) returns error? {
+        if frame.isSkipped {
+            return;
+        }
+        ItemHeader? item = frame.item;
+        if item is ItemHeader {
+            _ = check self.visit(self.visitor.itemEnd(item));
+        } else if frame.kind == SEQUENCE_FRAME {
+            _ = check self.visit(self.visitor.sequenceEnd(frame.header));
+        }
+    }
+
+    # Applies the action returned by the visitor.
+    #
+    # + action - The action returned by the visitor
+    # + return - The action, or the error returned by the visitor
+    isolated function visit(VisitAction|error action) returns VisitAction|error {
+        if action is STOP {
+            self.stopped = true;
+        }
+        return action;
+    }
+
+    # Retrieves the innermost sequence, item, or encapsulated pixel data element being parsed.
+    #
+    # + return - The innermost structure, or `()` if the top level dataset is being parsed
+    isolated function getFrame() returns VisitFrame? =>
+        self.frames.length() == 0 ? () : self.frames[self.frames.length() - 1];
+
+    # Retrieves the private creators of the dataset a data element belongs to.
+    #
+    # + frame - The item the data element belongs to, or `()` if it belongs to the top level dataset
+    # + return - The private creators of the dataset
+    isolated function getPrivateCreators(VisitFrame? frame) returns dicom:PrivateCreatorResolver =>
+        frame?.privateCreators ?: self.privateCreators;
+
+    # Retrieves the number of buffered bytes that are yet to be consumed.
+    #
+    # + return - The number of unconsumed bytes
+    isolated function available() returns int => self.buffer.length() - self.offset;
+
+    # Retrieves unconsumed bytes without consuming them.
+    #
+    # + startIndex - The index of the first byte, relative to the first unconsumed byte
+    # + endIndex - The index after the last byte, relative to the first unconsumed byte
+    # + return - The bytes
+    isolated function peek(int startIndex, int endIndex) returns byte[] =>
+        self.buffer.slice(self.offset + startIndex, self.offset + endIndex);
+
+    # Consumes buffered bytes.
+    #
+    # + length - The number of bytes to be consumed
+    isolated function consume(int length) {
+        self.offset += length;
+        self.position += length;
+    }
+}
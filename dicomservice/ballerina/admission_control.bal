@@ -0,0 +1,168 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerinax/health.dicom;
+import ballerinax/health.dicom.dicomweb;
+
+# Start time returned for requests rejected by admission control.
+const REJECTED = -1;
+
+# Limits the number of concurrently processed requests of each resource type.
+isolated class AdmissionController {
+
+    private final handle controller;
+    private final int retryAfter;
+
+    # Initializes a new instance of the `AdmissionController`.
+    #
+    # + config - The admission control configuration
+    # + return - A `dicomweb:Error` if the configuration is invalid
+    isolated function init(AdmissionControlConfig config) returns dicomweb:Error? {
+        string? invalidField = getInvalidAdmissionControlField(config);
+        if invalidField is string {
+            string message = string `Invalid admission control configuration: ${invalidField}`;
+            return dicomweb:createInternalDicomwebError(message);
+        }
+        self.controller = newAdmissionController(config.resourceMaxConcurrency.cloneReadOnly(), config.maxConcurrency,
+                config.minConcurrency, config.maxQueueSize, <int>(config.maxQueueWait * 1000), config.adaptive);
+        self.retryAfter = config.retryAfter;
+    }
+
+    # Admits a request, waiting for the requests of its resource type to complete if the limit is reached.
+    #
+    # + resourceType - The resource type of the request
+    # + return - The start time of the request, to be passed to `release()`, or `()` if the request is rejected
+    isolated function admit(dicomweb:ResourceType resourceType) returns int? {
+        int startTime = acquireAdmission(self.controller, resourceType);
+        if startTime == REJECTED {
+            dicom:incrementCounter(dicom:METRIC_ADMISSION_REJECTIONS);
+            return;
+        }
+        return startTime;
+    }
+
+    # Releases an admitted request.
+    #
+    # + resourceType - The resource type of the request
+    # + startTime - The start time returned by `admit()`
+    isolated function release(dicomweb:ResourceType resourceType, int startTime) {
+        releaseAdmission(self.controller, resourceType, startTime);
+    }
+
+    # Retrieves the current concurrency limit of a resource type.
+    #
+    # + resourceType - The resource type
+    # + return - The concurrency limit
+    isolated function getLimit(dicomweb:ResourceType resourceType) returns int =>
+        getAdmissionLimit(self.controller, resourceType);
+
+    # Creates the response of a request rejected by admission control.
+    #
+    # + resourceType - The resource type of the request
+    # + uri - The base URI of the request
+    # + return - The `503 Service Unavailable` response
+    isolated function createRejectionResponse(dicomweb:ResourceType resourceType,
+            string uri) returns http:ServiceUnavailable {
+        dicomweb:Error err = dicomweb:createDicomwebError(
+                string `Too many concurrent requests for resource: ${resourceType}`,
+                diagnostic = string `Retry after ${self.retryAfter} seconds`,
+                httpStatusCode = http:STATUS_SERVICE_UNAVAILABLE);
+        return {
+            // Rejections are not logged, as they are expected under overload
+            body: dicomweb:constructStatusReport(err, uri, false),
+            mediaType: dicomweb:MIME_TYPE_DICOM_JSON,
+            headers: {[RETRY_AFTER_HEADER]: self.retryAfter.toString()}
+        };
+    }
+}
+
+# A request admitted by an `AdmissionController`, which counts towards the limit of its resource type until it is
+# released.
+isolated class Admission {
+
+    private final AdmissionController controller;
+    private final dicomweb:ResourceType resourceType;
+    private final int startTime;
+    private boolean retained = false;
+    private boolean released = false;
+
+    # Initializes a new instance of the `Admission`.
+    #
+    # + controller - The admission controller that admitted the request
+    # + resourceType - The resource type of the request
+    # + startTime - The start time returned by `AdmissionController.admit()`
+    isolated function init(AdmissionController controller, dicomweb:ResourceType resourceType, int startTime) {
+        self.controller = controller;
+        self.resourceType = resourceType;
+        self.startTime = startTime;
+    }
+
+    # Marks the admission as retained by a response stream, which releases it once the stream is closed.
+    isolated function retain() {
+        lock {
+            self.retained = true;
+        }
+    }
+
+    # Checks whether the admission is retained by a response stream.
+    #
+    # + return - `true` if the admission is retained, `false` otherwise
+    isolated function isRetained() returns boolean {
+        lock {
+            return self.retained;
+        }
+    }
+
+    # Releases the admission. Releasing an admission more than once has no effect.
+    isolated function release() {
+        lock {
+            if self.released {
+                return;
+            }
+            self.released = true;
+        }
+        self.controller.release(self.resourceType, self.startTime);
+    }
+}
+
+# Validates an admission control configuration.
+#
+# + config - The admission control configuration
+# + return - The name of the first invalid field, or `()` if the configuration is valid
+isolated function getInvalidAdmissionControlField(AdmissionControlConfig config) returns string? {
+    if config.maxConcurrency <= 0 {
+        return "maxConcurrency";
+    }
+    foreach int maxConcurrency in config.resourceMaxConcurrency {
+        if maxConcurrency <= 0 {
+            return "resourceMaxConcurrency";
+        }
+    }
+    if config.minConcurrency <= 0 {
+        return "minConcurrency";
+    }
+    if config.maxQueueSize < 0 {
+        return "maxQueueSize";
+    }
+    if config.maxQueueWait < 0d {
+        return "maxQueueWait";
+    }
+    if config.retryAfter < 0 {
+        return "retryAfter";
+    }
+    return;
+}
@@ -22,9 +22,43 @@ public enum MessageDirection {
     OUT
 }
 
+# DICOMweb transaction types.
+public enum TransactionType {
+    SEARCH,
+    RETRIEVE,
+    STORE
+}
+
+# Resource path segment denoting a path parameter in resource routes.
+const PATH_PARAM_IDENTIFIER = "^";
+
 # DICOM request context property name.
 public const DICOM_CONTEXT_PROP_NAME = "_OH_DICOM_REQUEST_CONTEXT_";
 
+# Response cache lookup request context property name.
+const RESPONSE_CACHE_LOOKUP_PROP_NAME = "_OH_DICOM_RESPONSE_CACHE_LOOKUP_";
+
+# Default maximum number of cached search responses.
+public const DEFAULT_RESPONSE_CACHE_CAPACITY = 1000;
+
+# Default maximum number of concurrently processed requests of each resource type.
+public const DEFAULT_MAX_CONCURRENCY = 64;
+
+# Default maximum number of requests of each resource type waiting to be processed.
+public const DEFAULT_MAX_QUEUE_SIZE = 128;
+
+# Default maximum time a request waits to be processed, in seconds.
+public const decimal DEFAULT_MAX_QUEUE_WAIT = 1;
+
+# Default `Retry-After` header value of requests rejected by admission control, in seconds.
+public const DEFAULT_RETRY_AFTER = 1;
+
+# Default width and height of the viewport thumbnails are downscaled to fit in, in pixels.
+public const DEFAULT_THUMBNAIL_SIZE = 128;
+
+# HTTP `Retry-After` header name.
+const RETRY_AFTER_HEADER = "Retry-After";
+
 # Default API config
 public final ApiConfig DEFAULT_API_CONFIG = {
     queryParameters: [
@@ -47,7 +81,10 @@ public final ApiConfig DEFAULT_API_CONFIG = {
         },
         {
             name: dicomweb:FUZZYMATCHING,
-            active: false
+            // Fuzzy matching is opt-in, as it matches the names of each candidate dataset unless the service resources
+            // use a fuzzy token index
+            active: false,
+            preProcessor: fuzzyMatchingQueryParamPreProcessor
         }
     ]
 };
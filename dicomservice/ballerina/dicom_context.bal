@@ -19,11 +19,10 @@ import ballerinax/health.dicom.dicomweb;
 # Class representing a DICOM context.
 public isolated class DicomContext {
 
-    private MessageDirection direction = IN;
     private final DicomRequest dicomRequest;
     private final HttpRequest & readonly httpRequest;
-    private boolean inErrorState = false;
-    private int errorCode = 500;
+    // The mutable state is held in volatile native fields, so that it is read and written without taking a lock
+    private final handle state;
 
     # Initializes a new instance of the `DicomContext`.
     #
@@ -32,60 +31,49 @@ public isolated class DicomContext {
     public isolated function init(DicomRequest dicomRequest, HttpRequest & readonly httpRequest) {
         self.dicomRequest = dicomRequest;
         self.httpRequest = httpRequest;
+        self.state = newRequestState(IN, 500);
     }
 
     # Sets the message direction of the context.
     #
     # + direction - The message direction to be set
     public isolated function setDirection(MessageDirection direction) {
-        lock {
-            self.direction = direction;
-        }
+        setStateDirection(self.state, direction);
     }
 
     # Retrieves the message direction of the context.
     #
     # + return - The current message direction of the context
     public isolated function getDirection() returns MessageDirection {
-        lock {
-            return self.direction;
-        }
+        return getStateDirection(self.state);
     }
 
     # Checks if the context is in an error state.
     #
     # + return - `true` if the context is in an error state, `false` otherwise
     public isolated function isInErrorState() returns boolean {
-        lock {
-            return self.inErrorState;
-        }
+        return isStateInErrorState(self.state);
     }
 
     # Sets the error state of the context.
     #
     # + inErrorState - The error state to be set
     public isolated function setInErrorState(boolean inErrorState) {
-        lock {
-            self.inErrorState = inErrorState;
-        }
+        setStateInErrorState(self.state, inErrorState);
     }
 
     # Retrieves the error code of the context.
     #
     # + return - The current error code of the context
     public isolated function getErrorCode() returns int {
-        lock {
-            return self.errorCode;
-        }
+        return getStateErrorCode(self.state);
     }
 
     # Sets the error code of the context.
     #
     # + errorCode - The error code to be set
     public isolated function setErrorCode(int errorCode) {
-        lock {
-            self.errorCode = errorCode;
-        }
+        setStateErrorCode(self.state, errorCode);
     }
 
     # Retrieves the DICOM request associated with the context.
@@ -133,13 +121,8 @@ public isolated class DicomContext {
             return queryParams.get(param);
         }
         // Could be a match parameter
-        if queryParams.hasKey(dicomweb:MATCH) {
-            dicomweb:MatchParameterMap|error matchParams = queryParams.get(dicomweb:MATCH).ensureType();
-            if matchParams is dicomweb:MatchParameterMap && matchParams.hasKey(param) {
-                return matchParams.get(param);
-            }
-        }
-        return;
+        dicomweb:MatchParameterMap? & readonly matchParams = self.dicomRequest.getMatchQueryParameters();
+        return matchParams is () ? () : matchParams[param];
     }
     
 }
@@ -52,13 +52,14 @@ public isolated class DicomPreprocessor {
         dicomweb:QueryParameterMap processedQueryParams
             = check processQueryParams(httpRequest.getQueryParams(), searchResourceType, self.queryParamConfigMap);
 
-        // Create HTTP request
-        HttpRequest & readonly request = createHttpRequestRecord(httpRequest, ());
-
         // Create DICOM request
         DicomRequest dicomRequest
             = new (requestHeaders.acceptType, processedQueryParams.cloneReadOnly(), searchResourceType);
 
+        // Create HTTP request
+        // The headers are copied here, so that the context never holds the mutable request
+        HttpRequest & readonly request = createHttpRequestRecord(httpRequest, (), self.apiConfig.contextHeaders);
+
         // Create DICOM context
         DicomContext dicomContext = new (dicomRequest, request);
 
@@ -133,11 +134,13 @@ isolated function validateRequestHeaders(http:Request httpRequest) returns dicom
 #
 # + request - The `http:Request` from which the headers are extracted
 # + payload - The payload
+# + headerNames - The names of the headers to extract, or `()` to extract all headers
 # + return - The constructed `HttpRequest` record
-isolated function createHttpRequestRecord(http:Request request, json|xml? payload) returns HttpRequest & readonly {
+isolated function createHttpRequestRecord(http:Request request, json|xml? payload, string[]? headerNames = ())
+        returns HttpRequest & readonly {
     map<string[]> headers = {};
 
-    foreach string headerName in request.getHeaderNames() {
+    foreach string headerName in headerNames ?: request.getHeaderNames() {
         string[]|http:HeaderNotFoundError headerValues = request.getHeaders(headerName);
         if headerValues is string[] {
             headers[headerName] = headerValues;
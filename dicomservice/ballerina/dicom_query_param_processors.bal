@@ -126,6 +126,24 @@ public isolated function offsetQueryParamPreProcessor(string[] paramValue)
     }
 }
 
+# Default preprocessor for the "fuzzymatching" query parameter.
+#
+# + paramValue - The raw "fuzzymatching" parameter value
+# + return - The preprocessed `dicomweb:FuzzyMatchingParameterValue`, or a `dicomweb:ValidationError` if
+# pre-processing fails.
+public isolated function fuzzyMatchingQueryParamPreProcessor(string[] paramValue)
+        returns dicomweb:FuzzyMatchingParameterValue|dicomweb:ValidationError {
+    // Fuzzymatching parameter value is either "true" or "false"
+    // Based off of Section 8.3.4.1 in Part 18
+    if paramValue.length() == 1 && (paramValue[0] == "true" || paramValue[0] == "false") {
+        return paramValue[0] == "true";
+    }
+    string message = string `Invalid value for 'fuzzymatching' query parameter: ${joinWithComma(...paramValue)}`;
+    string diagnostic = "Valid values for 'fuzzymatching' query parameter: 'true', 'false'";
+    return <dicomweb:ValidationError>dicomweb:createDicomwebError(message, dicomweb:VALIDATION_ERROR,
+            diagnostic, httpStatusCode = http:STATUS_BAD_REQUEST);
+}
+
 // Query param post processors
 
 # Default post processor for the "limit" query parameter.
@@ -16,11 +16,13 @@
 
 import ballerinax/health.dicom.dicomweb;
 
-# Class representing a DICOM request.
+# Class representing a DICOM request. The request is immutable, and is shared by the strands that process it
+# without locking.
 public isolated class DicomRequest {
 
     private final dicomweb:MimeType acceptType;
     private final dicomweb:QueryParameterMap & readonly queryParams;
+    private final dicomweb:MatchParameterMap? & readonly matchParams;
     private final dicomweb:ResourceType resourceType;
 
     # Initializes a new instance of the `DicomRequest`.
@@ -32,6 +34,9 @@ public isolated class DicomRequest {
             dicomweb:ResourceType resourceType) {
         self.acceptType = acceptType;
         self.queryParams = queryParams;
+        // Resolved once, rather than type checked and copied on each retrieval
+        dicomweb:QueryParameterValue? & readonly matchParams = queryParams[dicomweb:MATCH];
+        self.matchParams = matchParams is dicomweb:MatchParameterMap ? matchParams : ();
         self.resourceType = resourceType;
     }
 
@@ -53,8 +58,7 @@ public isolated class DicomRequest {
     #
     # + return - The match query parameters of the request if exists, or `()` otherwise
     public isolated function getMatchQueryParameters() returns dicomweb:MatchParameterMap? & readonly {
-        dicomweb:MatchParameterMap|error matchParams = trap self.queryParams.get(dicomweb:MATCH).ensureType();
-        return matchParams is dicomweb:MatchParameterMap ? matchParams.cloneReadOnly() : ();
+        return self.matchParams;
     }
 
     # Retrieves the resource type of the request.
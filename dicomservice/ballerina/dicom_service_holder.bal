@@ -15,17 +15,60 @@
 // under the License.
 
 import ballerina/jballerina.java;
+import ballerinax/health.dicom.dicomweb;
 
 # DICOM service holder class.
 isolated class DicomServiceHolder {
 
+    private final map<ResourceRoute> & readonly routes;
+
     # Initializes a new instance of the `DicomServiceHolder`.
     #
+    # The routes of the DICOM service are loaded from the route table generated by the compiler plugin.
+    # Services without a generated route table, such as service objects, have their routes resolved from
+    # their resource paths instead.
+    #
     # + dicomService - The DICOM service to be held
     isolated function init(Service dicomService) {
         self.addDicomService(dicomService);
+        ResourceRoute[] routes = getCompiledRoutes(dicomService) ?: createResourceRoutes(dicomService);
+        map<ResourceRoute> routeMap = {};
+        foreach ResourceRoute route in routes {
+            string routeKey = getRouteKey(route.accessor, route.resourceType);
+            if !routeMap.hasKey(routeKey) {
+                routeMap[routeKey] = route;
+            }
+        }
+        self.routes = routeMap.cloneReadOnly();
+        self.setResourceRoutes(self.routes.toArray());
+    }
+
+    # Retrieves the route of a DICOMweb resource type.
+    #
+    # + accessor - The resource accessor
+    # + resourceType - The DICOMweb resource type
+    # + return - The route if the DICOM service serves the resource type, or `()` otherwise
+    isolated function getRoute(string accessor, dicomweb:ResourceType resourceType) returns ResourceRoute? {
+        return self.routes[getRouteKey(accessor, resourceType)];
     }
 
+    # Retrieves the resource method serving a DICOMweb resource type.
+    #
+    # + accessor - The resource accessor
+    # + resourceType - The DICOMweb resource type
+    # + return - The resource method handle if the DICOM service serves the resource type, or `()` otherwise
+    isolated function getResourceMethod(string accessor, dicomweb:ResourceType resourceType) returns handle? =
+    @java:Method {
+        'class: "io.ballerinax.health.dicom.dicomservice.ServiceHolderUtils"
+    } external;
+
+    # Resolves the resource methods of the routes of the DICOM service.
+    #
+    # + routes - The routes of the DICOM service
+    isolated function setResourceRoutes(ResourceRoute[] routes) = @java:Method {
+        'class: "io.ballerinax.health.dicom.dicomservice.ServiceHolderUtils"
+    } external;
+
     # Adds a DICOM service to the holder.
     #
     # + dicomService - The DICOM service to be added
@@ -41,3 +84,52 @@ isolated class DicomServiceHolder {
     } external;
     
 }
+
+# Resolves the routes of a DICOM service from the resource paths of the service.
+#
+# + dicomService - The DICOM service
+# + return - The routes of the resources that map to DICOMweb resources
+isolated function createResourceRoutes(Service dicomService) returns ResourceRoute[] {
+    ResourceRoute[] routes = [];
+    foreach string[] resourcePath in getResourcePaths(dicomService) {
+        ResourceRoute? route = createResourceRoute(resourcePath[0], resourcePath.slice(1));
+        if route is ResourceRoute {
+            routes.push(route);
+        }
+    }
+    return routes;
+}
+
+# Resolves the route of a DICOM service resource.
+#
+# + accessor - The resource accessor
+# + path - The resource path, where path parameters are denoted by `^`
+# + return - The route if the resource maps to a DICOMweb resource, or `()` otherwise
+isolated function createResourceRoute(string accessor, string[] path) returns ResourceRoute? {
+    dicomweb:ResourceType? resourceType = ();
+    TransactionType transactionType = SEARCH;
+    string normalizedAccessor = accessor.toLowerAscii();
+    if normalizedAccessor == "get" {
+        resourceType = getSearchResourceFromPath(path);
+        if resourceType == () {
+            resourceType = getRetrieveResourceFromPath(path);
+            transactionType = RETRIEVE;
+        }
+    } else if normalizedAccessor == "post" {
+        resourceType = getStoreResourceFromPath(path);
+        transactionType = STORE;
+    }
+    if resourceType == () {
+        return;
+    }
+    int[] pathParamIndices = from int i in 0 ..< path.length() where path[i] == PATH_PARAM_IDENTIFIER select i;
+    return {resourceType, transactionType, accessor: normalizedAccessor, path, pathParamIndices};
+}
+
+# Creates the key of a route.
+#
+# + accessor - The resource accessor
+# + resourceType - The DICOMweb resource type
+# + return - The route key
+isolated function getRouteKey(string accessor, dicomweb:ResourceType resourceType) returns string
+    => string `${accessor.toLowerAscii()} ${resourceType}`;
@@ -17,14 +17,20 @@
 import ballerina/jballerina.java;
 import ballerinax/health.dicom.dicomweb;
 
-# Retrieves the matching resource method from the DICOM service.
+# Retrieves the route table generated by the compiler plugin for a DICOM service.
 #
 # + serviceObject - The DICOM service object
-# + requestPath - The request path
-# + accessor - The HTTP method
-# + return - The resource method handle if there's a matching resource, or `()` otherwise
-isolated function getResourceMethod(service object {} serviceObject, string[] requestPath, string accessor)
-    returns handle? = @java:Method {
+# + return - The generated routes, or `()` if the service does not have a generated route table
+isolated function getCompiledRoutes(service object {} serviceObject) returns readonly & ResourceRoute[]? =
+    @java:Method {
+    'class: "io.ballerinax.health.dicom.dicomservice.Utils"
+} external;
+
+# Retrieves the accessors and paths of the resource methods of a DICOM service.
+#
+# + serviceObject - The DICOM service object
+# + return - The accessor of each resource method, followed by its resource path
+isolated function getResourcePaths(service object {} serviceObject) returns string[][] = @java:Method {
     'class: "io.ballerinax.health.dicom.dicomservice.Utils"
 } external;
 
@@ -68,6 +74,158 @@ isolated function executeWithStudyAndSeries(string study, string series, DicomCo
     'class: "io.ballerinax.health.dicom.dicomservice.HttpToDicomwebAdaptor"
 } external;
 
+# Creates a native request coalescer.
+#
+# + return - The request coalescer
+isolated function newRequestCoalescer() returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestCoalescer"
+} external;
+
+# Joins the in-progress execution of a request key, or starts a new execution led by the caller.
+#
+# + coalescer - The request coalescer
+# + requestKey - The request key
+# + return - The ticket of the caller in the execution
+isolated function joinFlight(handle coalescer, string requestKey) returns handle = @java:Method {
+    name: "join",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestCoalescer"
+} external;
+
+# Checks whether a ticket is held by the leader of its execution, which must execute the request.
+#
+# + ticket - The ticket
+# + return - `true` if the ticket is held by the leader, `false` otherwise
+isolated function isFlightLeader(handle ticket) returns boolean = @java:Method {
+    name: "isLeader",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestCoalescer"
+} external;
+
+# Waits for the leader of an execution to complete it.
+#
+# + ticket - The ticket of a waiting request
+# + return - The shared result of the execution
+isolated function awaitFlight(handle ticket) returns anydata & readonly|error = @java:Method {
+    name: "await",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestCoalescer"
+} external;
+
+# Completes an execution with the result of its leader, releasing the waiting requests.
+#
+# + ticket - The ticket of the leader
+# + result - The immutable result of the execution
+isolated function completeFlight(handle ticket, anydata & readonly|error result) = @java:Method {
+    name: "complete",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestCoalescer"
+} external;
+
+# Creates a native admission controller.
+#
+# + resourceMaxConcurrency - The maximum concurrency of specific resource types, keyed by resource type
+# + maxConcurrency - The maximum concurrency of the other resource types
+# + minConcurrency - The minimum concurrency adaptive limits are lowered to
+# + maxQueueSize - The maximum number of waiting requests of each resource type
+# + maxQueueWaitMillis - The maximum time a request waits to be admitted, in milliseconds
+# + adaptive - Whether limits adapt to the observed latency
+# + return - The admission controller
+isolated function newAdmissionController(map<int> & readonly resourceMaxConcurrency, int maxConcurrency,
+        int minConcurrency, int maxQueueSize, int maxQueueWaitMillis, boolean adaptive) returns handle =
+    @java:Constructor {
+    'class: "io.ballerinax.health.dicom.dicomservice.AdmissionController"
+} external;
+
+# Admits a request, waiting in the queue of its resource type if the limit is reached.
+#
+# + controller - The admission controller
+# + resourceType - The resource type of the request
+# + return - The start time of the request, or `REJECTED` if the request is rejected
+isolated function acquireAdmission(handle controller, string resourceType) returns int = @java:Method {
+    name: "acquire",
+    'class: "io.ballerinax.health.dicom.dicomservice.AdmissionController"
+} external;
+
+# Releases an admitted request.
+#
+# + controller - The admission controller
+# + resourceType - The resource type of the request
+# + startTime - The start time returned when the request was admitted
+isolated function releaseAdmission(handle controller, string resourceType, int startTime) = @java:Method {
+    name: "release",
+    'class: "io.ballerinax.health.dicom.dicomservice.AdmissionController"
+} external;
+
+# Retrieves the current concurrency limit of a resource type.
+#
+# + controller - The admission controller
+# + resourceType - The resource type
+# + return - The concurrency limit
+isolated function getAdmissionLimit(handle controller, string resourceType) returns int = @java:Method {
+    name: "getLimit",
+    'class: "io.ballerinax.health.dicom.dicomservice.AdmissionController"
+} external;
+
+# Creates the native mutable state of a DICOM context.
+#
+# + direction - The initial message direction
+# + errorCode - The initial error code
+# + return - The request state
+isolated function newRequestState(MessageDirection direction, int errorCode) returns handle = @java:Constructor {
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Retrieves the message direction of a request state.
+#
+# + state - The request state
+# + return - The message direction
+isolated function getStateDirection(handle state) returns MessageDirection = @java:Method {
+    name: "getDirection",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Sets the message direction of a request state.
+#
+# + state - The request state
+# + direction - The message direction
+isolated function setStateDirection(handle state, MessageDirection direction) = @java:Method {
+    name: "setDirection",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Checks whether a request state is in an error state.
+#
+# + state - The request state
+# + return - `true` if the request state is in an error state, `false` otherwise
+isolated function isStateInErrorState(handle state) returns boolean = @java:Method {
+    name: "isInErrorState",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Sets the error state of a request state.
+#
+# + state - The request state
+# + inErrorState - The error state
+isolated function setStateInErrorState(handle state, boolean inErrorState) = @java:Method {
+    name: "setInErrorState",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Retrieves the error code of a request state.
+#
+# + state - The request state
+# + return - The error code
+isolated function getStateErrorCode(handle state) returns int = @java:Method {
+    name: "getErrorCode",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
+# Sets the error code of a request state.
+#
+# + state - The request state
+# + errorCode - The error code
+isolated function setStateErrorCode(handle state, int errorCode) = @java:Method {
+    name: "setErrorCode",
+    'class: "io.ballerinax.health.dicom.dicomservice.RequestState"
+} external;
+
 isolated function setModule() = @java:Method {
     'class: "io.ballerinax.health.dicom.dicomservice.ModuleUtils"
 } external;
@@ -15,30 +15,91 @@
 // under the License.
 
 import ballerina/http;
+import ballerina/io;
+import ballerinax/health.dicom;
 import ballerinax/health.dicom.dicomweb;
 
 # Constructs a DICOM specific HTTP service for the DICOM service.
 #
 # + dicomServiceHolder - The DICOM service holder instance
 # + apiConfig - The API configuration
+# + responseCache - The cache of search responses, if enabled
+# + admissionController - The admission controller, if enabled
+# + renderer - The renderer of rendered instance, rendered frame and thumbnail requests, if enabled
 # + return - The constructed HTTP service object
-isolated function getHttpService(DicomServiceHolder dicomServiceHolder, ApiConfig apiConfig) returns http:Service {
+isolated function getHttpService(DicomServiceHolder dicomServiceHolder, ApiConfig apiConfig,
+        ResponseCache? responseCache = (), AdmissionController? admissionController = (),
+        Renderer? renderer = ()) returns http:Service {
     http:InterceptableService httpService = isolated service object {
 
         private final DicomServiceHolder dicomServiceHolder = dicomServiceHolder;
         private final DicomPreprocessor dicomPreprocessor = new DicomPreprocessor(apiConfig);
+        private final dicomweb:BulkDataConfig? & readonly bulkDataConfig = apiConfig.bulkData;
+        private final ResponseCache? responseCache = responseCache;
+        private final RequestCoalescer? requestCoalescer = apiConfig.coalesceSearchRequests
+            ? new RequestCoalescer() : ();
+        private final string[] & readonly requestKeyHeaders = apiConfig.requestKeyHeaders;
+        private final AdmissionController? admissionController = admissionController;
+        private final Renderer? renderer = renderer;
 
         public function createInterceptors() returns [DicomResponseErrorInterceptor, DicomResponseInterceptor] {
-            return [new DicomResponseErrorInterceptor(), new DicomResponseInterceptor(apiConfig)];
+            return [new DicomResponseErrorInterceptor(), new DicomResponseInterceptor(apiConfig, responseCache)];
         }
 
         isolated resource function get [string... path](http:Request req, http:RequestContext ctx) returns any|error {
+            // A GET request could be a Search or a Retrieve transaction resource request
+            dicomweb:ResourceType? resourceType = getSearchResourceFromPath(path) ?: getRetrieveResourceFromPath(path);
+
+            AdmissionController? admissionController = self.admissionController;
+            if admissionController == () || resourceType == () {
+                return self.processGetRequest(path, resourceType, req, ctx);
+            }
+            int? startTime = admissionController.admit(resourceType);
+            if startTime == () {
+                return admissionController.createRejectionResponse(resourceType, getBasePath(req.rawPath));
+            }
+            Admission admission = new (admissionController, resourceType, startTime);
+            // Panics are trapped, so that the request is always released
+            any|error result = trap self.processGetRequest(path, resourceType, req, ctx, admission);
+            // Streamed responses hold the admission until the stream is closed
+            if !admission.isRetained() {
+                admission.release();
+            }
+            return result;
+        }
+
+        # Processes a GET request.
+        #
+        # + path - The request path
+        # + resourceType - The resource type matching the request path, if any
+        # + req - The HTTP request
+        # + ctx - The HTTP request context
+        # + admission - The admission of the request, if admission control is enabled
+        # + return - The result of processing the request
+        isolated function processGetRequest(string[] path, dicomweb:ResourceType? resourceType, http:Request req,
+                http:RequestContext ctx, Admission? admission = ()) returns any|error {
             // Get DICOM service from the holder
             Service dicomService = self.dicomServiceHolder.getDicomService();
-            // Get matching method in the DICOM service
-            handle? resourceMethod = getResourceMethod(dicomService, path, http:GET);
 
-            if resourceMethod == () { // No matching method
+            // Bulk data is served directly from the source files, when configured
+            dicomweb:BulkDataConfig? bulkDataConfig = self.bulkDataConfig;
+            if resourceType == dicomweb:RETRIEVE_BULKDATA && bulkDataConfig is dicomweb:BulkDataConfig {
+                return retrieveBulkData(path[1], bulkDataConfig, admission);
+            }
+
+            // Rendered images are rendered directly from the source files, when configured
+            Renderer? renderer = self.renderer;
+            if renderer is Renderer && resourceType is dicomweb:ResourceType && isRenderedResource(resourceType) {
+                return renderer.render(resourceType, path, req);
+            }
+
+            // Get the route and the matching method in the DICOM service
+            ResourceRoute? route = resourceType is dicomweb:ResourceType
+                ? self.dicomServiceHolder.getRoute(http:GET, resourceType) : ();
+            handle? resourceMethod = route is ResourceRoute
+                ? self.dicomServiceHolder.getResourceMethod(http:GET, route.resourceType) : ();
+
+            if route == () || resourceMethod == () { // No matching method
                 string message = string `Path not found: ${req.extraPathInfo}`;
                 return dicomweb:createDicomwebError(message, httpStatusCode = http:STATUS_NOT_FOUND);
             }
@@ -46,44 +107,65 @@ isolated function getHttpService(DicomServiceHolder dicomServiceHolder, ApiConfi
             DicomContext? dicomContext;
             any|error executionResult = ();
 
-            // A GET request could be a Search or a Retrieve transaction resource request
-            dicomweb:ResourceType? resourceType = getSearchResourceFromPath(path);
-            if resourceType is dicomweb:ResourceType { // Search resource
+            if route.transactionType == SEARCH { // Search resource
                 // Get path params from the path
-                map<string> pathParams = getResourcePathParams(resourceType, path);
+                string[] pathParams = getResourcePathParams(route, path);
                 // Process search resource
-                check self.dicomPreprocessor.processSearchResource(req, ctx, resourceType);
+                int preprocessStartTime = dicom:startTimer();
+                check self.dicomPreprocessor.processSearchResource(req, ctx, route.resourceType);
+                dicom:recordDuration(dicom:METRIC_PREPROCESS_DURATION, preprocessStartTime);
                 // Get DICOM context from HTTP context
                 dicomContext = getDicomContext(ctx);
                 if dicomContext == () {
                     return createDicomContextNotFoundError();
                 }
-                // Execute search transaction resource
-                executionResult = executeSearchTransactionResource(resourceType, pathParams,
-                            dicomContext, dicomService, resourceMethod);
+                // Requests are keyed only if they are cached or coalesced
+                ResponseCache? responseCache = self.responseCache;
+                RequestCoalescer? requestCoalescer = self.requestCoalescer;
+                string? requestKey = responseCache == () && requestCoalescer == () ? ()
+                    : createSearchRequestKey(route.resourceType, pathParams, dicomContext.getRequestQueryParameters(),
+                        getRequestKeyHeaderValues(req, self.requestKeyHeaders));
+                // Serve the response from the cache, if cached
+                if responseCache is ResponseCache && requestKey is string {
+                    ResponseCacheEntry? cachedResponse = responseCache.get(requestKey);
+                    // The generation is read before execution, so that a response produced from data that is
+                    // changed during execution is not cached
+                    ResponseCacheLookup lookup = {
+                        key: requestKey,
+                        generation: responseCache.getGeneration(),
+                        hit: cachedResponse is ResponseCacheEntry
+                    };
+                    ctx.set(RESPONSE_CACHE_LOOKUP_PROP_NAME, lookup);
+                    if cachedResponse is ResponseCacheEntry {
+                        dicom:incrementCounter(dicom:METRIC_RESPONSE_CACHE_HITS);
+                        return createCachedResponse(cachedResponse, req);
+                    }
+                    dicom:incrementCounter(dicom:METRIC_RESPONSE_CACHE_MISSES);
+                }
+                // Execute search transaction resource, sharing the execution with identical concurrent requests
+                int executeStartTime = dicom:startTimer();
+                executionResult = requestCoalescer is RequestCoalescer && requestKey is string
+                    ? requestCoalescer.execute(requestKey, pathParams, dicomContext, dicomService, resourceMethod)
+                    : executeSearchTransactionResource(pathParams, dicomContext, dicomService, resourceMethod);
+                dicom:recordDuration(dicom:METRIC_EXECUTE_DURATION, executeStartTime);
                 // If execution is erroneous, update DICOM context accordingly
                 if executionResult is error {
                     dicomContext.setInErrorState(true);
                     dicomContext.setErrorCode(getErrorCode(executionResult));
                 }
-            } else { // Could be a retrieve resource
-                resourceType = getRetrieveResourceFromPath(path);
-                if resourceType is dicomweb:ResourceType {
-                    // TODO: Implement
-                    // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1537
-                    return createTransactionNotSupportedError("Retrieve transaction (WADO-RS)");
-                } else {
-                    return createInvalidResourceError(req.extraPathInfo);
-                }
+            } else { // Retrieve resource
+                // TODO: Implement
+                // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1537
+                return createTransactionNotSupportedError("Retrieve transaction (WADO-RS)");
             }
             return executionResult;
         }
 
         isolated resource function post [string... path](http:Request req, http:RequestContext ctx) returns any|error {
-            // Get DICOM service from the holder
-            Service dicomService = self.dicomServiceHolder.getDicomService();
             // Get matching method in the DICOM service
-            handle? resourceMethod = getResourceMethod(dicomService, path, http:POST);
+            dicomweb:ResourceType? storeResourceType = getStoreResourceFromPath(path);
+            handle? resourceMethod = storeResourceType is dicomweb:ResourceType
+                ? self.dicomServiceHolder.getResourceMethod(http:POST, storeResourceType) : ();
 
             if resourceMethod == () { // No matching method
                 return createPathNotFoundError(req.extraPathInfo);
@@ -94,11 +176,6 @@ isolated function getHttpService(DicomServiceHolder dicomServiceHolder, ApiConfi
                 return createInvalidPayloadError();
             }
 
-            dicomweb:ResourceType? storeResourceType = getStoreResourceFromPath(path);
-            if storeResourceType == () { // Invalid DICOMweb resource
-                return createInvalidResourceError(req.extraPathInfo);
-            }
-
             // TODO: Implement
             // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1538
             return createTransactionNotSupportedError("Store transaction (STOW-RS)");
@@ -197,7 +274,7 @@ public isolated function getRetrieveResourceFromPath(string[] path) returns dico
         ["studies", _, "series", _, "instances", _, "bulkdata"] => {
             return dicomweb:RETRIEVE_INSTANCE_BULKDATA;
         }
-        [_] => {
+        ["bulkdata", _] => {
             return dicomweb:RETRIEVE_BULKDATA;
         }
         _ => {
@@ -224,26 +301,24 @@ isolated function getStoreResourceFromPath(string[] path) returns dicomweb:Resou
     }
 }
 
-# Executes a search resource based on the search resource type.
+# Executes a search resource based on its path parameters.
 #
-# + searchResource - The search resource type
-# + pathParams - The path parameters map
+# + pathParams - The path parameter values, in the order of the resource path
 # + dicomContext - The DICOM context
 # + dicomService - The DICOM service object
 # + resourceMethod - The resource method to be executed
 # + return - The result of the execution
-isolated function executeSearchTransactionResource(dicomweb:ResourceType searchResource, map<string> pathParams,
-        DicomContext dicomContext, Service dicomService, handle resourceMethod) returns any|error {
-    match searchResource {
-        dicomweb:SEARCH_STUDY_SERIES|dicomweb:SEARCH_STUDY_INSTANCES => {
-            return executeWithStudy(pathParams.get("study"), dicomContext,
-                dicomContext.getRequestQueryParameters(), dicomService, resourceMethod);
-        }
-        dicomweb:SEARCH_STUDY_SERIES_INSTANCES => {
-            return executeWithStudyAndSeries(pathParams.get("study"), pathParams.get("series"),
-                dicomContext, dicomContext.getRequestQueryParameters(), dicomService,
+isolated function executeSearchTransactionResource(string[] pathParams, DicomContext dicomContext,
+        Service dicomService, handle resourceMethod) returns any|error {
+    match pathParams {
+        [var study] => {
+            return executeWithStudy(study, dicomContext, dicomContext.getRequestQueryParameters(), dicomService,
                 resourceMethod);
         }
+        [var study, var series] => {
+            return executeWithStudyAndSeries(study, series, dicomContext, dicomContext.getRequestQueryParameters(),
+                dicomService, resourceMethod);
+        }
         _ => { // Resources with no path params
             return executeWithNoPathParams(dicomContext, dicomContext.getRequestQueryParameters(),
                 dicomService, resourceMethod);
@@ -251,25 +326,130 @@ isolated function executeSearchTransactionResource(dicomweb:ResourceType searchR
     }
 }
 
-# Retrieves the resource path parameters from a path.
+# Retrieves the resource path parameter values from a path.
 #
-# + resourceType - The resource type
+# + route - The route of the resource
 # + path - The path to extract the parameters from
-# + return - The extracted resource path parameters
-isolated function getResourcePathParams(dicomweb:ResourceType resourceType, string[] path) returns map<string> {
-    // Match and extract path parameter values from the path
-    // TODO: Add retrieve and store transaction resources
-    // Issues: https://github.com/wso2-enterprise/open-healthcare/issues/1537, 
-    // https://github.com/wso2-enterprise/open-healthcare/issues/1538
-    match resourceType {
-        dicomweb:SEARCH_STUDY_SERIES|dicomweb:SEARCH_STUDY_INSTANCES => {
-            return {"study": path[1]};
-        }
-        dicomweb:SEARCH_STUDY_SERIES_INSTANCES => {
-            return {"study": path[1], "series": path[3]};
+# + return - The extracted path parameter values, in the order of the resource path
+isolated function getResourcePathParams(ResourceRoute route, string[] path) returns string[] =>
+    from int index in route.pathParamIndices select path[index];
+
+# Creates the key of a search request, which identifies the requests producing the same response. Query parameters
+# are sorted, so that requests that only differ in the order of their query parameters share a key.
+#
+# + resourceType - The resource type of the request
+# + pathParams - The path parameter values of the request
+# + queryParams - The processed query parameters of the request
+# + headerValues - The values of the request key headers of the request, keyed by the lowercase header name
+# + return - The request key
+isolated function createSearchRequestKey(dicomweb:ResourceType resourceType, string[] pathParams,
+        dicomweb:QueryParameterMap queryParams, map<string> headerValues = {}) returns string {
+    string[] params = [];
+    foreach [string, dicomweb:QueryParameterValue] [param, value] in queryParams.entries() {
+        if value is dicomweb:MatchParameterMap {
+            foreach [string, dicomweb:MatchParameterValue] [attribute, attributeValue] in value.entries() {
+                params.push(string `${param}.${attribute}=${attributeValue.toString()}`);
+            }
+        } else {
+            params.push(string `${param}=${value.toString()}`);
         }
-        _ => {
-            return {};
+    }
+    string key = string `${resourceType}/${string:'join("/", ...pathParams)}?${string:'join("&", ...params.sort())}`;
+    if headerValues.length() == 0 {
+        return key;
+    }
+    // Header values are quoted, as they may hold any character
+    string[] headers = from [string, string] [name, value] in headerValues.entries()
+        select string `${name}=${value.toJsonString()}`;
+    return string `${key}#${string:'join("&", ...headers.sort())}`;
+}
+
+# Retrieves the values of the request key headers of a request.
+#
+# + req - The HTTP request
+# + headerNames - The names of the request key headers
+# + return - The values of the headers present in the request, keyed by the lowercase header name, with multiple
+# values joined by commas
+isolated function getRequestKeyHeaderValues(http:Request req, string[] headerNames) returns map<string> {
+    map<string> headerValues = {};
+    foreach string headerName in headerNames {
+        string[]|http:HeaderNotFoundError values = req.getHeaders(headerName);
+        if values is string[] {
+            headerValues[headerName.toLowerAscii()] = string:'join(",", ...values);
+        }
+    }
+    return headerValues;
+}
+
+# Retrieves a bulk data value as an HTTP response.
+# The value is streamed from its source file in chunks, without being loaded into memory as a whole.
+#
+# + bulkDataId - The bulk data identifier, which is the last path segment of the BulkDataURI
+# + bulkDataConfig - The bulk data configuration
+# + admission - The admission of the request, if admission control is enabled. It is retained by the response
+# stream, and released once the stream is closed.
+# + return - The HTTP response streaming the value, or a `dicomweb:Error` if the value cannot be retrieved
+isolated function retrieveBulkData(string bulkDataId, dicomweb:BulkDataConfig bulkDataConfig,
+        Admission? admission = ()) returns http:Response|dicomweb:Error {
+    dicom:BulkDataReference reference = check dicomweb:getBulkDataReference(bulkDataId, bulkDataConfig);
+    stream<byte[], dicom:Error?>|dicom:Error bulkData = dicom:streamBulkData(reference);
+    if bulkData is dicom:Error {
+        return dicomweb:createDicomwebError(string `Bulk data not found: ${bulkDataId}`, cause = bulkData,
+                httpStatusCode = http:STATUS_NOT_FOUND);
+    }
+    http:Response response = new;
+    response.setByteStream(new stream<byte[], io:Error?>(new BulkDataByteStream(bulkData, admission)),
+            dicomweb:MIME_TYPE_OCTET_STREAM);
+    if admission is Admission {
+        admission.retain();
+    }
+    dicom:recordValue(dicom:METRIC_RESPONSE_BULK_DATA_BYTES, reference.length);
+    return response;
+}
+
+# Adapts a bulk data stream to the byte stream type of HTTP responses.
+class BulkDataByteStream {
+    private final stream<byte[], dicom:Error?> bulkData;
+    private final Admission? admission;
+
+    # Initializes the stream implementor.
+    #
+    # + bulkData - The bulk data stream to be adapted
+    # + admission - The admission of the request, which is released once the stream is consumed or closed
+    isolated function init(stream<byte[], dicom:Error?> bulkData, Admission? admission = ()) {
+        self.bulkData = bulkData;
+        self.admission = admission;
+    }
+
+    # Retrieves the next chunk of the bulk data stream.
+    #
+    # + return - The next chunk, `()` if the end of the stream is reached, or an `io:Error` if reading fails
+    public isolated function next() returns record {|byte[] value;|}|io:Error? {
+        record {|byte[] value;|}|dicom:Error? chunk = self.bulkData.next();
+        if chunk !is record {|byte[] value;|} {
+            self.releaseAdmission();
+        }
+        if chunk is dicom:Error {
+            return error io:GenericError(chunk.message(), chunk);
+        }
+        return chunk;
+    }
+
+    # Closes the bulk data stream.
+    #
+    # + return - An `io:Error` if the stream cannot be closed
+    public isolated function close() returns io:Error? {
+        self.releaseAdmission();
+        dicom:Error? result = self.bulkData.close();
+        if result is dicom:Error {
+            return error io:GenericError(result.message(), result);
+        }
+    }
+
+    isolated function releaseAdmission() {
+        Admission? admission = self.admission;
+        if admission is Admission {
+            admission.release();
         }
     }
 }
@@ -21,6 +21,9 @@ public isolated class Listener {
 
     private final http:Listener httpListener;
     private final ApiConfig apiConfig;
+    private final ResponseCache? responseCache;
+    private final AdmissionController? admissionController;
+    private final Renderer? renderer;
     private http:Service httpService = isolated service object {};
 
     # Initializes a new instance of the `Listener`.
@@ -30,6 +33,24 @@ public isolated class Listener {
     public isolated function init(int port, ApiConfig apiConfig) returns error? {
         self.httpListener = check new (port);
         self.apiConfig = apiConfig;
+        ResponseCacheConfig? responseCacheConfig = apiConfig.responseCache;
+        if responseCacheConfig is ResponseCacheConfig {
+            self.responseCache = check new ResponseCache(responseCacheConfig.capacity);
+        } else {
+            self.responseCache = ();
+        }
+        AdmissionControlConfig? admissionControlConfig = apiConfig.admissionControl;
+        if admissionControlConfig is AdmissionControlConfig {
+            self.admissionController = check new AdmissionController(admissionControlConfig);
+        } else {
+            self.admissionController = ();
+        }
+        (RenderingConfig & readonly)? renderingConfig = apiConfig.rendering;
+        if renderingConfig is RenderingConfig & readonly {
+            self.renderer = check new Renderer(renderingConfig);
+        } else {
+            self.renderer = ();
+        }
     }
 
     # Starts the registered service of the listener programmatically.
@@ -60,8 +81,11 @@ public isolated class Listener {
     # + return - An `error` if an error occurred during the service attachment process or else `()`
     public isolated function attach(Service dicomService, string[]|string? name = ()) returns error? {
         DicomServiceHolder dicomServiceHolder = new (dicomService);
+        // Responses cached for a previously attached service must not be served for this service
+        self.invalidateResponseCache();
         lock {
-            self.httpService = getHttpService(dicomServiceHolder, self.apiConfig);
+            self.httpService = getHttpService(dicomServiceHolder, self.apiConfig, self.responseCache,
+                    self.admissionController, self.renderer);
             check self.httpListener.attach(self.httpService, name.cloneReadOnly());
         }
     }
@@ -76,4 +100,13 @@ public isolated class Listener {
         }
     }
 
+    # Invalidates the cached search responses of the attached DICOM service. Services must call this when the data
+    # they serve changes, if the response cache is enabled in the API config. Has no effect otherwise.
+    public isolated function invalidateResponseCache() {
+        ResponseCache? responseCache = self.responseCache;
+        if responseCache is ResponseCache {
+            responseCache.invalidate();
+        }
+    }
+
 }
@@ -0,0 +1,333 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/log;
+import ballerinax/health.dicom;
+import ballerinax/health.dicom.dicomparser;
+import ballerinax/health.dicom.dicomweb;
+
+# Query parameter of rendered resources holding the accepted media types, overriding the `Accept` header.
+const ACCEPT_QUERY_PARAM = "accept";
+
+# Query parameter of rendered resources holding the quality of lossy rendered images.
+const QUALITY_QUERY_PARAM = "quality";
+
+# Query parameter of rendered resources holding the viewport the image is downscaled to fit in.
+const VIEWPORT_QUERY_PARAM = "viewport";
+
+# Query parameter of rendered resources holding the window applied to grayscale images.
+const WINDOW_QUERY_PARAM = "window";
+
+# The only VOI LUT function supported by the window query parameter.
+const LINEAR_VOI_LUT_FUNCTION = "linear";
+
+# Renders the instances of the DICOM service, serving rendered instance, rendered frame and thumbnail requests.
+#
+# Instances are located with the instance locator of the rendering configuration, and are parsed with their pixel
+# data left in their source files, so that only the rendered frame is read. Rendered images are cached, if configured,
+# keyed by the source file, its modification time, and all the options the image was rendered with.
+isolated class Renderer {
+
+    private final RenderingConfig & readonly config;
+    private final dicom:RenderedImageCache? cache;
+
+    # Initializes a new instance of the `Renderer`.
+    #
+    # + config - The rendering configuration
+    # + return - A `dicomweb:Error` if the configuration is invalid, or if the cache directory cannot be opened
+    isolated function init(RenderingConfig & readonly config) returns dicomweb:Error? {
+        if config.thumbnailSize <= 0 {
+            return dicomweb:createInternalDicomwebError("Invalid rendering configuration: thumbnailSize");
+        }
+        if config.quality < 1 || config.quality > 100 {
+            return dicomweb:createInternalDicomwebError("Invalid rendering configuration: quality");
+        }
+        self.config = config;
+        RenderedImageCacheConfig? cacheConfig = config.cache;
+        if cacheConfig is RenderedImageCacheConfig {
+            dicom:RenderedImageCache|dicom:Error cache = new (cacheConfig.maxMemorySize, cacheConfig.directory,
+                cacheConfig.maxDiskSize);
+            if cache is dicom:Error {
+                return dicomweb:createInternalDicomwebError("Failed to create the rendered image cache", cause = cache);
+            }
+            self.cache = cache;
+        } else {
+            self.cache = ();
+        }
+    }
+
+    # Serves a rendered instance, rendered frame or thumbnail request.
+    #
+    # + resourceType - The resource type of the request, as returned by `isRenderedResource`
+    # + path - The request path
+    # + req - The HTTP request
+    # + return - The rendered image response, or a `dicomweb:Error` if the image cannot be rendered
+    isolated function render(dicomweb:ResourceType resourceType, string[] path,
+            http:Request req) returns http:Response|dicomweb:Error {
+        boolean isThumbnail = resourceType != dicomweb:RETRIEVE_RENDERED_INSTANCE
+            && resourceType != dicomweb:RETRIEVE_RENDERED_FRAMES;
+        dicom:RenderingOptions options = check self.getRenderingOptions(req, isThumbnail);
+        int frameNumber = path.length() > 7 ? check getFrameNumber(path[7]) : 1;
+        string filePath = check self.locateInstance(path[1], path.length() > 3 ? path[3] : (),
+                path.length() > 5 ? path[5] : ());
+
+        dicom:RenderedImageCache? cache = self.cache;
+        string? cacheKey = cache is dicom:RenderedImageCache
+            ? check createRenderedImageKey(filePath, frameNumber, options) : ();
+        if cache is dicom:RenderedImageCache && cacheKey is string {
+            byte[]|dicom:Error? cachedImage = cache.get(cacheKey);
+            if cachedImage is byte[] {
+                dicom:incrementCounter(dicom:METRIC_RENDERED_CACHE_HITS);
+                return createRenderedImageResponse(cachedImage, options.mediaType);
+            }
+            dicom:incrementCounter(dicom:METRIC_RENDERED_CACHE_MISSES);
+        }
+
+        byte[] image = check renderInstanceFrame(filePath, frameNumber, options);
+        if cache is dicom:RenderedImageCache && cacheKey is string {
+            // A failure to cache the image does not fail the request
+            dicom:Error? result = cache.put(cacheKey, image);
+            if result is dicom:Error {
+                log:printWarn("Failed to cache rendered image", 'error = result);
+            }
+        }
+        return createRenderedImageResponse(image, options.mediaType);
+    }
+
+    # Creates the rendering options of a request from its query parameters and `Accept` header.
+    #
+    # + req - The HTTP request
+    # + isThumbnail - Whether the request is a thumbnail request
+    # + return - The rendering options, or a `dicomweb:Error` if a query parameter is invalid
+    isolated function getRenderingOptions(http:Request req,
+            boolean isThumbnail) returns dicom:RenderingOptions|dicomweb:Error {
+        string|http:HeaderNotFoundError acceptHeader = req.getHeader(http:ACCEPT);
+        string? accept = req.getQueryParamValue(ACCEPT_QUERY_PARAM);
+        if accept == () && acceptHeader is string {
+            accept = acceptHeader;
+        }
+        dicom:RenderingOptions options = {
+            mediaType: check getRenderedMediaType(accept),
+            quality: self.config.quality
+        };
+
+        string? quality = req.getQueryParamValue(QUALITY_QUERY_PARAM);
+        if quality is string {
+            int|error value = int:fromString(quality);
+            if value is error || value < 1 || value > 100 {
+                return createInvalidRenderingParamError(QUALITY_QUERY_PARAM, quality);
+            }
+            options.quality = value;
+        }
+
+        string? viewport = req.getQueryParamValue(VIEWPORT_QUERY_PARAM);
+        if viewport is string {
+            int[]? size = parseViewport(viewport);
+            if size == () {
+                return createInvalidRenderingParamError(VIEWPORT_QUERY_PARAM, viewport);
+            }
+            options.viewportWidth = size[0];
+            options.viewportHeight = size[1];
+        } else if isThumbnail {
+            options.viewportWidth = self.config.thumbnailSize;
+            options.viewportHeight = self.config.thumbnailSize;
+        }
+
+        string? window = req.getQueryParamValue(WINDOW_QUERY_PARAM);
+        if window is string {
+            float[]? centerAndWidth = parseWindow(window);
+            if centerAndWidth == () {
+                return createInvalidRenderingParamError(WINDOW_QUERY_PARAM, window);
+            }
+            options.windowCenter = centerAndWidth[0];
+            options.windowWidth = centerAndWidth[1];
+        }
+        return options;
+    }
+
+    # Locates the source file of the instance to be rendered.
+    # The middle instance is rendered for studies and series, as it is likely to be representative of them.
+    #
+    # + studyUid - The study instance UID
+    # + seriesUid - The series instance UID, if the request targets a series or an instance
+    # + instanceUid - The SOP instance UID, if the request targets an instance
+    # + return - The path of the source file, or a `dicomweb:Error` if the instance cannot be located
+    isolated function locateInstance(string studyUid, string? seriesUid,
+            string? instanceUid) returns string|dicomweb:Error {
+        string[]|error paths = self.config.instanceLocator(studyUid, seriesUid, instanceUid);
+        if paths is error {
+            return dicomweb:createDicomwebError("Failed to locate the instances to be rendered", cause = paths);
+        }
+        if paths.length() == 0 {
+            string uid = instanceUid ?: seriesUid ?: studyUid;
+            return dicomweb:createDicomwebError(string `Instances not found: ${uid}`,
+                    httpStatusCode = http:STATUS_NOT_FOUND);
+        }
+        return paths[paths.length() / 2];
+    }
+}
+
+# Checks whether a resource type is served by the renderer.
+# Rendered studies and series are multi-part responses of all their frames, and are not served by the renderer.
+#
+# + resourceType - The resource type
+# + return - `true` if the resource type is served by the renderer, `false` otherwise
+isolated function isRenderedResource(dicomweb:ResourceType resourceType) returns boolean =>
+    resourceType == dicomweb:RETRIEVE_RENDERED_INSTANCE || resourceType == dicomweb:RETRIEVE_RENDERED_FRAMES
+        || resourceType == dicomweb:RETRIEVE_STUDY_THUMBNAIL || resourceType == dicomweb:RETRIEVE_SERIES_THUMBNAIL
+        || resourceType == dicomweb:RETRIEVE_INSTANCE_THUMBNAIL || resourceType == dicomweb:RETRIEVE_FRAME_THUMBNAIL;
+
+# Renders a frame of an instance.
+#
+# + filePath - The path of the source file of the instance
+# + frameNumber - The number of the frame to be rendered
+# + options - The rendering options
+# + return - The rendered image, or a `dicomweb:Error` if the instance cannot be rendered
+isolated function renderInstanceFrame(string filePath, int frameNumber,
+        dicom:RenderingOptions options) returns byte[]|dicomweb:Error {
+    // Pixel data is left in the source file, so that only the rendered frame is read
+    dicom:File|dicom:ParsingError file = dicomparser:parseFile(filePath, dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            bulkDataThreshold = 0);
+    if file is dicom:ParsingError {
+        return dicomweb:createDicomwebError(string `Failed to parse the instance to be rendered: ${filePath}`,
+                cause = file);
+    }
+    dicom:RenderingParameters|dicom:RenderingError parameters = dicom:getRenderingParameters(file.dataset);
+    if parameters is dicom:RenderingError {
+        return dicomweb:createDicomwebError(parameters.message(), cause = parameters,
+                httpStatusCode = http:STATUS_NOT_IMPLEMENTED);
+    }
+    if frameNumber > parameters.numberOfFrames {
+        return dicomweb:createDicomwebError(string `Frame not found: ${frameNumber}`,
+                httpStatusCode = http:STATUS_NOT_FOUND);
+    }
+    byte[]|dicom:RenderingError image = dicom:renderFrame(parameters, frameNumber, options);
+    if image is dicom:RenderingError {
+        return dicomweb:createDicomwebError(image.message(), cause = image);
+    }
+    return image;
+}
+
+# Creates the cache key of a rendered image.
+# The modification time of the source file is part of the key, so that images of replaced files are not served.
+#
+# + filePath - The path of the source file of the instance
+# + frameNumber - The number of the rendered frame
+# + options - The rendering options
+# + return - The cache key, or a `dicomweb:Error` if the source file is not found
+isolated function createRenderedImageKey(string filePath, int frameNumber,
+        dicom:RenderingOptions options) returns string|dicomweb:Error {
+    file:MetaData|file:Error metaData = file:getMetaData(filePath);
+    if metaData is file:Error {
+        return dicomweb:createDicomwebError(string `Instance file not found: ${filePath}`, cause = metaData,
+                httpStatusCode = http:STATUS_NOT_FOUND);
+    }
+    string viewport = string `${options.viewportWidth ?: ""},${options.viewportHeight ?: ""}`;
+    string window = string `${options.windowCenter ?: ""},${options.windowWidth ?: ""}`;
+    return string:'join("|", filePath, metaData.modifiedTime.toString(), frameNumber.toString(), options.mediaType,
+            options.quality.toString(), viewport, window);
+}
+
+# Selects the media type of a rendered image from the accepted media types.
+# The first supported media type is selected, and JPEG is selected if any image type is accepted.
+#
+# + accept - The accepted media types, as a comma separated list of media ranges, if specified
+# + return - The media type, or a `dicomweb:Error` if none of the accepted media types is supported
+isolated function getRenderedMediaType(string? accept) returns dicom:RenderedMediaType|dicomweb:Error {
+    if accept == () {
+        return dicom:RENDERED_JPEG;
+    }
+    foreach string mediaRange in re `,`.split(accept) {
+        // Media type parameters, such as quality factors, are ignored
+        string mediaType = re `;`.split(mediaRange)[0].trim().toLowerAscii();
+        if mediaType == dicom:RENDERED_PNG {
+            return dicom:RENDERED_PNG;
+        }
+        if mediaType == dicom:RENDERED_JPEG || mediaType == "image/*" || mediaType == "*/*" {
+            return dicom:RENDERED_JPEG;
+        }
+    }
+    return dicomweb:createDicomwebError(string `Unsupported rendered media type: ${accept}`,
+            httpStatusCode = http:STATUS_NOT_ACCEPTABLE);
+}
+
+# Parses the frame number of a rendered frame or frame thumbnail request.
+#
+# + frameList - The frame list path parameter
+# + return - The frame number, or a `dicomweb:Error` if the frame list is invalid or holds more than one frame
+isolated function getFrameNumber(string frameList) returns int|dicomweb:Error {
+    if frameList.includes(",") {
+        return dicomweb:createDicomwebError("Rendering multiple frames is not supported",
+                httpStatusCode = http:STATUS_NOT_IMPLEMENTED);
+    }
+    int|error frameNumber = int:fromString(frameList);
+    if frameNumber is error || frameNumber < 1 {
+        return dicomweb:createDicomwebError(string `Invalid frame number: ${frameList}`,
+                httpStatusCode = http:STATUS_BAD_REQUEST);
+    }
+    return frameNumber;
+}
+
+# Parses a viewport query parameter value of the form `width,height`.
+#
+# + viewport - The viewport query parameter value
+# + return - The viewport width and height, or `()` if the value is invalid
+isolated function parseViewport(string viewport) returns int[]? {
+    string[] values = re `,`.split(viewport);
+    if values.length() != 2 {
+        return;
+    }
+    int|error width = int:fromString(values[0].trim());
+    int|error height = int:fromString(values[1].trim());
+    return width is int && height is int && width > 0 && height > 0 ? [width, height] : ();
+}
+
+# Parses a window query parameter value of the form `center,width,function`.
+#
+# + window - The window query parameter value
+# + return - The window center and width, or `()` if the value is invalid or the function is not linear
+isolated function parseWindow(string window) returns float[]? {
+    string[] values = re `,`.split(window);
+    if values.length() != 3 || values[2].trim().toLowerAscii() != LINEAR_VOI_LUT_FUNCTION {
+        return;
+    }
+    float|error center = float:fromString(values[0].trim());
+    float|error width = float:fromString(values[1].trim());
+    return center is float && width is float && width >= 1.0 ? [center, width] : ();
+}
+
+# Creates the error of an invalid rendering query parameter.
+#
+# + name - The name of the query parameter
+# + value - The value of the query parameter
+# + return - The `400 Bad Request` error
+isolated function createInvalidRenderingParamError(string name, string value) returns dicomweb:Error =>
+    dicomweb:createDicomwebError(string `Invalid ${name} query parameter value: ${value}`,
+            httpStatusCode = http:STATUS_BAD_REQUEST);
+
+# Creates the HTTP response of a rendered image.
+#
+# + image - The rendered image
+# + mediaType - The media type of the image
+# + return - The HTTP response
+isolated function createRenderedImageResponse(byte[] image, dicom:RenderedMediaType mediaType) returns http:Response {
+    http:Response response = new;
+    response.setBinaryPayload(image, mediaType);
+    return response;
+}
@@ -0,0 +1,58 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/health.dicom;
+
+# Error shared with the requests waiting for an execution whose result cannot be shared.
+type UnsharedResultError distinct error;
+
+final UnsharedResultError UNSHARED_RESULT = error UnsharedResultError("Search result cannot be shared");
+
+# Coalesces concurrent executions of identical search requests into a single execution of the service resource.
+isolated class RequestCoalescer {
+
+    private final handle coalescer = newRequestCoalescer();
+
+    # Executes a search resource, sharing the execution with the concurrent requests of the same request key.
+    # The first request executes the resource, and the requests that arrive during the execution wait for its result.
+    # Results that are neither `anydata` nor errors cannot be shared, in which case each waiting request executes the
+    # resource itself.
+    #
+    # + requestKey - The request key
+    # + pathParams - The path parameter values, in the order of the resource path
+    # + dicomContext - The DICOM context
+    # + dicomService - The DICOM service object
+    # + resourceMethod - The resource method to be executed
+    # + return - The result of the execution
+    isolated function execute(string requestKey, string[] pathParams, DicomContext dicomContext, Service dicomService,
+            handle resourceMethod) returns any|error {
+        handle ticket = joinFlight(self.coalescer, requestKey);
+        if !isFlightLeader(ticket) {
+            anydata & readonly|error sharedResult = awaitFlight(ticket);
+            if sharedResult is UnsharedResultError {
+                return executeSearchTransactionResource(pathParams, dicomContext, dicomService, resourceMethod);
+            }
+            dicom:incrementCounter(dicom:METRIC_COALESCED_REQUESTS);
+            // Shared results are immutable, and are copied as responses are post-processed in place
+            return sharedResult is error ? sharedResult : sharedResult.clone();
+        }
+        // Panics are trapped, so that the waiting requests are always released
+        any|error result = trap executeSearchTransactionResource(pathParams, dicomContext, dicomService,
+                resourceMethod);
+        completeFlight(ticket, result is anydata ? result.cloneReadOnly() : result is error ? result : UNSHARED_RESULT);
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/crypto;
+import ballerina/http;
+import ballerinax/health.dicom.dicomweb;
+
+# A size bounded cache of post-processed DICOM service search responses, which evicts the least recently used
+# response when full.
+public isolated class ResponseCache {
+
+    private final int capacity;
+    // Maps iterate in insertion order, therefore, entries are re-inserted on access to keep them in recency order
+    private final map<ResponseCacheEntry> entries = {};
+    private int generation = 0;
+
+    # Initializes a new instance of the `ResponseCache`.
+    #
+    # + capacity - The maximum number of cached responses
+    # + return - A `dicomweb:Error` if the capacity is not positive
+    public isolated function init(int capacity = DEFAULT_RESPONSE_CACHE_CAPACITY) returns dicomweb:Error? {
+        if capacity <= 0 {
+            return dicomweb:createInternalDicomwebError(string `Invalid response cache capacity: ${capacity}`);
+        }
+        self.capacity = capacity;
+    }
+
+    # Retrieves a cached response, marking it as the most recently used response.
+    #
+    # + key - The cache key of the response
+    # + return - The cached response if found, `()` otherwise
+    public isolated function get(string key) returns ResponseCacheEntry? {
+        lock {
+            ResponseCacheEntry? entry = self.entries[key];
+            if entry is ResponseCacheEntry {
+                _ = self.entries.remove(key);
+                self.entries[key] = entry;
+            }
+            return entry;
+        }
+    }
+
+    # Caches a response, evicting the least recently used responses if the cache is full.
+    # The response is not cached if the cache has been invalidated since the given generation, as it may have been
+    # produced from stale data.
+    #
+    # + key - The cache key of the response
+    # + generation - The generation of the cache when the response started being produced
+    # + payload - The post-processed response payload
+    # + return - The cached response, or `()` if the response is not cached
+    public isolated function put(string key, int generation, json & readonly payload) returns ResponseCacheEntry? {
+        // Hash outside the lock, as the payload is immutable
+        ResponseCacheEntry entry = {key, etag: createETag(payload), payload};
+        lock {
+            if generation != self.generation {
+                return;
+            }
+            _ = self.entries.remove(key);
+            self.entries[key] = entry;
+            while self.entries.length() > self.capacity {
+                record {|ResponseCacheEntry value;|}? eldest = self.entries.iterator().next();
+                if eldest == () {
+                    break;
+                }
+                _ = self.entries.remove(eldest.value.key);
+            }
+            return entry;
+        }
+    }
+
+    # Retrieves the current generation of the cache, which is advanced on each invalidation.
+    #
+    # + return - The current generation
+    public isolated function getGeneration() returns int {
+        lock {
+            return self.generation;
+        }
+    }
+
+    # Removes all cached responses. Services must call this when the data they serve changes.
+    public isolated function invalidate() {
+        lock {
+            self.entries.removeAll();
+            self.generation += 1;
+        }
+    }
+
+    # Retrieves the number of cached responses.
+    #
+    # + return - The number of cached responses
+    public isolated function size() returns int {
+        lock {
+            return self.entries.length();
+        }
+    }
+}
+
+# Creates a strong entity tag for a response payload.
+#
+# + payload - The response payload
+# + return - The quoted entity tag
+isolated function createETag(json payload) returns string =>
+    string `"${crypto:hashSha256(payload.toJsonString().toBytes()).toBase16()}"`;
+
+# Checks whether an `If-None-Match` header value matches an entity tag. Weak comparison is used, as specified for
+# the `If-None-Match` header.
+#
+# + ifNoneMatch - The `If-None-Match` header value
+# + etag - The entity tag
+# + return - `true` if the header value matches the entity tag, `false` otherwise
+isolated function isETagMatching(string ifNoneMatch, string etag) returns boolean {
+    foreach string candidate in re `,`.split(ifNoneMatch) {
+        string tag = candidate.trim();
+        if tag == "*" || (tag.startsWith("W/") ? tag.substring(2) : tag) == etag {
+            return true;
+        }
+    }
+    return false;
+}
+
+# Creates the HTTP response of a cached search response. A `304 Not Modified` response is created if the request
+# holds the entity tag of the cached response in its `If-None-Match` header.
+#
+# + entry - The cached response
+# + req - The HTTP request
+# + return - The HTTP response
+isolated function createCachedResponse(ResponseCacheEntry entry, http:Request req) returns http:Response {
+    http:Response response = new;
+    response.setHeader(http:ETAG, entry.etag);
+    string|http:HeaderNotFoundError ifNoneMatch = req.getHeader(http:IF_NONE_MATCH);
+    if ifNoneMatch is string && isETagMatching(ifNoneMatch, entry.etag) {
+        response.statusCode = http:STATUS_NOT_MODIFIED;
+        return response;
+    }
+    response.setJsonPayload(entry.payload, dicomweb:MIME_TYPE_DICOM_JSON);
+    return response;
+}
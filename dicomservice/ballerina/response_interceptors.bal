@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/http;
+import ballerinax/health.dicom;
 import ballerinax/health.dicom.dicomweb;
 
 # The DICOM response interceptor class that is used to intercept and post-process DICOM service responses.
@@ -23,12 +24,15 @@ public isolated service class DicomResponseInterceptor {
 
     final ApiConfig apiConfig;
     final map<QueryParamConfig> & readonly queryParamConfigMap;
+    final ResponseCache? responseCache;
 
     # Initializes a new instance of the `DicomResponseInterceptor`
     #
     # + apiConfig - The DICOM service API config
-    public function init(ApiConfig apiConfig) {
+    # + responseCache - The cache to store post-processed search responses in, if enabled
+    public function init(ApiConfig apiConfig, ResponseCache? responseCache = ()) {
         self.apiConfig = apiConfig;
+        self.responseCache = responseCache;
         map<QueryParamConfig> queryParamConfigs = {};
         foreach QueryParamConfig paramConfig in apiConfig.queryParameters {
             queryParamConfigs[paramConfig.name] = paramConfig;
@@ -44,19 +48,50 @@ public isolated service class DicomResponseInterceptor {
     isolated remote function interceptResponse(http:RequestContext httpContext,
             http:Response response) returns http:NextService|dicomweb:Error? {
         // Set response content type
-        // Only application/dicom+json is supported
-        error? setContentTypeRes = response.setContentType(dicomweb:MIME_TYPE_DICOM_JSON);
-        if setContentTypeRes is error {
-            // Ignore
+        // Only application/dicom+json is supported, except for bulk data and rendered images, which are returned as is
+        string contentType = response.getContentType();
+        if contentType != dicomweb:MIME_TYPE_OCTET_STREAM && contentType != dicom:RENDERED_JPEG
+                && contentType != dicom:RENDERED_PNG {
+            error? setContentTypeRes = response.setContentType(dicomweb:MIME_TYPE_DICOM_JSON);
+            if setContentTypeRes is error {
+                // Ignore
+            }
         }
         // Post process response
         DicomContext? dicomContext = getDicomContext(httpContext);
-        if dicomContext is DicomContext {
+        ResponseCacheLookup? cacheLookup = getResponseCacheLookup(httpContext);
+        // Cached responses are already post-processed
+        if dicomContext is DicomContext && (cacheLookup == () || !cacheLookup.hit) {
+            int startTime = dicom:startTimer();
             check self.postProcessResponse(dicomContext, response);
+            dicom:recordDuration(dicom:METRIC_POST_PROCESS_DURATION, startTime);
+            if cacheLookup is ResponseCacheLookup {
+                self.cacheResponse(cacheLookup, response);
+            }
         }
         return getNextService(httpContext);
     }
 
+    # Caches a successful post-processed search response, and sets its entity tag.
+    #
+    # + cacheLookup - The response cache state of the request
+    # + response - The HTTP response
+    isolated function cacheResponse(ResponseCacheLookup cacheLookup, http:Response response) {
+        ResponseCache? responseCache = self.responseCache;
+        if responseCache == () || response.statusCode != http:STATUS_OK {
+            return;
+        }
+        json|http:ClientError payload = response.getJsonPayload();
+        if payload is http:ClientError {
+            return;
+        }
+        ResponseCacheEntry? entry = responseCache.put(cacheLookup.key, cacheLookup.generation,
+                payload.cloneReadOnly());
+        if entry is ResponseCacheEntry {
+            response.setHeader(http:ETAG, entry.etag);
+        }
+    }
+
     # Post-processes a DICOM service response.
     #
     # + dicomContext - The DICOM context
@@ -151,6 +186,18 @@ public isolated function constructHttpStatusCodeResponse(error err, string uri,
     }
 }
 
+# Retrieves the response cache state of a search request from an HTTP context.
+#
+# + httpContext - The HTTP context
+# + return - The response cache state if the response cache is enabled for the request, `()` otherwise
+isolated function getResponseCacheLookup(http:RequestContext httpContext) returns ResponseCacheLookup? {
+    if httpContext.hasKey(RESPONSE_CACHE_LOOKUP_PROP_NAME) {
+        http:ReqCtxMember cacheLookup = httpContext.get(RESPONSE_CACHE_LOOKUP_PROP_NAME);
+        return cacheLookup is ResponseCacheLookup ? cacheLookup : ();
+    }
+    return;
+}
+
 # Retrieves the next HTTP service from an HTTP context.
 #
 # + context - The HTTP context
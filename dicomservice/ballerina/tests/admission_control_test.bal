@@ -0,0 +1,141 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/io;
+import ballerina/lang.runtime;
+import ballerina/test;
+import ballerinax/health.dicom;
+import ballerinax/health.dicom.dicomweb;
+
+Listener admissionDicomListener = check new (9297, {
+    ...DEFAULT_API_CONFIG,
+    admissionControl: {maxConcurrency: 1, maxQueueSize: 0, retryAfter: 2}
+});
+http:Client admissionDicomClient = check new ("http://localhost:9297");
+
+Service busySearchService = service object {
+    resource function get studies(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        // Keep the request in progress while the concurrent request arrives
+        runtime:sleep(1);
+        return [{"00100020": {vr: "LO", Value: ["P1"]}}];
+    }
+};
+
+@test:BeforeGroups {value: ["admission_control"]}
+function startAdmissionControlService() returns error? {
+    check admissionDicomListener.attach(busySearchService);
+    check admissionDicomListener.'start();
+}
+
+@test:Config {groups: ["admission_control"]}
+function admissionControlConfigValidationTest() {
+    AdmissionController|dicomweb:Error controller = new ({maxConcurrency: 0});
+    test:assertTrue(controller is dicomweb:Error);
+    controller = new ({resourceMaxConcurrency: {[dicomweb:SEARCH_ALL_STUDIES]: -1}});
+    test:assertTrue(controller is dicomweb:Error);
+    controller = new ({maxQueueWait: -1});
+    test:assertTrue(controller is dicomweb:Error);
+    controller = new ({});
+    test:assertTrue(controller is AdmissionController);
+}
+
+@test:Config {groups: ["admission_control"]}
+function admissionControlLimitTest() returns error? {
+    AdmissionController controller = check new ({
+        maxConcurrency: 2,
+        resourceMaxConcurrency: {[dicomweb:SEARCH_ALL_STUDIES]: 1},
+        maxQueueSize: 0
+    });
+    test:assertEquals(controller.getLimit(dicomweb:SEARCH_ALL_STUDIES), 1);
+    test:assertEquals(controller.getLimit(dicomweb:SEARCH_ALL_SERIES), 2);
+
+    int? startTime = controller.admit(dicomweb:SEARCH_ALL_STUDIES);
+    test:assertTrue(startTime is int);
+    // The limit of the resource type is reached, and no requests may wait
+    test:assertEquals(controller.admit(dicomweb:SEARCH_ALL_STUDIES), ());
+    // Resource types are limited independently
+    test:assertTrue(controller.admit(dicomweb:SEARCH_ALL_SERIES) is int);
+
+    controller.release(dicomweb:SEARCH_ALL_STUDIES, check startTime.ensureType());
+    test:assertTrue(controller.admit(dicomweb:SEARCH_ALL_STUDIES) is int);
+}
+
+@test:Config {groups: ["admission_control"]}
+function admissionControlQueueTest() returns error? {
+    AdmissionController controller = check new ({maxConcurrency: 1, maxQueueSize: 1, maxQueueWait: 0.1});
+    int startTime = check controller.admit(dicomweb:SEARCH_ALL_STUDIES).ensureType();
+    // The waiting request is rejected once the maximum queue wait elapses
+    test:assertEquals(controller.admit(dicomweb:SEARCH_ALL_STUDIES), ());
+
+    future<int?> waiting = start controller.admit(dicomweb:SEARCH_ALL_STUDIES);
+    runtime:sleep(0.05);
+    controller.release(dicomweb:SEARCH_ALL_STUDIES, startTime);
+    // The waiting request is admitted once the admitted request is released
+    int? waitingStartTime = wait waiting;
+    test:assertTrue(waitingStartTime is int);
+}
+
+@test:Config {groups: ["admission_control", "bulk_data"]}
+function admissionHeldByBulkDataStreamTest() returns error? {
+    string rootDirectory = check file:createTempDir();
+    string filePath = check file:joinPath(rootDirectory, "1.dcm");
+    check io:fileWriteBytes(filePath, [0, 1, 2, 3]);
+
+    AdmissionController controller = check new ({maxConcurrency: 1, maxQueueSize: 0});
+    int startTime = check controller.admit(dicomweb:RETRIEVE_BULKDATA).ensureType();
+    Admission admission = new (controller, dicomweb:RETRIEVE_BULKDATA, startTime);
+    stream<byte[], dicom:Error?> bulkData = check dicom:streamBulkData({path: filePath, offset: 0, length: 4});
+    BulkDataByteStream byteStream = new (bulkData, admission);
+    admission.retain();
+
+    // The admission is held while the stream is being consumed
+    test:assertTrue(admission.isRetained());
+    test:assertEquals(controller.admit(dicomweb:RETRIEVE_BULKDATA), ());
+    record {|byte[] value;|}? chunk = check byteStream.next();
+    test:assertEquals(chunk?.value, <byte[]>[0, 1, 2, 3]);
+    test:assertEquals(controller.admit(dicomweb:RETRIEVE_BULKDATA), ());
+
+    // The admission is released once the stream is closed
+    check byteStream.close();
+    test:assertTrue(controller.admit(dicomweb:RETRIEVE_BULKDATA) is int);
+    check file:remove(rootDirectory, file:RECURSIVE);
+}
+
+@test:Config {groups: ["admission_control", "service"]}
+function admissionControlRejectionTest() returns error? {
+    future<http:Response|error> admitted = start searchBusyStudies();
+    runtime:sleep(0.3);
+    http:Response rejected = check searchBusyStudies();
+    test:assertEquals(rejected.statusCode, 503);
+    test:assertEquals(rejected.getHeader(RETRY_AFTER_HEADER), "2");
+    dicomweb:StatusReport? statusReport = getStatusReportFromJsonPayload(check rejected.getJsonPayload());
+    test:assertTrue(statusReport is dicomweb:StatusReport);
+    if statusReport is dicomweb:StatusReport {
+        test:assertTrue(statusReport.errorDetails.message.startsWith("Too many concurrent requests"));
+    }
+
+    http:Response response = check wait admitted;
+    test:assertEquals(response.statusCode, 200);
+    // The limit is released once the admitted request completes
+    response = check searchBusyStudies();
+    test:assertEquals(response.statusCode, 200);
+}
+
+function searchBusyStudies() returns http:Response|error =>
+    admissionDicomClient->get("/studies", {Accept: dicomweb:MIME_TYPE_DICOM_JSON});
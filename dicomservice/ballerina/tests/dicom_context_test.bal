@@ -0,0 +1,89 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/test;
+import ballerinax/health.dicom.dicomweb;
+
+@test:Config {groups: ["dicom_context"]}
+function dicomContextStateTest() {
+    DicomRequest dicomRequest = new (dicomweb:MIME_TYPE_JSON, {}, dicomweb:SEARCH_ALL_STUDIES);
+    DicomContext context = new (dicomRequest, {headers: {}, payload: ()});
+    test:assertEquals(context.getDirection(), IN);
+    test:assertFalse(context.isInErrorState());
+    test:assertEquals(context.getErrorCode(), 500);
+
+    context.setDirection(OUT);
+    context.setInErrorState(true);
+    context.setErrorCode(400);
+    test:assertEquals(context.getDirection(), OUT);
+    test:assertTrue(context.isInErrorState());
+    test:assertEquals(context.getErrorCode(), 400);
+}
+
+@test:Config {groups: ["dicom_context"]}
+function dicomContextHttpRequestTest() {
+    http:Request request = new;
+    request.setHeader("Accept", dicomweb:MIME_TYPE_DICOM_JSON);
+    request.setHeader("X-Tenant", "t1");
+    DicomRequest dicomRequest = new (dicomweb:MIME_TYPE_JSON, {}, dicomweb:SEARCH_ALL_STUDIES);
+    DicomContext context = new (dicomRequest, createHttpRequestRecord(request, ()));
+    test:assertEquals(context.getHttpRequest().headers["Accept"], [dicomweb:MIME_TYPE_DICOM_JSON]);
+    test:assertEquals(context.getHttpRequest().headers["X-Tenant"], ["t1"]);
+
+    // Only the configured headers are captured, and the snapshot is not affected by later changes to the request
+    context = new (dicomRequest, createHttpRequestRecord(request, (), ["X-Tenant", "X-Missing"]));
+    request.setHeader("X-Tenant", "t2");
+    test:assertEquals(context.getHttpRequest().headers, {"X-Tenant": ["t1"]});
+}
+
+@test:Config {groups: ["dicom_context"]}
+function dicomContextQueryParameterTest() {
+    DicomRequest dicomRequest = new (dicomweb:MIME_TYPE_JSON,
+        {limit: 10, [dicomweb:MATCH]: {"PatientID": "P1"}}, dicomweb:SEARCH_ALL_STUDIES);
+    DicomContext context = new (dicomRequest, {headers: {}, payload: ()});
+    test:assertEquals(dicomRequest.getMatchQueryParameters(), {"PatientID": "P1"});
+    test:assertEquals(context.getRequestQueryParameterValue("limit"), 10);
+    test:assertEquals(context.getRequestQueryParameterValue("PatientID"), "P1");
+    test:assertEquals(context.getRequestQueryParameterValue("StudyDate"), ());
+
+    DicomRequest noMatchRequest = new (dicomweb:MIME_TYPE_JSON, {limit: 10}, dicomweb:SEARCH_ALL_STUDIES);
+    test:assertEquals(noMatchRequest.getMatchQueryParameters(), ());
+}
+
+@test:Config {groups: ["dicom_context"]}
+function preprocessorContextHeadersTest() returns error? {
+    http:Request request = new;
+    request.setHeader("Accept", dicomweb:MIME_TYPE_DICOM_JSON);
+    request.setHeader("X-Tenant", "t1");
+    request.setHeader("X-Trace", "trace-1");
+
+    // By default, every header is captured
+    http:RequestContext httpContext = new;
+    check new DicomPreprocessor(DEFAULT_API_CONFIG).processSearchResource(request, httpContext,
+            dicomweb:SEARCH_ALL_STUDIES);
+    DicomContext context = check httpContext.getWithType(DICOM_CONTEXT_PROP_NAME);
+    test:assertEquals(context.getHttpRequest().headers["X-Trace"], ["trace-1"]);
+
+    // Only the listed headers are captured
+    httpContext = new;
+    check new DicomPreprocessor({...DEFAULT_API_CONFIG, contextHeaders: ["X-Tenant"]})
+        .processSearchResource(request, httpContext, dicomweb:SEARCH_ALL_STUDIES);
+    context = check httpContext.getWithType(DICOM_CONTEXT_PROP_NAME);
+    test:assertEquals(context.getHttpRequest().headers, {"X-Tenant": ["t1"]});
+    test:assertFalse(context.getHttpRequest().headers.hasKey("X-Trace"));
+}
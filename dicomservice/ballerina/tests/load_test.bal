@@ -0,0 +1,332 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/io;
+import ballerina/os;
+import ballerina/test;
+import ballerina/time;
+import ballerinax/health.dicom;
+import ballerinax/health.dicom.dicomweb;
+
+// The load test is skipped unless a duration is given, as it runs for the given duration at each concurrency level
+const LOAD_TEST_DURATION_ENV = "DICOM_LOAD_TEST_DURATION";
+const LOAD_TEST_WARMUP_ENV = "DICOM_LOAD_TEST_WARMUP";
+const LOAD_TEST_CONCURRENCY_ENV = "DICOM_LOAD_TEST_CONCURRENCY";
+const DEFAULT_LOAD_TEST_WARMUP = 5;
+const DEFAULT_LOAD_TEST_CONCURRENCY = "1,8,32";
+const LOAD_TEST_PORT = 9294;
+
+const LOAD_TEST_STUDIES = 50;
+const LOAD_TEST_SERIES_PER_STUDY = 4;
+const LOAD_TEST_INSTANCES_PER_SERIES = 10;
+const LOAD_TEST_UID_ROOT = "1.2.826.0.1.3680043.8.498";
+final string[] & readonly LOAD_TEST_MODALITIES = ["CT", "MR", "US", "CR"];
+
+// Datasets of each IE level, such that each dataset also holds the attributes of the levels above it
+final dicom:Dataset[] & readonly loadTestStudies = createLoadTestDatasets(dicomweb:STUDY);
+final dicom:Dataset[] & readonly loadTestSeries = createLoadTestDatasets(dicomweb:SERIES);
+final dicom:Dataset[] & readonly loadTestInstances = createLoadTestDatasets(dicomweb:INSTANCE);
+
+# Holds the results of a load test worker.
+#
+# + latencies - The latency of each request, in nanoseconds
+# + errors - The number of failed requests, or requests with a non 200 response
+type LoadTestWorkerResult record {|
+    int[] latencies;
+    int errors;
+|};
+
+Service loadTestService = service object {
+    resource function get studies(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        return dicomweb:generateResponse(loadTestStudies, dicomweb:SEARCH_ALL_STUDIES, queryParams);
+    }
+
+    resource function get series(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        return dicomweb:generateResponse(loadTestSeries, dicomweb:SEARCH_ALL_SERIES, queryParams);
+    }
+
+    resource function get instances(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        return dicomweb:generateResponse(loadTestInstances, dicomweb:SEARCH_ALL_INSTANCES, queryParams);
+    }
+
+    resource function get studies/[string study]/series(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        return dicomweb:generateResponse(loadTestSeries, dicomweb:SEARCH_STUDY_SERIES,
+                addMatchParameters(queryParams, {StudyInstanceUID: study}));
+    }
+
+    resource function get studies/[string study]/series/[string series]/instances(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        return dicomweb:generateResponse(loadTestInstances, dicomweb:SEARCH_STUDY_SERIES_INSTANCES,
+                addMatchParameters(queryParams, {StudyInstanceUID: study, SeriesInstanceUID: series}));
+    }
+};
+
+@test:Config {groups: ["load"]}
+function searchLoadTest() returns error? {
+    string duration = os:getEnv(LOAD_TEST_DURATION_ENV);
+    if duration == "" {
+        io:println(string `Skipping load test, set ${LOAD_TEST_DURATION_ENV} to the duration of each run in seconds`);
+        return;
+    }
+    int runDuration = check int:fromString(duration);
+    string warmup = os:getEnv(LOAD_TEST_WARMUP_ENV);
+    int warmupDuration = warmup == "" ? DEFAULT_LOAD_TEST_WARMUP : check int:fromString(warmup);
+    string concurrency = os:getEnv(LOAD_TEST_CONCURRENCY_ENV);
+    int[] concurrencyLevels = [];
+    foreach string level in re `,`.split(concurrency == "" ? DEFAULT_LOAD_TEST_CONCURRENCY : concurrency) {
+        concurrencyLevels.push(check int:fromString(level.trim()));
+    }
+
+    Listener loadTestListener = check new (LOAD_TEST_PORT, DEFAULT_API_CONFIG);
+    check loadTestListener.attach(loadTestService);
+    check loadTestListener.'start();
+    http:Client loadTestClient = check new (string `http://localhost:${LOAD_TEST_PORT}`, httpVersion = http:HTTP_1_1);
+    string[] & readonly requests = createLoadTestRequests();
+
+    // Warm up the JIT and the connection pool, at the highest concurrency level
+    _ = runLoadTest(loadTestClient, requests, int:max(1, ...concurrencyLevels), warmupDuration);
+    int totalErrors = 0;
+    foreach int level in concurrencyLevels {
+        dicom:resetMetrics();
+        decimal startTime = time:monotonicNow();
+        LoadTestWorkerResult result = runLoadTest(loadTestClient, requests, level, runDuration);
+        decimal elapsed = time:monotonicNow() - startTime;
+        int[] latencies = result.latencies.sort();
+        io:println(string `concurrency=${level} requests=${latencies.length()} errors=${result.errors} ` +
+                string `throughput=${(<decimal>latencies.length() / elapsed).round(1)} req/s ` +
+                string `p50=${toMillis(percentile(latencies, 0.5))} ms ` +
+                string `p99=${toMillis(percentile(latencies, 0.99))} ms ` +
+                string `p999=${toMillis(percentile(latencies, 0.999))} ms`);
+        printPhaseLatencies(dicom:getMetrics());
+        totalErrors += result.errors;
+    }
+    check loadTestListener.gracefulStop();
+    test:assertEquals(totalErrors, 0, "Load test requests must not fail");
+}
+
+# Runs concurrent workers sending search requests for a duration.
+#
+# + 'client - The client to send requests with
+# + requests - The request paths, with query parameters
+# + concurrency - The number of workers
+# + duration - The duration in seconds
+# + return - The merged results of the workers
+function runLoadTest(http:Client 'client, string[] & readonly requests, int concurrency,
+        int duration) returns LoadTestWorkerResult {
+    decimal endTime = time:monotonicNow() + <decimal>duration;
+    future<LoadTestWorkerResult>[] workers = [];
+    foreach int worker in 0 ..< concurrency {
+        future<LoadTestWorkerResult> workerResult = start runLoadTestWorker('client, requests, worker, endTime);
+        workers.push(workerResult);
+    }
+    LoadTestWorkerResult result = {latencies: [], errors: 0};
+    foreach future<LoadTestWorkerResult> workerResult in workers {
+        LoadTestWorkerResult|error outcome = wait workerResult;
+        if outcome is error {
+            result.errors += 1;
+            continue;
+        }
+        result.latencies.push(...outcome.latencies);
+        result.errors += outcome.errors;
+    }
+    return result;
+}
+
+# Sends search requests until an end time. Each worker starts at a different request of the request mix,
+# so that concurrent workers do not send the same request at the same time.
+#
+# + 'client - The client to send requests with
+# + requests - The request paths, with query parameters
+# + worker - The worker index
+# + endTime - The monotonic time to stop sending requests at
+# + return - The results of the worker
+function runLoadTestWorker(http:Client 'client, string[] & readonly requests, int worker,
+        decimal endTime) returns LoadTestWorkerResult {
+    int[] latencies = [];
+    int errors = 0;
+    int index = worker * 31;
+    while time:monotonicNow() < endTime {
+        string path = requests[index % requests.length()];
+        index += 1;
+        decimal startTime = time:monotonicNow();
+        http:Response|error response = 'client->get(path, {Accept: dicomweb:MIME_TYPE_DICOM_JSON});
+        // Read the payload, so that the latency includes transferring the response
+        byte[]|error payload = response is http:Response ? response.getBinaryPayload() : response;
+        latencies.push(<int>((time:monotonicNow() - startTime) * 1000000000d));
+        if payload is error || (response is http:Response && response.statusCode != http:STATUS_OK) {
+            errors += 1;
+        }
+    }
+    return {latencies, errors};
+}
+
+# Creates the request mix of the load test. The mix covers each search resource, with `includefield`, `limit`,
+# `offset` and attribute matching query parameters.
+#
+# + return - The request paths, with query parameters
+function createLoadTestRequests() returns string[] & readonly {
+    string[] requests = [];
+    foreach int study in 0 ..< LOAD_TEST_STUDIES {
+        string studyUid = getLoadTestUid(study);
+        string seriesUid = getLoadTestUid(study, study % LOAD_TEST_SERIES_PER_STUDY);
+        string instanceUid = getLoadTestUid(study, study % LOAD_TEST_SERIES_PER_STUDY,
+                study % LOAD_TEST_INSTANCES_PER_SERIES);
+        string modality = LOAD_TEST_MODALITIES[study % LOAD_TEST_MODALITIES.length()];
+        requests.push(
+            string `/studies?limit=10&offset=${study % 5 * 10}`,
+            string `/studies?PatientID=${getLoadTestPatientId(study)}&includefield=all`,
+            string `/studies?StudyDate=${getLoadTestStudyDate(study)}`,
+            string `/series?Modality=${modality}&limit=25&offset=${study % 4 * 25}`,
+            string `/series?includefield=SeriesDescription&limit=20`,
+            string `/instances?limit=50&offset=${study * 10}`,
+            string `/instances?SOPInstanceUID=${instanceUid}&includefield=all`,
+            string `/studies/${studyUid}/series?includefield=all`,
+            string `/studies/${studyUid}/series/${seriesUid}/instances?limit=5&offset=${study % 2 * 5}`
+        );
+    }
+    return requests.cloneReadOnly();
+}
+
+# Creates synthetic datasets of an IE level. The datasets are generated deterministically.
+#
+# + level - The IE level
+# + return - The datasets of the IE level
+function createLoadTestDatasets(dicomweb:IeLevel level) returns dicom:Dataset[] & readonly {
+    dicom:Dataset[] datasets = [];
+    foreach int study in 0 ..< LOAD_TEST_STUDIES {
+        dicom:DataElement[] studyElements = [
+            {tag: {group: 0x0008, element: 0x0020}, vr: dicom:DA, value: getLoadTestStudyDate(study)},
+            {tag: {group: 0x0008, element: 0x0030}, vr: dicom:TM, value: "093000"},
+            {tag: {group: 0x0008, element: 0x0050}, vr: dicom:SH, value: string `ACC${study}`},
+            {tag: {group: 0x0008, element: 0x1030}, vr: dicom:LO, value: string `Synthetic study ${study}`},
+            {tag: {group: 0x0010, element: 0x0020}, vr: dicom:LO, value: getLoadTestPatientId(study)},
+            {tag: {group: 0x0010, element: 0x0040}, vr: dicom:CS, value: study % 2 == 0 ? "F" : "M"},
+            {tag: {group: 0x0020, element: 0x000D}, vr: dicom:UI, value: getLoadTestUid(study)},
+            {tag: {group: 0x0020, element: 0x0010}, vr: dicom:SH, value: study.toString()}
+        ];
+        if level == dicomweb:STUDY {
+            datasets.push(table key(tag) from dicom:DataElement element in studyElements select element);
+            continue;
+        }
+        foreach int series in 0 ..< LOAD_TEST_SERIES_PER_STUDY {
+            dicom:DataElement[] seriesElements = [
+                ...studyElements,
+                {
+                    tag: {group: 0x0008, element: 0x0060},
+                    vr: dicom:CS,
+                    value: LOAD_TEST_MODALITIES[(study + series) % LOAD_TEST_MODALITIES.length()]
+                },
+                {tag: {group: 0x0008, element: 0x103E}, vr: dicom:LO, value: string `Synthetic series ${series}`},
+                {tag: {group: 0x0020, element: 0x000E}, vr: dicom:UI, value: getLoadTestUid(study, series)},
+                {tag: {group: 0x0020, element: 0x0011}, vr: dicom:IS, value: series + 1}
+            ];
+            if level == dicomweb:SERIES {
+                datasets.push(table key(tag) from dicom:DataElement element in seriesElements select element);
+                continue;
+            }
+            foreach int instance in 0 ..< LOAD_TEST_INSTANCES_PER_SERIES {
+                dicom:DataElement[] instanceElements = [
+                    ...seriesElements,
+                    {tag: {group: 0x0008, element: 0x0016}, vr: dicom:UI, value: "1.2.840.10008.5.1.4.1.1.2"},
+                    {
+                        tag: {group: 0x0008, element: 0x0018},
+                        vr: dicom:UI,
+                        value: getLoadTestUid(study, series, instance)
+                    },
+                    {tag: {group: 0x0020, element: 0x0013}, vr: dicom:IS, value: instance + 1},
+                    {tag: {group: 0x0028, element: 0x0010}, vr: dicom:US, value: 512},
+                    {tag: {group: 0x0028, element: 0x0011}, vr: dicom:US, value: 512},
+                    {tag: {group: 0x0028, element: 0x0100}, vr: dicom:US, value: 16}
+                ];
+                datasets.push(table key(tag) from dicom:DataElement element in instanceElements select element);
+            }
+        }
+    }
+    return datasets.cloneReadOnly();
+}
+
+# Adds match parameters to the processed query parameters of a request, such as the UIDs of the path parameters.
+#
+# + queryParams - The processed query parameters
+# + matchParameters - The match parameters to be added
+# + return - The query parameters with the match parameters added
+isolated function addMatchParameters(dicomweb:QueryParameterMap queryParams,
+        dicomweb:MatchParameterMap matchParameters) returns dicomweb:QueryParameterMap {
+    dicomweb:QueryParameterMap params = queryParams.clone();
+    dicomweb:QueryParameterValue? existingMatchParameters = params[dicomweb:MATCH];
+    dicomweb:MatchParameterMap mergedMatchParameters =
+            existingMatchParameters is dicomweb:MatchParameterMap ? existingMatchParameters.clone() : {};
+    foreach [string, dicomweb:MatchParameterValue] [attribute, value] in matchParameters.entries() {
+        mergedMatchParameters[attribute] = value;
+    }
+    params[dicomweb:MATCH] = mergedMatchParameters;
+    return params;
+}
+
+# Prints the 99th percentile latency of each phase of the DICOM service request pipeline.
+#
+# + snapshot - The recorded metrics
+function printPhaseLatencies(dicom:MetricsSnapshot snapshot) {
+    string[] phases = [
+        dicom:METRIC_PREPROCESS_DURATION,
+        dicom:METRIC_EXECUTE_DURATION,
+        dicom:METRIC_BUILD_RESPONSE_DURATION,
+        dicom:METRIC_POST_PROCESS_DURATION
+    ];
+    foreach string phase in phases {
+        dicom:HistogramSnapshot? histogram = snapshot.histograms[phase];
+        if histogram is dicom:HistogramSnapshot {
+            io:println(string `  ${phase} p99=${toMillis(histogram.p99)} ms`);
+        }
+    }
+}
+
+# Retrieves a percentile of sorted values. The percentile is exact, as all the values are retained.
+#
+# + sortedValues - The values, sorted in ascending order
+# + quantile - The quantile of the percentile, between 0 and 1
+# + return - The percentile, or `0` if there are no values
+isolated function percentile(int[] sortedValues, float quantile) returns int {
+    if sortedValues.length() == 0 {
+        return 0;
+    }
+    int rank = int:max(1, <int>float:ceiling(quantile * <float>sortedValues.length()));
+    return sortedValues[rank - 1];
+}
+
+isolated function toMillis(int nanos) returns decimal => (<decimal>nanos / 1000000d).round(3);
+
+isolated function getLoadTestUid(int... components) returns string =>
+    string:'join(".", LOAD_TEST_UID_ROOT, ...components.'map(component => (component + 1).toString()));
+
+isolated function getLoadTestPatientId(int study) returns string => string `PID${study % 20}`;
+
+isolated function getLoadTestStudyDate(int study) returns string =>
+    string `2024${(study % 12 + 1).toString().padZero(2)}${(study % 28 + 1).toString().padZero(2)}`;
+
+@test:Config {groups: ["load"]}
+function loadTestPercentileTest() {
+    int[] values = from int i in 1 ... 1000 select i;
+    test:assertEquals(percentile(values, 0.5), 500);
+    test:assertEquals(percentile(values, 0.99), 990);
+    test:assertEquals(percentile(values, 0.999), 999);
+    test:assertEquals(percentile([], 0.5), 0);
+}
@@ -0,0 +1,156 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/io;
+import ballerina/test;
+import ballerinax/health.dicom;
+
+const RENDERING_TEST_STUDY_UID = "1.2.3";
+
+final string renderingTestDirectory = check file:createTempDir();
+
+Listener renderingDicomListener = check new (9298, {
+    ...DEFAULT_API_CONFIG,
+    rendering: {instanceLocator: locateRenderingTestInstances, thumbnailSize: 2, cache: {}}
+});
+http:Client renderingDicomClient = check new ("http://localhost:9298");
+
+@test:BeforeGroups {value: ["rendering"]}
+function startRenderingService() returns error? {
+    // A 4x4 8-bit grayscale image, in the explicit VR little endian transfer syntax
+    byte[] pixelData = [];
+    foreach int i in 0 ..< 16 {
+        pixelData.push(<byte>(i * 16));
+    }
+    byte[] fileBytes = [];
+    fileBytes.setLength(128);
+    fileBytes.push(..."DICM".toBytes());
+    fileBytes.push(...encodeTestElement(0x0028, 0x0002, "US", [1, 0]));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0004, "CS", "MONOCHROME2 ".toBytes()));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0010, "US", [4, 0]));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0011, "US", [4, 0]));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0100, "US", [8, 0]));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0101, "US", [8, 0]));
+    fileBytes.push(...encodeTestElement(0x0028, 0x0103, "US", [0, 0]));
+    fileBytes.push(...encodeTestElement(0x7FE0, 0x0010, "OB", pixelData));
+    check io:fileWriteBytes(check file:joinPath(renderingTestDirectory, "1.dcm"), fileBytes);
+
+    check renderingDicomListener.attach(dicomService);
+    check renderingDicomListener.'start();
+}
+
+@test:AfterGroups {value: ["rendering"]}
+function stopRenderingService() returns error? {
+    check renderingDicomListener.gracefulStop();
+    check file:remove(renderingTestDirectory, file:RECURSIVE);
+}
+
+@test:Config {groups: ["rendering", "service"]}
+function renderedInstanceTest() returns error? {
+    http:Response response = check renderingDicomClient->get("/studies/1.2.3/series/4/instances/5/rendered");
+    test:assertEquals(response.statusCode, 200);
+    test:assertEquals(response.getContentType(), dicom:RENDERED_JPEG);
+    test:assertEquals((check response.getBinaryPayload()).slice(0, 2), <byte[]>[0xFF, 0xD8]);
+
+    // The accept query parameter overrides the Accept header
+    response = check renderingDicomClient->get("/studies/1.2.3/series/4/instances/5/frames/1/rendered"
+        + "?accept=image/png&viewport=2,2&window=128,256,linear", {Accept: dicom:RENDERED_JPEG});
+    test:assertEquals(response.statusCode, 200);
+    test:assertEquals(response.getContentType(), dicom:RENDERED_PNG);
+    byte[] png = check response.getBinaryPayload();
+    test:assertEquals(png.slice(0, 8), <byte[]>[137, 80, 78, 71, 13, 10, 26, 10]);
+    test:assertEquals(png.slice(16, 24), <byte[]>[0, 0, 0, 2, 0, 0, 0, 2]);
+}
+
+@test:Config {groups: ["rendering", "service"]}
+function thumbnailTest() returns error? {
+    foreach string path in ["/studies/1.2.3/thumbnail", "/studies/1.2.3/series/4/thumbnail",
+            "/studies/1.2.3/series/4/instances/5/thumbnail", "/studies/1.2.3/series/4/instances/5/frames/1/thumbnail"] {
+        http:Response response = check renderingDicomClient->get(path, {Accept: "image/png, image/jpeg"});
+        test:assertEquals(response.statusCode, 200, path);
+        // Thumbnails are downscaled to fit the configured thumbnail size
+        byte[] png = check response.getBinaryPayload();
+        test:assertEquals(png.slice(16, 24), <byte[]>[0, 0, 0, 2, 0, 0, 0, 2], path);
+    }
+}
+
+@test:Config {groups: ["rendering", "service"]}
+function renderedImageCacheHitTest() returns error? {
+    string path = "/studies/1.2.3/series/4/instances/5/rendered?quality=50";
+    http:Response response = check renderingDicomClient->get(path);
+    byte[] image = check response.getBinaryPayload();
+    int hits = getRenderedCacheHits();
+    response = check renderingDicomClient->get(path);
+    test:assertEquals(response.getBinaryPayload(), image);
+    test:assertEquals(getRenderedCacheHits(), hits + 1);
+}
+
+@test:Config {groups: ["rendering", "service"]}
+function invalidRenderingRequestTest() returns error? {
+    string instancePath = "/studies/1.2.3/series/4/instances/5";
+    map<int> expectedStatusCodes = {
+        [instancePath + "/rendered?quality=0"]: 400,
+        [instancePath + "/rendered?viewport=2"]: 400,
+        [instancePath + "/rendered?window=128,256,sigmoid"]: 400,
+        [instancePath + "/rendered?accept=application/dicom"]: 406,
+        [instancePath + "/frames/2/rendered"]: 404,
+        [instancePath + "/frames/0/rendered"]: 400,
+        [instancePath + "/frames/1,2/rendered"]: 501,
+        ["/studies/9.9.9/series/4/instances/5/rendered"]: 404
+    };
+    foreach [string, int] [path, statusCode] in expectedStatusCodes.entries() {
+        http:Response response = check renderingDicomClient->get(path);
+        test:assertEquals(response.statusCode, statusCode, path);
+    }
+}
+
+@test:Config {groups: ["rendering"]}
+function renderingQueryParamsTest() {
+    test:assertEquals(parseViewport("64, 32"), [64, 32]);
+    test:assertEquals(parseViewport("64,0"), ());
+    test:assertEquals(parseWindow("40,400,LINEAR"), [40.0, 400.0]);
+    test:assertEquals(parseWindow("40,0.5,linear"), ());
+    test:assertEquals(getRenderedMediaType(()), dicom:RENDERED_JPEG);
+    test:assertEquals(getRenderedMediaType("text/html, image/png;q=0.9"), dicom:RENDERED_PNG);
+    test:assertEquals(getRenderedMediaType("*/*"), dicom:RENDERED_JPEG);
+    test:assertTrue(getRenderedMediaType("image/gif") is error);
+}
+
+isolated function locateRenderingTestInstances(string studyUid, string? seriesUid,
+        string? instanceUid) returns string[]|error {
+    if studyUid != RENDERING_TEST_STUDY_UID {
+        return [];
+    }
+    return [check file:joinPath(renderingTestDirectory, "1.dcm")];
+}
+
+function encodeTestElement(int group, int element, string vr, byte[] value) returns byte[] {
+    int length = value.length();
+    byte[] bytes = [<byte>(group & 0xFF), <byte>(group >> 8), <byte>(element & 0xFF), <byte>(element >> 8)];
+    bytes.push(...vr.toBytes());
+    if vr == "OB" {
+        bytes.push(0, 0, <byte>(length & 0xFF), <byte>((length >> 8) & 0xFF), 0, 0);
+    } else {
+        bytes.push(<byte>(length & 0xFF), <byte>(length >> 8));
+    }
+    bytes.push(...value);
+    return bytes;
+}
+
+function getRenderedCacheHits() returns int => dicom:getMetrics().counters[dicom:METRIC_RENDERED_CACHE_HITS] ?: 0;
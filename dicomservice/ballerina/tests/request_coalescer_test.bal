@@ -0,0 +1,76 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/test;
+import ballerinax/health.dicom.dicomweb;
+
+Listener coalescingDicomListener = check new (9296, {...DEFAULT_API_CONFIG, coalesceSearchRequests: true});
+http:Client coalescingDicomClient = check new ("http://localhost:9296");
+
+isolated int slowSearchExecutions = 0;
+
+Service slowSearchService = service object {
+    resource function get studies(DicomContext context,
+            dicomweb:QueryParameterMap queryParams) returns dicomweb:Response|dicomweb:Error {
+        lock {
+            slowSearchExecutions += 1;
+        }
+        // Keep the execution in progress while the concurrent requests arrive
+        runtime:sleep(1);
+        return [{"00100020": {vr: "LO", Value: ["P1"]}}, {"00100020": {vr: "LO", Value: ["P2"]}}];
+    }
+};
+
+@test:BeforeGroups {value: ["request_coalescing"]}
+function startCoalescingService() returns error? {
+    check coalescingDicomListener.attach(slowSearchService);
+    check coalescingDicomListener.'start();
+}
+
+@test:Config {groups: ["request_coalescing", "service"]}
+function coalescedSearchRequestsTest() returns error? {
+    future<http:Response|error>[] requests = [];
+    foreach int i in 0 ..< 5 {
+        // Query parameter order does not affect coalescing
+        future<http:Response|error> request = start searchSlowStudies(i % 2 == 0
+            ? "/studies?limit=1&PatientID=P1" : "/studies?PatientID=P1&limit=1");
+        requests.push(request);
+    }
+    foreach future<http:Response|error> request in requests {
+        http:Response response = check wait request;
+        test:assertEquals(response.statusCode, 200);
+        // Shared results are post-processed for each request separately
+        json payload = check response.getJsonPayload();
+        test:assertEquals(payload, [{"00100020": {vr: "LO", Value: ["P1"]}}]);
+    }
+    test:assertEquals(getSlowSearchExecutions(), 1);
+
+    // Requests arriving after the execution completes execute the resource again
+    http:Response response = check searchSlowStudies("/studies?PatientID=P1");
+    test:assertEquals(response.statusCode, 200);
+    test:assertEquals(getSlowSearchExecutions(), 2);
+}
+
+function searchSlowStudies(string path) returns http:Response|error =>
+    coalescingDicomClient->get(path, {Accept: dicomweb:MIME_TYPE_DICOM_JSON});
+
+function getSlowSearchExecutions() returns int {
+    lock {
+        return slowSearchExecutions;
+    }
+}
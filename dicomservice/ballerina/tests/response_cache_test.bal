@@ -0,0 +1,125 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/test;
+import ballerinax/health.dicom.dicomweb;
+
+Listener cachingDicomListener = check new (9295, {...DEFAULT_API_CONFIG, responseCache: {capacity: 10}});
+http:Client cachingDicomClient = check new ("http://localhost:9295");
+
+@test:BeforeGroups {value: ["response_cache"]}
+function startCachingService() returns error? {
+    check cachingDicomListener.attach(dicomService);
+    check cachingDicomListener.'start();
+}
+
+@test:Config {groups: ["response_cache"]}
+function responseCacheEvictionTest() returns error? {
+    ResponseCache cache = check new (2);
+    test:assertTrue(cache.put("a", 0, [1]) is ResponseCacheEntry);
+    test:assertTrue(cache.put("b", 0, [2]) is ResponseCacheEntry);
+    // Accessing "a" makes "b" the least recently used response
+    test:assertTrue(cache.get("a") is ResponseCacheEntry);
+    test:assertTrue(cache.put("c", 0, [3]) is ResponseCacheEntry);
+    test:assertEquals(cache.size(), 2);
+    test:assertTrue(cache.get("a") is ResponseCacheEntry);
+    test:assertTrue(cache.get("b") == ());
+    test:assertTrue(cache.get("c") is ResponseCacheEntry);
+
+    test:assertTrue(new ResponseCache(0) is error);
+}
+
+@test:Config {groups: ["response_cache"]}
+function responseCacheInvalidationTest() returns error? {
+    ResponseCache cache = check new (10);
+    int generation = cache.getGeneration();
+    _ = cache.put("a", generation, [1]);
+    cache.invalidate();
+    test:assertEquals(cache.size(), 0);
+    // Responses produced before the invalidation are not cached
+    test:assertTrue(cache.put("a", generation, [1]) == ());
+    test:assertTrue(cache.put("a", cache.getGeneration(), [1]) is ResponseCacheEntry);
+}
+
+@test:Config {groups: ["response_cache"]}
+function searchRequestKeyTest() {
+    string key = createSearchRequestKey(dicomweb:SEARCH_STUDY_SERIES, ["1.2.3"],
+            {[dicomweb:LIMIT]: 10, [dicomweb:OFFSET]: 5, [dicomweb:MATCH]: {Modality: "CT", PatientID: "P1"}});
+    string reorderedKey = createSearchRequestKey(dicomweb:SEARCH_STUDY_SERIES, ["1.2.3"],
+            {[dicomweb:MATCH]: {PatientID: "P1", Modality: "CT"}, [dicomweb:OFFSET]: 5, [dicomweb:LIMIT]: 10});
+    test:assertEquals(key, reorderedKey);
+    test:assertNotEquals(key, createSearchRequestKey(dicomweb:SEARCH_STUDY_SERIES, ["1.2.4"],
+            {[dicomweb:LIMIT]: 10, [dicomweb:OFFSET]: 5, [dicomweb:MATCH]: {Modality: "CT", PatientID: "P1"}}));
+
+    // Requests of different callers do not share a key
+    string callerKey1 = createSearchRequestKey(dicomweb:SEARCH_ALL_STUDIES, [], {}, {authorization: "Bearer a"});
+    string callerKey2 = createSearchRequestKey(dicomweb:SEARCH_ALL_STUDIES, [], {}, {authorization: "Bearer b"});
+    test:assertNotEquals(callerKey1, callerKey2);
+    test:assertNotEquals(callerKey1, createSearchRequestKey(dicomweb:SEARCH_ALL_STUDIES, [], {}));
+}
+
+@test:Config {groups: ["response_cache"]}
+function requestKeyHeaderValuesTest() {
+    http:Request req = new;
+    req.setHeader("Authorization", "Bearer a");
+    req.addHeader("X-Tenant", "t1");
+    req.addHeader("X-Tenant", "t2");
+    test:assertEquals(getRequestKeyHeaderValues(req, ["authorization", "X-Tenant", "X-Missing"]),
+            {authorization: "Bearer a", "x-tenant": "t1,t2"});
+}
+
+@test:Config {groups: ["response_cache"]}
+function eTagMatchingTest() {
+    string etag = createETag([1, 2, 3]);
+    test:assertEquals(createETag([1, 2, 3]), etag);
+    test:assertNotEquals(createETag([1, 2]), etag);
+    test:assertTrue(isETagMatching(etag, etag));
+    test:assertTrue(isETagMatching(string `"other", W/${etag}`, etag));
+    test:assertTrue(isETagMatching("*", etag));
+    test:assertFalse(isETagMatching("\"other\"", etag));
+}
+
+@test:Config {groups: ["response_cache", "service"]}
+function cachedSearchConditionalRequestTest() returns error? {
+    http:Response response = check cachingDicomClient->/studies({
+        Accept: dicomweb:MIME_TYPE_DICOM_JSON
+    }, PatientID = "P1");
+    test:assertEquals(response.statusCode, 200);
+    string etag = check response.getHeader(http:ETAG);
+
+    // Served from the cache
+    response = check cachingDicomClient->/studies({
+        Accept: dicomweb:MIME_TYPE_DICOM_JSON
+    }, PatientID = "P1");
+    test:assertEquals(response.statusCode, 200);
+    test:assertEquals(check response.getHeader(http:ETAG), etag);
+    test:assertEquals(response.getContentType(), dicomweb:MIME_TYPE_DICOM_JSON);
+
+    response = check cachingDicomClient->/studies({
+        Accept: dicomweb:MIME_TYPE_DICOM_JSON,
+        [http:IF_NONE_MATCH]: etag
+    }, PatientID = "P1");
+    test:assertEquals(response.statusCode, 304);
+
+    // Invalidated responses are produced again
+    cachingDicomListener.invalidateResponseCache();
+    response = check cachingDicomClient->/studies({
+        Accept: dicomweb:MIME_TYPE_DICOM_JSON,
+        [http:IF_NONE_MATCH]: etag
+    }, PatientID = "P1");
+    test:assertEquals(response.statusCode, 200);
+}
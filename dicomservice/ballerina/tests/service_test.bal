@@ -14,7 +14,9 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/file;
 import ballerina/http;
+import ballerina/io;
 import ballerina/test;
 import ballerinax/health.dicom.dicomweb;
 
@@ -195,6 +197,42 @@ function searchAllStudiesUnsupportedQueryParamTest() returns error? {
     test:assertTrue(response.statusCode == 501);
 }
 
+@test:Config {groups: ["service", "query_params"]}
+function fuzzyMatchingQueryParamTest() returns error? {
+    map<QueryParamConfig> queryParamConfigMap = {
+        [dicomweb:FUZZYMATCHING]: {
+            name: dicomweb:FUZZYMATCHING,
+            active: true,
+            preProcessor: fuzzyMatchingQueryParamPreProcessor
+        }
+    };
+    dicomweb:QueryParameterMap processedParams = check processQueryParams(
+            {"fuzzymatching": ["true"], "PatientName": ["smith"]}, dicomweb:SEARCH_ALL_STUDIES, queryParamConfigMap);
+    test:assertEquals(processedParams, {[dicomweb:FUZZYMATCHING]: true, [dicomweb:MATCH]: {"PatientName": "smith"}});
+
+    dicomweb:QueryParameterMap|dicomweb:Error invalidParams = processQueryParams({"fuzzymatching": ["yes"]},
+            dicomweb:SEARCH_ALL_STUDIES, queryParamConfigMap);
+    if invalidParams is dicomweb:Error {
+        test:assertEquals(invalidParams.detail().httpStatusCode, 400);
+    } else {
+        test:assertFail("Invalid fuzzymatching values must be rejected");
+    }
+}
+
+@test:Config {groups: ["service", "query_params"]}
+function unsupportedQueryParamTest() {
+    map<QueryParamConfig> queryParamConfigMap = {
+        [dicomweb:FUZZYMATCHING]: {name: dicomweb:FUZZYMATCHING, active: false}
+    };
+    dicomweb:QueryParameterMap|dicomweb:Error processedParams = processQueryParams({"fuzzymatching": ["true"]},
+            dicomweb:SEARCH_ALL_STUDIES, queryParamConfigMap);
+    if processedParams is dicomweb:Error {
+        test:assertEquals(processedParams.detail().httpStatusCode, 501);
+    } else {
+        test:assertFail("Inactive query parameters must not be processed");
+    }
+}
+
 @test:Config {groups: ["service"]}
 function invalidRequestNonExistingPathTest() returns error? {
     http:Response response = check dicomClient->get("/nonexistingpath");
@@ -209,6 +247,64 @@ function invalidRequestNonExistingPathTest() returns error? {
     }
 }
 
+@test:Config {groups: ["service", "routes"]}
+function createResourceRouteTest() {
+    test:assertEquals(createResourceRoute("get", ["studies", "^", "series", "^", "instances"]), {
+        resourceType: dicomweb:SEARCH_STUDY_SERIES_INSTANCES,
+        transactionType: SEARCH,
+        accessor: "get",
+        path: ["studies", "^", "series", "^", "instances"],
+        pathParamIndices: [1, 3]
+    });
+    ResourceRoute? route = createResourceRoute("GET", ["studies", "^", "metadata"]);
+    test:assertEquals(route?.resourceType, dicomweb:RETRIEVE_STUDY_METADATA);
+    test:assertEquals(route?.transactionType, RETRIEVE);
+    test:assertEquals(createResourceRoute("post", ["studies"])?.resourceType, dicomweb:STORE_STUDIES);
+    test:assertEquals(createResourceRoute("get", ["studies", "^", "unknown"]), ());
+    test:assertEquals(createResourceRoute("put", ["studies"]), ());
+
+    ResourceRoute[] routes = createResourceRoutes(dicomService);
+    test:assertEquals(routes.length(), 7);
+}
+
+@test:Config {groups: ["service", "bulk_data"]}
+function retrieveBulkDataTest() returns error? {
+    string rootDirectory = check file:createTempDir();
+    string filePath = check file:joinPath(rootDirectory, "1.dcm");
+    check io:fileWriteBytes(filePath, [0, 1, 2, 3, 4, 5, 6, 7]);
+    dicomweb:BulkDataConfig bulkDataConfig = {baseUri: "http://localhost:9293", rootDirectory};
+
+    Listener bulkDataListener = check new (9293, {...DEFAULT_API_CONFIG, bulkData: bulkDataConfig.cloneReadOnly()});
+    check bulkDataListener.attach(dicomService);
+    check bulkDataListener.'start();
+    http:Client bulkDataClient = check new ("http://localhost:9293");
+
+    string bulkDataBaseUri = string `${bulkDataConfig.baseUri}/${dicomweb:BULK_DATA_PATH_SEGMENT}/`;
+    string bulkDataUri = check dicomweb:createBulkDataUri({path: filePath, offset: 2, length: 5}, bulkDataConfig);
+    string bulkDataId = bulkDataUri.substring(bulkDataBaseUri.length());
+    http:Response response = check bulkDataClient->/bulkdata/[bulkDataId];
+    test:assertEquals(response.statusCode, 200);
+    test:assertEquals(response.getContentType(), dicomweb:MIME_TYPE_OCTET_STREAM);
+    test:assertEquals(response.getBinaryPayload(), <byte[]>[2, 3, 4, 5, 6]);
+
+    // Bulk data identifiers are only served under the bulk data path segment
+    response = check bulkDataClient->/[bulkDataId];
+    test:assertEquals(response.statusCode, 404);
+
+    // Values out of the bounds of the source file are not found
+    bulkDataUri = check dicomweb:createBulkDataUri({path: filePath, offset: 6, length: 5}, bulkDataConfig);
+    bulkDataId = bulkDataUri.substring(bulkDataBaseUri.length());
+    response = check bulkDataClient->/bulkdata/[bulkDataId];
+    test:assertEquals(response.statusCode, 404);
+
+    // Bulk data is not served without a bulk data configuration
+    response = check dicomClient->/bulkdata/[bulkDataId];
+    test:assertEquals(response.statusCode, 404);
+
+    check bulkDataListener.gracefulStop();
+    check file:remove(rootDirectory, file:RECURSIVE);
+}
+
 function getStatusReportFromJsonPayload(json payload) returns dicomweb:StatusReport? {
     dicomweb:StatusReport|error statusReport = payload.fromJsonWithType();
     if statusReport is dicomweb:StatusReport {
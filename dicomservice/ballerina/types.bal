@@ -15,6 +15,7 @@
 // under the License.
 
 import ballerina/http;
+import ballerinax/health.dicom;
 import ballerinax/health.dicom.dicomweb;
 
 # Represents a DICOM service type.
@@ -52,9 +53,138 @@ public type QueryParamConfig record {|
 # API configuration.
 #
 # + queryParameters - Query parameters supported by the API
+# + bulkData - Bulk data configuration. If provided, bulk data retrieve requests are served from the source files
+# of the bulk data values, using the BulkDataURIs created by `dicomweb:createBulkDataUri`.
+# + responseCache - Response cache configuration. If provided, search responses are cached, and are served with
+# entity tags for conditional requests
+# + coalesceSearchRequests - Whether concurrent search requests with the same resource, path parameters and query
+# parameters share a single execution of the service resource. Must not be enabled if the service resources produce
+# different results for such requests, such as based on request headers not listed in `requestKeyHeaders`
+# + requestKeyHeaders - Names of the request headers whose values are part of the key of cached and coalesced search
+# requests, such as `Authorization`. Responses are only shared between requests with the same values of these
+# headers, which is required if the service resources produce different results based on the caller.
+# + contextHeaders - Names of the request headers captured in the `DicomContext` of search requests. By default
+# (`()`), every header of each search request is copied into the context. Services opt in to copying only the listed
+# headers, such as the ones their resources read, which keeps the copying cost off the search path. Headers that are
+# not listed are absent from the context
+# + admissionControl - Admission control configuration. If provided, the number of concurrently processed requests
+# of each resource type is limited, and requests exceeding the limits are rejected with `503 Service Unavailable`
+# + rendering - Rendering configuration. If provided, rendered instance, rendered frame and thumbnail requests are
+# served by rendering the source files of the instances
 public type ApiConfig record {|
     readonly QueryParamConfig[] queryParameters = [];
+    readonly dicomweb:BulkDataConfig bulkData?;
+    readonly ResponseCacheConfig responseCache?;
+    readonly boolean coalesceSearchRequests = false;
+    readonly string[] requestKeyHeaders = [];
+    readonly string[]? contextHeaders = ();
+    readonly AdmissionControlConfig admissionControl?;
+    readonly RenderingConfig rendering?;
 |};
 
+# Locates the source files of the instances of a study, a series or an instance.
+# The series and instance UIDs are absent when the instances of the whole study or series are located.
+public type InstanceLocator isolated function (string studyUid, string? seriesUid, string? instanceUid)
+        returns string[]|error;
+
+# Rendering configuration.
+#
+# + instanceLocator - Function locating the source files of the instances to be rendered. The files must be encoded
+# in the explicit VR little endian transfer syntax, with native pixel data. The thumbnails of studies and series are
+# rendered from the middle instance located
+# + thumbnailSize - The width and height of the viewport thumbnails are downscaled to fit in, in pixels
+# + quality - The quality of lossy rendered images, from 1 to 100, used if a request does not specify a quality
+# + cache - Rendered image cache configuration. If provided, rendered images are cached
+public type RenderingConfig record {|
+    readonly & InstanceLocator instanceLocator;
+    int thumbnailSize = DEFAULT_THUMBNAIL_SIZE;
+    int quality = dicom:DEFAULT_RENDERING_QUALITY;
+    RenderedImageCacheConfig cache?;
+|};
+
+# Rendered image cache configuration.
+#
+# + maxMemorySize - The maximum total size of the images cached in memory, in bytes
+# + directory - The directory the least recently used images are spilled to when the memory limit is reached.
+# Images are cached only in memory if absent
+# + maxDiskSize - The maximum total size of the images cached in the directory, in bytes
+public type RenderedImageCacheConfig record {|
+    int maxMemorySize = dicom:DEFAULT_RENDERED_CACHE_MEMORY_SIZE;
+    string directory?;
+    int maxDiskSize = dicom:DEFAULT_RENDERED_CACHE_DISK_SIZE;
+|};
+
+# Admission control configuration.
+#
+# + maxConcurrency - The maximum number of concurrently processed requests of each resource type
+# + resourceMaxConcurrency - The maximum number of concurrently processed requests of specific resource types, keyed
+# by resource type, overriding `maxConcurrency`. Expensive resources, such as `SEARCH_ALL_INSTANCES`, can be given
+# lower limits, so that they do not delay cheaper requests
+# + maxQueueSize - The maximum number of requests of each resource type waiting to be processed. Requests arriving
+# when the queue is full are rejected
+# + maxQueueWait - The maximum time a request waits to be processed, in seconds, after which it is rejected
+# + retryAfter - The `Retry-After` header value of rejected requests, in seconds
+# + adaptive - Whether limits adapt to the observed latency of each resource type. Adaptive limits start at the
+# configured maximum, and are lowered when latency rises, down to `minConcurrency`
+# + minConcurrency - The minimum concurrency adaptive limits are lowered to
+public type AdmissionControlConfig record {|
+    int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    map<int> resourceMaxConcurrency = {};
+    int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    decimal maxQueueWait = DEFAULT_MAX_QUEUE_WAIT;
+    int retryAfter = DEFAULT_RETRY_AFTER;
+    boolean adaptive = false;
+    int minConcurrency = 1;
+|};
+
+# Response cache configuration.
+#
+# + capacity - The maximum number of cached search responses. The least recently used response is evicted when the
+# cache is full
+public type ResponseCacheConfig record {|
+    int capacity = DEFAULT_RESPONSE_CACHE_CAPACITY;
+|};
+
+# Represents a cached search response.
+#
+# + key - The cache key of the response
+# + etag - The entity tag of the response payload
+# + payload - The post-processed response payload
+public type ResponseCacheEntry readonly & record {|
+    string key;
+    string etag;
+    json payload;
+|};
+
+# Holds the response cache state of a search request, between the service and the response interceptor.
+#
+# + key - The cache key of the request
+# + generation - The generation of the cache when the request was received
+# + hit - Whether the response is served from the cache
+type ResponseCacheLookup readonly & record {|
+    string key;
+    int generation;
+    boolean hit;
+|};
+
+# Represents the DICOMweb route of a DICOM service resource.
+#
+# + resourceType - The DICOMweb resource type served by the resource
+# + transactionType - The DICOMweb transaction type of the resource, which selects the pre-processing of requests
+# + accessor - The resource accessor
+# + path - The resource path, where path parameters are denoted by `^`
+# + pathParamIndices - The indices of the path parameters in the request path
+public type ResourceRoute record {|
+    dicomweb:ResourceType resourceType;
+    TransactionType transactionType;
+    string accessor;
+    string[] path;
+    int[] pathParamIndices;
+|};
+
+# The route table of a DICOM service, which is generated by the compiler plugin for DICOM service declarations.
+# Not intended to be specified manually.
+public annotation ResourceRoute[] RouteTable on service;
+
 # Dummy type used in the compiler plugin.
 type ResourceReturnType http:Response|http:StatusCodeResponse|anydata|error;
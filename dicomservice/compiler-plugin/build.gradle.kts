@@ -26,6 +26,11 @@ dependencies {
     implementation(group = "org.ballerinalang", name = "ballerina-lang", version = ballerinaLangVersion)
     implementation(group = "org.ballerinalang", name = "ballerina-tools-api", version = ballerinaLangVersion)
     implementation(group = "org.ballerinalang", name = "ballerina-parser", version = ballerinaLangVersion)
+    testImplementation(group = "org.testng", name = "testng", version = "7.10.2")
+}
+
+tasks.test {
+    useTestNG()
 }
 
 // Set Java language version to 21
@@ -36,6 +36,9 @@ public class Constants {
     public static final String INTERCEPTOR_RESOURCE_RETURN_TYPE = "InterceptorResourceReturnType";
     public static final int MIN_RESOURCE_PARAM_COUNT = 2;
     public static final int MAX_RESOURCE_PARAM_COUNT = 3;
+    public static final String DICOM_SERVICE_MODULE_PREFIX = "dicomservice";
+    public static final String ROUTE_TABLE_ANNOTATION = "RouteTable";
+    public static final String PATH_PARAM_IDENTIFIER = "^";
 
     public static final String REMOTE_KEYWORD = "remote";
     public static final String RESPONSE_OBJ_NAME = "Response";
@@ -28,5 +28,6 @@ public class DicomCompilerPlugin extends CompilerPlugin {
     @Override
     public void init(CompilerPluginContext context) {
         context.addCodeAnalyzer(new DicomCodeAnalyzer());
+        context.addCodeModifier(new DicomCodeModifier());
     }
 }
@@ -18,20 +18,33 @@
 
 package io.ballerinax.health.dicom.dicomservice.compiler;
 
+import io.ballerina.compiler.api.SemanticModel;
 import io.ballerina.compiler.api.Types;
+import io.ballerina.compiler.api.symbols.ServiceDeclarationSymbol;
 import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.SymbolKind;
 import io.ballerina.compiler.api.symbols.TypeDefinitionSymbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
 import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.IdentifierToken;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
 import io.ballerina.compiler.syntax.tree.Node;
 import io.ballerina.compiler.syntax.tree.ReturnTypeDescriptorNode;
+import io.ballerina.compiler.syntax.tree.ServiceDeclarationNode;
 import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
 import io.ballerina.tools.diagnostics.DiagnosticFactory;
 import io.ballerina.tools.diagnostics.DiagnosticInfo;
 import io.ballerina.tools.diagnostics.Location;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static io.ballerinax.health.dicom.dicomservice.compiler.Constants.*;
 
@@ -298,4 +311,116 @@ public class DicomCompilerPluginUtils {
         typeSymbols.put(NILABLE_MAP_OF_ANYDATA_ARRAY, types.builder().UNION_TYPE.withMemberTypes(
                 typeSymbols.get(ARRAY_OF_MAP_OF_ANYDATA), types.NIL).build());
     }
+
+    /**
+     * Checks if the given service declaration is a DICOM service, i.e. a service attached to a DICOM listener.
+     *
+     * @param semanticModel          The semantic model
+     * @param serviceDeclarationNode The service declaration node to be checked
+     * @return {@code true} if the service declaration is a DICOM service, {@code false} otherwise
+     */
+    public static boolean isDicomService(SemanticModel semanticModel, ServiceDeclarationNode serviceDeclarationNode) {
+        Optional<Symbol> serviceSymbolOptional = semanticModel.symbol(serviceDeclarationNode);
+        if (serviceSymbolOptional.isEmpty()) {
+            return false;
+        }
+        if (serviceSymbolOptional.get().kind() != SymbolKind.SERVICE_DECLARATION) {
+            return false;
+        }
+        ServiceDeclarationSymbol symbol = (ServiceDeclarationSymbol) serviceSymbolOptional.get();
+        for (TypeSymbol listener : symbol.listenerTypes()) {
+            if (isDicomListener(listener)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the path of a resource method, where path parameters are denoted by
+     * {@value Constants#PATH_PARAM_IDENTIFIER}.
+     *
+     * @param resourceNode The resource accessor definition node
+     * @return The resource path, or an empty {@code Optional} if the path has a rest parameter
+     */
+    public static Optional<List<String>> getResourcePath(FunctionDefinitionNode resourceNode) {
+        List<String> path = new ArrayList<>();
+        for (Node segment : resourceNode.relativeResourcePath()) {
+            switch (segment.kind()) {
+                case IDENTIFIER_TOKEN -> path.add(unescapeIdentifier(((IdentifierToken) segment).text()));
+                case RESOURCE_PATH_SEGMENT_PARAM -> path.add(PATH_PARAM_IDENTIFIER);
+                case RESOURCE_PATH_REST_PARAM -> {
+                    return Optional.empty();
+                }
+                default -> {
+                    // Slashes and the root path (.) do not add segments
+                }
+            }
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * Retrieves the prefix of the {@code dicomservice} module import in a module part.
+     *
+     * @param modulePartNode The module part node
+     * @return The module prefix, or an empty {@code Optional} if the module is not imported
+     */
+    public static Optional<String> getDicomServiceModulePrefix(ModulePartNode modulePartNode) {
+        for (ImportDeclarationNode importNode : modulePartNode.imports()) {
+            String org = importNode.orgName().map(orgName -> orgName.orgName().text()).orElse(EMPTY);
+            String module = importNode.moduleName().stream().map(IdentifierToken::text)
+                    .collect(Collectors.joining("."));
+            if (org.equals(BALLERINAX) && module.equals(DICOM_SERVICE_PKG)) {
+                return Optional.of(importNode.prefix().map(prefix -> prefix.prefix().text())
+                        .orElse(DICOM_SERVICE_MODULE_PREFIX));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Removes the quote of a quoted identifier.
+     *
+     * @param identifier The identifier
+     * @return The unquoted identifier
+     */
+    private static String unescapeIdentifier(String identifier) {
+        return identifier.startsWith("'") ? identifier.substring(1) : identifier;
+    }
+
+    /**
+     * Checks if the given type symbol represents a DICOM listener.
+     *
+     * @param typeSymbol The type symbol to be checked
+     * @return {@code true} if the type symbol represents a DICOM listener, {@code false} otherwise
+     */
+    private static boolean isDicomListener(TypeSymbol typeSymbol) {
+        if (typeSymbol.typeKind() == TypeDescKind.UNION) {
+            UnionTypeSymbol unionTypeSymbol = (UnionTypeSymbol) typeSymbol;
+            for (TypeSymbol symbol : unionTypeSymbol.memberTypeDescriptors()) {
+                if (isDicomModuleSymbol(symbol)) {
+                    return true;
+                }
+            }
+        } else if (typeSymbol.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            return isDicomModuleSymbol(typeSymbol);
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the given symbol belongs to the DICOM service module.
+     *
+     * @param symbol The symbol to be checked
+     * @return {@code true} if the symbol belongs to the DICOM service module, {@code false} otherwise
+     */
+    private static boolean isDicomModuleSymbol(Symbol symbol) {
+        if (symbol.getModule().isEmpty()) {
+            return false;
+        }
+        String module = symbol.getModule().get().id().moduleName();
+        String org = symbol.getModule().get().id().orgName();
+        return module.equals(DICOM_SERVICE_PKG) && org.equals(BALLERINAX);
+    }
 }
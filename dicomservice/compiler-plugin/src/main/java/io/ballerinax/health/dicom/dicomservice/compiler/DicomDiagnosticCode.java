@@ -35,7 +35,9 @@ public enum DicomDiagnosticCode {
             String.format("invalid resource method second parameter type: expected \"%s\", but found \"%s\"",
                     Constants.ALLOWED_RESOURCE_SECOND_PARAM, "%s"), DiagnosticSeverity.ERROR),
     DICOM_105("DICOM_105", String.format("invalid resource method return type: expected \"%s\", but found \"%s\"",
-            Constants.ALLOWED_RESOURCE_RETURN_UNION, "%s"), DiagnosticSeverity.ERROR);
+            Constants.ALLOWED_RESOURCE_RETURN_UNION, "%s"), DiagnosticSeverity.ERROR),
+    DICOM_106("DICOM_106", "resource does not map to a DICOMweb resource and will not be dispatched to: '%s'",
+            DiagnosticSeverity.WARNING);
 
     private final String code;
     private final String message;
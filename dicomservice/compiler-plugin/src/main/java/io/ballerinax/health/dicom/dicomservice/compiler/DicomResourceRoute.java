@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice.compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Represents the DICOMweb route of a DICOM service resource.
+ * <p>
+ * Routes are resolved from the accessor and the path of a resource using the same path patterns the DICOM service
+ * uses to resolve the resource type of a request, and are recorded in the route table of the service.
+ * </p>
+ */
+public class DicomResourceRoute {
+
+    private static final String WILDCARD = "_";
+    private static final List<Pattern> PATTERNS = List.of(
+            // Search transaction resources
+            new Pattern("get", "SEARCH", "SEARCH_ALL_STUDIES", "studies"),
+            new Pattern("get", "SEARCH", "SEARCH_ALL_SERIES", "series"),
+            new Pattern("get", "SEARCH", "SEARCH_ALL_INSTANCES", "instances"),
+            new Pattern("get", "SEARCH", "SEARCH_STUDY_SERIES", "studies", WILDCARD, "series"),
+            new Pattern("get", "SEARCH", "SEARCH_STUDY_INSTANCES", "studies", WILDCARD, "instances"),
+            new Pattern("get", "SEARCH", "SEARCH_STUDY_SERIES_INSTANCES",
+                    "studies", WILDCARD, "series", WILDCARD, "instances"),
+            // Retrieve transaction resources
+            new Pattern("get", "RETRIEVE", "RETRIEVE_STUDY_INSTANCES", "studies", WILDCARD),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_SERIES_INSTANCES", "studies", WILDCARD, "series", WILDCARD),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_INSTANCE",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_STUDY_METADATA", "studies", WILDCARD, "metadata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_SERIES_METADATA",
+                    "studies", WILDCARD, "series", WILDCARD, "metadata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_INSTANCE_METADATA",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "metadata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_RENDERED_STUDY", "studies", WILDCARD, "rendered"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_RENDERED_SERIES",
+                    "studies", WILDCARD, "series", WILDCARD, "rendered"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_RENDERED_INSTANCE",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "rendered"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_RENDERED_FRAMES",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "frames", WILDCARD, "rendered"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_STUDY_THUMBNAIL", "studies", WILDCARD, "thumbnail"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_SERIES_THUMBNAIL",
+                    "studies", WILDCARD, "series", WILDCARD, "thumbnail"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_INSTANCE_THUMBNAIL",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "thumbnail"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_FRAME_THUMBNAIL",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "frames", WILDCARD, "thumbnail"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_STUDY_BULKDATA", "studies", WILDCARD, "bulkdata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_SERIES_BULKDATA",
+                    "studies", WILDCARD, "series", WILDCARD, "bulkdata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_INSTANCE_BULKDATA",
+                    "studies", WILDCARD, "series", WILDCARD, "instances", WILDCARD, "bulkdata"),
+            new Pattern("get", "RETRIEVE", "RETRIEVE_BULKDATA", "bulkdata", WILDCARD),
+            // Store transaction resources
+            new Pattern("post", "STORE", "STORE_STUDIES", "studies"),
+            new Pattern("post", "STORE", "STORE_STUDY", "studies", WILDCARD)
+    );
+
+    private final String resourceType;
+    private final String transactionType;
+    private final String accessor;
+    private final List<String> path;
+    private final List<Integer> pathParamIndices;
+
+    private DicomResourceRoute(String resourceType, String transactionType, String accessor, List<String> path) {
+        this.resourceType = resourceType;
+        this.transactionType = transactionType;
+        this.accessor = accessor;
+        this.path = path;
+        this.pathParamIndices = new ArrayList<>();
+        for (int i = 0; i < path.size(); i++) {
+            if (path.get(i).equals(Constants.PATH_PARAM_IDENTIFIER)) {
+                pathParamIndices.add(i);
+            }
+        }
+    }
+
+    /**
+     * Resolves the route of a DICOM service resource.
+     *
+     * @param accessor The resource accessor.
+     * @param path     The resource path, where path parameters are denoted by
+     *                 {@value Constants#PATH_PARAM_IDENTIFIER}.
+     * @return The route of the resource, or an empty {@code Optional} if the resource is not a DICOMweb resource.
+     */
+    public static Optional<DicomResourceRoute> resolve(String accessor, List<String> path) {
+        for (Pattern pattern : PATTERNS) {
+            if (pattern.matches(accessor, path)) {
+                return Optional.of(new DicomResourceRoute(pattern.resourceType, pattern.transactionType,
+                        accessor.toLowerCase(), path));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the DICOMweb resource path patterns, in the order they are matched.
+     *
+     * @return The path patterns.
+     */
+    static List<Pattern> getPatterns() {
+        return PATTERNS;
+    }
+
+    /**
+     * Gets the DICOMweb resource type of the route.
+     *
+     * @return The resource type.
+     */
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * Creates the route table annotation of the route.
+     *
+     * @param modulePrefix The prefix of the {@code dicomservice} module.
+     * @return The source of the annotation.
+     */
+    public String toAnnotation(String modulePrefix) {
+        String pathSource = path.stream().map(segment -> "\"" + segment + "\"")
+                .collect(Collectors.joining(", ", "[", "]"));
+        String pathParamIndicesSource = pathParamIndices.stream().map(String::valueOf)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return String.format("@%s:%s {resourceType: \"%s\", transactionType: \"%s\", accessor: \"%s\", " +
+                        "path: %s, pathParamIndices: %s}", modulePrefix, Constants.ROUTE_TABLE_ANNOTATION,
+                resourceType, transactionType, accessor, pathSource, pathParamIndicesSource);
+    }
+
+    /**
+     * A DICOMweb resource path pattern.
+     */
+    static class Pattern {
+        private final String accessor;
+        private final String transactionType;
+        private final String resourceType;
+        private final String[] segments;
+
+        private Pattern(String accessor, String transactionType, String resourceType, String... segments) {
+            this.accessor = accessor;
+            this.transactionType = transactionType;
+            this.resourceType = resourceType;
+            this.segments = segments;
+        }
+
+        String getAccessor() {
+            return accessor;
+        }
+
+        String getTransactionType() {
+            return transactionType;
+        }
+
+        String getResourceType() {
+            return resourceType;
+        }
+
+        List<String> getSegments() {
+            return List.of(segments);
+        }
+
+        private boolean matches(String resourceAccessor, List<String> path) {
+            if (!accessor.equalsIgnoreCase(resourceAccessor) || segments.length != path.size()) {
+                return false;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                if (!segments[i].equals(WILDCARD) && !segments[i].equals(path.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
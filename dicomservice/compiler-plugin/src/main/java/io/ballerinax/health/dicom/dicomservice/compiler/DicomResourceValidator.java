@@ -47,6 +47,24 @@ public class DicomResourceValidator {
         extractReturnTypeAndValidate(context, node, typeSymbols);
     }
 
+    /**
+     * Validates that the given DICOM resource method maps to a DICOMweb resource.
+     * Resources that do not map to a DICOMweb resource are not added to the route table of the service,
+     * and are never dispatched to.
+     *
+     * @param context The syntax node analysis context.
+     * @param node    The function definition node representing the DICOM resource method.
+     */
+    public static void validateResourceRoute(SyntaxNodeAnalysisContext context, FunctionDefinitionNode node) {
+        String accessor = node.functionName().text();
+        Optional<DicomResourceRoute> route = DicomCompilerPluginUtils.getResourcePath(node)
+                .flatMap(path -> DicomResourceRoute.resolve(accessor, path));
+        if (route.isEmpty()) {
+            DicomCompilerPluginUtils.updateDiagnostic(context, node.location(), DicomDiagnosticCode.DICOM_106,
+                    accessor + " " + node.relativeResourcePath().toString().trim());
+        }
+    }
+
     /**
      * Validates the input parameters of a DICOM resource method.
      *
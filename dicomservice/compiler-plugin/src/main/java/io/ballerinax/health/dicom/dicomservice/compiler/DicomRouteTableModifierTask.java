@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice.compiler;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.syntax.tree.AnnotationNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.ServiceDeclarationNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.projects.Document;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.ModuleId;
+import io.ballerina.projects.plugins.ModifierTask;
+import io.ballerina.projects.plugins.SourceModifierContext;
+import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.text.TextDocumentChange;
+import io.ballerina.tools.text.TextEdit;
+import io.ballerina.tools.text.TextRange;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@code ModifierTask} that generates the route table of Ballerina DICOM services.
+ * <p>
+ * The route table maps each DICOMweb resource type served by a DICOM service to its resource method, along with the
+ * indices of the path parameters in the request path and the transaction type, which selects the pre-processing
+ * applied to requests. It is attached to the service declaration as {@code RouteTable} annotations, which the DICOM
+ * listener loads when the service is attached, so that routing does not need to inspect the resource methods.
+ * </p>
+ */
+public class DicomRouteTableModifierTask implements ModifierTask<SourceModifierContext> {
+
+    @Override
+    public void modify(SourceModifierContext modifierContext) {
+        // Leave erroneous sources unchanged, so that the reported diagnostics refer to the original sources
+        if (modifierContext.compilation().diagnosticResult().hasErrors()) {
+            return;
+        }
+
+        for (ModuleId moduleId : modifierContext.currentPackage().moduleIds()) {
+            Module module = modifierContext.currentPackage().module(moduleId);
+            SemanticModel semanticModel = modifierContext.compilation().getSemanticModel(moduleId);
+            for (DocumentId documentId : module.documentIds()) {
+                Document document = module.document(documentId);
+                Optional<TextDocument> modifiedDocument = addRouteTables(document, semanticModel);
+                modifiedDocument.ifPresent(textDocument -> modifierContext.modifySourceFile(textDocument,
+                        documentId));
+            }
+        }
+    }
+
+    /**
+     * Adds route table annotations to the DICOM services declared in a document.
+     *
+     * @param document      The document
+     * @param semanticModel The semantic model of the module of the document
+     * @return The modified text document, or an empty {@code Optional} if the document has no DICOM services
+     */
+    private static Optional<TextDocument> addRouteTables(Document document, SemanticModel semanticModel) {
+        ModulePartNode modulePartNode = document.syntaxTree().rootNode();
+        Optional<String> modulePrefix = DicomCompilerPluginUtils.getDicomServiceModulePrefix(modulePartNode);
+        if (modulePrefix.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<TextEdit> edits = new ArrayList<>();
+        for (ModuleMemberDeclarationNode member : modulePartNode.members()) {
+            if (member.kind() != SyntaxKind.SERVICE_DECLARATION) {
+                continue;
+            }
+            ServiceDeclarationNode serviceNode = (ServiceDeclarationNode) member;
+            if (!DicomCompilerPluginUtils.isDicomService(semanticModel, serviceNode) || hasRouteTable(serviceNode)) {
+                continue;
+            }
+            String routeTable = createRouteTable(serviceNode, modulePrefix.get());
+            if (!routeTable.isEmpty()) {
+                // Annotations precede the service qualifiers, and follow any existing annotations
+                Node firstNode = serviceNode.qualifiers().isEmpty() ? serviceNode.serviceKeyword()
+                        : serviceNode.qualifiers().get(0);
+                edits.add(TextEdit.from(TextRange.from(firstNode.textRange().startOffset(), 0), routeTable));
+            }
+        }
+        if (edits.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(document.textDocument().apply(TextDocumentChange.from(edits.toArray(new TextEdit[0]))));
+    }
+
+    /**
+     * Creates the route table annotations of a DICOM service.
+     * Only the first resource of each resource type is routed to, consistent with the resource resolution order.
+     *
+     * @param serviceNode  The service declaration node
+     * @param modulePrefix The prefix of the {@code dicomservice} module
+     * @return The source of the route table annotations, or an empty string if there are no routes
+     */
+    private static String createRouteTable(ServiceDeclarationNode serviceNode, String modulePrefix) {
+        StringBuilder routeTable = new StringBuilder();
+        Set<String> routedResources = new HashSet<>();
+        for (Node member : serviceNode.members()) {
+            if (member.kind() != SyntaxKind.RESOURCE_ACCESSOR_DEFINITION) {
+                continue;
+            }
+            FunctionDefinitionNode resourceNode = (FunctionDefinitionNode) member;
+            String accessor = resourceNode.functionName().text();
+            Optional<DicomResourceRoute> route = DicomCompilerPluginUtils.getResourcePath(resourceNode)
+                    .flatMap(path -> DicomResourceRoute.resolve(accessor, path));
+            if (route.isPresent() && routedResources.add(route.get().getResourceType())) {
+                routeTable.append(route.get().toAnnotation(modulePrefix)).append(System.lineSeparator());
+            }
+        }
+        return routeTable.toString();
+    }
+
+    /**
+     * Checks if a service declaration already has a route table.
+     *
+     * @param serviceNode The service declaration node
+     * @return {@code true} if the service declaration has a route table, {@code false} otherwise
+     */
+    private static boolean hasRouteTable(ServiceDeclarationNode serviceNode) {
+        if (serviceNode.metadata().isEmpty()) {
+            return false;
+        }
+        for (AnnotationNode annotation : serviceNode.metadata().get().annotations()) {
+            if (annotation.annotReference().toString().trim().endsWith(":" + Constants.ROUTE_TABLE_ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
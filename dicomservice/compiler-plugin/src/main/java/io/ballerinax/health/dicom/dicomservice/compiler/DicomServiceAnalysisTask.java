@@ -18,7 +18,6 @@
 
 package io.ballerinax.health.dicom.dicomservice.compiler;
 
-import io.ballerina.compiler.api.symbols.*;
 import io.ballerina.compiler.syntax.tree.*;
 import io.ballerina.projects.plugins.AnalysisTask;
 import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
@@ -26,7 +25,6 @@ import io.ballerina.tools.diagnostics.Diagnostic;
 import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 
 import java.util.List;
-import java.util.Optional;
 
 import static io.ballerinax.health.dicom.dicomservice.compiler.DicomCompilerPluginUtils.getCtxTypes;
 
@@ -68,6 +66,7 @@ public class DicomServiceAnalysisTask implements AnalysisTask<SyntaxNodeAnalysis
                 FunctionDefinitionNode node = (FunctionDefinitionNode) member;
                 DicomResourceValidator.validateResource(syntaxNodeAnalysisContext, node,
                         getCtxTypes(syntaxNodeAnalysisContext));
+                DicomResourceValidator.validateResourceRoute(syntaxNodeAnalysisContext, node);
             }
         }
     }
@@ -95,67 +94,8 @@ public class DicomServiceAnalysisTask implements AnalysisTask<SyntaxNodeAnalysis
      * @return {@code true} if the context represents a DICOM service, {@code false} otherwise.
      */
     private boolean isDicomService(SyntaxNodeAnalysisContext context) {
-        ServiceDeclarationNode serviceDeclarationNode = (ServiceDeclarationNode) context.node();
-        Optional<Symbol> serviceSymbolOptional = context.semanticModel().symbol(serviceDeclarationNode);
-        if (serviceSymbolOptional.isEmpty()) {
-            return false;
-        }
-        if (serviceSymbolOptional.get().kind() != SymbolKind.SERVICE_DECLARATION) {
-            return false;
-        }
-        ServiceDeclarationSymbol symbol = (ServiceDeclarationSymbol) serviceSymbolOptional.get();
-        return hasDicomListener(symbol);
-    }
-
-    /**
-     * Checks if the given service declaration symbol has a DICOM listener.
-     *
-     * @param symbol The service declaration symbol to be checked.
-     * @return {@code true} if the symbol has a DICOM listener, {@code false} otherwise.
-     */
-    private boolean hasDicomListener(ServiceDeclarationSymbol symbol) {
-        for (TypeSymbol listener : symbol.listenerTypes()) {
-            if (isDicomListener(listener)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Checks if the given type symbol represents a DICOM listener.
-     *
-     * @param typeSymbol The type symbol to be checked.
-     * @return {@code true} if the type symbol represents a DICOM listener, {@code false} otherwise.
-     */
-    private boolean isDicomListener(TypeSymbol typeSymbol) {
-        if (typeSymbol.typeKind() == TypeDescKind.UNION) {
-            UnionTypeSymbol unionTypeSymbol = (UnionTypeSymbol) typeSymbol;
-            for (TypeSymbol symbol : unionTypeSymbol.memberTypeDescriptors()) {
-                if (isDicomModuleSymbol(symbol)) {
-                    return true;
-                }
-            }
-        } else if (typeSymbol.typeKind() == TypeDescKind.TYPE_REFERENCE) {
-            TypeReferenceTypeSymbol typeReferenceTypeSymbol = (TypeReferenceTypeSymbol) typeSymbol;
-            return isDicomModuleSymbol(typeReferenceTypeSymbol);
-        }
-        return false;
-    }
-
-    /**
-     * Checks if the given type symbol represents a DICOM module.
-     *
-     * @param symbol The type symbol to be checked.
-     * @return {@code true} if the type symbol represents a DICOM module, {@code false} otherwise.
-     */
-    private boolean isDicomModuleSymbol(Symbol symbol) {
-        if (symbol.getModule().isEmpty()) {
-            return false;
-        }
-        String module = symbol.getModule().get().id().moduleName();
-        String org = symbol.getModule().get().id().orgName();
-        return module.equals(Constants.DICOM_SERVICE_PKG) && org.equals(Constants.BALLERINAX);
+        return DicomCompilerPluginUtils.isDicomService(context.semanticModel(),
+                (ServiceDeclarationNode) context.node());
     }
 
 }
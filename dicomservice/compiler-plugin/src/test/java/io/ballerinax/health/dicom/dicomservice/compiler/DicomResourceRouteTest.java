@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice.compiler;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+
+/**
+ * Tests for {@link DicomResourceRoute}.
+ */
+public class DicomResourceRouteTest {
+
+    private static final Path HTTP_SERVICE_BUILDER = Path.of("..", "ballerina", "http_service_builder.bal");
+    private static final java.util.regex.Pattern MATCH_CLAUSE =
+            java.util.regex.Pattern.compile("\\[([^\\]]*)]\\s*=>\\s*\\{\\s*return dicomweb:(\\w+);");
+
+    /**
+     * The route table of the compiler plugin must hold the same path patterns as the match statements the DICOM
+     * service uses to resolve the resource type of a request.
+     */
+    @Test
+    public void testPatternsMatchServiceRoutes() throws IOException {
+        String source = Files.readString(HTTP_SERVICE_BUILDER);
+        List<String> serviceRoutes = new ArrayList<>();
+        serviceRoutes.addAll(getServiceRoutes(source, "getSearchResourceFromPath", "get", "SEARCH"));
+        serviceRoutes.addAll(getServiceRoutes(source, "getRetrieveResourceFromPath", "get", "RETRIEVE"));
+        serviceRoutes.addAll(getServiceRoutes(source, "getStoreResourceFromPath", "post", "STORE"));
+
+        List<String> pluginRoutes = new ArrayList<>();
+        for (DicomResourceRoute.Pattern pattern : DicomResourceRoute.getPatterns()) {
+            pluginRoutes.add(toRoute(pattern.getAccessor(), pattern.getTransactionType(), pattern.getResourceType(),
+                    pattern.getSegments()));
+        }
+        Collections.sort(serviceRoutes);
+        Collections.sort(pluginRoutes);
+        Assert.assertEquals(pluginRoutes, serviceRoutes);
+    }
+
+    @Test
+    public void testResolveBulkDataRoute() {
+        Optional<DicomResourceRoute> route = DicomResourceRoute.resolve("get",
+                List.of("bulkdata", Constants.PATH_PARAM_IDENTIFIER));
+        Assert.assertTrue(route.isPresent());
+        Assert.assertEquals(route.get().getResourceType(), "RETRIEVE_BULKDATA");
+        // Other single segment resources are not DICOMweb resources
+        Assert.assertTrue(DicomResourceRoute.resolve("get", List.of("health")).isEmpty());
+    }
+
+    private static List<String> getServiceRoutes(String source, String function, String accessor,
+                                                 String transactionType) {
+        int start = source.indexOf("function " + function + "(");
+        Assert.assertTrue(start >= 0, "Function not found: " + function);
+        String body = source.substring(start, source.indexOf("\n}\n", start));
+        List<String> routes = new ArrayList<>();
+        Matcher matcher = MATCH_CLAUSE.matcher(body);
+        while (matcher.find()) {
+            List<String> segments = Arrays.stream(matcher.group(1).split(","))
+                    .map(segment -> segment.trim().replace("\"", ""))
+                    .toList();
+            routes.add(toRoute(accessor, transactionType, matcher.group(2), segments));
+        }
+        Assert.assertFalse(routes.isEmpty(), "No routes found in function: " + function);
+        return routes;
+    }
+
+    private static String toRoute(String accessor, String transactionType, String resourceType,
+                                  List<String> segments) {
+        return accessor + " " + transactionType + " " + resourceType + " " + String.join("/", segments);
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrently executing requests of each DICOMweb resource type.
+ * <p>
+ * Requests that arrive when the limit of their resource type is reached wait in a bounded queue, and are rejected
+ * if the queue is full or if they are not admitted within the maximum queue wait time. Limits are either fixed,
+ * or adapt to the observed latency of the resource type.
+ * </p>
+ */
+public class AdmissionController {
+
+    /**
+     * Start time returned for rejected requests.
+     */
+    public static final long REJECTED = -1;
+
+    private final Map<String, Long> resourceMaxConcurrency;
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final long maxConcurrency;
+    private final long minConcurrency;
+    private final long maxQueueSize;
+    private final long maxQueueWaitNanos;
+    private final boolean adaptive;
+
+    /**
+     * Creates an admission controller.
+     *
+     * @param resourceMaxConcurrency the maximum concurrency of specific resource types, keyed by resource type
+     * @param maxConcurrency         the maximum concurrency of the other resource types
+     * @param minConcurrency         the minimum concurrency adaptive limits are lowered to
+     * @param maxQueueSize           the maximum number of waiting requests of each resource type
+     * @param maxQueueWaitMillis     the maximum time a request waits to be admitted, in milliseconds
+     * @param adaptive               whether limits adapt to the observed latency
+     */
+    public AdmissionController(BMap<BString, Object> resourceMaxConcurrency, long maxConcurrency,
+                               long minConcurrency, long maxQueueSize, long maxQueueWaitMillis, boolean adaptive) {
+        this.resourceMaxConcurrency = new HashMap<>();
+        for (Map.Entry<BString, Object> entry : resourceMaxConcurrency.entrySet()) {
+            this.resourceMaxConcurrency.put(entry.getKey().getValue(), (Long) entry.getValue());
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Admits a request, waiting in the queue of its resource type if the limit is reached. The waiting strand
+     * yields, so that it does not block other strands while waiting.
+     *
+     * @param environment  the Ballerina environment
+     * @param resourceType the resource type of the request
+     * @return the start time of the request in nanoseconds, or {@link #REJECTED} if the request is rejected
+     */
+    public long acquire(Environment environment, BString resourceType) {
+        ConcurrencyLimiter limiter = getLimiter(resourceType);
+        long startTime = limiter.tryAcquire();
+        if (startTime != REJECTED || !limiter.canQueue()) {
+            return startTime;
+        }
+        return environment.yieldAndRun(limiter::acquireQueued);
+    }
+
+    /**
+     * Releases an admitted request, recording its latency if limits are adaptive.
+     *
+     * @param resourceType the resource type of the request
+     * @param startTime    the start time returned when the request was admitted
+     */
+    public void release(BString resourceType, long startTime) {
+        getLimiter(resourceType).release(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Retrieves the current concurrency limit of a resource type.
+     *
+     * @param resourceType the resource type
+     * @return the concurrency limit
+     */
+    public long getLimit(BString resourceType) {
+        return getLimiter(resourceType).getLimit();
+    }
+
+    private ConcurrencyLimiter getLimiter(BString resourceType) {
+        String key = resourceType.getValue();
+        ConcurrencyLimiter limiter = limiters.get(key);
+        return limiter != null ? limiter : limiters.computeIfAbsent(key, k -> {
+            long max = resourceMaxConcurrency.getOrDefault(k, maxConcurrency);
+            return new ConcurrencyLimiter(max, Math.min(minConcurrency, max), maxQueueSize, maxQueueWaitNanos,
+                    adaptive);
+        });
+    }
+
+    /**
+     * A concurrency limit with a bounded wait queue.
+     * <p>
+     * Adaptive limits follow the gradient of the latency: the limit is lowered when the short term average latency
+     * rises above the long term average latency by more than a tolerance, and is otherwise raised by a queue
+     * allowance of the square root of the limit. The limit starts at the maximum concurrency.
+     * </p>
+     */
+    static final class ConcurrencyLimiter {
+        private static final double SHORT_WINDOW = 10;
+        private static final double LONG_WINDOW = 500;
+        private static final double TOLERANCE = 1.5;
+        private static final double MIN_GRADIENT = 0.5;
+        private static final double SMOOTHING = 0.2;
+
+        // A fair lock wakes waiting requests in their arrival order
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition available = lock.newCondition();
+        private final long maxLimit;
+        private final long minLimit;
+        private final long maxQueueSize;
+        private final long maxQueueWaitNanos;
+        private final boolean adaptive;
+        private double limit;
+        private long inFlight;
+        private long queued;
+        private double shortLatency;
+        private double longLatency;
+
+        ConcurrencyLimiter(long maxLimit, long minLimit, long maxQueueSize, long maxQueueWaitNanos,
+                           boolean adaptive) {
+            this.maxLimit = maxLimit;
+            this.minLimit = minLimit;
+            this.maxQueueSize = maxQueueSize;
+            this.maxQueueWaitNanos = maxQueueWaitNanos;
+            this.adaptive = adaptive;
+            this.limit = maxLimit;
+        }
+
+        long tryAcquire() {
+            lock.lock();
+            try {
+                // Waiting requests are admitted first
+                if (queued == 0 && inFlight < (long) limit) {
+                    inFlight++;
+                    return System.nanoTime();
+                }
+                return REJECTED;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean canQueue() {
+            return maxQueueSize > 0 && maxQueueWaitNanos > 0;
+        }
+
+        long acquireQueued() {
+            lock.lock();
+            try {
+                if (queued >= maxQueueSize) {
+                    return REJECTED;
+                }
+                queued++;
+                try {
+                    long remainingNanos = maxQueueWaitNanos;
+                    while (inFlight >= (long) limit) {
+                        if (remainingNanos <= 0) {
+                            return REJECTED;
+                        }
+                        remainingNanos = available.awaitNanos(remainingNanos);
+                    }
+                    inFlight++;
+                    return System.nanoTime();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return REJECTED;
+                } finally {
+                    queued--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latency) {
+            lock.lock();
+            try {
+                if (adaptive) {
+                    updateLimit(latency);
+                }
+                inFlight--;
+                // The limit may have been raised by more than one, therefore, all waiting requests are woken
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getLimit() {
+            lock.lock();
+            try {
+                return (long) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void updateLimit(long latency) {
+            if (longLatency == 0) {
+                shortLatency = latency;
+                longLatency = latency;
+                return;
+            }
+            shortLatency += (latency - shortLatency) / SHORT_WINDOW;
+            longLatency += (latency - longLatency) / LONG_WINDOW;
+            // Let the long term average recover quickly when load drops, so that it tracks the current baseline
+            if (longLatency > 2 * shortLatency) {
+                longLatency *= 0.95;
+            }
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+            // The limit is not raised while most of it is unused, as the latency says nothing about a higher limit
+            if (gradient == 1.0 && inFlight < limit / 2) {
+                return;
+            }
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent executions of identical requests into a single execution.
+ * <p>
+ * The first request of a key leads a flight, which executes the request. Requests of the same key that arrive
+ * while the flight is in progress wait for the result of the leader, instead of executing the request again.
+ * A flight ends when the leader completes it, after which a new request of the key leads a new flight.
+ * </p>
+ */
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the in-progress flight of a key, or starts a new flight led by the caller if none is in progress.
+     *
+     * @param key the request key
+     * @return the ticket of the caller in the flight
+     */
+    public Ticket join(BString key) {
+        String flightKey = key.getValue();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inProgressFlight = flights.putIfAbsent(flightKey, flight);
+        return inProgressFlight == null
+                ? new Ticket(this, flightKey, flight, true)
+                : new Ticket(this, flightKey, inProgressFlight, false);
+    }
+
+    /**
+     * Checks whether a ticket is held by the leader of its flight.
+     *
+     * @param ticket the ticket
+     * @return {@code true} if the ticket is held by the leader, {@code false} otherwise
+     */
+    public static boolean isLeader(Ticket ticket) {
+        return ticket.leader;
+    }
+
+    /**
+     * Waits for the leader of a flight to complete it. The waiting strand yields, so that it does not block other
+     * strands while waiting.
+     *
+     * @param environment the Ballerina environment
+     * @param ticket      the ticket of a waiting request
+     * @return the result of the flight
+     */
+    public static Object await(Environment environment, Ticket ticket) {
+        return environment.yieldAndRun(ticket.flight::join);
+    }
+
+    /**
+     * Completes a flight with the result of its leader, releasing the waiting requests. The flight is ended before
+     * the waiting requests are released, so that later requests do not join a completed flight.
+     *
+     * @param ticket the ticket of the leader
+     * @param result the result of the flight, which must be immutable as it is shared with the waiting requests
+     */
+    public static void complete(Ticket ticket, Object result) {
+        ticket.coalescer.flights.remove(ticket.key, ticket.flight);
+        ticket.flight.complete(result);
+    }
+
+    /**
+     * The membership of a request in a flight.
+     */
+    public static final class Ticket {
+        private final RequestCoalescer coalescer;
+        private final String key;
+        private final CompletableFuture<Object> flight;
+        private final boolean leader;
+
+        private Ticket(RequestCoalescer coalescer, String key, CompletableFuture<Object> flight, boolean leader) {
+            this.coalescer = coalescer;
+            this.key = key;
+            this.flight = flight;
+            this.leader = leader;
+        }
+    }
+}
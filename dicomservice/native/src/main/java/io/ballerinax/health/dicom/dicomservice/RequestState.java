@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.health.dicom.dicomservice;
+
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Holds the mutable state of a DICOM context.
+ * <p>
+ * The state is read and written by the strands of the request and its interceptors, which do not contend for it.
+ * Volatile fields make the writes visible to later reads without taking a lock.
+ * </p>
+ */
+public class RequestState {
+
+    private volatile BString direction;
+    private volatile boolean inErrorState;
+    private volatile long errorCode;
+
+    /**
+     * Creates the state of a DICOM context.
+     *
+     * @param direction the initial message direction
+     * @param errorCode the initial error code
+     */
+    public RequestState(BString direction, long errorCode) {
+        this.direction = direction;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Retrieves the message direction.
+     *
+     * @return the message direction
+     */
+    public BString getDirection() {
+        return direction;
+    }
+
+    /**
+     * Sets the message direction.
+     *
+     * @param direction the message direction
+     */
+    public void setDirection(BString direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Checks whether the context is in an error state.
+     *
+     * @return {@code true} if the context is in an error state, {@code false} otherwise
+     */
+    public boolean isInErrorState() {
+        return inErrorState;
+    }
+
+    /**
+     * Sets the error state.
+     *
+     * @param inErrorState the error state
+     */
+    public void setInErrorState(boolean inErrorState) {
+        this.inErrorState = inErrorState;
+    }
+
+    /**
+     * Retrieves the error code.
+     *
+     * @return the error code
+     */
+    public long getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Sets the error code.
+     *
+     * @param errorCode the error code
+     */
+    public void setErrorCode(long errorCode) {
+        this.errorCode = errorCode;
+    }
+}
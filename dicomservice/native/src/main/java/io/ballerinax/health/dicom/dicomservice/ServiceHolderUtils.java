@@ -18,7 +18,17 @@
 
 package io.ballerinax.health.dicom.dicomservice;
 
+import io.ballerina.runtime.api.types.ResourceMethodType;
+import io.ballerina.runtime.api.types.ServiceType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class includes utility functions related to DICOM service holder class.
@@ -26,6 +36,10 @@ import io.ballerina.runtime.api.values.BObject;
 public class ServiceHolderUtils {
 
     private static final String DICOM_SERVICE_KEY = "DICOM_SERVICE";
+    private static final String RESOURCE_METHODS_KEY = "RESOURCE_METHODS";
+    private static final BString ACCESSOR_FIELD = StringUtils.fromString("accessor");
+    private static final BString PATH_FIELD = StringUtils.fromString("path");
+    private static final BString RESOURCE_TYPE_FIELD = StringUtils.fromString("resourceType");
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -53,4 +67,52 @@ public class ServiceHolderUtils {
         return (BObject) holder.getNativeData(DICOM_SERVICE_KEY);
     }
 
+    /**
+     * Resolves the resource methods of the routes of the DICOM service held by the specified holder object.
+     * The resource methods are looked up once, so that requests are dispatched by resource type without inspecting
+     * the resource methods of the service.
+     *
+     * @param holder The holder object holding the DICOM service.
+     * @param routes The routes of the DICOM service as a Ballerina array of resource routes.
+     */
+    public static void setResourceRoutes(BObject holder, BArray routes) {
+        ServiceType serviceType = (ServiceType) getDicomService(holder).getOriginalType();
+        ResourceMethodType[] serviceResourceMethods = serviceType.getResourceMethods();
+        Map<String, ResourceMethodType> resourceMethods = new HashMap<>();
+        for (int i = 0; i < routes.size(); i++) {
+            @SuppressWarnings("unchecked")
+            BMap<BString, Object> route = (BMap<BString, Object>) routes.get(i);
+            String accessor = route.getStringValue(ACCESSOR_FIELD).getValue();
+            String[] path = route.getArrayValue(PATH_FIELD).getStringArray();
+            for (ResourceMethodType resourceMethod : serviceResourceMethods) {
+                if (resourceMethod.getAccessor().equalsIgnoreCase(accessor)
+                        && Arrays.equals(resourceMethod.getResourcePath(), path)) {
+                    resourceMethods.putIfAbsent(getRouteKey(accessor, route.getStringValue(RESOURCE_TYPE_FIELD)),
+                            resourceMethod);
+                    break;
+                }
+            }
+        }
+        holder.addNativeData(RESOURCE_METHODS_KEY, resourceMethods);
+    }
+
+    /**
+     * Retrieves the resource method serving a DICOMweb resource type from the specified holder object.
+     *
+     * @param holder       The holder object from which the resource method will be retrieved.
+     * @param accessor     The accessor of the resource method.
+     * @param resourceType The DICOMweb resource type.
+     * @return The resource method, or {@code null} if the DICOM service does not serve the resource type.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object getResourceMethod(BObject holder, BString accessor, BString resourceType) {
+        Map<String, ResourceMethodType> resourceMethods =
+                (Map<String, ResourceMethodType>) holder.getNativeData(RESOURCE_METHODS_KEY);
+        return resourceMethods == null ? null : resourceMethods.get(getRouteKey(accessor.getValue(), resourceType));
+    }
+
+    private static String getRouteKey(String accessor, BString resourceType) {
+        return accessor.toLowerCase() + " " + resourceType.getValue();
+    }
+
 }
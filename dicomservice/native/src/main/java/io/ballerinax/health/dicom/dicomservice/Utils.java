@@ -18,18 +18,27 @@
 
 package io.ballerinax.health.dicom.dicomservice;
 
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.ResourceMethodType;
 import io.ballerina.runtime.api.types.ServiceType;
+import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 
+import static io.ballerinax.health.dicom.dicomservice.ModuleUtils.getModule;
+
 /**
  * This class includes utility functions related to DICOM service.
  */
 public class Utils {
 
     public static final String PATH_PARAM_IDENTIFIER = "^";
+    public static final String ROUTE_TABLE_ANNOTATION = "RouteTable";
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -38,53 +47,41 @@ public class Utils {
     }
 
     /**
-     * Retrieves the resource method from the specified service object based on the request path and accessor.
+     * Retrieves the route table generated by the compiler plugin for the specified service object.
      *
-     * @param service     The service object from which the resource method will be retrieved.
-     * @param requestPath The request path as an array of strings.
-     * @param accessor    The accessor string used to identify the resource method.
-     * @return The resource method corresponding to the request path and accessor.
+     * @param service The service object from which the route table will be retrieved.
+     * @return The route table as a Ballerina array of resource routes, or {@code null} if the service does not have
+     * a generated route table.
      */
-    public static Object getResourceMethod(BObject service, BArray requestPath, BString accessor) {
+    public static Object getCompiledRoutes(BObject service) {
         ServiceType serviceType = (ServiceType) service.getOriginalType();
-        return getResourceMethod(serviceType, requestPath.getStringArray(), accessor.getValue());
-    }
-
-    private static ResourceMethodType getResourceMethod(
-            ServiceType serviceType,
-            String[] requestPath,
-            String accessor
-    ) {
-        for (ResourceMethodType resourceMethod : serviceType.getResourceMethods()) {
-            if (resourceMethod.getAccessor().equalsIgnoreCase(accessor)
-                    && isPathsMatching(resourceMethod.getResourcePath(), requestPath)) {
-                return resourceMethod;
-            }
-        }
-        return null;
+        Module module = getModule();
+        String annotationKey = module.getOrg() + "/" + module.getName() + ":" + module.getMajorVersion() + ":"
+                + ROUTE_TABLE_ANNOTATION;
+        return serviceType.getAnnotation(StringUtils.fromString(annotationKey));
     }
 
     /**
-     * Checks if two paths match.
+     * Retrieves the accessors and paths of the resource methods of the specified service object.
      *
-     * @param resourcePath The resource path as an array of strings.
-     * @param requestPath  The request path as an array of strings.
-     * @return {@code true} if the paths match, {@code false} otherwise.
+     * @param service The service object from which the resource paths will be retrieved.
+     * @return A Ballerina array of string arrays, each holding the accessor of a resource method followed by its
+     * resource path.
      */
-    static boolean isPathsMatching(String[] resourcePath, String[] requestPath) {
-        // Check if the array lengths are not equal, indicating a mismatch
-        if (resourcePath.length != requestPath.length) {
-            return false;
-        }
-        // Path params should match for paths to match
-        for (int i = 0; i < resourcePath.length; i++) {
-            String value1 = resourcePath[i];
-            String value2 = requestPath[i];
-            if (!value1.equals(value2) && !value1.equals(PATH_PARAM_IDENTIFIER)) {
-                return false;
+    public static BArray getResourcePaths(BObject service) {
+        ServiceType serviceType = (ServiceType) service.getOriginalType();
+        ArrayType stringArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
+        BArray resourcePaths = ValueCreator.createArrayValue(TypeCreator.createArrayType(stringArrayType));
+        for (ResourceMethodType resourceMethod : serviceType.getResourceMethods()) {
+            String[] resourcePath = resourceMethod.getResourcePath();
+            BString[] accessorAndPath = new BString[resourcePath.length + 1];
+            accessorAndPath[0] = StringUtils.fromString(resourceMethod.getAccessor());
+            for (int i = 0; i < resourcePath.length; i++) {
+                accessorAndPath[i + 1] = StringUtils.fromString(resourcePath[i]);
             }
+            resourcePaths.append(ValueCreator.createArrayValue(accessorAndPath));
         }
-        return true;
+        return resourcePaths;
     }
 
     /**
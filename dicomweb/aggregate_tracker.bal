@@ -0,0 +1,273 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerinax/health.dicom;
+
+# Aggregate attributes of a study, maintained as instances are added and removed.
+#
+# + seriesInstanceCounts - Number of instances of each series of the study, keyed by series instance UID
+# + instanceCount - Number of instances of the study
+# + modalityCounts - Number of instances of each modality, keyed by modality
+# + sopClassCounts - Number of instances of each SOP class, keyed by SOP class UID
+type StudyState record {|
+    map<int> seriesInstanceCounts = {};
+    int instanceCount = 0;
+    map<int> modalityCounts = {};
+    map<int> sopClassCounts = {};
+|};
+
+# The attributes of a tracked instance, which are needed to remove the instance from the aggregates.
+#
+# + studyInstanceUid - Study instance UID of the instance
+# + seriesInstanceUid - Series instance UID of the instance
+# + modality - Modality of the instance, if present
+# + sopClassUid - SOP class UID of the instance, if present
+type TrackedInstance record {|
+    string studyInstanceUid;
+    string seriesInstanceUid;
+    string? modality;
+    string? sopClassUid;
+|};
+
+# Maintains the aggregate attributes of studies and series, such as the number of study related instances and the
+# modalities in a study, as instances are added to and removed from an archive.
+#
+# Aggregates are updated incrementally, so that search responses include them without scanning the datasets of the
+# instances. Services must add each stored instance, and remove each deleted instance.
+public isolated class AggregateTracker {
+
+    // Series are tracked within the state of their study, as a series instance UID is not guaranteed to be unique
+    // across studies
+    private final map<StudyState> studies = {};
+    // Tracked instances, keyed by SOP instance UID
+    private final map<TrackedInstance & readonly> instances = {};
+
+    # Adds an instance to the aggregates. An instance that is already tracked is replaced.
+    #
+    # + dataset - The dataset of the instance
+    # + return - An `Error` if the dataset does not hold the study, series and SOP instance UIDs
+    public isolated function add(dicom:Dataset|dicom:IndexedDataset dataset) returns Error? {
+        string|dicom:Error studyInstanceUid = dicom:getString(dataset, dicom:TAG_STUDY_INSTANCE_UID);
+        string|dicom:Error seriesInstanceUid = dicom:getString(dataset, dicom:TAG_SERIES_INSTANCE_UID);
+        string|dicom:Error sopInstanceUid = dicom:getString(dataset, dicom:TAG_SOP_INSTANCE_UID);
+        if studyInstanceUid is dicom:Error || seriesInstanceUid is dicom:Error || sopInstanceUid is dicom:Error {
+            return createInternalDicomwebError("Instance must hold study, series and SOP instance UIDs");
+        }
+        string|dicom:Error modality = dicom:getString(dataset, dicom:TAG_MODALITY);
+        string|dicom:Error sopClassUid = dicom:getString(dataset, dicom:TAG_SOP_CLASS_UID);
+        TrackedInstance & readonly instance = {
+            studyInstanceUid: studyInstanceUid.trim(),
+            seriesInstanceUid: seriesInstanceUid.trim(),
+            modality: getAggregatedValue(modality),
+            sopClassUid: getAggregatedValue(sopClassUid)
+        };
+        lock {
+            _ = removeTrackedInstance(self.studies, self.instances, sopInstanceUid.trim());
+            self.instances[sopInstanceUid.trim()] = instance;
+            StudyState study = self.studies[instance.studyInstanceUid] ?: {};
+            self.studies[instance.studyInstanceUid] = study;
+            study.instanceCount += 1;
+            incrementCount(study.seriesInstanceCounts, instance.seriesInstanceUid);
+            string? instanceModality = instance.modality;
+            if instanceModality is string {
+                incrementCount(study.modalityCounts, instanceModality);
+            }
+            string? instanceSopClassUid = instance.sopClassUid;
+            if instanceSopClassUid is string {
+                incrementCount(study.sopClassCounts, instanceSopClassUid);
+            }
+        }
+    }
+
+    # Removes an instance from the aggregates.
+    #
+    # + sopInstanceUid - The SOP instance UID of the instance
+    # + return - `true` if the instance was tracked, `false` otherwise
+    public isolated function remove(string sopInstanceUid) returns boolean {
+        lock {
+            return removeTrackedInstance(self.studies, self.instances, sopInstanceUid);
+        }
+    }
+
+    # Retrieves the aggregate attributes of a study.
+    #
+    # + studyInstanceUid - The study instance UID
+    # + return - The aggregate attributes, or `()` if the study has no tracked instances
+    public isolated function getStudyAggregates(string studyInstanceUid) returns StudyAggregates? {
+        lock {
+            StudyState? study = self.studies[studyInstanceUid];
+            if study is () {
+                return;
+            }
+            StudyAggregates aggregates = {
+                numberOfStudyRelatedSeries: study.seriesInstanceCounts.length(),
+                numberOfStudyRelatedInstances: study.instanceCount,
+                modalitiesInStudy: study.modalityCounts.keys().sort(),
+                sopClassesInStudy: study.sopClassCounts.keys().sort()
+            };
+            return aggregates.clone();
+        }
+    }
+
+    # Retrieves the aggregate attributes of a series.
+    #
+    # + studyInstanceUid - The study instance UID of the series
+    # + seriesInstanceUid - The series instance UID
+    # + return - The aggregate attributes, or `()` if the series has no tracked instances
+    public isolated function getSeriesAggregates(string studyInstanceUid, string seriesInstanceUid)
+            returns SeriesAggregates? {
+        lock {
+            StudyState? study = self.studies[studyInstanceUid];
+            int? instanceCount = study is () ? () : study.seriesInstanceCounts[seriesInstanceUid];
+            return instanceCount is () ? () : {numberOfSeriesRelatedInstances: instanceCount};
+        }
+    }
+}
+
+# Removes a tracked instance from the aggregates of an `AggregateTracker`. Must be called within a lock on the tracker.
+#
+# + studies - The study aggregates, keyed by study instance UID
+# + instances - The tracked instances, keyed by SOP instance UID
+# + sopInstanceUid - The SOP instance UID of the instance
+# + return - `true` if the instance was tracked, `false` otherwise
+isolated function removeTrackedInstance(map<StudyState> studies, map<TrackedInstance & readonly> instances,
+        string sopInstanceUid) returns boolean {
+    TrackedInstance? instance = instances.removeIfHasKey(sopInstanceUid);
+    if instance is () {
+        return false;
+    }
+    StudyState study = studies.get(instance.studyInstanceUid);
+    study.instanceCount -= 1;
+    if study.instanceCount == 0 {
+        _ = studies.remove(instance.studyInstanceUid);
+    }
+    _ = decrementCount(study.seriesInstanceCounts, instance.seriesInstanceUid);
+    string? modality = instance.modality;
+    if modality is string {
+        _ = decrementCount(study.modalityCounts, modality);
+    }
+    string? sopClassUid = instance.sopClassUid;
+    if sopClassUid is string {
+        _ = decrementCount(study.sopClassCounts, sopClassUid);
+    }
+    return true;
+}
+
+# Adds the aggregate attributes of the study or series of a dataset to its model object. Only the attributes
+# included in the response are added, and they replace the attributes of the dataset.
+#
+# + modelObject - The model object of the dataset
+# + dataset - The dataset
+# + level - The IE level of the model object
+# + aggregates - The aggregate tracker
+# + responseTags - The tags of the attributes included in the response, or `()` if all attributes are included
+isolated function addAggregateAttributes(ModelObject modelObject, dicom:Dataset|dicom:IndexedDataset dataset,
+        IeLevel level, AggregateTracker aggregates, dicom:Tag[]? responseTags) {
+    if level == STUDY {
+        string|dicom:Error studyInstanceUid = dicom:getString(dataset, dicom:TAG_STUDY_INSTANCE_UID);
+        StudyAggregates? study = studyInstanceUid is string
+            ? aggregates.getStudyAggregates(studyInstanceUid.trim()) : ();
+        if study is StudyAggregates {
+            addAggregateAttribute(modelObject, responseTags, {group: 0x0020, element: 0x1206}, dicom:IS,
+                    [study.numberOfStudyRelatedSeries]);
+            addAggregateAttribute(modelObject, responseTags, {group: 0x0020, element: 0x1208}, dicom:IS,
+                    [study.numberOfStudyRelatedInstances]);
+            addAggregateAttribute(modelObject, responseTags, {group: 0x0008, element: 0x0061}, dicom:CS,
+                    study.modalitiesInStudy);
+            addAggregateAttribute(modelObject, responseTags, {group: 0x0008, element: 0x0062}, dicom:UI,
+                    study.sopClassesInStudy);
+        }
+    } else if level == SERIES {
+        string|dicom:Error studyInstanceUid = dicom:getString(dataset, dicom:TAG_STUDY_INSTANCE_UID);
+        string|dicom:Error seriesInstanceUid = dicom:getString(dataset, dicom:TAG_SERIES_INSTANCE_UID);
+        SeriesAggregates? series = studyInstanceUid is string && seriesInstanceUid is string
+            ? aggregates.getSeriesAggregates(studyInstanceUid.trim(), seriesInstanceUid.trim()) : ();
+        if series is SeriesAggregates {
+            addAggregateAttribute(modelObject, responseTags, {group: 0x0020, element: 0x1209}, dicom:IS,
+                    [series.numberOfSeriesRelatedInstances]);
+        }
+    }
+}
+
+# Adds an aggregate attribute to a model object, if the attribute is included in the response.
+#
+# + modelObject - The model object
+# + responseTags - The tags of the attributes included in the response, or `()` if all attributes are included
+# + tag - The tag of the attribute
+# + vr - The VR of the attribute
+# + values - The values of the attribute
+isolated function addAggregateAttribute(ModelObject modelObject, dicom:Tag[]? responseTags, dicom:Tag tag,
+        dicom:Vr vr, dicom:DataElementValue[] values) {
+    if responseTags is dicom:Tag[] && responseTags.indexOf(tag) == () {
+        return;
+    }
+    AttributeObject attributeObject = {vr};
+    if values.length() > 0 {
+        attributeObject.Value = values;
+    }
+    modelObject[dicom:tagToStr(tag)] = attributeObject;
+}
+
+# Retrieves the IE level of the model objects of a search response.
+#
+# + resourceType - The DICOMweb resource type
+# + return - The IE level, or `()` if the resource type is not a study or series search
+isolated function getSearchIeLevel(ResourceType resourceType) returns IeLevel? {
+    match resourceType {
+        SEARCH_ALL_STUDIES => {
+            return STUDY;
+        }
+        SEARCH_ALL_SERIES|SEARCH_STUDY_SERIES => {
+            return SERIES;
+        }
+    }
+    return;
+}
+
+# Retrieves the value of an instance attribute that is aggregated.
+#
+# + value - The attribute value
+# + return - The trimmed value, or `()` if the attribute is absent or empty
+isolated function getAggregatedValue(string|dicom:Error value) returns string? {
+    if value is dicom:Error || value.trim() == "" {
+        return;
+    }
+    return value.trim();
+}
+
+# Increments the count of a key.
+#
+# + counts - The counts
+# + key - The key
+isolated function incrementCount(map<int> counts, string key) {
+    counts[key] = (counts[key] ?: 0) + 1;
+}
+
+# Decrements the count of a key, removing the key when its count reaches zero.
+#
+# + counts - The counts
+# + key - The key
+# + return - `true` if the key was removed, `false` otherwise
+isolated function decrementCount(map<int> counts, string key) returns boolean {
+    int count = counts.get(key) - 1;
+    if count == 0 {
+        _ = counts.remove(key);
+        return true;
+    }
+    counts[key] = count;
+    return false;
+}
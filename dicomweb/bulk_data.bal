@@ -0,0 +1,125 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/lang.array;
+import ballerinax/health.dicom;
+
+# Creates the BulkDataURI of a bulk data value.
+#
+# The URI identifies the value by the path of its source file relative to the bulk data root directory,
+# and by its offset and length within the file, in the form `<baseUri>/bulkdata/<path>.<offset>.<length>`,
+# where the path is base64url encoded.
+#
+# + reference - The bulk data reference of the value
+# + bulkDataConfig - The bulk data configuration
+# + return - The created BulkDataURI, or an `Error` if the value cannot be referenced
+public isolated function createBulkDataUri(dicom:BulkDataReference reference,
+        BulkDataConfig bulkDataConfig) returns string|Error {
+    do {
+        string? path = reference.path;
+        if path == () {
+            fail error("Bulk data reference does not have a source file path");
+        }
+        string rootDirectory = check file:getAbsolutePath(bulkDataConfig.rootDirectory);
+        string relativePath = check file:relativePath(rootDirectory, check file:getAbsolutePath(path));
+        if !isWithinRootDirectory(relativePath) {
+            fail error(string `Bulk data source is not within the bulk data root directory: ${path}`);
+        }
+        string bulkDataId = string `${toBase64Url(relativePath.toBytes())}.${reference.offset}.${reference.length}`;
+        string baseUri = bulkDataConfig.baseUri.endsWith("/")
+            ? bulkDataConfig.baseUri.substring(0, bulkDataConfig.baseUri.length() - 1) : bulkDataConfig.baseUri;
+        return string `${baseUri}/${BULK_DATA_PATH_SEGMENT}/${bulkDataId}`;
+    } on fail error e {
+        return createInternalDicomwebError("Error creating BulkDataURI", cause = e);
+    }
+}
+
+# Resolves the bulk data reference identified by the last path segment of a BulkDataURI.
+#
+# + bulkDataId - The bulk data identifier, which is the last path segment of the BulkDataURI
+# + bulkDataConfig - The bulk data configuration
+# + return - The resolved `dicom:BulkDataReference`, or an `Error` if the identifier is invalid
+public isolated function getBulkDataReference(string bulkDataId,
+        BulkDataConfig bulkDataConfig) returns dicom:BulkDataReference|Error {
+    do {
+        string[] parts = re `\.`.split(bulkDataId);
+        if parts.length() != 3 {
+            fail error("Invalid bulk data identifier format");
+        }
+        string relativePath = check string:fromBytes(check fromBase64Url(parts[0]));
+        int offset = check int:fromString(parts[1]);
+        int length = check int:fromString(parts[2]);
+        // Identifiers are client supplied, therefore, paths must not escape the root directory
+        if offset < 0 || length < 0 || check file:isAbsolutePath(relativePath)
+                || !isWithinRootDirectory(relativePath) {
+            fail error("Invalid bulk data identifier value");
+        }
+        string rootDirectory = check file:getAbsolutePath(bulkDataConfig.rootDirectory);
+        string path = check file:normalizePath(check file:joinPath(rootDirectory, relativePath), file:CLEAN);
+        if !isWithinRootDirectory(check file:relativePath(rootDirectory, path)) {
+            fail error("Invalid bulk data identifier value");
+        }
+        return {path, offset, length};
+    } on fail error e {
+        return createDicomwebError(string `Bulk data not found: ${bulkDataId}`, cause = e,
+                httpStatusCode = http:STATUS_NOT_FOUND);
+    }
+}
+
+# Checks whether a relative path stays within the directory it is relative to.
+#
+# + relativePath - The relative path
+# + return - `true` if no parent directory segment leads out of the directory, `false` otherwise
+isolated function isWithinRootDirectory(string relativePath) returns boolean {
+    int depth = 0;
+    foreach string segment in re `[/\\]`.split(relativePath) {
+        if segment == ".." {
+            depth -= 1;
+        } else if segment != "" && segment != "." {
+            depth += 1;
+        }
+        if depth < 0 {
+            return false;
+        }
+    }
+    return true;
+}
+
+# Encodes bytes using the URL and filename safe base64 alphabet, without padding.
+#
+# + bytes - The bytes to be encoded
+# + return - The encoded string
+isolated function toBase64Url(byte[] bytes) returns string {
+    string encoded = re `\+`.replaceAll(bytes.toBase64(), "-");
+    encoded = re `/`.replaceAll(encoded, "_");
+    return re `=`.replaceAll(encoded, "");
+}
+
+# Decodes a string encoded using the URL and filename safe base64 alphabet, with or without padding.
+#
+# + encoded - The encoded string
+# + return - The decoded bytes, or an error if the string is not a valid base64url string
+isolated function fromBase64Url(string encoded) returns byte[]|error {
+    string base64 = re `-`.replaceAll(encoded, "+");
+    base64 = re `_`.replaceAll(base64, "/");
+    int padding = (4 - base64.length() % 4) % 4;
+    foreach int _ in 0 ..< padding {
+        base64 += "=";
+    }
+    return array:fromBase64(base64);
+}
@@ -21,7 +21,8 @@ public enum MimeType {
     MIME_TYPE_XML = "application/xml",
     MIME_TYPE_DICOM_XML = "application/dicom+xml",
     MIME_TYPE_JSON = "application/json",
-    MIME_TYPE_DICOM_JSON = "application/dicom+json"
+    MIME_TYPE_DICOM_JSON = "application/dicom+json",
+    MIME_TYPE_OCTET_STREAM = "application/octet-stream"
 }
 
 # DICOMweb IE levels.
@@ -161,6 +162,20 @@ public final map<dicom:Tag[]> & readonly SEARCH_IE_LEVELS = {
     ]
 };
 
+# Retrieve transaction metadata resource types.
+public final ResourceType[] & readonly METADATA_RESOURCE_TYPES = [
+    RETRIEVE_STUDY_METADATA,
+    RETRIEVE_SERIES_METADATA,
+    RETRIEVE_INSTANCE_METADATA
+];
+
+# Default maximum length of the bulk data values that are read from their source files and inlined in responses,
+# in bytes.
+public const int DEFAULT_MAX_INLINE_BINARY_LENGTH = 65536;
+
+# Path segment of the BulkDataURIs under the base URI of a DICOMweb service.
+public const BULK_DATA_PATH_SEGMENT = "bulkdata";
+
 # BulkDataURI VRs.
 public final string[] & readonly BULK_DATA_URI_VRs = [
     dicom:DS,
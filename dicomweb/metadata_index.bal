@@ -0,0 +1,175 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerinax/health.dicom;
+import ballerinax/health.dicom.dicomparser;
+
+# Tags of the attributes stored in a metadata index, which are the search IE level and response attributes.
+final dicom:Tag[] & readonly METADATA_INDEX_TAGS = getMetadataIndexTags();
+
+# Brings a metadata index up to date with the files of an archive.
+#
+# Only the files that are not indexed, or that have changed since they were indexed, are parsed.
+# Indexed files that no longer exist are removed from the index.
+#
+# + index - The metadata index
+# + filePaths - The paths of the DICOM files of the archive
+# + transferSyntax - The transfer syntax of the files
+# + fuzzyIndex - The fuzzy token index of the archive. If provided, it is kept up to date with the metadata index,
+# keyed by the indexed file paths.
+# + return - The number of files that were parsed and indexed, or an `Error` if the index cannot be updated
+public isolated function updateMetadataIndex(dicom:MetadataIndex index, string[] filePaths,
+        dicom:TransferSyntax transferSyntax, dicom:FuzzyTokenIndex? fuzzyIndex = ()) returns int|Error {
+    do {
+        foreach string indexedPath in index.getFilePaths() {
+            if !check file:test(indexedPath, file:EXISTS) {
+                check index.remove(indexedPath);
+                if fuzzyIndex is dicom:FuzzyTokenIndex {
+                    _ = fuzzyIndex.remove(indexedPath);
+                }
+            }
+        }
+
+        int indexedFiles = 0;
+        foreach string filePath in filePaths {
+            if check index.isUpToDate(filePath) {
+                continue;
+            }
+            dicom:File parsedFile = check dicomparser:parseFile(filePath, transferSyntax, ignorePixelData = true);
+            check index.put(filePath, parsedFile.dataset, METADATA_INDEX_TAGS);
+            if fuzzyIndex is dicom:FuzzyTokenIndex {
+                // The metadata index holds absolute, normalized paths
+                string indexedPath = check file:normalizePath(check file:getAbsolutePath(filePath), file:CLEAN);
+                fuzzyIndex.put(indexedPath, parsedFile.dataset);
+            }
+            indexedFiles += 1;
+        }
+        if fuzzyIndex is dicom:FuzzyTokenIndex {
+            // Files indexed before the fuzzy token index was created, such as in an earlier run, are not parsed again
+            foreach string indexedPath in index.getFilePaths() {
+                if fuzzyIndex.hasKey(indexedPath) {
+                    continue;
+                }
+                dicom:Dataset? dataset = check index.getDataset(indexedPath);
+                if dataset is dicom:Dataset {
+                    fuzzyIndex.put(indexedPath, dataset);
+                }
+            }
+        }
+        check index.flush();
+        return indexedFiles;
+    } on fail error e {
+        return createInternalDicomwebError("Error updating metadata index", cause = e);
+    }
+}
+
+# Generates a DICOMweb response from the datasets held in a metadata index.
+#
+# Match attributes are matched using the index, without parsing the indexed files.
+# Only the attributes held in the index are available for the response.
+#
+# If fuzzy matching is requested, PN and LO match attributes are matched using the fuzzy token index, if provided,
+# or otherwise by matching the value of each indexed dataset.
+#
+# + index - The metadata index
+# + resourceType - The DICOMweb resource type
+# + processedQueryParams - The processed query parameters map
+# + aggregates - The aggregate tracker of the archive. If provided, the aggregate attributes of studies and series
+# are added to study and series search responses.
+# + fuzzyIndex - The fuzzy token index of the archive, as kept up to date by `updateMetadataIndex()`
+# + return - The generated `Response` if successful, or an `Error` otherwise
+public isolated function generateResponseFromIndex(dicom:MetadataIndex index, ResourceType resourceType,
+        QueryParameterMap processedQueryParams = {}, AggregateTracker? aggregates = (),
+        dicom:FuzzyTokenIndex? fuzzyIndex = ()) returns Response|Error {
+    do {
+        dicom:Tag[]? resourceAttributes = getResourceResponseAttributes(resourceType);
+        if resourceAttributes == () {
+            fail error(string `Could not get resource specific response attributes for resource: ${resourceType}`);
+        }
+
+        boolean fuzzyMatching = processedQueryParams[FUZZYMATCHING] == true;
+        string[]? matchingPaths = ();
+        QueryParameterMap remainingQueryParams = {};
+        foreach [string, QueryParameterValue] [param, value] in processedQueryParams.entries() {
+            if param == MATCH && value is MatchParameterMap {
+                MatchParameterMap exactMatchParams = {};
+                MatchParameterMap fuzzyMatchParams = {};
+                foreach [string, MatchParameterValue] [attribute, attributeValue] in value.entries() {
+                    dicom:Tag? tag = getTagFromAttribute(attribute);
+                    if !fuzzyMatching || tag == () || attributeValue !is string || !isFuzzyMatchingAttribute(tag) {
+                        exactMatchParams[attribute] = attributeValue;
+                    } else if fuzzyIndex is dicom:FuzzyTokenIndex {
+                        matchingPaths = intersectMatchingPaths(matchingPaths, fuzzyIndex.find(tag, attributeValue));
+                    } else {
+                        fuzzyMatchParams[attribute] = attributeValue;
+                    }
+                }
+                dicom:ColumnMatchCriterion[]? criteria = getColumnMatchCriteria(exactMatchParams);
+                if criteria == () { // Unknown match attributes do not match any dataset
+                    return [];
+                }
+                if criteria.length() != 0 {
+                    matchingPaths = intersectMatchingPaths(matchingPaths, check index.findMatching(criteria));
+                }
+                if fuzzyMatchParams.length() != 0 {
+                    remainingQueryParams[MATCH] = fuzzyMatchParams;
+                }
+            } else {
+                remainingQueryParams[param] = value;
+            }
+        }
+
+        dicom:Dataset[] datasets = [];
+        foreach string filePath in matchingPaths ?: index.getFilePaths() {
+            dicom:Dataset? dataset = check index.getDataset(filePath);
+            if dataset is dicom:Dataset {
+                datasets.push(dataset);
+            }
+        }
+        return check generateResponse(datasets, resourceType, remainingQueryParams, aggregates = aggregates);
+    } on fail error e {
+        return createInternalDicomwebError("Error generating DICOMweb response from metadata index", cause = e);
+    }
+}
+
+# Retrieves the tags of the attributes stored in a metadata index.
+#
+# + return - The distinct search IE level and response attribute tags
+isolated function getMetadataIndexTags() returns dicom:Tag[] & readonly {
+    dicom:Tag[] tags = [];
+    foreach dicom:Tag[] levelTags in [...SEARCH_IE_LEVELS.toArray(), ...SEARCH_RESPONSE_ATTRIBUTES.toArray()] {
+        foreach dicom:Tag tag in levelTags {
+            if tags.indexOf(tag) == () {
+                tags.push(tag);
+            }
+        }
+    }
+    return tags.cloneReadOnly();
+}
+
+# Intersects the paths matching a match attribute with the paths matching the other match attributes.
+#
+# + matchingPaths - The paths matching the other match attributes, or `()` if there are none
+# + paths - The paths matching the match attribute
+# + return - The paths present in both, in the order of `matchingPaths`
+isolated function intersectMatchingPaths(string[]? matchingPaths, string[] paths) returns string[] {
+    if matchingPaths == () {
+        return paths;
+    }
+    map<boolean> pathSet = map from string path in paths select [path, true];
+    return from string path in matchingPaths where pathSet.hasKey(path) select path;
+}
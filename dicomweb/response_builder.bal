@@ -18,60 +18,210 @@ import ballerinax/health.dicom;
 
 # Generates a DICOMweb response.
 #
+# If fuzzy matching is requested, PN and LO match attributes are matched against the value of each dataset. For
+# large archives, `generateResponseFromIndex()` answers these lookups from a `dicom:FuzzyTokenIndex` instead.
+#
+# Binary values are included as `InlineBinary` Base64 strings. The model objects of a response are built before the
+# response is serialized, therefore, each inlined value is held in memory as a whole Base64 string, rather than being
+# encoded into the response output as it is written. `maxInlineBinaryLength` bounds the size of these strings.
+#
 # + datasets - An array of DICOM datasets to be included in the response 
 # + processedQueryParams - A map of processed query parameters 
 # + resourceType - The DICOMweb resource type the response belongs to
+# + bulkDataConfig - The bulk data configuration. If provided, values that were not loaded into memory during parsing
+# are referenced via BulkDataURIs.
+# + aggregates - The aggregate tracker of the archive. If provided, the aggregate attributes of studies and series,
+# such as the number of study related instances, are added to study and series search responses.
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined, including the values that were
+# not loaded into memory during parsing, which are read when they cannot be referenced via BulkDataURIs. Longer values
+# are left out of the response, without being read or encoded.
 # + return - A `Response` representing the DICOMweb response, or an `Error` if the response cannot be generated
-public isolated function generateResponse(dicom:Dataset[] datasets, ResourceType resourceType,
-        QueryParameterMap processedQueryParams = {}) returns Response|Error {
+public isolated function generateResponse((dicom:Dataset|dicom:IndexedDataset)[] datasets, ResourceType resourceType,
+        QueryParameterMap processedQueryParams = {}, BulkDataConfig? bulkDataConfig = (),
+        AggregateTracker? aggregates = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns Response|Error {
+    int startTime = dicom:startTimer();
     Response response = [];
     do {
         // Get resource specific response attributes
         dicom:Tag[]? resourceAttributes = getResourceResponseAttributes(resourceType);
+        QueryParameterMap queryParams = processedQueryParams;
+        if METADATA_RESOURCE_TYPES.indexOf(resourceType) != () {
+            // Metadata responses include all the attributes of each dataset
+            // Based off of Section 10.4.1.1.2 in Part 18
+            resourceAttributes = [];
+            queryParams = processedQueryParams.clone();
+            queryParams[INCLUDEFIELD] = "all";
+        }
         if resourceAttributes == () {
             fail error(string `Could not get resource specific response attributes for resource: ${resourceType}`);
         }
         // Response construction
-        foreach dicom:Dataset dataset in datasets {
-            ModelObject modelObject = check createModelObject(dataset, resourceAttributes, processedQueryParams);
+        foreach dicom:Dataset|dicom:IndexedDataset dataset in datasets {
+            ModelObject modelObject = check createModelObject(dataset, resourceAttributes, queryParams,
+                    bulkDataConfig, aggregates, getSearchIeLevel(resourceType), maxInlineBinaryLength);
             if modelObject.length() != 0 {
                 response.push(modelObject);
             }
         }
+        dicom:recordDuration(dicom:METRIC_BUILD_RESPONSE_DURATION, startTime);
+        dicom:recordValue(dicom:METRIC_RESPONSE_OBJECTS, response.length());
         return response;
     } on fail error e {
         return createInternalDicomwebError("Error generating DICOMweb response from datasets", cause = e);
     }
 }
 
+# Generates a DICOMweb response from the datasets of a columnar store.
+# Attribute matching is performed on the store columns, and only the attributes required for the response
+# are read back from the matching datasets.
+#
+# If fuzzy matching is requested, PN and LO match attributes are read back along with the response attributes, and
+# matched by value.
+#
+# + store - The columnar store holding the DICOM datasets
+# + resourceType - The DICOMweb resource type the response belongs to
+# + processedQueryParams - A map of processed query parameters
+# + bulkDataConfig - The bulk data configuration. If provided, values that were not loaded into memory during parsing
+# are referenced via BulkDataURIs.
+# + aggregates - The aggregate tracker of the archive. If provided, the aggregate attributes of studies and series
+# are added to study and series search responses.
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined, including the values that were
+# not loaded into memory during parsing, which are read when they cannot be referenced via BulkDataURIs. Longer values
+# are left out of the response, without being read or encoded.
+# + return - A `Response` representing the DICOMweb response, or an `Error` if the response cannot be generated
+public isolated function generateResponseFromStore(dicom:ColumnarStore store, ResourceType resourceType,
+        QueryParameterMap processedQueryParams = {}, BulkDataConfig? bulkDataConfig = (),
+        AggregateTracker? aggregates = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns Response|Error {
+    do {
+        dicom:Tag[]? resourceAttributes = getResourceResponseAttributes(resourceType);
+        if resourceAttributes == () {
+            fail error(string `Could not get resource specific response attributes for resource: ${resourceType}`);
+        }
+
+        boolean fuzzyMatching = processedQueryParams[FUZZYMATCHING] == true;
+        int[]? matchingIndices = ();
+        dicom:Tag[] fuzzyMatchTags = [];
+        QueryParameterMap remainingQueryParams = {};
+        foreach [string, QueryParameterValue] [param, value] in processedQueryParams.entries() {
+            if param == MATCH && value is MatchParameterMap {
+                MatchParameterMap exactMatchParams = {};
+                MatchParameterMap fuzzyMatchParams = {};
+                foreach [string, MatchParameterValue] [attribute, attributeValue] in value.entries() {
+                    dicom:Tag? tag = getTagFromAttribute(attribute);
+                    if !fuzzyMatching || tag == () || attributeValue !is string || !isFuzzyMatchingAttribute(tag) {
+                        exactMatchParams[attribute] = attributeValue;
+                    } else {
+                        fuzzyMatchParams[attribute] = attributeValue;
+                        fuzzyMatchTags.push(tag);
+                    }
+                }
+                dicom:ColumnMatchCriterion[]? criteria = getColumnMatchCriteria(exactMatchParams);
+                if criteria == () { // Unknown match attributes do not match any dataset
+                    return [];
+                }
+                if criteria.length() != 0 {
+                    matchingIndices = check store.findMatching(criteria);
+                }
+                if fuzzyMatchParams.length() != 0 {
+                    remainingQueryParams[MATCH] = fuzzyMatchParams;
+                }
+            } else {
+                remainingQueryParams[param] = value;
+            }
+        }
+
+        dicom:Tag[]? responseTags = getResponseAttributeTags(resourceAttributes, remainingQueryParams);
+        // Fuzzy match attributes are matched when the model objects are created, therefore, they are read as well
+        dicom:Dataset[] datasets = check store.getDatasets(matchingIndices,
+                responseTags is () ? () : [...responseTags, ...fuzzyMatchTags]);
+        return check generateResponse(datasets, resourceType, remainingQueryParams, bulkDataConfig, aggregates,
+                maxInlineBinaryLength);
+    } on fail error e {
+        return createInternalDicomwebError("Error generating DICOMweb response from columnar store", cause = e);
+    }
+}
+
+# Creates columnar store match criteria from match parameters.
+#
+# + matchParams - The match parameters
+# + return - The `dicom:ColumnMatchCriterion[]`, or `()` if a match attribute is not a valid attribute
+isolated function getColumnMatchCriteria(MatchParameterMap matchParams) returns dicom:ColumnMatchCriterion[]? {
+    dicom:ColumnMatchCriterion[] criteria = [];
+    foreach [string, MatchParameterValue] [attribute, value] in matchParams.entries() {
+        dicom:Tag? tag = getTagFromAttribute(attribute);
+        if tag == () {
+            return;
+        }
+        criteria.push({tag, value});
+    }
+    return criteria;
+}
+
+# Retrieves the tags of the attributes required to build the response model objects.
+#
+# + resourceAttributes - The resource specific attributes
+# + processedQueryParams - The processed query parameters map
+# + return - The required attribute tags, or `()` if all attributes are required
+isolated function getResponseAttributeTags(dicom:Tag[] resourceAttributes,
+        QueryParameterMap processedQueryParams) returns dicom:Tag[]? {
+    dicom:Tag[] tags = [...resourceAttributes];
+    QueryParameterValue? includeFieldParameterValue = processedQueryParams[INCLUDEFIELD];
+    if includeFieldParameterValue is string { // "all"
+        return;
+    } else if includeFieldParameterValue is dicom:Tag[] {
+        tags.push(...includeFieldParameterValue);
+    } else if includeFieldParameterValue is string[] {
+        foreach string keyword in includeFieldParameterValue {
+            dicom:Tag? tag = dicom:getTagFromKeyword(keyword);
+            if tag is dicom:Tag {
+                tags.push(tag);
+            }
+        }
+    }
+    return tags;
+}
+
 # Creates a DICOMweb model object from a dataset.
 #
 # + dataset - The dataset to be used for the model object construction
 # + resourceAttributes - The resource specific attributes that should be included in the model object
 # + processedQueryParams - The processed query parameters map
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + aggregates - The aggregate tracker, used to add the aggregate attributes of the study or series of the dataset
+# + level - The IE level of the model object, if it is a study or series search result
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
 # + return - The constructed `ModelObject` if the construction is successful, or an `Error` otherwise
-isolated function createModelObject(dicom:Dataset dataset, dicom:Tag[] resourceAttributes,
-        QueryParameterMap processedQueryParams = {}) returns ModelObject|Error {
+isolated function createModelObject(dicom:Dataset|dicom:IndexedDataset dataset, dicom:Tag[] resourceAttributes,
+        QueryParameterMap processedQueryParams = {}, BulkDataConfig? bulkDataConfig = (),
+        AggregateTracker? aggregates = (), IeLevel? level = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns ModelObject|Error {
     do {
         // Model object construction is based off of Section F.2.2 in Part 18
         ModelObject modelObject = {};
         // Attribute matching should be handled first
         MatchParameterMap|error matchParams = trap processedQueryParams.get(MATCH).ensureType();
-        if matchParams is MatchParameterMap && !isMatchParamsMatching(dataset, matchParams) {
+        boolean fuzzyMatching = processedQueryParams[FUZZYMATCHING] == true;
+        if matchParams is MatchParameterMap && !isMatchParamsMatching(dataset, matchParams, fuzzyMatching) {
             return modelObject; // Not matching
         }
         // Add resource specific attributes
-        check addResourceAttributes(modelObject, resourceAttributes, dataset);
+        check addResourceAttributes(modelObject, resourceAttributes, dataset, bulkDataConfig, maxInlineBinaryLength);
         // Handle other query params
-        // TODO: Implement fuzzymatching param support
-        // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1376
         foreach [string, QueryParameterValue] [param, value] in processedQueryParams.entries() {
             match param {
                 INCLUDEFIELD if value is IncludeFieldParameterValue => {
-                    check addIncludeFieldParamAttributes(modelObject, value, dataset, resourceAttributes);
+                    check addIncludeFieldParamAttributes(modelObject, value, dataset, resourceAttributes,
+                            bulkDataConfig, maxInlineBinaryLength);
                 }
             }
         }
+        // Aggregate attributes are tracked per study and series, instead of being computed from the instances
+        if aggregates is AggregateTracker && level is IeLevel {
+            addAggregateAttributes(modelObject, dataset, level, aggregates,
+                    getResponseAttributeTags(resourceAttributes, processedQueryParams));
+        }
         return getSortedModelObject(modelObject);
     } on fail error e {
         return createInternalDicomwebError("Failed to create model object from dataset", cause = e);
@@ -83,11 +233,14 @@ isolated function createModelObject(dicom:Dataset dataset, dicom:Tag[] resourceA
 # + modelObject - The model object to which the resource attributes should be added
 # + resourceAttributes - The resource specific attributes that should be added to the model object
 # + dataset - The dataset from which the resource attributes should be extracted
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
 # + return - An `Error` if the resource attributes cannot be added to the model object, or `()` otherwise
 isolated function addResourceAttributes(ModelObject modelObject, dicom:Tag[] resourceAttributes,
-        dicom:Dataset dataset) returns Error? {
+        dicom:Dataset|dicom:IndexedDataset dataset, BulkDataConfig? bulkDataConfig = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns Error? {
     foreach dicom:Tag tag in resourceAttributes {
-        error? addToModelObjectResult = addTag(modelObject, tag, dataset);
+        error? addToModelObjectResult = addTag(modelObject, tag, dataset, bulkDataConfig, maxInlineBinaryLength);
         if addToModelObjectResult is error {
             return createInternalDicomwebError(string `Failed to add resource attribute: ${dicom:tagToStr(tag)}`,
                     cause = addToModelObjectResult);
@@ -101,18 +254,24 @@ isolated function addResourceAttributes(ModelObject modelObject, dicom:Tag[] res
 # + includeFieldParameterValue - The value of the `includefield` query parameter
 # + dataset - The dataset from which the attributes should be extracted
 # + tagsToIgnore - The tags that should be ignored when adding attributes to the model object
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
 # + return - An `Error` if the attributes cannot be added to the model object, or `()` otherwise
 isolated function addIncludeFieldParamAttributes(ModelObject modelObject,
         IncludeFieldParameterValue includeFieldParameterValue,
-        dicom:Dataset dataset, dicom:Tag[] tagsToIgnore) returns Error? {
+        dicom:Dataset|dicom:IndexedDataset dataset, dicom:Tag[] tagsToIgnore,
+        BulkDataConfig? bulkDataConfig = (), int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH)
+        returns Error? {
     do {
         // Based off of Section 8.3.4.3 in Part 18
         // Includefield param value could be a comma-separated list of attributes(tags/keywords), or the single keyword "all".
         // "all" means that all available attributes of the object should be included in the response.
         if includeFieldParameterValue is string && includeFieldParameterValue == "all" {
-            foreach dicom:DataElement dataElement in dataset {
+            dicom:DataElement[] dataElements = dataset is dicom:IndexedDataset ? dataset.elements() : dataset.toArray();
+            foreach dicom:DataElement dataElement in dataElements {
                 if tagsToIgnore.indexOf(dataElement.tag) == () { // Only add if not an ignored tag
-                    Error? addDataElementRes = addDataElement(modelObject, dataElement);
+                    Error? addDataElementRes = addDataElement(modelObject, dataElement, bulkDataConfig,
+                            maxInlineBinaryLength);
                     if addDataElementRes is Error {
                         fail error(string `Failed to add 'includefield' value: all`);
                     }
@@ -121,7 +280,7 @@ isolated function addIncludeFieldParamAttributes(ModelObject modelObject,
         } else if includeFieldParameterValue is dicom:Tag[] { // Tags
             foreach dicom:Tag tag in includeFieldParameterValue {
                 if tagsToIgnore.indexOf(tag) == () {
-                    Error? addTagRes = addTag(modelObject, tag, dataset);
+                    Error? addTagRes = addTag(modelObject, tag, dataset, bulkDataConfig, maxInlineBinaryLength);
                     if addTagRes is Error {
                         fail error(string `Failed to add 'includefield' attribute: ${dicom:tagToStr(tag)}`);
                     }
@@ -131,7 +290,7 @@ isolated function addIncludeFieldParamAttributes(ModelObject modelObject,
             foreach string keyword in includeFieldParameterValue {
                 dicom:Tag? tag = dicom:getTagFromKeyword(keyword);
                 if tag is dicom:Tag && tagsToIgnore.indexOf(tag) == () {
-                    Error? addTagRes = addTag(modelObject, tag, dataset);
+                    Error? addTagRes = addTag(modelObject, tag, dataset, bulkDataConfig, maxInlineBinaryLength);
                     if addTagRes is Error {
                         fail error(string `Failed to add 'includefield' attribute: ${keyword}`);
                     }
@@ -150,14 +309,18 @@ isolated function addIncludeFieldParamAttributes(ModelObject modelObject,
 # + modelObject - The model object to which the data element should be added
 # + tag - The tag of the data element to be added
 # + dataset - The dataset from which the data element should be extracted
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
 # + return - An `Error` if the data element cannot be added to the model object, or `()` otherwise
-isolated function addTag(ModelObject modelObject, dicom:Tag tag, dicom:Dataset dataset) returns Error? {
+isolated function addTag(ModelObject modelObject, dicom:Tag tag, dicom:Dataset|dicom:IndexedDataset dataset,
+        BulkDataConfig? bulkDataConfig = (), int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH)
+        returns Error? {
     do {
         // Get data element from the database
-        dicom:DataElement|error dataElement = trap dataset.get(tag);
+        dicom:DataElement? dataElement = getDataElement(dataset, tag);
         if dataElement is dicom:DataElement {
             // Add to model object
-            check addDataElement(modelObject, dataElement);
+            check addDataElement(modelObject, dataElement, bulkDataConfig, maxInlineBinaryLength);
         }
     } on fail error e {
         string message = string `Error adding tag to model object: ${dicom:tagToStr(tag)}`;
@@ -169,11 +332,15 @@ isolated function addTag(ModelObject modelObject, dicom:Tag tag, dicom:Dataset d
 #
 # + modelObject - The model object to which the data element should be added
 # + dataElement - The data element to be added to the model object
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
 # + return - An `Error` if the data element cannot be added to the model object, or `()` otherwise
-isolated function addDataElement(ModelObject modelObject, dicom:DataElement dataElement) returns Error? {
+isolated function addDataElement(ModelObject modelObject, dicom:DataElement dataElement,
+        BulkDataConfig? bulkDataConfig = (), int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH)
+        returns Error? {
     // Name of each attribute object is the eight character uppercase hexadecimal representation of the tag
     string attributeObjectName = dicom:tagToStr(dataElement.tag);
-    AttributeObject|Error attributeObject = createAttributeObject(dataElement);
+    AttributeObject|Error attributeObject = createAttributeObject(dataElement, bulkDataConfig, maxInlineBinaryLength);
     if attributeObject is Error {
         return createInternalDicomwebError("Error adding data element to model object", cause = attributeObject);
     }
@@ -183,8 +350,12 @@ isolated function addDataElement(ModelObject modelObject, dicom:DataElement data
 # Creates a DICOMweb attribute object from a data element.
 #
 # + dataElement - The data element to be used for the attribute object construction
+# + bulkDataConfig - The bulk data configuration, used to reference values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined. Longer values are left without
+# a value.
 # + return - The constructed `AttributeObject` if the construction is successful, or an `Error` otherwise
-isolated function createAttributeObject(dicom:DataElement dataElement) returns AttributeObject|Error {
+isolated function createAttributeObject(dicom:DataElement dataElement, BulkDataConfig? bulkDataConfig = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns AttributeObject|Error {
     // Based off of Section F.2.2 in Part 18
     // An attribute object contains the following,
     // - vr
@@ -195,17 +366,41 @@ isolated function createAttributeObject(dicom:DataElement dataElement) returns A
         vr: vr
     };
     // BulkDataURI
-    if BULK_DATA_URI_VRs.indexOf(vr) != () {
-        // TODO: Implement
-        // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1541
+    dicom:DataElementValue value = dataElement.value;
+    if value is dicom:BulkDataReference {
+        // Values that were not loaded into memory during parsing are referenced when a bulk data configuration
+        // is given. Otherwise, small values are read from their source file and inlined, and larger values, such as
+        // pixel data, are left out, as inlining them would defeat not loading them.
+        if bulkDataConfig is BulkDataConfig && BULK_DATA_URI_VRs.indexOf(vr) != () {
+            string|Error bulkDataUri = createBulkDataUri(value, bulkDataConfig);
+            if bulkDataUri is Error {
+                string message = string `Error creating BulkDataURI for tag: ${dicom:tagToStr(dataElement.tag)}`;
+                return createInternalDicomwebError(message, cause = bulkDataUri);
+            }
+            attributeObject.BulkDataURI = bulkDataUri;
+        } else if INLINE_BINARY_VRs.indexOf(vr) != () && value.path is string {
+            string|dicom:Error? inlineBinary = createInlineBinary(value, maxInlineBinaryLength);
+            if inlineBinary is dicom:Error {
+                string message = string `Error creating InlineBinary for tag: ${dicom:tagToStr(dataElement.tag)}`;
+                return createInternalDicomwebError(message, cause = inlineBinary);
+            } else if inlineBinary is string {
+                attributeObject.InlineBinary = inlineBinary;
+            }
+        }
+        return attributeObject;
     }
     // InlineBinary
-    if INLINE_BINARY_VRs.indexOf(vr) != () {
-        // TODO: Implement
-        // Issue: https://github.com/wso2-enterprise/open-healthcare/issues/1542
+    if INLINE_BINARY_VRs.indexOf(vr) != () && value is byte[] && value.length() > 0 {
+        // Binary values are Base64 encoded, instead of being included as arrays of numbers
+        string|dicom:Error? inlineBinary = createInlineBinary(value, maxInlineBinaryLength);
+        if inlineBinary is string {
+            attributeObject.InlineBinary = inlineBinary;
+        }
+        return attributeObject;
     }
     // Value
-    AttributeObjectValue|Error? attributeObjectValue = createAttributeObjectValue(dataElement);
+    AttributeObjectValue|Error? attributeObjectValue = createAttributeObjectValue(dataElement, bulkDataConfig,
+            maxInlineBinaryLength);
     if attributeObjectValue is AttributeObjectValue {
         attributeObject.Value = attributeObjectValue;
     } else if attributeObjectValue is Error {
@@ -215,6 +410,23 @@ isolated function createAttributeObject(dicom:DataElement dataElement) returns A
     return attributeObject;
 }
 
+# Creates the `InlineBinary` of a binary value, which is the value encoded using the Base64 alphabet.
+# The length of the value is checked before the value is read or encoded.
+#
+# + value - The in-memory value, or the reference to a value that was not loaded into memory during parsing
+# + maxInlineBinaryLength - The maximum length of the binary values that are inlined
+# + return - The encoded value, `()` if the value is empty or longer than the maximum length, or a `dicom:Error` if
+# a referenced value cannot be read
+isolated function createInlineBinary(byte[]|dicom:BulkDataReference value,
+        int maxInlineBinaryLength) returns string|dicom:Error? {
+    int length = value is byte[] ? value.length() : value.length;
+    if length == 0 || length > maxInlineBinaryLength {
+        return;
+    }
+    // Referenced values are encoded as they are read, without loading the raw value into memory
+    return value is byte[] ? value.toBase64() : dicom:encodeBulkDataBase64(value);
+}
+
 # Sorts a model object by attribute name in ascending order.
 #
 # + modelObject - The model object to be sorted
@@ -0,0 +1,121 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+import ballerinax/health.dicom;
+
+const CT_IMAGE_STORAGE = "1.2.840.10008.5.1.4.1.1.2";
+const MR_IMAGE_STORAGE = "1.2.840.10008.5.1.4.1.1.4";
+
+@test:Config {groups: ["aggregate_tracker"]}
+function aggregateTrackerTest() returns error? {
+    AggregateTracker aggregates = new;
+    check aggregates.add(createTrackedInstance("1.1", "1.1.1", "1.1.1.1", "CT", CT_IMAGE_STORAGE));
+    check aggregates.add(createTrackedInstance("1.1", "1.1.1", "1.1.1.2", "CT", CT_IMAGE_STORAGE));
+    check aggregates.add(createTrackedInstance("1.1", "1.1.2", "1.1.2.1", "MR", MR_IMAGE_STORAGE));
+    // Adding an instance again replaces it
+    check aggregates.add(createTrackedInstance("1.1", "1.1.2", "1.1.2.1", "MR", MR_IMAGE_STORAGE));
+
+    test:assertEquals(aggregates.getStudyAggregates("1.1"), {
+        numberOfStudyRelatedSeries: 2,
+        numberOfStudyRelatedInstances: 3,
+        modalitiesInStudy: ["CT", "MR"],
+        sopClassesInStudy: [CT_IMAGE_STORAGE, MR_IMAGE_STORAGE]
+    });
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.1"), {numberOfSeriesRelatedInstances: 2});
+
+    // Removing the last instance of a series removes the series and its modality
+    test:assertTrue(aggregates.remove("1.1.2.1"));
+    test:assertFalse(aggregates.remove("1.1.2.1"));
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.2"), ());
+    test:assertEquals(aggregates.getStudyAggregates("1.1"), {
+        numberOfStudyRelatedSeries: 1,
+        numberOfStudyRelatedInstances: 2,
+        modalitiesInStudy: ["CT"],
+        sopClassesInStudy: [CT_IMAGE_STORAGE]
+    });
+
+    _ = aggregates.remove("1.1.1.1");
+    _ = aggregates.remove("1.1.1.2");
+    test:assertEquals(aggregates.getStudyAggregates("1.1"), ());
+
+    // Instances must hold their study, series and SOP instance UIDs
+    dicom:Dataset incomplete = table [{tag: {group: 0x0020, element: 0x000D}, vr: dicom:UI, value: "1.2"}];
+    test:assertTrue(aggregates.add(incomplete) is Error);
+}
+
+@test:Config {groups: ["aggregate_tracker"]}
+function aggregateTrackerSeriesAcrossStudiesTest() returns error? {
+    AggregateTracker aggregates = new;
+    check aggregates.add(createTrackedInstance("1.1", "1.1.1", "1.1.1.1", "CT", CT_IMAGE_STORAGE));
+    check aggregates.add(createTrackedInstance("1.1", "1.1.2", "1.1.2.1", "MR", MR_IMAGE_STORAGE));
+    // A series instance UID reused by another study is tracked separately
+    check aggregates.add(createTrackedInstance("2.1", "1.1.1", "2.1.1.1", "CT", CT_IMAGE_STORAGE));
+    check aggregates.add(createTrackedInstance("2.1", "1.1.1", "2.1.1.2", "CT", CT_IMAGE_STORAGE));
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.1"), {numberOfSeriesRelatedInstances: 1});
+    test:assertEquals(aggregates.getSeriesAggregates("2.1", "1.1.1"), {numberOfSeriesRelatedInstances: 2});
+
+    // Removing the last instance of the series in one study keeps it in the other study
+    test:assertTrue(aggregates.remove("1.1.1.1"));
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.1"), ());
+    test:assertEquals(aggregates.getSeriesAggregates("2.1", "1.1.1"), {numberOfSeriesRelatedInstances: 2});
+    test:assertTrue(aggregates.remove("2.1.1.1"));
+    test:assertTrue(aggregates.remove("2.1.1.2"));
+    test:assertEquals(aggregates.getSeriesAggregates("2.1", "1.1.1"), ());
+    test:assertEquals(aggregates.getStudyAggregates("2.1"), ());
+
+    // Moving an instance to another series updates both series
+    check aggregates.add(createTrackedInstance("1.1", "1.1.3", "1.1.2.1", "MR", MR_IMAGE_STORAGE));
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.2"), ());
+    test:assertEquals(aggregates.getSeriesAggregates("1.1", "1.1.3"), {numberOfSeriesRelatedInstances: 1});
+    test:assertTrue(aggregates.remove("1.1.2.1"));
+    test:assertEquals(aggregates.getStudyAggregates("1.1"), ());
+}
+
+@test:Config {groups: ["aggregate_tracker"]}
+function generateResponseWithAggregatesTest() returns error? {
+    AggregateTracker aggregates = new;
+    check aggregates.add(createTrackedInstance("1.1", "1.1.1", "1.1.1.1", "CT", CT_IMAGE_STORAGE));
+    check aggregates.add(createTrackedInstance("1.1", "1.1.2", "1.1.2.1", "MR", MR_IMAGE_STORAGE));
+    dicom:Dataset study = createTrackedInstance("1.1", "1.1.1", "1.1.1.1", "CT", CT_IMAGE_STORAGE);
+
+    Response response = check generateResponse([study], SEARCH_ALL_STUDIES, aggregates = aggregates);
+    test:assertEquals(response[0]["00201206"], {vr: "IS", Value: [2]});
+    test:assertEquals(response[0]["00201208"], {vr: "IS", Value: [2]});
+    test:assertEquals(response[0]["00080061"], {vr: "CS", Value: ["CT", "MR"]});
+    // SOP Classes in Study is not a default study attribute, and is only included when requested
+    test:assertFalse(response[0].hasKey("00080062"));
+    response = check generateResponse([study], SEARCH_ALL_STUDIES, {[INCLUDEFIELD]: ["SOPClassesInStudy"]},
+            aggregates = aggregates);
+    test:assertEquals(response[0]["00080062"], {vr: "UI", Value: [CT_IMAGE_STORAGE, MR_IMAGE_STORAGE]});
+
+    response = check generateResponse([study], SEARCH_ALL_SERIES, aggregates = aggregates);
+    test:assertEquals(response[0]["00201209"], {vr: "IS", Value: [1]});
+
+    // Instance responses do not include aggregates
+    response = check generateResponse([study], SEARCH_ALL_INSTANCES, aggregates = aggregates);
+    test:assertFalse(response[0].hasKey("00201209"));
+}
+
+function createTrackedInstance(string studyInstanceUid, string seriesInstanceUid, string sopInstanceUid,
+        string modality, string sopClassUid) returns dicom:Dataset => table [
+    {tag: {group: 0x0008, element: 0x0016}, vr: dicom:UI, value: sopClassUid},
+    {tag: {group: 0x0008, element: 0x0018}, vr: dicom:UI, value: sopInstanceUid},
+    {tag: {group: 0x0008, element: 0x0060}, vr: dicom:CS, value: modality},
+    {tag: {group: 0x0020, element: 0x000D}, vr: dicom:UI, value: studyInstanceUid},
+    {tag: {group: 0x0020, element: 0x000E}, vr: dicom:UI, value: seriesInstanceUid}
+];
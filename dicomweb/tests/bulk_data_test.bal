@@ -0,0 +1,133 @@
+// Copyright (c) 2024 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/test;
+import ballerinax/health.dicom;
+
+@test:Config {groups: ["bulk_data"]}
+function bulkDataUriTest() returns error? {
+    string rootDirectory = check file:getAbsolutePath("./tests/resources");
+    BulkDataConfig bulkDataConfig = {baseUri: "http://localhost:9090/dicomweb/", rootDirectory};
+    dicom:BulkDataReference reference = {
+        path: check file:joinPath(rootDirectory, "sample_1.DCM"),
+        offset: 1024,
+        length: 2048
+    };
+
+    string bulkDataUri = check createBulkDataUri(reference, bulkDataConfig);
+    string bulkDataBaseUri = "http://localhost:9090/dicomweb/bulkdata/";
+    test:assertTrue(bulkDataUri.startsWith(bulkDataBaseUri));
+    test:assertTrue(bulkDataUri.endsWith(".1024.2048"));
+
+    // The last path segment of the URI resolves back to the reference
+    string bulkDataId = bulkDataUri.substring(bulkDataBaseUri.length());
+    test:assertEquals(getBulkDataReference(bulkDataId, bulkDataConfig), reference);
+
+    // Values outside the root directory cannot be referenced
+    dicom:BulkDataReference outsideReference = {path: "/etc/passwd", offset: 0, length: 1};
+    test:assertTrue(createBulkDataUri(outsideReference, bulkDataConfig) is Error);
+    test:assertTrue(createBulkDataUri({offset: 0, length: 1}, bulkDataConfig) is Error);
+}
+
+@test:Config {groups: ["bulk_data"]}
+function getBulkDataReferenceInvalidTest() {
+    BulkDataConfig bulkDataConfig = {baseUri: "http://localhost:9090/dicomweb", rootDirectory: "./tests/resources"};
+    string[] invalidIds = [
+        "invalid",
+        string `${toBase64Url("sample_1.DCM".toBytes())}.-1.10`,
+        string `${toBase64Url("../Ballerina.toml".toBytes())}.0.10`,
+        string `${toBase64Url("a/../../Ballerina.toml".toBytes())}.0.10`,
+        string `${toBase64Url("/etc/passwd".toBytes())}.0.10`
+    ];
+    foreach string bulkDataId in invalidIds {
+        dicom:BulkDataReference|Error reference = getBulkDataReference(bulkDataId, bulkDataConfig);
+        if reference !is Error {
+            test:assertFail(string `Invalid bulk data identifier resolved: ${bulkDataId}`);
+        }
+        test:assertEquals(reference.detail().httpStatusCode, 404);
+    }
+}
+
+@test:Config {groups: ["bulk_data"]}
+function createAttributeObjectBulkDataTest() returns error? {
+    string rootDirectory = check file:getAbsolutePath("./tests/resources");
+    BulkDataConfig bulkDataConfig = {baseUri: "http://localhost:9090/dicomweb", rootDirectory};
+    dicom:DataElement dataElement = {
+        tag: {group: 0x0042, element: 0x0011},
+        vr: dicom:OB,
+        vl: 2048,
+        value: {path: check file:joinPath(rootDirectory, "sample_1.DCM"), offset: 1024, length: 2048}
+    };
+
+    AttributeObject attributeObject = check createAttributeObject(dataElement, bulkDataConfig);
+    test:assertEquals(attributeObject.vr, dicom:OB);
+    test:assertTrue(attributeObject.BulkDataURI is string);
+    test:assertTrue(attributeObject.Value is ());
+
+    // Without a bulk data configuration, small referenced values are inlined
+    byte[] value = check dicom:readBulkData(check dataElement.value.ensureType());
+    test:assertEquals(createAttributeObject(dataElement), {vr: dicom:OB, InlineBinary: value.toBase64()});
+
+    // Referenced values longer than the maximum inline length are left without a value
+    test:assertEquals(createAttributeObject(dataElement, maxInlineBinaryLength = 2047), {vr: dicom:OB});
+
+    // Referenced values without a source file cannot be included
+    dataElement.value = {offset: 1024, length: 2048};
+    test:assertEquals(createAttributeObject(dataElement), {vr: dicom:OB});
+}
+
+@test:Config {groups: ["bulk_data"]}
+function createAttributeObjectInlineBinaryTest() {
+    dicom:DataElement dataElement = {
+        tag: {group: 0x0009, element: 0x1001},
+        vr: dicom:UN,
+        vl: 5,
+        value: [1, 2, 3, 4, 5]
+    };
+    test:assertEquals(createAttributeObject(dataElement), {vr: dicom:UN, InlineBinary: "AQIDBAU="});
+    // In-memory values longer than the maximum inline length are left without a value, as referenced values are
+    test:assertEquals(createAttributeObject(dataElement, maxInlineBinaryLength = 4), {vr: dicom:UN});
+
+    // Empty binary values do not have an InlineBinary
+    dataElement = {tag: {group: 0x0009, element: 0x1001}, vr: dicom:UN, vl: 0, value: []};
+    test:assertEquals(createAttributeObject(dataElement), {vr: dicom:UN});
+}
+
+@test:Config {groups: ["bulk_data"]}
+function generateMetadataResponseBulkDataTest() returns error? {
+    string rootDirectory = check file:getAbsolutePath("./tests/resources");
+    string filePath = check file:joinPath(rootDirectory, "sample_2.DCM");
+    BulkDataConfig bulkDataConfig = {baseUri: "http://localhost:9090/dicomweb", rootDirectory};
+    dicom:Dataset dataset = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: dicom:CS, value: "MR"},
+        {
+            tag: {group: 0x0042, element: 0x0011},
+            vr: dicom:OB,
+            vl: 2048,
+            value: {path: filePath, offset: 0, length: 2048}
+        }
+    ];
+
+    // Metadata responses include all attributes, with bulk data referenced via BulkDataURIs
+    Response response = check generateResponse([dataset], RETRIEVE_INSTANCE_METADATA,
+            bulkDataConfig = bulkDataConfig);
+    test:assertEquals(response.length(), 1);
+    test:assertEquals(response[0].get("00080060"), {vr: dicom:CS, Value: ["MR"]});
+    AttributeObject encapsulatedDocument = response[0].get("00420011");
+    test:assertEquals(encapsulatedDocument.BulkDataURI,
+            check createBulkDataUri({path: filePath, offset: 0, length: 2048}, bulkDataConfig));
+}
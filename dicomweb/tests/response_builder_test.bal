@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/file;
 import ballerina/test;
 import ballerinax/health.dicom;
 import ballerinax/health.dicom.dicomparser;
@@ -47,6 +48,17 @@ function generateResponseSearchAllStudies() {
     test:assertEquals(generatedResponse, EXPECTED_SEARCH_ALL_STUDIES_RESPONSE);
 }
 
+@test:Config {groups: ["response_builder"]}
+function generateResponseFromIndexedDatasets() {
+    dicom:IndexedDataset[] indexedDatasets = from dicom:Dataset dataset in testDatasets
+            select new dicom:IndexedDataset(dataset);
+    Response|Error generatedResponse = generateResponse(indexedDatasets, SEARCH_ALL_STUDIES);
+    if generatedResponse is Error {
+        test:assertFail("Could not generate the DICOMweb response");
+    }
+    test:assertEquals(generatedResponse, EXPECTED_SEARCH_ALL_STUDIES_RESPONSE);
+}
+
 @test:Config {groups: ["response_builder"]}
 function generateResponseSearchAllSeries() {
     Response|Error generatedResponse = generateResponse(testDatasets, SEARCH_ALL_SERIES);
@@ -110,3 +122,113 @@ function generateResponseSearchAllStudiesValidIncludeFieldTagsTest() {
 
     test:assertEquals(generatedResponse, EXPECTED_SEARCH_ALL_STUDIES_INCLUDEFIELD_RESPONSE);
 }
+
+@test:Config {groups: ["response_builder"]}
+function generateResponseFromStoreTest() {
+    dicom:ColumnarStore store = new;
+    foreach dicom:Dataset dataset in testDatasets {
+        int|dicom:Error index = store.add(dataset);
+        if index is dicom:Error {
+            test:assertFail("Could not add dataset to the columnar store");
+        }
+    }
+
+    test:assertEquals(generateResponseFromStore(store, SEARCH_ALL_STUDIES), EXPECTED_SEARCH_ALL_STUDIES_RESPONSE);
+
+    QueryParameterMap matchQueryParams = {
+        [MATCH] : {
+            "PatientSex": "M"
+        }
+    };
+    test:assertEquals(generateResponseFromStore(store, SEARCH_ALL_STUDIES, matchQueryParams),
+            EXPECTED_SEARCH_ALL_STUDIES_MATCH_RESPONSE);
+
+    QueryParameterMap includeFieldQueryParams = {
+        [INCLUDEFIELD] : ["Modality", "SeriesNumber"]
+    };
+    test:assertEquals(generateResponseFromStore(store, SEARCH_ALL_STUDIES, includeFieldQueryParams),
+            EXPECTED_SEARCH_ALL_STUDIES_INCLUDEFIELD_RESPONSE);
+
+    QueryParameterMap fuzzyQueryParams = {
+        [FUZZYMATCHING] : true,
+        [MATCH] : {
+            "PatientName": "ruby demo",
+            "PatientSex": "M"
+        }
+    };
+    test:assertEquals(generateResponseFromStore(store, SEARCH_ALL_STUDIES, fuzzyQueryParams),
+            EXPECTED_SEARCH_ALL_STUDIES_MATCH_RESPONSE);
+    QueryParameterMap exactQueryParams = {
+        [MATCH] : {
+            "PatientName": "ruby demo"
+        }
+    };
+    test:assertEquals(generateResponseFromStore(store, SEARCH_ALL_STUDIES, exactQueryParams), []);
+}
+
+@test:Config {groups: ["response_builder"]}
+function generateResponseFromIndexTest() returns error? {
+    string indexDirectory = check file:createTempDir();
+    dicom:MetadataIndex index = check new (indexDirectory);
+    string[] sampleFiles = ["./tests/resources/sample_1.DCM", "./tests/resources/sample_2.DCM"];
+    test:assertEquals(updateMetadataIndex(index, sampleFiles, dicom:EXPLICIT_VR_LITTLE_ENDIAN), 2);
+    // Unchanged files are not parsed again
+    test:assertEquals(updateMetadataIndex(index, sampleFiles, dicom:EXPLICIT_VR_LITTLE_ENDIAN), 0);
+    check index.close();
+
+    index = check new (indexDirectory);
+    QueryParameterMap matchQueryParams = {
+        [MATCH] : {
+            "PatientSex": "M"
+        }
+    };
+    test:assertEquals(generateResponseFromIndex(index, SEARCH_ALL_STUDIES, matchQueryParams),
+            EXPECTED_SEARCH_ALL_STUDIES_MATCH_RESPONSE);
+    check index.close();
+    check file:remove(indexDirectory, file:RECURSIVE);
+}
+
+@test:Config {groups: ["response_builder"]}
+function generateResponseFromIndexFuzzyMatchingTest() returns error? {
+    string indexDirectory = check file:createTempDir();
+    dicom:MetadataIndex index = check new (indexDirectory);
+    string[] sampleFiles = ["./tests/resources/sample_1.DCM", "./tests/resources/sample_2.DCM"];
+    dicom:File indexedFile = check dicomparser:parseFile(sampleFiles[0], dicom:EXPLICIT_VR_LITTLE_ENDIAN,
+            ignorePixelData = true);
+    check index.put(sampleFiles[0], indexedFile.dataset, METADATA_INDEX_TAGS);
+    dicom:FuzzyTokenIndex fuzzyIndex = new;
+    test:assertEquals(updateMetadataIndex(index, sampleFiles, dicom:EXPLICIT_VR_LITTLE_ENDIAN, fuzzyIndex), 1);
+    // Files indexed earlier are added to the fuzzy token index from the metadata index
+    test:assertEquals(fuzzyIndex.length(), 2);
+
+    QueryParameterMap fuzzyQueryParams = {
+        [FUZZYMATCHING] : true,
+        [MATCH] : {
+            "PatientName": "ruby demo",
+            "PatientSex": "M"
+        }
+    };
+    test:assertEquals(generateResponseFromIndex(index, SEARCH_ALL_STUDIES, fuzzyQueryParams, fuzzyIndex = fuzzyIndex),
+            EXPECTED_SEARCH_ALL_STUDIES_MATCH_RESPONSE);
+    // Without a fuzzy token index, the indexed datasets are matched one by one
+    test:assertEquals(generateResponseFromIndex(index, SEARCH_ALL_STUDIES, fuzzyQueryParams),
+            EXPECTED_SEARCH_ALL_STUDIES_MATCH_RESPONSE);
+
+    QueryParameterMap exactQueryParams = {
+        [MATCH] : {
+            "PatientName": "ruby demo"
+        }
+    };
+    test:assertEquals(generateResponseFromIndex(index, SEARCH_ALL_STUDIES, exactQueryParams, fuzzyIndex = fuzzyIndex),
+            []);
+    QueryParameterMap nonMatchingQueryParams = {
+        [FUZZYMATCHING] : true,
+        [MATCH] : {
+            "PatientName": "smith"
+        }
+    };
+    test:assertEquals(generateResponseFromIndex(index, SEARCH_ALL_STUDIES, nonMatchingQueryParams,
+            fuzzyIndex = fuzzyIndex), []);
+    check index.close();
+    check file:remove(indexDirectory, file:RECURSIVE);
+}
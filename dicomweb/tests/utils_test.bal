@@ -176,3 +176,17 @@ function constructStatusReportTest() {
     test:assertEquals(errorDetails.message, message);
     test:assertEquals(errorDetails.diagnostic, diagnostic);
 }
+
+@test:Config {groups: ["utils", "attribute_matching"]}
+function isAttributeMatchingFuzzyMatchingTest() {
+    dicom:Dataset dataset = table [
+        {tag: {group: 0x0008, element: 0x0060}, vr: dicom:CS, value: "CT"},
+        {tag: {group: 0x0010, element: 0x0010}, vr: dicom:PN, value: "Müller^Zoë"}
+    ];
+    test:assertFalse(isAttributeMatching(dataset, "PatientName", "muller"));
+    test:assertTrue(isAttributeMatching(dataset, "PatientName", "muller", true));
+    test:assertTrue(isAttributeMatching(dataset, "00100010", "MUELLER zoe", true));
+    test:assertFalse(isAttributeMatching(dataset, "PatientName", "zoe^smith", true));
+    // Only PN and LO attributes are matched fuzzily
+    test:assertFalse(isAttributeMatching(dataset, "Modality", "c", true));
+}
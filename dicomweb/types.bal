@@ -36,6 +36,17 @@ public type RequestMimeHeaders record {|
     MimeType acceptType = MIME_TYPE_JSON;
 |};
 
+# Bulk data configuration, used to reference large values from DICOMweb responses via BulkDataURIs.
+#
+# + baseUri - The base URI of the DICOMweb service, which the BulkDataURIs are built on,
+# e.g. `http://localhost:9090/dicomweb`
+# + rootDirectory - The directory holding the source files of the bulk data values.
+# Only values of files within this directory can be referenced.
+public type BulkDataConfig record {|
+    string baseUri;
+    string rootDirectory;
+|};
+
 # Represents a DICOMweb model object person name value.
 #
 # + Alphabetic - Alphabetic name if available
@@ -96,3 +107,23 @@ public type ModelObject map<AttributeObject>;
 
 # Represents a DICOMweb Response.
 public type Response ModelObject[];
+
+# Represents the aggregate attributes of a study, computed from the instances of the study.
+#
+# + numberOfStudyRelatedSeries - Number of series in the study
+# + numberOfStudyRelatedInstances - Number of instances in the study
+# + modalitiesInStudy - Distinct modalities of the instances of the study, in ascending order
+# + sopClassesInStudy - Distinct SOP classes of the instances of the study, in ascending order
+public type StudyAggregates record {|
+    int numberOfStudyRelatedSeries;
+    int numberOfStudyRelatedInstances;
+    string[] modalitiesInStudy;
+    string[] sopClassesInStudy;
+|};
+
+# Represents the aggregate attributes of a series, computed from the instances of the series.
+#
+# + numberOfSeriesRelatedInstances - Number of instances in the series
+public type SeriesAggregates record {|
+    int numberOfSeriesRelatedInstances;
+|};
@@ -23,12 +23,13 @@ import ballerinax/health.dicom;
 #
 # + dataset - The DICOM dataset to be evaluated
 # + matchParams - A map containing match parameters and their expected values for matching
+# + fuzzyMatching - Whether PN and LO attributes are matched fuzzily, as requested by the `fuzzymatching` parameter
 # + return - `true` if match parameters are present in the dataset and their values match the expected values, otherwise `false`
-public isolated function isMatchParamsMatching(dicom:Dataset dataset,
-        MatchParameterMap matchParams) returns boolean {
+public isolated function isMatchParamsMatching(dicom:Dataset|dicom:IndexedDataset dataset,
+        MatchParameterMap matchParams, boolean fuzzyMatching = false) returns boolean {
     // Check if dataset contains these attributes and matching values
     foreach [string, MatchParameterValue] [attribute, value] in matchParams.entries() {
-        if !isAttributeMatching(dataset, attribute, value) {
+        if !isAttributeMatching(dataset, attribute, value, fuzzyMatching) {
             return false;
         }
     }
@@ -40,17 +41,34 @@ public isolated function isMatchParamsMatching(dicom:Dataset dataset,
 # + dataset - The DICOM dataset to be analysed
 # + attribute - The DICOMweb attribute name to be checked
 # + attributeValue - The expected value of the attribute for matching
+# + fuzzyMatching - Whether PN and LO attributes are matched fuzzily, as requested by the `fuzzymatching` parameter
 # + return - `true` if the dataset contains the specified attribute with the matching value, otherwise `false`
-public isolated function isAttributeMatching(dicom:Dataset dataset, string attribute,
-        MatchParameterValue attributeValue) returns boolean {
+public isolated function isAttributeMatching(dicom:Dataset|dicom:IndexedDataset dataset, string attribute,
+        MatchParameterValue attributeValue, boolean fuzzyMatching = false) returns boolean {
     // Check if a matching attribute and attribute value exists in the dataset
     dicom:DataElement? attributeDataElement = getDataElementFromAttribute(dataset, attribute);
     if attributeDataElement is dicom:DataElement {
-        return attributeDataElement.value == attributeValue;
+        dicom:DataElementValue value = attributeDataElement.value;
+        if fuzzyMatching && value is string && attributeValue is string
+                && isFuzzyMatchingAttribute(attributeDataElement.tag, attributeDataElement.vr) {
+            return dicom:isFuzzyMatching(value, attributeValue);
+        }
+        return value == attributeValue;
     }
     return false;
 }
 
+# Checks whether an attribute is matched fuzzily when fuzzy matching is requested, which is the case for PN and LO
+# attributes.
+#
+# + tag - The tag of the attribute
+# + vr - The VR of the attribute, if known
+# + return - `true` if the attribute is matched fuzzily, otherwise `false`
+isolated function isFuzzyMatchingAttribute(dicom:Tag tag, dicom:Vr? vr = ()) returns boolean {
+    dicom:Vr? attributeVr = vr ?: dicom:getTagInfo(tag)?.vr;
+    return attributeVr == dicom:PN || attributeVr == dicom:LO;
+}
+
 # Checks whether a given string represents a valid DICOMweb attribute.
 #
 # + attribute - The string to be validated as a DICOMweb attribute
@@ -107,13 +125,23 @@ public isolated function isValidResourceMatchAttribute(string matchAttribute, Re
 # + dataset - The DICOM dataset to be searched
 # + attribute - The DICOMweb attribute
 # + return - The corresponding `dicom:DataElement` if found, otherwise `()`
-public isolated function getDataElementFromAttribute(dicom:Dataset dataset, string attribute) returns dicom:DataElement? {
-    dicom:DataElement|error? dataElement = ();
+public isolated function getDataElementFromAttribute(dicom:Dataset|dicom:IndexedDataset dataset,
+        string attribute) returns dicom:DataElement? {
     dicom:Tag? tag = getTagFromAttribute(attribute);
-    if tag is dicom:Tag {
-        dataElement = trap dataset.get(tag);
+    return tag is dicom:Tag ? getDataElement(dataset, tag) : ();
+}
+
+# Retrieves the data element of a tag from a dataset.
+#
+# + dataset - The DICOM dataset to be searched
+# + tag - The tag of the data element
+# + return - The `dicom:DataElement` if found, otherwise `()`
+isolated function getDataElement(dicom:Dataset|dicom:IndexedDataset dataset, dicom:Tag tag) returns dicom:DataElement? {
+    if dataset is dicom:Dataset {
+        return dataset[tag];
     }
-    return dataElement is dicom:DataElement ? dataElement : ();
+    int|dicom:Error tagInt = dicom:tagToInt(tag);
+    return tagInt is int ? dataset.get(tagInt) : ();
 }
 
 # Retrieve the necessary IE level match attributes for a given resource type.
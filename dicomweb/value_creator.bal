@@ -20,9 +20,14 @@ import ballerinax/health.dicom;
 # Creates a DICOMweb attribute object value from a DICOM data element.
 #
 # + dataElement - The DICOM data element
+# + bulkDataConfig - The bulk data configuration, used to reference sequence item values that were not loaded
+# into memory
+# + maxInlineBinaryLength - The maximum length of the binary values of sequence items that are inlined
 # + return - The created `AttributeObjectValue` if successful, an `Error` if the value cannot be created, or
 # `()` if the value length is 0
-public isolated function createAttributeObjectValue(dicom:DataElement dataElement) returns AttributeObjectValue|Error? {
+public isolated function createAttributeObjectValue(dicom:DataElement dataElement,
+        BulkDataConfig? bulkDataConfig = (), int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH)
+        returns AttributeObjectValue|Error? {
     do {
         // if value length is 0, that means no attribute object value
         if dataElement.vl == 0 {
@@ -33,10 +38,22 @@ public isolated function createAttributeObjectValue(dicom:DataElement dataElemen
                 return check createPersonNameValue(dataElement);
             }
             dicom:SQ => {
-                return check createSequenceValue(dataElement);
+                return check createSequenceValue(dataElement, bulkDataConfig, maxInlineBinaryLength);
             }
         }
-        return [dataElement.value];
+        dicom:DataElementValue value = dataElement.value;
+        if value is int[]|float[] && value !is byte[] {
+            // Packed values of binary VRs are the multiple values of the attribute
+            dicom:DataElementValue[] values = [];
+            (int|float)[] items = value;
+            foreach int|float item in items {
+                // Tags are represented as strings of 8 hexadecimal digits, as given in Table F.2.3-1 in Part 18
+                values.push(dataElement.vr == dicom:AT && item is int
+                    ? item.toHexString().padZero(8).toUpperAscii() : item);
+            }
+            return values;
+        }
+        return [value];
     } on fail error e {
         string message = string `Failed creating attribute object value from data element: ${dataElement.toString()}`;
         return createInternalDicomwebError(message, cause = e);
@@ -81,8 +98,11 @@ isolated function createPersonNameValue(dicom:DataElement personNameDataElement)
 # Creates a sequence value from the provided DICOM data element.
 #
 # + sequenceDataElement - The DICOM data element
+# + bulkDataConfig - The bulk data configuration, used to reference item values that were not loaded into memory
+# + maxInlineBinaryLength - The maximum length of the binary values of the items that are inlined
 # + return - The created `ModelObject[]` if successful, an `Error` if the value cannot be created
-isolated function createSequenceValue(dicom:DataElement sequenceDataElement) returns ModelObject[]|Error {
+isolated function createSequenceValue(dicom:DataElement sequenceDataElement, BulkDataConfig? bulkDataConfig = (),
+        int maxInlineBinaryLength = DEFAULT_MAX_INLINE_BINARY_LENGTH) returns ModelObject[]|Error {
     do {
         dicom:SequenceValue|error sequenceValue = sequenceDataElement.value.ensureType();
         if sequenceValue is error {
@@ -95,7 +115,7 @@ isolated function createSequenceValue(dicom:DataElement sequenceDataElement) ret
             dicom:Dataset sequenceDataset = sequenceItem.valueDataset;
             // Add elements to sequence model object
             foreach dicom:DataElement dataElement in sequenceDataset {
-                check addDataElement(sequenceModelObject, dataElement);
+                check addDataElement(sequenceModelObject, dataElement, bulkDataConfig, maxInlineBinaryLength);
             }
             attributeObjectSequenceValue.push(sequenceModelObject);
         }